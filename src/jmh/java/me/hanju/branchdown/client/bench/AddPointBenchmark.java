@@ -0,0 +1,36 @@
+package me.hanju.branchdown.client.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import me.hanju.branchdown.api.dto.PointDto;
+
+/**
+ * 포인트 추가 처리량. 요청 직렬화와 단건 응답 디코딩 비용을 본다.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AddPointBenchmark {
+
+  @Benchmark
+  public PointDto.Response addPoint(final ClientState state) {
+    return state.client.addPoint(1L, "item");
+  }
+
+  @Benchmark
+  @Threads(8)
+  public PointDto.Response addPoint_8threads(final ClientState state) {
+    return state.client.addPoint(1L, "item");
+  }
+}
@@ -0,0 +1,45 @@
+package me.hanju.branchdown.client.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import me.hanju.branchdown.api.dto.PointDto;
+
+/**
+ * depth별 조상 조회.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AncestorsBenchmark {
+
+  /** 스텁 서버는 포인트 ID를 depth로 해석한다. */
+  @Param({"1", "10", "100", "1000"})
+  public long depth;
+
+  @Benchmark
+  public List<PointDto.Response> getAncestors(final ClientState state) {
+    return state.client.getAncestors(this.depth);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public List<PointDto.Response> getAncestors_8threads(final ClientState state) {
+    return state.client.getAncestors(this.depth);
+  }
+}
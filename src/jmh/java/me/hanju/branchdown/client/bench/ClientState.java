@@ -0,0 +1,61 @@
+package me.hanju.branchdown.client.bench;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import me.hanju.branchdown.client.BranchdownClient;
+import me.hanju.branchdown.client.JdkHttpBranchdownClient;
+import me.hanju.branchdown.client.OkHttpBranchdownClient;
+import me.hanju.branchdown.client.WebClientBranchdownClient;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+
+/**
+ * 구현체별 클라이언트와 스텁 서버를 준비하는 공용 상태.
+ */
+@State(Scope.Benchmark)
+public class ClientState {
+
+  @Param({"okhttp", "webclient", "jdk"})
+  public String impl;
+
+  StubBranchdownServer server;
+  BranchdownClient client;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    this.server = StubBranchdownServer.start();
+    this.client = switch (this.impl) {
+      case "okhttp" -> {
+        final Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(256);
+        dispatcher.setMaxRequestsPerHost(256);
+        yield new OkHttpBranchdownClient(new OkHttpClient.Builder()
+            .dispatcher(dispatcher)
+            .connectionPool(new ConnectionPool(64, 5, TimeUnit.MINUTES))
+            .readTimeout(Duration.ofSeconds(30))
+            .build(), this.server.baseUrl());
+      }
+      case "webclient" -> new WebClientBranchdownClient(WebClient.builder()
+          .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(64 * 1024 * 1024)), this.server.baseUrl());
+      case "jdk" -> new JdkHttpBranchdownClient(HttpClient.newHttpClient(), this.server.baseUrl());
+      default -> throw new IllegalArgumentException("Unknown impl: " + this.impl);
+    };
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    this.server.close();
+  }
+}
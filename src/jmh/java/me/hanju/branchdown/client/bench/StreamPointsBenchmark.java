@@ -0,0 +1,51 @@
+package me.hanju.branchdown.client.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import me.hanju.branchdown.api.dto.PointDto;
+
+/**
+ * 스트림 포인트 목록 조회: 목록 디코딩과 스트리밍 디코딩 비교.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreamPointsBenchmark {
+
+  /** 스텁 서버는 스트림 ID를 포인트 수로 해석한다. */
+  @Param({"10", "1000", "100000"})
+  public long points;
+
+  @Benchmark
+  public List<PointDto.Response> getStreamPoints(final ClientState state) {
+    return state.client.getStreamPoints(this.points);
+  }
+
+  @Benchmark
+  public void forEachStreamPoint(final ClientState state, final Blackhole blackhole) {
+    state.client.forEachStreamPoint(this.points, blackhole::consume);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public List<PointDto.Response> getStreamPoints_8threads(final ClientState state) {
+    return state.client.getStreamPoints(this.points);
+  }
+}
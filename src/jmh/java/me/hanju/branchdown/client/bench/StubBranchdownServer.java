@@ -0,0 +1,109 @@
+package me.hanju.branchdown.client.bench;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * 벤치마크용 프로세스 내 스텁 서버.
+ * 응답 본문은 경로별로 한 번만 만들어 캐시하므로 측정값에는 클라이언트 비용만 남는다.
+ *
+ * <ul>
+ * <li>{@code GET /api/streams/{n}/points}, {@code GET /api/streams/{n}/branches/{b}/points}: 포인트 n개</li>
+ * <li>{@code GET /api/points/{d}/ancestors}: depth d까지의 경로</li>
+ * <li>{@code POST /api/points/{id}/down}: 새 포인트</li>
+ * </ul>
+ */
+final class StubBranchdownServer implements AutoCloseable {
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final Map<String, byte[]> bodies = new ConcurrentHashMap<>();
+  private final AtomicLong nextId = new AtomicLong(1_000_000);
+
+  private StubBranchdownServer(final HttpServer server, final ExecutorService executor) {
+    this.server = server;
+    this.executor = executor;
+  }
+
+  static StubBranchdownServer start() throws IOException {
+    // 헤더와 본문이 나뉘어 전송될 때 Nagle 알고리즘으로 생기는 지연 방지
+    System.setProperty("sun.net.httpserver.nodelay", "true");
+    final HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+    final ExecutorService executor = Executors.newFixedThreadPool(32);
+    final StubBranchdownServer stub = new StubBranchdownServer(server, executor);
+    server.createContext("/", stub::handle);
+    server.setExecutor(executor);
+    server.start();
+    return stub;
+  }
+
+  String baseUrl() {
+    return "http://127.0.0.1:" + this.server.getAddress().getPort();
+  }
+
+  @Override
+  public void close() {
+    this.server.stop(0);
+    this.executor.shutdownNow();
+  }
+
+  private void handle(final HttpExchange exchange) throws IOException {
+    try (InputStream in = exchange.getRequestBody()) {
+      in.readAllBytes();
+    }
+    final String[] segments = exchange.getRequestURI().getPath().split("/");
+    final byte[] body;
+    if ("streams".equals(segments[2]) && segments[segments.length - 1].equals("points")) {
+      final int count = Integer.parseInt(segments[3]);
+      body = this.bodies.computeIfAbsent("points:" + count, key -> pointList(1, count, false));
+    } else if ("streams".equals(segments[2])) {
+      body = this.bodies.computeIfAbsent("stream", key -> envelopeBytes(
+          "{\"id\":1,\"rootPointId\":1,\"createdAt\":\"2025-01-01T00:00:00\"}"));
+    } else if ("ancestors".equals(segments[segments.length - 1])) {
+      final int depth = Integer.parseInt(segments[3]);
+      body = this.bodies.computeIfAbsent("ancestors:" + depth, key -> pointList(1, depth, true));
+    } else {
+      body = envelopeBytes(point(this.nextId.incrementAndGet(), 0, 1));
+    }
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(200, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  private static byte[] pointList(final int from, final int count, final boolean chain) {
+    final StringBuilder data = new StringBuilder(count * 64).append('[');
+    for (int i = 0; i < count; i++) {
+      if (i > 0) {
+        data.append(',');
+      }
+      data.append(point(from + i, chain ? 0 : i % 8, chain ? i + 1 : i / 8));
+    }
+    return envelopeBytes(data.append(']').toString());
+  }
+
+  private static String point(final long id, final int branchNum, final int depth) {
+    return "{\"id\":" + id + ",\"branchNum\":" + branchNum + ",\"depth\":" + depth
+        + ",\"itemId\":\"item-" + id + "\"}";
+  }
+
+  private static String envelope(final String data) {
+    return "{\"success\":true,\"message\":null,\"data\":" + data + "}";
+  }
+
+  private static byte[] envelopeBytes(final String data) {
+    return envelope(data).getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,146 @@
+package me.hanju.branchdown.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 관측한 지연 시간으로 동시 요청 수 한도를 조절하는 적응형 동시성 제한.
+ *
+ * <p>기울기(gradient) 방식으로 동작한다. 최근 지연 시간(짧은 이동 평균)이 장기 기준 지연 시간(긴 이동 평균)보다
+ * 허용 배수 이상 커지면 서버 앞에 큐가 쌓이고 있다고 보고 한도를 줄이며, 그렇지 않으면 {@code sqrt(limit)}만큼 여유를 두고 늘린다.
+ * 네트워크 오류(drop)는 지연 시간과 관계없이 한도를 0.9배로 줄인다.
+ * 진행 중인 요청이 한도의 절반에 못 미치면 한도를 늘리지 않는다(부하가 아니라 호출자가 병목인 경우).
+ *
+ * <p>스레드 안전하다. 획득은 CAS 한 번이고, 한도 갱신은 요청 완료마다 짧게 동기화된다.
+ */
+public final class AdaptiveConcurrencyLimit {
+
+  private static final double TOLERANCE = 1.5;
+  private static final double SMOOTHING = 0.2;
+  private static final double BACKOFF_RATIO = 0.9;
+  private static final int LONG_WINDOW = 600;
+  private static final int SHORT_WINDOW = 10;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private volatile int limit;
+  private double estimatedLimit;
+  private double longRtt;
+  private double shortRtt;
+
+  /**
+   * 초기 한도 20, 범위 1~200으로 만든다.
+   */
+  public AdaptiveConcurrencyLimit() {
+    this(20, 1, 200);
+  }
+
+  /**
+   * @param initialLimit 초기 한도
+   * @param minLimit 한도 하한 (1 이상)
+   * @param maxLimit 한도 상한
+   */
+  public AdaptiveConcurrencyLimit(final int initialLimit, final int minLimit, final int maxLimit) {
+    if (minLimit < 1) {
+      throw new IllegalArgumentException("minLimit must be positive");
+    }
+    if (maxLimit < minLimit) {
+      throw new IllegalArgumentException("maxLimit must not be less than minLimit");
+    }
+    if (initialLimit < minLimit || initialLimit > maxLimit) {
+      throw new IllegalArgumentException("initialLimit must be between minLimit and maxLimit");
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.limit = initialLimit;
+    this.estimatedLimit = initialLimit;
+  }
+
+  /**
+   * @return 현재 한도
+   */
+  public int limit() {
+    return this.limit;
+  }
+
+  /**
+   * @return 진행 중인 요청 수
+   */
+  public int inFlight() {
+    return this.inFlight.get();
+  }
+
+  /**
+   * 한도 안이면 자리를 하나 차지한다. 성공했다면 요청이 끝난 뒤 반드시 {@link #release}를 호출해야 한다.
+   *
+   * @return 자리를 차지했으면 true, 한도에 도달했으면 false
+   */
+  public boolean tryAcquire() {
+    int current;
+    do {
+      current = this.inFlight.get();
+      if (current >= this.limit) {
+        return false;
+      }
+    } while (!this.inFlight.compareAndSet(current, current + 1));
+    return true;
+  }
+
+  /**
+   * 자리를 반납하고 관측값으로 한도를 갱신한다.
+   *
+   * @param rttNanos 요청 지연 시간 (나노초)
+   * @param dropped 네트워크 오류, 타임아웃 등으로 응답을 받지 못했으면 true
+   */
+  public void release(final long rttNanos, final boolean dropped) {
+    final int inFlightBefore = this.inFlight.getAndDecrement();
+    this.update(Math.max(1, rttNanos), inFlightBefore, dropped);
+  }
+
+  /**
+   * 지연 시간을 반영하지 않고 자리를 반납한다. 호출자의 콜백 시간이 섞인 스트리밍 호출이나
+   * 서버에 보내지 않고 끝난 호출처럼 지연 시간이 서버 상태를 나타내지 않는 경우에 사용한다.
+   *
+   * @param dropped 네트워크 오류, 타임아웃 등으로 응답을 받지 못했으면 true
+   */
+  public void release(final boolean dropped) {
+    this.inFlight.decrementAndGet();
+    if (dropped) {
+      this.backOff();
+    }
+  }
+
+  private synchronized void update(final long rtt, final int inFlightBefore, final boolean dropped) {
+    if (this.longRtt == 0) {
+      this.longRtt = rtt;
+      this.shortRtt = rtt;
+    } else {
+      this.shortRtt += (rtt - this.shortRtt) / SHORT_WINDOW;
+      this.longRtt += (rtt - this.longRtt) / LONG_WINDOW;
+      // 지연 시간이 크게 줄면 장기 기준도 빨리 따라 내려가도록 한다
+      if (this.longRtt / this.shortRtt > 2) {
+        this.longRtt *= 0.95;
+      }
+    }
+
+    if (dropped) {
+      this.backOff();
+      return;
+    }
+    if (inFlightBefore < this.estimatedLimit / 2) {
+      return;
+    }
+    final double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * this.longRtt / this.shortRtt));
+    final double target = this.estimatedLimit * gradient + Math.sqrt(this.estimatedLimit);
+    this.setEstimatedLimit(this.estimatedLimit * (1 - SMOOTHING) + target * SMOOTHING);
+  }
+
+  private synchronized void backOff() {
+    this.setEstimatedLimit(this.estimatedLimit * BACKOFF_RATIO);
+  }
+
+  private void setEstimatedLimit(final double estimatedLimit) {
+    this.estimatedLimit = Math.max(this.minLimit, Math.min(this.maxLimit, estimatedLimit));
+    this.limit = (int) this.estimatedLimit;
+  }
+}
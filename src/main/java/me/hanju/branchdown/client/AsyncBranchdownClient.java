@@ -0,0 +1,145 @@
+package me.hanju.branchdown.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.api.dto.StreamDto;
+
+/**
+ * {@link BranchdownClient}의 비동기 버전.
+ * 호출 스레드를 점유하지 않으며, 결과는 {@link CompletableFuture}로 전달된다.
+ * 실패 시 future는 {@link me.hanju.branchdown.client.exception.BranchdownException} 또는
+ * {@link me.hanju.branchdown.client.exception.BranchdownClientException}으로 예외 완료된다.
+ *
+ * @see BranchdownClient
+ */
+public interface AsyncBranchdownClient {
+
+  // ========== Stream API ==========
+
+  /**
+   * 새 스트림을 생성한다.
+   *
+   * @return 생성된 스트림의 ID
+   */
+  CompletableFuture<Long> createStream();
+
+  /**
+   * 스트림 정보를 조회한다.
+   *
+   * @param streamId 스트림 ID
+   * @return 스트림 정보
+   */
+  CompletableFuture<StreamDto.Response> getStream(long streamId);
+
+  /**
+   * 스트림을 삭제한다.
+   *
+   * @param streamId 스트림 ID
+   * @return 삭제 완료 시 완료되는 future
+   */
+  CompletableFuture<Void> deleteStream(long streamId);
+
+  /**
+   * 스트림에 속한 모든 포인트를 조회한다.
+   *
+   * @param streamId 스트림 ID
+   * @return 포인트 목록
+   */
+  CompletableFuture<List<PointDto.Response>> getStreamPoints(long streamId);
+
+  /**
+   * 특정 브랜치에 속한 포인트를 조회한다.
+   *
+   * @param streamId 스트림 ID
+   * @param branchNum 브랜치 번호
+   * @return 포인트 목록
+   */
+  default CompletableFuture<List<PointDto.Response>> getBranchPoints(long streamId, int branchNum) {
+    return getBranchPoints(streamId, branchNum, 0);
+  }
+
+  /**
+   * 특정 브랜치에 속한 포인트를 조회한다.
+   *
+   * @param streamId 스트림 ID
+   * @param branchNum 브랜치 번호
+   * @param depth 조회할 시작 depth (해당 depth 이후의 포인트만 반환)
+   * @return 포인트 목록
+   */
+  CompletableFuture<List<PointDto.Response>> getBranchPoints(long streamId, int branchNum, int depth);
+
+  // ========== Point API ==========
+
+  /**
+   * 부모 포인트 아래에 새 포인트를 추가한다.
+   *
+   * @param parentPointId 부모 포인트 ID
+   * @param itemId 아이템 ID (null 불가)
+   * @return 생성된 포인트 정보
+   * @throws IllegalArgumentException itemId가 null인 경우 (future가 아닌 호출 시점에 발생)
+   */
+  CompletableFuture<PointDto.Response> addPoint(long parentPointId, String itemId);
+
+  /**
+   * 부모 포인트 아래에 아이템들을 순서대로 이어 붙인다. 각 포인트는 직전에 생성된 포인트의 자식이 된다.
+   * 각 요청은 직전 응답의 ID에 의존하므로 순차적으로 전송된다.
+   *
+   * @param parentPointId 첫 포인트의 부모 포인트 ID
+   * @param itemIds 아이템 ID 목록 (null 및 null 원소 불가)
+   * @return 생성된 포인트 목록 (itemIds 순서)
+   * @throws IllegalArgumentException itemIds가 null이거나 null 원소를 포함하는 경우 (호출 시점에 발생)
+   */
+  default CompletableFuture<List<PointDto.Response>> addPoints(long parentPointId, List<String> itemIds) {
+    ItemIds.validate(itemIds);
+    final List<PointDto.Response> created = new ArrayList<>(itemIds.size());
+    CompletableFuture<Long> parent = CompletableFuture.completedFuture(parentPointId);
+    for (final String itemId : itemIds) {
+      parent = parent
+          .thenCompose(parentId -> addPoint(parentId, itemId))
+          .thenApply(point -> {
+            created.add(point);
+            return point.id();
+          });
+    }
+    return parent.thenApply(last -> created);
+  }
+
+  /**
+   * 같은 부모 포인트 아래에 아이템들을 형제로 추가한다.
+   * 첫 포인트가 생성된 뒤 나머지 요청을 동시에 전송하므로, 두 번째 이후 포인트의 브랜치 번호 순서는
+   * itemIds 순서와 다를 수 있다.
+   *
+   * @param parentPointId 부모 포인트 ID
+   * @param itemIds 아이템 ID 목록 (null 및 null 원소 불가)
+   * @return 생성된 포인트 목록 (itemIds 순서)
+   * @throws IllegalArgumentException itemIds가 null이거나 null 원소를 포함하는 경우 (호출 시점에 발생)
+   */
+  default CompletableFuture<List<PointDto.Response>> addChildren(long parentPointId, List<String> itemIds) {
+    ItemIds.validate(itemIds);
+    if (itemIds.isEmpty()) {
+      return CompletableFuture.completedFuture(new ArrayList<>());
+    }
+    return addPoint(parentPointId, itemIds.get(0)).thenCompose(first -> {
+      final List<CompletableFuture<PointDto.Response>> rest = itemIds.subList(1, itemIds.size()).stream()
+          .map(itemId -> addPoint(parentPointId, itemId))
+          .toList();
+      return CompletableFuture.allOf(rest.toArray(CompletableFuture[]::new)).thenApply(done -> {
+        final List<PointDto.Response> created = new ArrayList<>(itemIds.size());
+        created.add(first);
+        rest.forEach(future -> created.add(future.join()));
+        return created;
+      });
+    });
+  }
+
+  /**
+   * 포인트의 조상 포인트들을 조회한다.
+   *
+   * @param pointId 포인트 ID
+   * @return 조상 포인트 목록
+   */
+  CompletableFuture<List<PointDto.Response>> getAncestors(long pointId);
+}
@@ -0,0 +1,298 @@
+package me.hanju.branchdown.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import me.hanju.branchdown.api.dto.PointDto;
+
+/**
+ * 브랜치에 새로 추가되는 포인트를 폴링하여 리스너에 전달한다.
+ *
+ * <p>(스트림, 브랜치)마다 마지막으로 받은 depth를 커서로 기억하고
+ * {@link AsyncBranchdownClient#getBranchPoints(long, int, int)}로 그보다 깊은 포인트만 가져온다.
+ * 폴링 간격은 새 포인트가 오면 {@code minInterval}로 줄이고, 빈 응답이나 실패가 이어지면 두 배씩 늘려
+ * {@code maxInterval}까지 물러난다.
+ *
+ * <p>모든 브랜치는 스케줄러 스레드 하나가 관리한다. 스케줄러는 폴링할 때가 된 브랜치를 한꺼번에 꺼내
+ * 비동기로 요청하며, 동시에 진행 중인 요청은 {@code maxInFlight}개로 제한된다.
+ * 브랜치마다 요청은 한 번에 하나만 진행되므로 리스너에는 depth 순서대로 전달된다.
+ * 리스너는 요청을 완료한 스레드에서 호출되므로 짧게 끝나야 한다.
+ */
+public class BranchFollower implements AutoCloseable {
+
+  /** 브랜치 폴링 결과를 받는 리스너. */
+  public interface Listener {
+
+    /**
+     * 새 포인트를 받았을 때 호출된다.
+     *
+     * @param streamId 스트림 ID
+     * @param branchNum 브랜치 번호
+     * @param points 새 포인트 목록 (비어 있지 않음, depth 순)
+     */
+    void onPoints(long streamId, int branchNum, List<PointDto.Response> points);
+
+    /**
+     * 폴링이 실패했을 때 호출된다. 폴링은 간격을 늘려 계속된다.
+     *
+     * @param streamId 스트림 ID
+     * @param branchNum 브랜치 번호
+     * @param error 실패 원인
+     */
+    default void onError(final long streamId, final int branchNum, final Throwable error) {
+    }
+  }
+
+  /** {@link #follow}로 등록한 리스너의 구독. */
+  public interface Subscription extends AutoCloseable {
+
+    /**
+     * @return 지금까지 받은 가장 깊은 depth
+     */
+    int depth();
+
+    /**
+     * 리스너를 해제한다. 브랜치의 마지막 리스너이면 폴링도 멈춘다.
+     */
+    @Override
+    void close();
+  }
+
+  private final AsyncBranchdownClient client;
+  private final long minIntervalNanos;
+  private final long maxIntervalNanos;
+  private final Semaphore inFlight;
+  private final Map<Key, Branch> branches = new ConcurrentHashMap<>();
+  private final DelayQueue<Branch> due = new DelayQueue<>();
+  private final Thread scheduler;
+  private volatile boolean closed;
+
+  private record Key(long streamId, int branchNum) {
+  }
+
+  /**
+   * 최소 간격 200ms, 최대 간격 10초, 동시 요청 32개로 만든다.
+   *
+   * @param client 비동기 클라이언트
+   */
+  public BranchFollower(final AsyncBranchdownClient client) {
+    this(client, Duration.ofMillis(200), Duration.ofSeconds(10), 32);
+  }
+
+  /**
+   * @param client 비동기 클라이언트
+   * @param minInterval 활발한 브랜치의 폴링 간격
+   * @param maxInterval 유휴 브랜치의 최대 폴링 간격
+   * @param maxInFlight 동시에 진행할 최대 요청 수
+   */
+  public BranchFollower(final AsyncBranchdownClient client, final Duration minInterval, final Duration maxInterval,
+      final int maxInFlight) {
+    if (client == null) {
+      throw new IllegalArgumentException("client must not be null");
+    }
+    if (minInterval == null || minInterval.isNegative() || minInterval.isZero()) {
+      throw new IllegalArgumentException("minInterval must be positive");
+    }
+    if (maxInterval == null || maxInterval.compareTo(minInterval) < 0) {
+      throw new IllegalArgumentException("maxInterval must not be less than minInterval");
+    }
+    if (maxInFlight <= 0) {
+      throw new IllegalArgumentException("maxInFlight must be positive");
+    }
+    this.client = client;
+    this.minIntervalNanos = minInterval.toNanos();
+    this.maxIntervalNanos = maxInterval.toNanos();
+    this.inFlight = new Semaphore(maxInFlight);
+    this.scheduler = new Thread(this::run, "branchdown-branch-follower");
+    this.scheduler.setDaemon(true);
+    this.scheduler.start();
+  }
+
+  /**
+   * 브랜치를 따라가기 시작한다. 이미 따라가는 브랜치이면 리스너만 추가되며, 추가된 리스너는 다음 폴링 결과부터 받는다.
+   *
+   * @param streamId 스트림 ID
+   * @param branchNum 브랜치 번호
+   * @param depth 이미 받은 depth (이보다 깊은 포인트부터 전달). 이미 따라가는 브랜치이면 무시된다.
+   * @param listener 리스너
+   * @return 구독
+   * @throws IllegalStateException 이미 닫힌 경우
+   */
+  public Subscription follow(final long streamId, final int branchNum, final int depth, final Listener listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("listener must not be null");
+    }
+    if (this.closed) {
+      throw new IllegalStateException("BranchFollower is closed");
+    }
+    final Key key = new Key(streamId, branchNum);
+    final Branch[] created = new Branch[1];
+    final Branch branch = this.branches.compute(key, (k, existing) -> {
+      final Branch target = existing != null ? existing : (created[0] = new Branch(k, depth, this.minIntervalNanos));
+      target.listeners.add(listener);
+      return target;
+    });
+    if (created[0] != null) {
+      this.schedule(branch, 0);
+    }
+    return new Subscription() {
+      @Override
+      public int depth() {
+        return branch.depth;
+      }
+
+      @Override
+      public void close() {
+        branches.computeIfPresent(key, (k, current) -> {
+          if (current != branch) {
+            return current;
+          }
+          current.listeners.remove(listener);
+          return current.listeners.isEmpty() ? null : current;
+        });
+      }
+    };
+  }
+
+  /**
+   * @return 따라가는 브랜치 수
+   */
+  public int followed() {
+    return this.branches.size();
+  }
+
+  /**
+   * 폴링을 멈춘다. 진행 중인 요청의 결과는 전달되지만 다음 폴링은 예약하지 않는다.
+   */
+  @Override
+  public void close() {
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+    this.scheduler.interrupt();
+    boolean interrupted = false;
+    try {
+      this.scheduler.join();
+    } catch (InterruptedException e) {
+      interrupted = true;
+    }
+    this.branches.clear();
+    this.due.clear();
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  // ========== Helper Methods ==========
+
+  private void run() {
+    final List<Branch> batch = new ArrayList<>();
+    while (!this.closed) {
+      try {
+        batch.add(this.due.take());
+        // 같은 시점에 폴링할 때가 된 브랜치를 한 번에 처리한다
+        this.due.drainTo(batch);
+        for (final Branch branch : batch) {
+          if (this.branches.get(branch.key) == branch) {
+            this.inFlight.acquire();
+            this.poll(branch);
+          }
+        }
+      } catch (InterruptedException e) {
+        // close()가 인터럽트로 종료시킨다
+      }
+      batch.clear();
+    }
+  }
+
+  private void poll(final Branch branch) {
+    CompletableFuture<List<PointDto.Response>> result;
+    try {
+      result = this.client.getBranchPoints(branch.key.streamId(), branch.key.branchNum(), branch.depth);
+    } catch (RuntimeException e) {
+      result = CompletableFuture.failedFuture(e);
+    }
+    result.whenComplete((points, error) -> {
+      this.inFlight.release();
+      this.completed(branch, points, error);
+    });
+  }
+
+  private void completed(final Branch branch, final List<PointDto.Response> points, final Throwable error) {
+    final Key key = branch.key;
+    if (error != null) {
+      branch.intervalNanos = Math.min(branch.intervalNanos * 2, this.maxIntervalNanos);
+      final Throwable cause = error instanceof CompletionException && error.getCause() != null
+          ? error.getCause()
+          : error;
+      for (final Listener listener : branch.listeners) {
+        try {
+          listener.onError(key.streamId(), key.branchNum(), cause);
+        } catch (RuntimeException ignored) {
+          // 리스너 예외로 다른 리스너나 폴링이 멈추지 않도록 한다
+        }
+      }
+    } else if (points == null || points.isEmpty()) {
+      branch.intervalNanos = Math.min(branch.intervalNanos * 2, this.maxIntervalNanos);
+    } else {
+      branch.intervalNanos = this.minIntervalNanos;
+      int depth = branch.depth;
+      for (final PointDto.Response point : points) {
+        depth = Math.max(depth, point.depth());
+      }
+      branch.depth = depth;
+      for (final Listener listener : branch.listeners) {
+        try {
+          listener.onPoints(key.streamId(), key.branchNum(), points);
+        } catch (RuntimeException ignored) {
+          // 리스너 예외로 다른 리스너나 폴링이 멈추지 않도록 한다
+        }
+      }
+    }
+    if (!this.closed && this.branches.get(key) == branch) {
+      this.schedule(branch, branch.intervalNanos);
+    }
+  }
+
+  private void schedule(final Branch branch, final long delayNanos) {
+    branch.nextPollAt = System.nanoTime() + delayNanos;
+    this.due.add(branch);
+  }
+
+  /** 따라가는 브랜치 하나. 요청은 한 번에 하나만 진행되므로 커서와 간격은 요청 완료 스레드에서만 바뀐다. */
+  private static final class Branch implements Delayed {
+
+    private final Key key;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private volatile int depth;
+    private volatile long intervalNanos;
+    private volatile long nextPollAt;
+
+    private Branch(final Key key, final int depth, final long intervalNanos) {
+      this.key = key;
+      this.depth = depth;
+      this.intervalNanos = intervalNanos;
+    }
+
+    @Override
+    public long getDelay(final TimeUnit unit) {
+      return unit.convert(this.nextPollAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(final Delayed other) {
+      return Long.compare(this.nextPollAt - ((Branch) other).nextPollAt, 0);
+    }
+  }
+}
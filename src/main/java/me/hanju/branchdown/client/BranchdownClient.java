@@ -1,6 +1,8 @@
 package me.hanju.branchdown.client;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 import me.hanju.branchdown.api.dto.PointDto;
 import me.hanju.branchdown.api.dto.StreamDto;
@@ -66,6 +68,59 @@ public interface BranchdownClient {
    */
   List<PointDto.Response> getBranchPoints(long streamId, int branchNum, int depth);
 
+  /**
+   * 스트림에 속한 모든 포인트를 하나씩 전달한다.
+   * 스트리밍 디코딩을 지원하는 구현체는 응답 전체를 메모리에 올리지 않고 파싱하는 즉시 전달한다.
+   *
+   * @param streamId 스트림 ID
+   * @param action 포인트마다 호출할 콜백
+   */
+  default void forEachStreamPoint(long streamId, Consumer<? super PointDto.Response> action) {
+    getStreamPoints(streamId).forEach(action);
+  }
+
+  /**
+   * 특정 브랜치에 속한 포인트를 하나씩 전달한다.
+   * 스트리밍 디코딩을 지원하는 구현체는 응답 전체를 메모리에 올리지 않고 파싱하는 즉시 전달한다.
+   *
+   * @param streamId 스트림 ID
+   * @param branchNum 브랜치 번호
+   * @param depth 조회할 시작 depth (해당 depth 이후의 포인트만 반환)
+   * @param action 포인트마다 호출할 콜백
+   */
+  default void forEachBranchPoint(long streamId, int branchNum, int depth,
+      Consumer<? super PointDto.Response> action) {
+    getBranchPoints(streamId, branchNum, depth).forEach(action);
+  }
+
+  /**
+   * 스트림에 속한 모든 포인트를 열 단위 테이블로 조회한다.
+   * 지원하는 구현체는 포인트마다 DTO를 만들지 않고 응답을 테이블로 바로 디코딩한다.
+   *
+   * @param streamId 스트림 ID
+   * @return 포인트 테이블 (ID 순)
+   */
+  default PointTable getStreamPointTable(long streamId) {
+    final PointTable.Builder builder = PointTable.builder();
+    forEachStreamPoint(streamId, builder::add);
+    return builder.build();
+  }
+
+  /**
+   * 특정 브랜치에 속한 포인트를 열 단위 테이블로 조회한다.
+   * 지원하는 구현체는 포인트마다 DTO를 만들지 않고 응답을 테이블로 바로 디코딩한다.
+   *
+   * @param streamId 스트림 ID
+   * @param branchNum 브랜치 번호
+   * @param depth 조회할 시작 depth (해당 depth 이후의 포인트만 반환)
+   * @return 포인트 테이블 (ID 순)
+   */
+  default PointTable getBranchPointTable(long streamId, int branchNum, int depth) {
+    final PointTable.Builder builder = PointTable.builder();
+    forEachBranchPoint(streamId, branchNum, depth, builder::add);
+    return builder.build();
+  }
+
   // ========== Point API ==========
 
   /**
@@ -78,6 +133,34 @@ public interface BranchdownClient {
    */
   PointDto.Response addPoint(long parentPointId, String itemId);
 
+  /**
+   * 부모 포인트 아래에 아이템들을 순서대로 이어 붙인다. 각 포인트는 직전에 생성된 포인트의 자식이 된다.
+   * 각 요청이 직전 응답의 ID에 의존하므로 요청은 순차적으로 전송된다.
+   * 중간에 실패하면 예외를 던지며, 이미 생성된 포인트는 남는다.
+   *
+   * @param parentPointId 첫 포인트의 부모 포인트 ID
+   * @param itemIds 아이템 ID 목록 (null 및 null 원소 불가)
+   * @return 생성된 포인트 목록 (itemIds 순서)
+   * @throws IllegalArgumentException itemIds가 null이거나 null 원소를 포함하는 경우
+   */
+  default List<PointDto.Response> addPoints(long parentPointId, List<String> itemIds) {
+    return ItemIds.chain(this, parentPointId, itemIds);
+  }
+
+  /**
+   * 같은 부모 포인트 아래에 아이템들을 형제로 추가한다.
+   * 구현체에 따라 첫 포인트 이후의 요청을 동시에 전송하며, 이 경우 두 번째 이후 포인트의 브랜치 번호 순서는
+   * itemIds 순서와 다를 수 있다. 중간에 실패하면 예외를 던지며, 이미 생성된 포인트는 남는다.
+   *
+   * @param parentPointId 부모 포인트 ID
+   * @param itemIds 아이템 ID 목록 (null 및 null 원소 불가)
+   * @return 생성된 포인트 목록 (itemIds 순서)
+   * @throws IllegalArgumentException itemIds가 null이거나 null 원소를 포함하는 경우
+   */
+  default List<PointDto.Response> addChildren(long parentPointId, List<String> itemIds) {
+    return ItemIds.siblings(this, parentPointId, itemIds);
+  }
+
   /**
    * 포인트의 조상 포인트들을 조회한다.
    *
@@ -85,4 +168,80 @@ public interface BranchdownClient {
    * @return 조상 포인트 목록
    */
   List<PointDto.Response> getAncestors(long pointId);
+
+  // ========== Bulk API ==========
+
+  /**
+   * 여러 스트림의 정보를 동시에 조회한다. 최대 16개 요청을 동시에 실행한다.
+   *
+   * @param streamIds 스트림 ID 목록 (중복은 한 번만 조회)
+   * @return 스트림별 결과
+   * @see #getStreams(Collection, int)
+   */
+  default BulkResult<StreamDto.Response> getStreams(Collection<Long> streamIds) {
+    return getStreams(streamIds, BulkExecution.DEFAULT_PARALLELISM);
+  }
+
+  /**
+   * 여러 스트림의 정보를 최대 {@code parallelism}개씩 동시에 조회한다.
+   * 실패한 스트림은 다른 스트림의 조회를 중단시키지 않고 결과의 {@link BulkResult#failures()}에 담긴다.
+   * 호출 스레드가 인터럽트되면 진행 중인 요청을 모두 취소하고 종료를 기다린 뒤 예외를 던진다.
+   *
+   * @param streamIds 스트림 ID 목록 (중복은 한 번만 조회)
+   * @param parallelism 최대 동시 요청 수
+   * @return 스트림별 결과
+   * @throws me.hanju.branchdown.client.exception.BranchdownClientException 호출 스레드가 인터럽트된 경우
+   */
+  default BulkResult<StreamDto.Response> getStreams(Collection<Long> streamIds, int parallelism) {
+    return BulkExecution.run(streamIds, parallelism, this::getStream);
+  }
+
+  /**
+   * 여러 스트림의 포인트 목록을 동시에 조회한다. 최대 16개 요청을 동시에 실행한다.
+   *
+   * @param streamIds 스트림 ID 목록 (중복은 한 번만 조회)
+   * @return 스트림별 포인트 목록
+   * @see #getStreamPointsBulk(Collection, int)
+   */
+  default BulkResult<List<PointDto.Response>> getStreamPointsBulk(Collection<Long> streamIds) {
+    return getStreamPointsBulk(streamIds, BulkExecution.DEFAULT_PARALLELISM);
+  }
+
+  /**
+   * 여러 스트림의 포인트 목록을 최대 {@code parallelism}개씩 동시에 조회한다.
+   * 실패 처리와 취소는 {@link #getStreams(Collection, int)}와 같다.
+   *
+   * @param streamIds 스트림 ID 목록 (중복은 한 번만 조회)
+   * @param parallelism 최대 동시 요청 수
+   * @return 스트림별 포인트 목록
+   */
+  default BulkResult<List<PointDto.Response>> getStreamPointsBulk(Collection<Long> streamIds, int parallelism) {
+    return BulkExecution.run(streamIds, parallelism, this::getStreamPoints);
+  }
+
+  /**
+   * 여러 스트림을 동시에 삭제한다. 최대 16개 요청을 동시에 실행한다.
+   *
+   * @param streamIds 스트림 ID 목록 (중복은 한 번만 삭제)
+   * @return 스트림별 결과 (성공 항목의 값은 null)
+   * @see #deleteStreams(Collection, int)
+   */
+  default BulkResult<Void> deleteStreams(Collection<Long> streamIds) {
+    return deleteStreams(streamIds, BulkExecution.DEFAULT_PARALLELISM);
+  }
+
+  /**
+   * 여러 스트림을 최대 {@code parallelism}개씩 동시에 삭제한다.
+   * 실패 처리와 취소는 {@link #getStreams(Collection, int)}와 같으며, 취소 전에 삭제된 스트림은 되돌리지 않는다.
+   *
+   * @param streamIds 스트림 ID 목록 (중복은 한 번만 삭제)
+   * @param parallelism 최대 동시 요청 수
+   * @return 스트림별 결과 (성공 항목의 값은 null)
+   */
+  default BulkResult<Void> deleteStreams(Collection<Long> streamIds, int parallelism) {
+    return BulkExecution.run(streamIds, parallelism, streamId -> {
+      deleteStream(streamId);
+      return null;
+    });
+  }
 }
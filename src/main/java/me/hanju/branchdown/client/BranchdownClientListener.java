@@ -0,0 +1,74 @@
+package me.hanju.branchdown.client;
+
+import java.util.List;
+
+/**
+ * HTTP 요청 단위 계측 리스너.
+ * 구현체 생성자에 전달하면 엔드포인트별 요청마다 {@link #requestStarted}와 {@link #requestFinished}가 한 번씩 호출된다.
+ *
+ * <p>요청 스레드(또는 이벤트 루프 스레드)에서 동기적으로 호출되므로 구현은 짧고 블로킹 없이 끝나야 하며 예외를 던지지 않아야 한다.
+ * 집계 구현은 {@link me.hanju.branchdown.client.metrics.BranchdownMetrics}를,
+ * Micrometer 연동은 {@link me.hanju.branchdown.client.metrics.MicrometerBranchdownListener}를 참고한다.
+ */
+public interface BranchdownClientListener {
+
+  /** 아무것도 하지 않는 리스너. */
+  BranchdownClientListener NONE = new BranchdownClientListener() {
+  };
+
+  /**
+   * 요청을 보내기 직전에 호출된다.
+   *
+   * @param endpoint 엔드포인트
+   */
+  default void requestStarted(final BranchdownEndpoint endpoint) {
+  }
+
+  /**
+   * 요청이 성공, 실패, 취소 중 하나로 끝나면 호출된다.
+   *
+   * <p>응답 본문은 수신하면서 디코딩하므로 {@code decodeNanos}에는 본문 전송 시간도 포함된다.
+   * 응답 헤더를 받기 전에 실패하면 전체 시간이 {@code serverNanos}로 보고되고 {@code decodeNanos}는 0이다.
+   *
+   * @param endpoint 엔드포인트
+   * @param serverNanos 요청 전송부터 응답 헤더 수신까지 걸린 시간 (연결 수립 포함)
+   * @param decodeNanos 응답 헤더 수신부터 본문 디코딩 완료까지 걸린 시간
+   * @param bytesReceived 수신한 응답 본문 바이트 수 (압축 해제 후)
+   * @param error 실패 원인. 성공 시 null, 취소 시 {@link java.util.concurrent.CancellationException}
+   */
+  default void requestFinished(final BranchdownEndpoint endpoint, final long serverNanos, final long decodeNanos,
+      final long bytesReceived, final Throwable error) {
+  }
+
+  /**
+   * 여러 리스너에 차례로 전달하는 리스너를 만든다.
+   *
+   * @param listeners 리스너 목록
+   * @return 합성 리스너
+   */
+  static BranchdownClientListener of(final BranchdownClientListener... listeners) {
+    if (listeners == null) {
+      throw new IllegalArgumentException("listeners must not be null");
+    }
+    final List<BranchdownClientListener> targets = List.of(listeners);
+    if (targets.size() == 1) {
+      return targets.get(0);
+    }
+    return new BranchdownClientListener() {
+      @Override
+      public void requestStarted(final BranchdownEndpoint endpoint) {
+        for (final BranchdownClientListener target : targets) {
+          target.requestStarted(endpoint);
+        }
+      }
+
+      @Override
+      public void requestFinished(final BranchdownEndpoint endpoint, final long serverNanos, final long decodeNanos,
+          final long bytesReceived, final Throwable error) {
+        for (final BranchdownClientListener target : targets) {
+          target.requestFinished(endpoint, serverNanos, decodeNanos, bytesReceived, error);
+        }
+      }
+    };
+  }
+}
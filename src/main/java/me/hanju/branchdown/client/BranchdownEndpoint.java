@@ -0,0 +1,38 @@
+package me.hanju.branchdown.client;
+
+/**
+ * Branchdown API 엔드포인트.
+ * 계측({@link BranchdownClientListener})과 같이 엔드포인트별로 동작을 나누는 기능이 공유한다.
+ */
+public enum BranchdownEndpoint {
+
+  CREATE_STREAM("createStream", false),
+  GET_STREAM("getStream", true),
+  DELETE_STREAM("deleteStream", false),
+  GET_STREAM_POINTS("getStreamPoints", true),
+  GET_BRANCH_POINTS("getBranchPoints", true),
+  ADD_POINT("addPoint", false),
+  GET_ANCESTORS("getAncestors", true);
+
+  private final String operation;
+  private final boolean readOnly;
+
+  BranchdownEndpoint(final String operation, final boolean readOnly) {
+    this.operation = operation;
+    this.readOnly = readOnly;
+  }
+
+  /**
+   * @return {@link BranchdownClient}의 메서드 이름 (메트릭 태그 등에 사용)
+   */
+  public String operation() {
+    return this.operation;
+  }
+
+  /**
+   * @return 서버 상태를 바꾸지 않는 조회 엔드포인트이면 true
+   */
+  public boolean readOnly() {
+    return this.readOnly;
+  }
+}
@@ -0,0 +1,103 @@
+package me.hanju.branchdown.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import me.hanju.branchdown.api.dto.CommonResponseDto;
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.api.dto.StreamDto;
+
+/**
+ * Jackson 기반 구현체들이 공유하는 직렬화 설정.
+ *
+ * <p>{@link ObjectMapper}는 하나만 만들고, 응답 타입별 {@link ObjectReader}를 미리 만들어 두어
+ * 호출마다 {@code JavaType}을 다시 해석하지 않는다. {@code jackson-module-blackbird}가 클래스패스에 있으면
+ * 등록하여 리플렉션 대신 생성된 접근자로 역직렬화한다.
+ */
+final class BranchdownJson {
+
+  static final ObjectMapper MAPPER = createMapper();
+
+  static final ResponseReader<StreamDto.Response> STREAM_RESPONSE = new ResponseReader<>(
+      new TypeReference<CommonResponseDto<StreamDto.Response>>() {
+      });
+  static final ResponseReader<PointDto.Response> POINT_RESPONSE = new ResponseReader<>(
+      new TypeReference<CommonResponseDto<PointDto.Response>>() {
+      });
+  static final ResponseReader<List<PointDto.Response>> POINT_LIST_RESPONSE = new ResponseReader<>(
+      new TypeReference<CommonResponseDto<List<PointDto.Response>>>() {
+      });
+  static final ResponseReader<Void> VOID_RESPONSE = new ResponseReader<>(
+      new TypeReference<CommonResponseDto<Void>>() {
+      });
+  static final ObjectReader POINT = MAPPER.readerFor(PointDto.Response.class);
+  static final ObjectWriter DOWN_REQUEST = MAPPER.writerFor(PointDto.DownRequest.class);
+
+  private static final String BLACKBIRD_MODULE = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+
+  private BranchdownJson() {
+  }
+
+  private static ObjectMapper createMapper() {
+    return configure(new ObjectMapper());
+  }
+
+  /** JSON과 이진 형식 매퍼에 같은 설정을 적용한다. */
+  static ObjectMapper configure(final ObjectMapper mapper) {
+    mapper.registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    try {
+      mapper.registerModule((Module) Class.forName(BLACKBIRD_MODULE).getDeclaredConstructor().newInstance());
+    } catch (ReflectiveOperationException | LinkageError e) {
+      // 선택 모듈이 없으면 기본 리플렉션 접근을 사용한다
+    }
+    return mapper;
+  }
+
+  /** 응답 타입 정보를 유지하는 미리 만든 {@link ObjectReader}. */
+  static final class ResponseReader<T> {
+
+    private final TypeReference<CommonResponseDto<T>> type;
+    private final ObjectReader reader;
+    private final ObjectReader[] binaryReaders = new ObjectReader[WireFormat.values().length];
+
+    private ResponseReader(final TypeReference<CommonResponseDto<T>> type) {
+      this.type = type;
+      this.reader = MAPPER.readerFor(type);
+    }
+
+    /** {@code CommonResponseDto<T>}의 제네릭 타입 */
+    Type type() {
+      return this.type.getType();
+    }
+
+    CommonResponseDto<T> read(final InputStream body) throws IOException {
+      return this.reader.readValue(body);
+    }
+
+    CommonResponseDto<T> read(final InputStream body, final WireFormat format) throws IOException {
+      if (format == WireFormat.JSON) {
+        return this.reader.readValue(body);
+      }
+      ObjectReader binary = this.binaryReaders[format.ordinal()];
+      if (binary == null) {
+        // 경합해도 같은 설정의 불변 리더가 만들어질 뿐이다
+        binary = format.mapper().readerFor(this.type);
+        this.binaryReaders[format.ordinal()] = binary;
+      }
+      return binary.readValue(body);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package me.hanju.branchdown.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongFunction;
+
+import me.hanju.branchdown.client.exception.BranchdownClientException;
+
+/**
+ * 일괄 호출을 정해진 수의 가상 스레드 워커로 실행한다.
+ *
+ * <p>워커는 호출 스레드가 기다리는 동안에만 존재한다. 호출 스레드가 인터럽트되면 모든 워커를 인터럽트하고
+ * 종료될 때까지 기다린 뒤 예외를 던지므로, 호출이 끝난 뒤 남아 있는 요청은 없다.
+ * 가상 스레드에서 블로킹 소켓 I/O 중 인터럽트되면 소켓이 닫히므로 진행 중인 요청도 바로 중단된다.
+ */
+final class BulkExecution {
+
+  static final int DEFAULT_PARALLELISM = 16;
+
+  private static final Object NULL = new Object();
+
+  private BulkExecution() {
+  }
+
+  static <T> BulkResult<T> run(final Collection<Long> ids, final int parallelism, final LongFunction<T> call) {
+    if (ids == null) {
+      throw new IllegalArgumentException("ids must not be null");
+    }
+    if (parallelism <= 0) {
+      throw new IllegalArgumentException("parallelism must be positive");
+    }
+    final LinkedHashSet<Long> distinct = new LinkedHashSet<>(ids);
+    if (distinct.contains(null)) {
+      throw new IllegalArgumentException("ids must not contain null");
+    }
+    final Queue<Long> queue = new ConcurrentLinkedQueue<>(distinct);
+    final Map<Long, Object> outcomes = new ConcurrentHashMap<>();
+    final AtomicBoolean cancelled = new AtomicBoolean();
+    final int workers = Math.min(parallelism, distinct.size());
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      final List<Future<?>> futures = new ArrayList<>(workers);
+      for (int i = 0; i < workers; i++) {
+        futures.add(executor.submit(() -> work(queue, outcomes, call, cancelled)));
+      }
+      await(futures, cancelled);
+    }
+    return collect(distinct, outcomes);
+  }
+
+  /** 인터럽트된 호출이 예외로 바뀌어 인터럽트 상태가 지워질 수 있으므로 취소 여부는 별도 플래그로 확인한다. */
+  private static <T> void work(final Queue<Long> queue, final Map<Long, Object> outcomes, final LongFunction<T> call,
+      final AtomicBoolean cancelled) {
+    Long id;
+    while (!cancelled.get() && (id = queue.poll()) != null) {
+      Object outcome;
+      try {
+        final T value = call.apply(id);
+        outcome = value == null ? NULL : value;
+      } catch (RuntimeException e) {
+        outcome = new Failure(e);
+      }
+      outcomes.put(id, outcome);
+    }
+  }
+
+  private static void await(final List<Future<?>> futures, final AtomicBoolean cancelled) {
+    try {
+      for (final Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      cancelled.set(true);
+      futures.forEach(future -> future.cancel(true));
+      Thread.currentThread().interrupt();
+      throw new BranchdownClientException("Bulk request interrupted", e);
+    } catch (ExecutionException e) {
+      cancelled.set(true);
+      futures.forEach(future -> future.cancel(true));
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw new BranchdownClientException("Bulk request failed", e.getCause());
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> BulkResult<T> collect(final Collection<Long> ids, final Map<Long, Object> outcomes) {
+    final Map<Long, T> values = new LinkedHashMap<>();
+    final Map<Long, RuntimeException> failures = new LinkedHashMap<>();
+    for (final Long id : ids) {
+      final Object outcome = outcomes.get(id);
+      if (outcome instanceof Failure failure) {
+        failures.put(id, failure.exception());
+      } else {
+        values.put(id, outcome == NULL ? null : (T) outcome);
+      }
+    }
+    return new BulkResult<>(values, failures);
+  }
+
+  private record Failure(RuntimeException exception) {
+  }
+}
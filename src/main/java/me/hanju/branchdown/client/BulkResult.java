@@ -0,0 +1,60 @@
+package me.hanju.branchdown.client;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 일괄 호출의 항목별 결과. 한 항목의 실패가 다른 항목을 중단시키지 않으므로 성공과 실패가 함께 담긴다.
+ *
+ * @param <T> 항목별 결과 타입
+ */
+public final class BulkResult<T> {
+
+  private final Map<Long, T> values;
+  private final Map<Long, RuntimeException> failures;
+
+  BulkResult(final Map<Long, T> values, final Map<Long, RuntimeException> failures) {
+    this.values = Collections.unmodifiableMap(values);
+    this.failures = Collections.unmodifiableMap(failures);
+  }
+
+  /**
+   * @return 성공한 항목의 ID별 결과 (입력 순서, 값이 없는 호출은 null 값)
+   */
+  public Map<Long, T> values() {
+    return this.values;
+  }
+
+  /**
+   * @return 실패한 항목의 ID별 예외 (입력 순서)
+   */
+  public Map<Long, RuntimeException> failures() {
+    return this.failures;
+  }
+
+  public boolean hasFailures() {
+    return !this.failures.isEmpty();
+  }
+
+  /** 처리한 항목 수 */
+  public int size() {
+    return this.values.size() + this.failures.size();
+  }
+
+  /**
+   * @param id 항목 ID
+   * @return 항목의 결과
+   * @throws RuntimeException 항목이 실패했으면 그 예외
+   * @throws IllegalArgumentException 일괄 호출에 포함되지 않은 ID인 경우
+   */
+  public T get(final long id) {
+    final RuntimeException failure = this.failures.get(id);
+    if (failure != null) {
+      throw failure;
+    }
+    if (!this.values.containsKey(id)) {
+      throw new IllegalArgumentException("Unknown id: " + id);
+    }
+    return this.values.get(id);
+  }
+}
@@ -0,0 +1,253 @@
+package me.hanju.branchdown.client;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.api.dto.StreamDto;
+
+/**
+ * {@code getStream}, {@code getStreamPoints}, {@code getBranchPoints} 결과를 캐시하는 {@link BranchdownClient} 데코레이터.
+ *
+ * <p>캐시 크기는 항목 가중치의 합으로 제한한다. 스트림 정보는 1, 포인트 목록은 포인트 수 + 1이다.
+ * 자리가 부족하면 가장 오래 사용하지 않은 항목부터 밀어내되, TinyLFU 방식으로 밀려날 항목보다 최근 접근 빈도가 높은
+ * 새 항목만 들인다. 한 번 조회되고 마는 스트림이 자주 조회되는 스트림을 밀어내지 않는다.
+ *
+ * <p>이 클라이언트로 쓰면 캐시도 함께 갱신한다. {@link #addPoint}로 만든 포인트는 부모가 속한 스트림의 캐시된
+ * 포인트 목록과, 같은 브랜치의 캐시된 브랜치 목록(조회 depth보다 깊은 경우)에 이어 붙이고,
+ * {@link #deleteStream}은 그 스트림의 항목을 모두 제거한다. 부모가 속한 스트림을 알 수 없으면 해당 브랜치 번호의
+ * 브랜치 목록을 모든 스트림에서 제거한다. 조회 중에 쓰기가 있었으면 그 조회 결과는 캐시하지 않는다.
+ * 다른 클라이언트가 쓴 변경은 반영되지 않으므로 같은 스트림을 여러 프로세스가 쓰는 경우에는 사용하지 않는다.
+ *
+ * <p>목록은 수정할 수 없는 목록으로 반환한다. 스트리밍 메서드와 테이블 메서드는 캐시를 거치지 않는다.
+ */
+public class CachingBranchdownClient extends ForwardingBranchdownClient {
+
+  private enum Kind {
+    STREAM, STREAM_POINTS, BRANCH_POINTS
+  }
+
+  private record Key(Kind kind, long streamId, int branchNum, int depth) {
+  }
+
+  /** 캐시에 항목이 있는 스트림의 키와, 그 항목들에 나온 포인트 ID */
+  private static final class StreamEntries {
+    private final Set<Key> keys = new HashSet<>();
+    private final Set<Long> pointIds = new HashSet<>();
+  }
+
+  private final Object lock = new Object();
+  private final TinyLfuCache<Key, Object> cache;
+  private final Map<Long, StreamEntries> streams = new HashMap<>();
+  private final Map<Long, Long> pointStreams = new HashMap<>();
+  private long writes;
+
+  /**
+   * @param delegate 위임 대상
+   * @param maximumWeight 최대 가중치 합 (대략 캐시할 포인트 수)
+   */
+  public CachingBranchdownClient(final BranchdownClient delegate, final long maximumWeight) {
+    super(delegate);
+    this.cache = new TinyLfuCache<>(maximumWeight,
+        value -> value instanceof List<?> list ? list.size() + 1 : 1,
+        this::unindex);
+  }
+
+  /** 캐시된 항목 수 */
+  public int cachedSize() {
+    synchronized (this.lock) {
+      return this.cache.size();
+    }
+  }
+
+  /** 캐시된 항목의 가중치 합 */
+  public long cachedWeight() {
+    synchronized (this.lock) {
+      return this.cache.weight();
+    }
+  }
+
+  // ========== Stream API ==========
+
+  @Override
+  public StreamDto.Response getStream(final long streamId) {
+    return this.read(new Key(Kind.STREAM, streamId, 0, 0), () -> this.delegate().getStream(streamId));
+  }
+
+  @Override
+  public void deleteStream(final long streamId) {
+    try {
+      this.delegate().deleteStream(streamId);
+    } finally {
+      synchronized (this.lock) {
+        this.writes++;
+        final StreamEntries entries = this.streams.get(streamId);
+        if (entries != null) {
+          List.copyOf(entries.keys).forEach(this.cache::remove);
+        }
+      }
+    }
+  }
+
+  @Override
+  public List<PointDto.Response> getStreamPoints(final long streamId) {
+    return this.read(new Key(Kind.STREAM_POINTS, streamId, 0, 0),
+        () -> List.copyOf(this.delegate().getStreamPoints(streamId)));
+  }
+
+  @Override
+  public List<PointDto.Response> getBranchPoints(final long streamId, final int branchNum, final int depth) {
+    return this.read(new Key(Kind.BRANCH_POINTS, streamId, branchNum, depth),
+        () -> List.copyOf(this.delegate().getBranchPoints(streamId, branchNum, depth)));
+  }
+
+  // ========== Point API ==========
+
+  @Override
+  public PointDto.Response addPoint(final long parentPointId, final String itemId) {
+    final PointDto.Response point = this.delegate().addPoint(parentPointId, itemId);
+    synchronized (this.lock) {
+      this.writes++;
+      this.append(parentPointId, point);
+    }
+    return point;
+  }
+
+  @Override
+  public List<PointDto.Response> addPoints(final long parentPointId, final List<String> itemIds) {
+    final List<PointDto.Response> points = this.delegate().addPoints(parentPointId, itemIds);
+    synchronized (this.lock) {
+      this.writes++;
+      long parentId = parentPointId;
+      for (final PointDto.Response point : points) {
+        this.append(parentId, point);
+        parentId = point.id();
+      }
+    }
+    return points;
+  }
+
+  @Override
+  public List<PointDto.Response> addChildren(final long parentPointId, final List<String> itemIds) {
+    final List<PointDto.Response> points = this.delegate().addChildren(parentPointId, itemIds);
+    synchronized (this.lock) {
+      this.writes++;
+      points.forEach(point -> this.append(parentPointId, point));
+    }
+    return points;
+  }
+
+  // ========== Helper Methods ==========
+
+  @SuppressWarnings("unchecked")
+  private <T> T read(final Key key, final Supplier<T> loader) {
+    final long version;
+    synchronized (this.lock) {
+      final Object cached = this.cache.get(key);
+      if (cached != null) {
+        return (T) cached;
+      }
+      version = this.writes;
+    }
+    final T value = loader.get();
+    if (value != null) {
+      synchronized (this.lock) {
+        if (this.writes == version && this.cache.put(key, value)) {
+          this.index(key, value);
+        }
+      }
+    }
+    return value;
+  }
+
+  /**
+   * 새 포인트를 부모가 속한 스트림의 캐시된 목록에 추가한다. lock을 잡은 상태에서 호출한다.
+   * 스트림 목록은 서버와 같이 ID 순을 유지한다. 동시에 전송된 형제({@code addChildren})나 동시 호출의 응답은 ID 순으로 오지 않는다.
+   */
+  private void append(final long parentPointId, final PointDto.Response point) {
+    final Long streamId = this.pointStreams.get(parentPointId);
+    final StreamEntries entries = streamId == null ? null : this.streams.get(streamId);
+    if (entries == null) {
+      for (final Key key : this.cache.keys()) {
+        if (key.kind() == Kind.BRANCH_POINTS && affects(key, point)) {
+          this.cache.remove(key);
+        }
+      }
+      return;
+    }
+    for (final Key key : List.copyOf(entries.keys)) {
+      if (key.kind() == Kind.STREAM_POINTS || key.kind() == Kind.BRANCH_POINTS && affects(key, point)) {
+        @SuppressWarnings("unchecked")
+        final List<PointDto.Response> cached = (List<PointDto.Response>) this.cache.peek(key);
+        if (cached == null) {
+          continue;
+        }
+        final List<PointDto.Response> appended = new ArrayList<>(cached.size() + 1);
+        appended.addAll(cached);
+        if (key.kind() == Kind.STREAM_POINTS) {
+          appended.add(insertionPoint(cached, point.id()), point);
+        } else {
+          appended.add(point);
+        }
+        this.cache.replace(key, List.copyOf(appended));
+      }
+    }
+    if (this.streams.get(streamId) == entries) {
+      entries.pointIds.add(point.id());
+      this.pointStreams.put(point.id(), streamId);
+    }
+  }
+
+  /** ID 순 목록에서 {@code id}가 들어갈 위치. 새 포인트는 대개 끝에 오므로 뒤에서부터 찾는다. */
+  private static int insertionPoint(final List<PointDto.Response> points, final long id) {
+    int index = points.size();
+    while (index > 0 && points.get(index - 1).id() > id) {
+      index--;
+    }
+    return index;
+  }
+
+  private static boolean affects(final Key key, final PointDto.Response point) {
+    final Integer branchNum = point.branchNum();
+    final Integer depth = point.depth();
+    return branchNum != null && depth != null && key.branchNum() == branchNum && depth > key.depth();
+  }
+
+  private void index(final Key key, final Object value) {
+    final StreamEntries entries = this.streams.computeIfAbsent(key.streamId(), id -> new StreamEntries());
+    entries.keys.add(key);
+    if (value instanceof StreamDto.Response stream) {
+      final Long rootPointId = stream.rootPointId();
+      if (rootPointId != null) {
+        this.indexPoint(entries, key.streamId(), rootPointId);
+      }
+    } else if (value instanceof List<?> points) {
+      for (final Object point : points) {
+        this.indexPoint(entries, key.streamId(), ((PointDto.Response) point).id());
+      }
+    }
+  }
+
+  private void indexPoint(final StreamEntries entries, final long streamId, final long pointId) {
+    entries.pointIds.add(pointId);
+    this.pointStreams.put(pointId, streamId);
+  }
+
+  /** 캐시에서 항목이 제거되면 호출된다. 스트림의 마지막 항목이면 포인트 색인도 지운다. */
+  private void unindex(final Key key, final Object value) {
+    final StreamEntries entries = this.streams.get(key.streamId());
+    if (entries == null) {
+      return;
+    }
+    entries.keys.remove(key);
+    if (entries.keys.isEmpty()) {
+      entries.pointIds.forEach(this.pointStreams::remove);
+      this.streams.remove(key.streamId());
+    }
+  }
+}
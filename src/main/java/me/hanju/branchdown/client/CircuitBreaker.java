@@ -0,0 +1,152 @@
+package me.hanju.branchdown.client;
+
+import java.util.function.LongSupplier;
+
+import me.hanju.branchdown.client.CircuitBreakingBranchdownClient.State;
+
+/**
+ * {@link CircuitBreakerPolicy}를 따르는 회로 상태 기계.
+ *
+ * <p>닫힘 상태의 결과는 고정 크기 링 버퍼에 기록하고 실패/느린 호출 수를 증감하여 비율을 O(1)로 계산한다.
+ * 반열림 상태에서는 시험 요청의 결과만 따로 센다. 상태 전이와 기록은 짧게 동기화된다.
+ *
+ * <p>{@link #tryAcquire()}가 돌려주는 허가 값은 호출을 허용한 시점의 상태 세대(전이 횟수)다. 결과를 알릴 때 세대가
+ * 바뀌었으면 그 결과는 이전 상태에서 시작한 호출이므로 반영하지 않는다. 예를 들어 닫힘 상태에서 시작해 반열림 상태에서
+ * 끝난 호출은 시험 요청으로 세지 않는다.
+ */
+final class CircuitBreaker {
+
+  private static final byte FAILED = 1;
+  private static final byte SLOW = 2;
+
+  /** {@link #tryAcquire()}가 호출을 거절했음을 나타내는 허가 값 */
+  static final long REJECTED = -1;
+
+  private final CircuitBreakerPolicy policy;
+  private final LongSupplier clock;
+  private final long slowCallNanos;
+  private final long openNanos;
+  private final byte[] outcomes;
+  private int next;
+  private int recorded;
+  private int failures;
+  private int slowCalls;
+
+  private State state = State.CLOSED;
+  private long generation;
+  private long openedAt;
+  private int probesIssued;
+  private int probesCompleted;
+  private int probeFailures;
+  private int probeSlowCalls;
+
+  CircuitBreaker(final CircuitBreakerPolicy policy, final LongSupplier clock) {
+    this.policy = policy;
+    this.clock = clock;
+    this.slowCallNanos = policy.slowCallDuration().toNanos();
+    this.openNanos = policy.openDuration().toNanos();
+    this.outcomes = new byte[policy.windowSize()];
+  }
+
+  synchronized State state() {
+    if (this.state == State.OPEN && this.clock.getAsLong() - this.openedAt >= this.openNanos) {
+      return State.HALF_OPEN;
+    }
+    return this.state;
+  }
+
+  /**
+   * @return 호출해도 되면 허가 값(0 이상), 아니면 {@link #REJECTED}. 허가를 받았다면 결과를
+   *     {@link #onSuccess}/{@link #onFailure}/{@link #onIgnored}에 허가 값과 함께 알려야 한다.
+   */
+  synchronized long tryAcquire() {
+    if (this.state == State.OPEN) {
+      if (this.clock.getAsLong() - this.openedAt < this.openNanos) {
+        return REJECTED;
+      }
+      this.transition(State.HALF_OPEN);
+    }
+    if (this.state == State.HALF_OPEN) {
+      if (this.probesIssued >= this.policy.probes()) {
+        return REJECTED;
+      }
+      this.probesIssued++;
+    }
+    return this.generation;
+  }
+
+  synchronized void onSuccess(final long permit, final long elapsedNanos) {
+    if (permit == this.generation) {
+      this.record(elapsedNanos >= this.slowCallNanos ? SLOW : 0);
+    }
+  }
+
+  synchronized void onFailure(final long permit, final long elapsedNanos) {
+    if (permit == this.generation) {
+      this.record((byte) (FAILED | (elapsedNanos >= this.slowCallNanos ? SLOW : 0)));
+    }
+  }
+
+  /** 서버 상태와 무관하게 끝난 호출 (인자 오류 등). 반열림 상태의 시험 요청 자리만 돌려준다. */
+  synchronized void onIgnored(final long permit) {
+    if (permit == this.generation && this.state == State.HALF_OPEN && this.probesIssued > this.probesCompleted) {
+      this.probesIssued--;
+    }
+  }
+
+  private void record(final byte outcome) {
+    switch (this.state) {
+      case CLOSED -> {
+        if (this.recorded == this.outcomes.length) {
+          final byte evicted = this.outcomes[this.next];
+          this.failures -= evicted & FAILED;
+          this.slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+          this.recorded++;
+        }
+        this.outcomes[this.next] = outcome;
+        this.next = (this.next + 1) % this.outcomes.length;
+        this.failures += outcome & FAILED;
+        this.slowCalls += (outcome & SLOW) >> 1;
+        if (this.recorded >= this.policy.minimumCalls() && this.exceeds(this.failures, this.slowCalls, this.recorded)) {
+          this.transition(State.OPEN);
+        }
+      }
+      case HALF_OPEN -> {
+        this.probesCompleted++;
+        this.probeFailures += outcome & FAILED;
+        this.probeSlowCalls += (outcome & SLOW) >> 1;
+        if (this.exceeds(this.probeFailures, this.probeSlowCalls, this.policy.probes())) {
+          this.transition(State.OPEN);
+        } else if (this.probesCompleted >= this.policy.probes()) {
+          this.transition(State.CLOSED);
+        }
+      }
+      case OPEN -> {
+        // 세대를 확인하므로 도달하지 않는다
+      }
+    }
+  }
+
+  private boolean exceeds(final int failed, final int slow, final int total) {
+    return failed >= this.policy.failureRateThreshold() * total
+        || slow >= this.policy.slowCallRateThreshold() * total;
+  }
+
+  private void transition(final State target) {
+    this.state = target;
+    this.generation++;
+    this.probesIssued = 0;
+    this.probesCompleted = 0;
+    this.probeFailures = 0;
+    this.probeSlowCalls = 0;
+    if (target == State.OPEN) {
+      this.openedAt = this.clock.getAsLong();
+    } else if (target == State.CLOSED) {
+      this.next = 0;
+      this.recorded = 0;
+      this.failures = 0;
+      this.slowCalls = 0;
+    }
+  }
+}
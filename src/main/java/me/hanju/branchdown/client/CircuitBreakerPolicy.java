@@ -0,0 +1,134 @@
+package me.hanju.branchdown.client;
+
+import java.time.Duration;
+
+/**
+ * 회로 차단 정책.
+ *
+ * <p>최근 {@code windowSize}건의 결과 중 실패 비율이나 느린 호출 비율이 임계값 이상이면 회로를 연다.
+ * 구간에 {@code minimumCalls}건 이상 쌓이기 전에는 열지 않는다. 열린 회로는 {@code openDuration}이 지나면
+ * 반열림 상태가 되어 {@code probes}건만 통과시키고, 그 결과가 임계값 미만이면 닫고 아니면 다시 연다.
+ *
+ * <p>기본값은 구간 100건, 최소 20건, 실패율 50%, 느린 호출 1초 이상 80%, 열림 10초, 시험 요청 5건이다.
+ */
+public final class CircuitBreakerPolicy {
+
+  private static final CircuitBreakerPolicy DEFAULTS = new CircuitBreakerPolicy(100, 20, 0.5,
+      Duration.ofSeconds(1), 0.8, Duration.ofSeconds(10), 5);
+
+  private final int windowSize;
+  private final int minimumCalls;
+  private final double failureRateThreshold;
+  private final Duration slowCallDuration;
+  private final double slowCallRateThreshold;
+  private final Duration openDuration;
+  private final int probes;
+
+  private CircuitBreakerPolicy(final int windowSize, final int minimumCalls, final double failureRateThreshold,
+      final Duration slowCallDuration, final double slowCallRateThreshold, final Duration openDuration,
+      final int probes) {
+    this.windowSize = windowSize;
+    this.minimumCalls = minimumCalls;
+    this.failureRateThreshold = failureRateThreshold;
+    this.slowCallDuration = slowCallDuration;
+    this.slowCallRateThreshold = slowCallRateThreshold;
+    this.openDuration = openDuration;
+    this.probes = probes;
+  }
+
+  public static CircuitBreakerPolicy defaults() {
+    return DEFAULTS;
+  }
+
+  /**
+   * @param windowSize 실패율을 계산할 최근 호출 수
+   * @param minimumCalls 회로를 열기 전에 필요한 최소 호출 수 (1 이상 {@code windowSize} 이하)
+   * @return 구간을 바꾼 정책
+   */
+  public CircuitBreakerPolicy withWindow(final int windowSize, final int minimumCalls) {
+    if (minimumCalls < 1 || minimumCalls > windowSize) {
+      throw new IllegalArgumentException("minimumCalls must be between 1 and windowSize");
+    }
+    return new CircuitBreakerPolicy(windowSize, minimumCalls, this.failureRateThreshold, this.slowCallDuration,
+        this.slowCallRateThreshold, this.openDuration, this.probes);
+  }
+
+  /**
+   * @param threshold 회로를 여는 실패 비율 (0 초과 1 이하)
+   * @return 실패율 임계값을 바꾼 정책
+   */
+  public CircuitBreakerPolicy withFailureRate(final double threshold) {
+    requireRate(threshold, "threshold");
+    return new CircuitBreakerPolicy(this.windowSize, this.minimumCalls, threshold, this.slowCallDuration,
+        this.slowCallRateThreshold, this.openDuration, this.probes);
+  }
+
+  /**
+   * @param duration 이 시간 이상 걸린 호출을 느린 호출로 센다
+   * @param threshold 회로를 여는 느린 호출 비율 (0 초과 1 이하)
+   * @return 느린 호출 기준을 바꾼 정책
+   */
+  public CircuitBreakerPolicy withSlowCalls(final Duration duration, final double threshold) {
+    requirePositive(duration, "duration");
+    requireRate(threshold, "threshold");
+    return new CircuitBreakerPolicy(this.windowSize, this.minimumCalls, this.failureRateThreshold, duration,
+        threshold, this.openDuration, this.probes);
+  }
+
+  /**
+   * @param duration 회로를 연 뒤 시험 요청을 보내기까지 기다리는 시간
+   * @param probes 반열림 상태에서 통과시킬 시험 요청 수
+   * @return 열림 동작을 바꾼 정책
+   */
+  public CircuitBreakerPolicy withOpenDuration(final Duration duration, final int probes) {
+    requirePositive(duration, "duration");
+    if (probes < 1) {
+      throw new IllegalArgumentException("probes must be positive");
+    }
+    return new CircuitBreakerPolicy(this.windowSize, this.minimumCalls, this.failureRateThreshold,
+        this.slowCallDuration, this.slowCallRateThreshold, duration, probes);
+  }
+
+  int windowSize() {
+    return this.windowSize;
+  }
+
+  int minimumCalls() {
+    return this.minimumCalls;
+  }
+
+  double failureRateThreshold() {
+    return this.failureRateThreshold;
+  }
+
+  Duration slowCallDuration() {
+    return this.slowCallDuration;
+  }
+
+  double slowCallRateThreshold() {
+    return this.slowCallRateThreshold;
+  }
+
+  Duration openDuration() {
+    return this.openDuration;
+  }
+
+  int probes() {
+    return this.probes;
+  }
+
+  private static void requireRate(final double value, final String name) {
+    if (!(value > 0 && value <= 1)) {
+      throw new IllegalArgumentException(name + " must be greater than 0 and at most 1");
+    }
+  }
+
+  private static void requirePositive(final Duration value, final String name) {
+    if (value == null) {
+      throw new IllegalArgumentException(name + " must not be null");
+    }
+    if (value.isNegative() || value.isZero()) {
+      throw new IllegalArgumentException(name + " must be positive");
+    }
+  }
+}
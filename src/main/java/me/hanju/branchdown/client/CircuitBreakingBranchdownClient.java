@@ -0,0 +1,311 @@
+package me.hanju.branchdown.client;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.api.dto.StreamDto;
+import me.hanju.branchdown.client.exception.BranchdownClientException;
+import me.hanju.branchdown.client.exception.BranchdownException;
+import me.hanju.branchdown.client.exception.BranchdownRejectedException;
+
+/**
+ * 모든 호출에 회로 차단기를 적용하는 {@link BranchdownClient} 데코레이터.
+ *
+ * <p>서버 장애로 {@link BranchdownClientException}(네트워크 오류, 타임아웃)이나 느린 호출이 {@link CircuitBreakerPolicy}의 임계값을
+ * 넘으면 회로를 열고, 열린 동안에는 서버로 보내지 않고 즉시 {@link BranchdownRejectedException}을 던진다.
+ * 호출마다 연결/읽기 타임아웃을 기다리며 스레드를 붙잡는 대신 바로 돌려주므로 장애 중에도 호출자의 스레드 풀이 소진되지 않는다.
+ * 서버가 응답한 실패({@link BranchdownException})는 서버가 살아 있다는 뜻이므로 성공으로 센다.
+ * {@link #forEachStreamPoint}/{@link #forEachBranchPoint}는 호출자의 콜백 시간이 섞이므로 성공/실패만 기록하고 느린 호출로 세지 않으며,
+ * {@code addPoints}/{@code addChildren}은 {@link #addPoint}를 요청마다 거쳐 각 요청을 따로 기록한다.
+ *
+ * <p>{@code staleEntries}가 0보다 크면 {@link #getStream}, {@link #getStreamPoints}, {@link #getAncestors}의 마지막 성공 응답을
+ * 그 수만큼 LRU로 보관하고, 회로가 열렸거나 호출이 {@link BranchdownClientException}으로 실패하면 보관한 값을 대신 돌려준다.
+ * 돌려준 값이 오래된 값인지는 {@link #readStream}/{@link #readStreamPoints}/{@link #readAncestors}의 {@link Read#stale()}로
+ * 확인하고, 인터페이스 메서드로 받은 경우에는 {@link #staleReads()}로 집계된다. {@link #deleteStream}은 해당 스트림의 보관 값을 지우지만,
+ * 포인트 ID로 보관한 조상 목록은 지우지 않는다.
+ *
+ * <pre>{@code
+ * CircuitBreakingBranchdownClient client = new CircuitBreakingBranchdownClient(
+ *     new OkHttpBranchdownClient(okHttpClient, baseUrl),
+ *     CircuitBreakerPolicy.defaults().withSlowCalls(Duration.ofMillis(500), 0.5),
+ *     10_000);
+ * }</pre>
+ */
+public class CircuitBreakingBranchdownClient extends ForwardingBranchdownClient {
+
+  /** 회로 상태 */
+  public enum State {
+    /** 모든 호출을 통과시키고 결과를 기록한다 */
+    CLOSED,
+    /** 호출을 서버로 보내지 않고 즉시 거절한다 */
+    OPEN,
+    /** 시험 요청만 통과시키고 그 결과로 닫을지 다시 열지 정한다 */
+    HALF_OPEN
+  }
+
+  /**
+   * 조회 결과.
+   *
+   * @param value 응답 값
+   * @param stale 서버 대신 보관한 값을 돌려줬으면 true
+   * @param fetchedAt 값을 서버에서 받은 시각
+   */
+  public record Read<T>(T value, boolean stale, Instant fetchedAt) {
+  }
+
+  private record ReadKey(BranchdownEndpoint endpoint, long id) {
+  }
+
+  private final CircuitBreaker breaker;
+  private final LongSupplier clock;
+  private final Map<ReadKey, Read<?>> lastGood;
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder staleReads = new LongAdder();
+
+  public CircuitBreakingBranchdownClient(final BranchdownClient delegate) {
+    this(delegate, CircuitBreakerPolicy.defaults(), 0);
+  }
+
+  /**
+   * @param delegate 위임 대상
+   * @param policy 회로 차단 정책
+   * @param staleEntries 장애 시 대신 돌려줄 마지막 성공 조회 결과의 최대 보관 수. 0이면 대체 응답을 사용하지 않는다
+   */
+  public CircuitBreakingBranchdownClient(final BranchdownClient delegate, final CircuitBreakerPolicy policy,
+      final int staleEntries) {
+    this(delegate, policy, staleEntries, System::nanoTime);
+  }
+
+  CircuitBreakingBranchdownClient(final BranchdownClient delegate, final CircuitBreakerPolicy policy,
+      final int staleEntries, final LongSupplier clock) {
+    super(delegate);
+    if (policy == null) {
+      throw new IllegalArgumentException("policy must not be null");
+    }
+    if (staleEntries < 0) {
+      throw new IllegalArgumentException("staleEntries must not be negative");
+    }
+    this.breaker = new CircuitBreaker(policy, clock);
+    this.clock = clock;
+    this.lastGood = staleEntries == 0 ? null : new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<ReadKey, Read<?>> eldest) {
+        return size() > staleEntries;
+      }
+    };
+  }
+
+  /**
+   * @return 현재 회로 상태. 열림 시간이 지났으면 다음 호출 전이라도 {@link State#HALF_OPEN}
+   */
+  public State state() {
+    return this.breaker.state();
+  }
+
+  /**
+   * @return 회로가 열려 있어 서버로 보내지 않은 호출 수 (대체 응답을 돌려준 호출 포함)
+   */
+  public long rejected() {
+    return this.rejected.sum();
+  }
+
+  /**
+   * @return 서버 대신 보관한 값을 돌려준 조회 수
+   */
+  public long staleReads() {
+    return this.staleReads.sum();
+  }
+
+  /**
+   * @param streamId 스트림 ID
+   * @return 조회 결과. 장애 중이면 보관한 값일 수 있다
+   */
+  public Read<StreamDto.Response> readStream(final long streamId) {
+    return this.read(BranchdownEndpoint.GET_STREAM, streamId, () -> this.delegate().getStream(streamId));
+  }
+
+  /**
+   * @param streamId 스트림 ID
+   * @return 조회 결과. 장애 중이면 보관한 값일 수 있다
+   */
+  public Read<List<PointDto.Response>> readStreamPoints(final long streamId) {
+    return this.read(BranchdownEndpoint.GET_STREAM_POINTS, streamId, () -> this.delegate().getStreamPoints(streamId));
+  }
+
+  /**
+   * @param pointId 포인트 ID
+   * @return 조회 결과. 장애 중이면 보관한 값일 수 있다
+   */
+  public Read<List<PointDto.Response>> readAncestors(final long pointId) {
+    return this.read(BranchdownEndpoint.GET_ANCESTORS, pointId, () -> this.delegate().getAncestors(pointId));
+  }
+
+  // ========== Stream API ==========
+
+  @Override
+  public Long createStream() {
+    return this.call(() -> this.delegate().createStream());
+  }
+
+  @Override
+  public StreamDto.Response getStream(final long streamId) {
+    return this.readStream(streamId).value();
+  }
+
+  @Override
+  public void deleteStream(final long streamId) {
+    this.call(() -> {
+      this.delegate().deleteStream(streamId);
+      return null;
+    });
+    if (this.lastGood != null) {
+      synchronized (this.lastGood) {
+        this.lastGood.remove(new ReadKey(BranchdownEndpoint.GET_STREAM, streamId));
+        this.lastGood.remove(new ReadKey(BranchdownEndpoint.GET_STREAM_POINTS, streamId));
+      }
+    }
+  }
+
+  @Override
+  public List<PointDto.Response> getStreamPoints(final long streamId) {
+    return this.readStreamPoints(streamId).value();
+  }
+
+  @Override
+  public List<PointDto.Response> getBranchPoints(final long streamId, final int branchNum, final int depth) {
+    return this.call(() -> this.delegate().getBranchPoints(streamId, branchNum, depth));
+  }
+
+  @Override
+  public void forEachStreamPoint(final long streamId, final Consumer<? super PointDto.Response> action) {
+    this.call(false, () -> {
+      this.delegate().forEachStreamPoint(streamId, action);
+      return null;
+    });
+  }
+
+  @Override
+  public void forEachBranchPoint(final long streamId, final int branchNum, final int depth,
+      final Consumer<? super PointDto.Response> action) {
+    this.call(false, () -> {
+      this.delegate().forEachBranchPoint(streamId, branchNum, depth, action);
+      return null;
+    });
+  }
+
+  @Override
+  public PointTable getStreamPointTable(final long streamId) {
+    return this.call(() -> this.delegate().getStreamPointTable(streamId));
+  }
+
+  @Override
+  public PointTable getBranchPointTable(final long streamId, final int branchNum, final int depth) {
+    return this.call(() -> this.delegate().getBranchPointTable(streamId, branchNum, depth));
+  }
+
+  // ========== Point API ==========
+
+  @Override
+  public PointDto.Response addPoint(final long parentPointId, final String itemId) {
+    return this.call(() -> this.delegate().addPoint(parentPointId, itemId));
+  }
+
+  @Override
+  public List<PointDto.Response> addPoints(final long parentPointId, final List<String> itemIds) {
+    return ItemIds.chain(this, parentPointId, itemIds);
+  }
+
+  @Override
+  public List<PointDto.Response> addChildren(final long parentPointId, final List<String> itemIds) {
+    return ItemIds.siblings(this, parentPointId, itemIds);
+  }
+
+  @Override
+  public List<PointDto.Response> getAncestors(final long pointId) {
+    return this.readAncestors(pointId).value();
+  }
+
+  // ========== Helper Methods ==========
+
+  private <T> Read<T> read(final BranchdownEndpoint endpoint, final long id, final Supplier<T> call) {
+    if (this.lastGood == null) {
+      return new Read<>(this.call(call), false, Instant.now());
+    }
+    final ReadKey key = new ReadKey(endpoint, id);
+    final T value;
+    try {
+      value = this.call(call);
+    } catch (BranchdownClientException e) {
+      final Read<T> stale = this.lastGood(key);
+      if (stale == null) {
+        throw e;
+      }
+      this.staleReads.increment();
+      return stale;
+    }
+    final Read<T> fresh = new Read<>(value, false, Instant.now());
+    synchronized (this.lastGood) {
+      this.lastGood.put(key, fresh);
+    }
+    return fresh;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> Read<T> lastGood(final ReadKey key) {
+    final Read<T> read;
+    synchronized (this.lastGood) {
+      read = (Read<T>) this.lastGood.get(key);
+    }
+    return read == null ? null : new Read<>(read.value(), true, read.fetchedAt());
+  }
+
+  private <T> T call(final Supplier<T> call) {
+    return this.call(true, call);
+  }
+
+  /**
+   * @param timed 소요 시간으로 느린 호출 여부를 판정하면 true. 콜백 시간이 섞이는 스트리밍 호출은 false
+   */
+  private <T> T call(final boolean timed, final Supplier<T> call) {
+    final long permit = this.breaker.tryAcquire();
+    if (permit == CircuitBreaker.REJECTED) {
+      this.rejected.increment();
+      throw new BranchdownRejectedException("Circuit breaker is open");
+    }
+    final long startedAt = this.clock.getAsLong();
+    boolean recorded = false;
+    try {
+      final T result = call.get();
+      this.breaker.onSuccess(permit, this.elapsed(timed, startedAt));
+      recorded = true;
+      return result;
+    } catch (BranchdownRejectedException e) {
+      throw e;
+    } catch (BranchdownClientException e) {
+      this.breaker.onFailure(permit, this.elapsed(timed, startedAt));
+      recorded = true;
+      throw e;
+    } catch (BranchdownException e) {
+      this.breaker.onSuccess(permit, this.elapsed(timed, startedAt));
+      recorded = true;
+      throw e;
+    } finally {
+      // 거절, 인자 오류, Error 등 서버 상태와 무관한 종료도 반열림 시험 요청 자리를 돌려준다
+      if (!recorded) {
+        this.breaker.onIgnored(permit);
+      }
+    }
+  }
+
+  /** 시간을 재지 않는 호출은 0으로 기록해 느린 호출로 세지 않는다. */
+  private long elapsed(final boolean timed, final long startedAt) {
+    return timed ? this.clock.getAsLong() - startedAt : 0;
+  }
+}
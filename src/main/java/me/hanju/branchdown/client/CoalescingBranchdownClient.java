@@ -0,0 +1,103 @@
+package me.hanju.branchdown.client;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.api.dto.StreamDto;
+
+/**
+ * 동시에 들어온 동일한 조회 요청을 하나로 합치는(single-flight) {@link BranchdownClient} 데코레이터.
+ *
+ * <p>{@code getStream}, {@code getStreamPoints}, {@code getBranchPoints}, {@code getAncestors}는
+ * 엔드포인트와 인자가 같은 요청이 진행 중이면 새 요청을 보내지 않고 진행 중인 요청의 결과(또는 예외)를 공유한다.
+ * 요청이 끝나면 즉시 잊으므로 캐시가 아니며, 완료 후 들어온 호출은 새 요청을 보낸다.
+ *
+ * <p>결과 목록은 여러 호출자가 공유하므로 수정할 수 없는 목록으로 반환한다. 쓰기 메서드는 합치지 않는다.
+ */
+public class CoalescingBranchdownClient extends ForwardingBranchdownClient {
+
+  private enum Endpoint {
+    STREAM, STREAM_POINTS, BRANCH_POINTS, ANCESTORS
+  }
+
+  private record Key(Endpoint endpoint, long id, int branchNum, int depth) {
+  }
+
+  private final ConcurrentMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+  public CoalescingBranchdownClient(final BranchdownClient delegate) {
+    super(delegate);
+  }
+
+  /**
+   * @return 현재 진행 중인 (합쳐진) 요청 수
+   */
+  public int inFlight() {
+    return this.inFlight.size();
+  }
+
+  @Override
+  public StreamDto.Response getStream(final long streamId) {
+    return this.coalesce(new Key(Endpoint.STREAM, streamId, 0, 0),
+        () -> this.delegate().getStream(streamId));
+  }
+
+  @Override
+  public List<PointDto.Response> getStreamPoints(final long streamId) {
+    return this.coalesce(new Key(Endpoint.STREAM_POINTS, streamId, 0, 0),
+        () -> unmodifiable(this.delegate().getStreamPoints(streamId)));
+  }
+
+  @Override
+  public List<PointDto.Response> getBranchPoints(final long streamId, final int branchNum, final int depth) {
+    return this.coalesce(new Key(Endpoint.BRANCH_POINTS, streamId, branchNum, depth),
+        () -> unmodifiable(this.delegate().getBranchPoints(streamId, branchNum, depth)));
+  }
+
+  @Override
+  public List<PointDto.Response> getAncestors(final long pointId) {
+    return this.coalesce(new Key(Endpoint.ANCESTORS, pointId, 0, 0),
+        () -> unmodifiable(this.delegate().getAncestors(pointId)));
+  }
+
+  // ========== Helper Methods ==========
+
+  @SuppressWarnings("unchecked")
+  private <T> T coalesce(final Key key, final Supplier<T> call) {
+    final CompletableFuture<Object> mine = new CompletableFuture<>();
+    final CompletableFuture<Object> leader = this.inFlight.putIfAbsent(key, mine);
+    if (leader != null) {
+      try {
+        return (T) leader.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+          throw cause;
+        }
+        if (e.getCause() instanceof Error error) {
+          throw error;
+        }
+        throw e;
+      }
+    }
+    try {
+      final T result = call.get();
+      mine.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      mine.completeExceptionally(e);
+      throw e;
+    } finally {
+      this.inFlight.remove(key, mine);
+    }
+  }
+
+  private static <T> List<T> unmodifiable(final List<T> list) {
+    return list == null ? null : Collections.unmodifiableList(list);
+  }
+}
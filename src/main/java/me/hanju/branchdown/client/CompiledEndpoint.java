@@ -0,0 +1,337 @@
+package me.hanju.branchdown.client;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import me.hanju.branchdown.api.dto.CommonResponseDto;
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.api.dto.StreamDto;
+import me.hanju.branchdown.client.exception.BranchdownClientException;
+import me.hanju.branchdown.client.exception.BranchdownException;
+
+/**
+ * 구현체들이 공유하는 미리 컴파일한 엔드포인트 표.
+ *
+ * <p>경로 템플릿은 클래스 초기화 때 고정 문자열 조각으로 나눠 두고, 호출마다 조각 사이에 숫자 인자만 이어 붙인다.
+ * 미리 파싱한 기준 URL에 경로 조각을 더하는 구현체(OkHttp)를 위해 경로 세그먼트와 쿼리 이름도 따로 나눠 둔다.
+ *
+ * <p>동기 호출은 {@link #dispatch}가 계측과 예외 변환을 한곳에서 처리하며, {@link #execute}는 여기에
+ * {@code CommonResponseDto} 해제를 더한다. 비동기 호출은 {@link #executeAsync}가 같은 일을 한다. 구현체는
+ * {@link Exchange}/{@link AsyncExchange}/{@link Reading}으로 요청을 보내고 응답 본문을 읽는 부분만 제공한다.
+ * Reactor 파이프라인으로 응답을 전달하는 {@link WebClientReactiveBranchdownClient}는 URL 생성과 응답 해제만 공유한다.
+ *
+ * @param <T> 응답 {@code data} 타입
+ */
+final class CompiledEndpoint<T> {
+
+  static final CompiledEndpoint<StreamDto.Response> CREATE_STREAM = new CompiledEndpoint<>(
+      BranchdownEndpoint.CREATE_STREAM, "POST", "/api/streams", BranchdownJson.STREAM_RESPONSE);
+  static final CompiledEndpoint<StreamDto.Response> GET_STREAM = new CompiledEndpoint<>(
+      BranchdownEndpoint.GET_STREAM, "GET", "/api/streams/{id}", BranchdownJson.STREAM_RESPONSE);
+  static final CompiledEndpoint<Void> DELETE_STREAM = new CompiledEndpoint<>(
+      BranchdownEndpoint.DELETE_STREAM, "DELETE", "/api/streams/{id}", BranchdownJson.VOID_RESPONSE);
+  static final CompiledEndpoint<List<PointDto.Response>> GET_STREAM_POINTS = new CompiledEndpoint<>(
+      BranchdownEndpoint.GET_STREAM_POINTS, "GET", "/api/streams/{id}/points", BranchdownJson.POINT_LIST_RESPONSE);
+  static final CompiledEndpoint<List<PointDto.Response>> GET_BRANCH_POINTS = new CompiledEndpoint<>(
+      BranchdownEndpoint.GET_BRANCH_POINTS, "GET", "/api/streams/{id}/branches/{branchNum}/points?depth={depth}",
+      BranchdownJson.POINT_LIST_RESPONSE);
+  static final CompiledEndpoint<PointDto.Response> ADD_POINT = new CompiledEndpoint<>(
+      BranchdownEndpoint.ADD_POINT, "POST", "/api/points/{id}/down", BranchdownJson.POINT_RESPONSE);
+  static final CompiledEndpoint<List<PointDto.Response>> GET_ANCESTORS = new CompiledEndpoint<>(
+      BranchdownEndpoint.GET_ANCESTORS, "GET", "/api/points/{id}/ancestors", BranchdownJson.POINT_LIST_RESPONSE);
+
+  private static final CompiledEndpoint<?>[] BY_ENDPOINT = {
+      CREATE_STREAM, GET_STREAM, DELETE_STREAM, GET_STREAM_POINTS, GET_BRANCH_POINTS, ADD_POINT, GET_ANCESTORS
+  };
+
+  private final BranchdownEndpoint endpoint;
+  private final String method;
+  private final String template;
+  private final String[] segments;
+  private final String[] pathSegments;
+  private final String[] queryNames;
+  private final BranchdownJson.ResponseReader<T> reader;
+
+  private CompiledEndpoint(final BranchdownEndpoint endpoint, final String method, final String template,
+      final BranchdownJson.ResponseReader<T> reader) {
+    this.endpoint = endpoint;
+    this.method = method;
+    this.template = template;
+    this.segments = parse(template);
+    final int query = template.indexOf('?');
+    this.pathSegments = pathSegments(query < 0 ? template : template.substring(0, query));
+    this.queryNames = query < 0 ? new String[0] : queryNames(template.substring(query + 1));
+    this.reader = reader;
+  }
+
+  /**
+   * @param endpoint 엔드포인트
+   * @return 해당 엔드포인트의 컴파일된 항목
+   */
+  static CompiledEndpoint<?> of(final BranchdownEndpoint endpoint) {
+    return BY_ENDPOINT[endpoint.ordinal()];
+  }
+
+  BranchdownEndpoint endpoint() {
+    return this.endpoint;
+  }
+
+  /** HTTP 메서드 이름 */
+  String method() {
+    return this.method;
+  }
+
+  /** 같은 요청을 다시 보내도 서버 상태가 한 번 보낸 것과 같으면 true. 재시도 여부를 정할 때 사용한다. */
+  boolean idempotent() {
+    return !"POST".equals(this.method);
+  }
+
+  /** JSON 요청 본문을 보내는 메서드(POST)이면 true. 본문이 비어 있어도 {@code Content-Type}을 붙인다. */
+  boolean hasBody() {
+    return "POST".equals(this.method);
+  }
+
+  BranchdownJson.ResponseReader<T> reader() {
+    return this.reader;
+  }
+
+  /** {@code CommonResponseDto<T>}의 제네릭 타입 (Spring 코덱 등 타입 기반 디코더용) */
+  Type responseType() {
+    return this.reader.type();
+  }
+
+  // ========== URL ==========
+
+  String url(final String baseUrl) {
+    this.requireVariables(0);
+    return baseUrl.concat(this.segments[0]);
+  }
+
+  String url(final String baseUrl, final long id) {
+    this.requireVariables(1);
+    return baseUrl + this.segments[0] + id + this.segments[1];
+  }
+
+  String url(final String baseUrl, final long id, final int branchNum, final int depth) {
+    this.requireVariables(3);
+    return baseUrl + this.segments[0] + id + this.segments[1] + branchNum + this.segments[2] + depth
+        + this.segments[3];
+  }
+
+  /** 경로 세그먼트. 변수 자리는 null이다. */
+  String[] pathSegments() {
+    return this.pathSegments;
+  }
+
+  /** 쿼리 파라미터 이름. 값은 모두 변수이며 경로 변수 다음 순서로 채운다. */
+  String[] queryNames() {
+    return this.queryNames;
+  }
+
+  void requireVariables(final int count) {
+    if (this.segments.length != count + 1) {
+      throw new IllegalStateException(this.template + " takes " + (this.segments.length - 1) + " variables");
+    }
+  }
+
+  /** {@code {name}} 변수를 경계로 고정 문자열 조각을 나눈다. 변수 n개이면 조각은 n + 1개다. */
+  static String[] parse(final String template) {
+    final List<String> segments = new ArrayList<>();
+    int start = 0;
+    int open;
+    while ((open = template.indexOf('{', start)) >= 0) {
+      final int close = template.indexOf('}', open);
+      if (close < 0) {
+        throw new IllegalArgumentException("Unclosed variable in " + template);
+      }
+      segments.add(template.substring(start, open));
+      start = close + 1;
+    }
+    segments.add(template.substring(start));
+    return segments.toArray(String[]::new);
+  }
+
+  /** {@code /a/{x}/b} 형태의 경로를 {@code [a, null, b]}로 나눈다. */
+  static String[] pathSegments(final String path) {
+    final String[] segments = (path.startsWith("/") ? path.substring(1) : path).split("/");
+    for (int i = 0; i < segments.length; i++) {
+      if (segments[i].startsWith("{")) {
+        segments[i] = null;
+      }
+    }
+    return segments;
+  }
+
+  /** {@code a={x}&b={y}} 형태의 쿼리에서 이름만 꺼낸다. 값이 변수가 아니면 예외를 던진다. */
+  static String[] queryNames(final String query) {
+    final String[] parameters = query.split("&");
+    final String[] names = new String[parameters.length];
+    for (int i = 0; i < parameters.length; i++) {
+      final int equals = parameters[i].indexOf('=');
+      if (equals < 0 || !parameters[i].startsWith("{", equals + 1)) {
+        throw new IllegalArgumentException("Query value must be a variable: " + parameters[i]);
+      }
+      names[i] = parameters[i].substring(0, equals);
+    }
+    return names;
+  }
+
+  // ========== Dispatch ==========
+
+  /**
+   * 구현체별 요청 전송과 응답 본문 읽기.
+   *
+   * @param <R> 구현체의 요청 타입
+   */
+  @FunctionalInterface
+  interface Exchange<R> {
+
+    /**
+     * 요청을 보내고 응답을 읽는다. 응답 헤더를 받으면 {@link RequestObservation#responded()}를 호출하고,
+     * 본문 바이트 수를 {@code observation}에 반영해야 한다.
+     */
+    <T> CommonResponseDto<T> exchange(R request, CompiledEndpoint<T> endpoint, RequestObservation observation)
+        throws IOException;
+  }
+
+  /**
+   * 응답을 {@code CommonResponseDto}로 받지 않고 직접 읽는 구현체별 전송 (스트리밍, 열 단위 테이블).
+   * 계측 규칙은 {@link Exchange}와 같다.
+   *
+   * @param <R> 구현체의 요청 타입
+   * @param <V> 읽은 결과 타입
+   */
+  @FunctionalInterface
+  interface Reading<R, V> {
+
+    V read(R request, RequestObservation observation) throws IOException;
+  }
+
+  /**
+   * 요청 하나를 계측하며 실행한다.
+   * Jackson 오류와 I/O 오류는 {@link BranchdownClientException}으로 바꾸고, 그 밖의 런타임 예외는 그대로 던진다.
+   *
+   * @param listener 요청 계측 리스너
+   * @param reading 구현체의 전송과 읽기
+   * @param request 구현체의 요청
+   * @return 읽은 결과
+   */
+  <R, V> V dispatch(final BranchdownClientListener listener, final Reading<R, V> reading, final R request) {
+    final RequestObservation observation = RequestObservation.start(listener, this.endpoint);
+    final V value;
+    try {
+      value = reading.read(request, observation);
+    } catch (IOException | RuntimeException e) {
+      throw observation.fail(failure(e));
+    }
+    observation.finish();
+    return value;
+  }
+
+  /**
+   * {@link #dispatch}로 요청을 실행하고 {@code data}를 꺼낸다. 실패 응답은 {@link BranchdownException}으로 던진다.
+   *
+   * @param listener 요청 계측 리스너
+   * @param exchange 구현체의 전송
+   * @param request 구현체의 요청
+   * @return 응답 {@code data}
+   */
+  <R> T execute(final BranchdownClientListener listener, final Exchange<R> exchange, final R request) {
+    return this.dispatch(listener, (r, observation) -> unwrap(exchange.exchange(r, this, observation)), request);
+  }
+
+  /**
+   * 구현체별 비동기 요청 전송과 응답 본문 읽기.
+   *
+   * @param <R> 구현체의 요청 타입
+   */
+  @FunctionalInterface
+  interface AsyncExchange<R> {
+
+    /**
+     * 요청을 보내고 응답을 읽으면 완료되는 future를 반환한다. 계측 규칙은 {@link Exchange}와 같다.
+     * I/O 오류는 {@link IOException}(또는 이를 감싼 {@link CompletionException})으로 완료하고,
+     * 반환한 future가 취소되면 진행 중인 전송도 취소해야 한다.
+     */
+    <T> CompletableFuture<CommonResponseDto<T>> exchange(R request, CompiledEndpoint<T> endpoint,
+        RequestObservation observation);
+  }
+
+  /**
+   * {@link #execute}의 비동기 버전. 반환한 future를 취소하면 전송을 취소하고 리스너에는
+   * {@link CancellationException}으로 보고한다.
+   *
+   * @param listener 요청 계측 리스너
+   * @param exchange 구현체의 비동기 전송
+   * @param request 구현체의 요청
+   * @return 응답 {@code data}로 완료되는 future
+   */
+  <R> CompletableFuture<T> executeAsync(final BranchdownClientListener listener, final AsyncExchange<R> exchange,
+      final R request) {
+    final RequestObservation observation = RequestObservation.start(listener, this.endpoint);
+    final CompletableFuture<CommonResponseDto<T>> exchanged;
+    try {
+      exchanged = exchange.exchange(request, this, observation);
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(observation.fail(e));
+    }
+    final CompletableFuture<T> future = new CompletableFuture<>();
+    future.whenComplete((result, error) -> {
+      if (future.isCancelled()) {
+        exchanged.cancel(true);
+      }
+    });
+    exchanged.whenComplete((response, error) -> {
+      if (error != null) {
+        final RuntimeException failure = failure(error);
+        observation.fail(future.isCancelled() || exchanged.isCancelled() ? new CancellationException() : failure);
+        future.completeExceptionally(failure);
+        return;
+      }
+      final T data;
+      try {
+        data = unwrap(response);
+      } catch (BranchdownException e) {
+        future.completeExceptionally(observation.fail(e));
+        return;
+      }
+      observation.finish();
+      future.complete(data);
+    });
+    return future;
+  }
+
+  /**
+   * 전송 중 발생한 예외를 클라이언트 예외로 바꾼다. {@link CompletionException}은 원인을 꺼내고,
+   * Jackson 오류와 I/O 오류는 {@link BranchdownClientException}으로 감싸며, 그 밖의 런타임 예외는 그대로 둔다.
+   */
+  static RuntimeException failure(final Throwable error) {
+    final Throwable cause = error instanceof CompletionException && error.getCause() != null
+        ? error.getCause()
+        : error;
+    if (cause instanceof JsonProcessingException) {
+      return new BranchdownClientException("Failed to serialize/deserialize", cause);
+    }
+    if (cause instanceof RuntimeException runtime) {
+      return runtime;
+    }
+    return new BranchdownClientException("Request failed", cause);
+  }
+
+  static <T> T unwrap(final CommonResponseDto<T> response) {
+    if (response == null) {
+      throw new BranchdownException("Empty response");
+    }
+    if (!response.success()) {
+      throw new BranchdownException(response.message());
+    }
+    return response.data();
+  }
+}
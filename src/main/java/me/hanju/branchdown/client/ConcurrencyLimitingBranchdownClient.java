@@ -0,0 +1,181 @@
+package me.hanju.branchdown.client;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.api.dto.StreamDto;
+import me.hanju.branchdown.client.exception.BranchdownClientException;
+import me.hanju.branchdown.client.exception.BranchdownRejectedException;
+
+/**
+ * 조회와 쓰기에 각각 {@link AdaptiveConcurrencyLimit}을 적용하는 {@link BranchdownClient} 데코레이터.
+ *
+ * <p>한도에 도달하면 기다리지 않고 {@link BranchdownRejectedException}을 던진다. 서버가 느려질 때 요청이
+ * 커넥션 풀과 디스패처에 쌓여 한꺼번에 타임아웃되는 대신, 처리량을 서버 한계 근처에 유지하고 초과분을 즉시 돌려준다.
+ *
+ * <p>{@link BranchdownClientException}(네트워크 오류, 타임아웃)은 과부하 신호로 보고 한도를 줄이며,
+ * 서버가 응답한 실패({@link me.hanju.branchdown.client.exception.BranchdownException})는 정상 응답과 같이 지연 시간만 반영한다.
+ * 위임 대상 안쪽의 다른 데코레이터가 로컬에서 거절한 {@link BranchdownRejectedException}은 서버 신호가 아니므로 반영하지 않는다.
+ *
+ * <p>{@code addPoints}/{@code addChildren}은 {@link #addPoint}를 요청마다 거쳐 각 요청을 따로 제한하고 측정한다.
+ * {@code forEachStreamPoint}/{@code forEachBranchPoint}는 호출자의 콜백 시간이 섞이므로 자리만 차지하고 지연 시간은 반영하지 않는다.
+ */
+public class ConcurrencyLimitingBranchdownClient extends ForwardingBranchdownClient {
+
+  private final AdaptiveConcurrencyLimit readLimit;
+  private final AdaptiveConcurrencyLimit writeLimit;
+
+  public ConcurrencyLimitingBranchdownClient(final BranchdownClient delegate) {
+    this(delegate, new AdaptiveConcurrencyLimit(), new AdaptiveConcurrencyLimit());
+  }
+
+  /**
+   * @param delegate 위임 대상
+   * @param readLimit 조회 한도
+   * @param writeLimit 쓰기 한도
+   */
+  public ConcurrencyLimitingBranchdownClient(final BranchdownClient delegate, final AdaptiveConcurrencyLimit readLimit,
+      final AdaptiveConcurrencyLimit writeLimit) {
+    super(delegate);
+    if (readLimit == null) {
+      throw new IllegalArgumentException("readLimit must not be null");
+    }
+    if (writeLimit == null) {
+      throw new IllegalArgumentException("writeLimit must not be null");
+    }
+    if (readLimit == writeLimit) {
+      throw new IllegalArgumentException("readLimit and writeLimit must be separate instances");
+    }
+    this.readLimit = readLimit;
+    this.writeLimit = writeLimit;
+  }
+
+  public AdaptiveConcurrencyLimit readLimit() {
+    return this.readLimit;
+  }
+
+  public AdaptiveConcurrencyLimit writeLimit() {
+    return this.writeLimit;
+  }
+
+  // ========== Stream API ==========
+
+  @Override
+  public Long createStream() {
+    return this.write(() -> this.delegate().createStream());
+  }
+
+  @Override
+  public StreamDto.Response getStream(final long streamId) {
+    return this.read(() -> this.delegate().getStream(streamId));
+  }
+
+  @Override
+  public void deleteStream(final long streamId) {
+    this.write(() -> {
+      this.delegate().deleteStream(streamId);
+      return null;
+    });
+  }
+
+  @Override
+  public List<PointDto.Response> getStreamPoints(final long streamId) {
+    return this.read(() -> this.delegate().getStreamPoints(streamId));
+  }
+
+  @Override
+  public List<PointDto.Response> getBranchPoints(final long streamId, final int branchNum, final int depth) {
+    return this.read(() -> this.delegate().getBranchPoints(streamId, branchNum, depth));
+  }
+
+  @Override
+  public void forEachStreamPoint(final long streamId, final Consumer<? super PointDto.Response> action) {
+    this.stream(() -> {
+      this.delegate().forEachStreamPoint(streamId, action);
+      return null;
+    });
+  }
+
+  @Override
+  public void forEachBranchPoint(final long streamId, final int branchNum, final int depth,
+      final Consumer<? super PointDto.Response> action) {
+    this.stream(() -> {
+      this.delegate().forEachBranchPoint(streamId, branchNum, depth, action);
+      return null;
+    });
+  }
+
+  @Override
+  public PointTable getStreamPointTable(final long streamId) {
+    return this.read(() -> this.delegate().getStreamPointTable(streamId));
+  }
+
+  @Override
+  public PointTable getBranchPointTable(final long streamId, final int branchNum, final int depth) {
+    return this.read(() -> this.delegate().getBranchPointTable(streamId, branchNum, depth));
+  }
+
+  // ========== Point API ==========
+
+  @Override
+  public PointDto.Response addPoint(final long parentPointId, final String itemId) {
+    return this.write(() -> this.delegate().addPoint(parentPointId, itemId));
+  }
+
+  @Override
+  public List<PointDto.Response> addPoints(final long parentPointId, final List<String> itemIds) {
+    return ItemIds.chain(this, parentPointId, itemIds);
+  }
+
+  @Override
+  public List<PointDto.Response> addChildren(final long parentPointId, final List<String> itemIds) {
+    return ItemIds.siblings(this, parentPointId, itemIds);
+  }
+
+  @Override
+  public List<PointDto.Response> getAncestors(final long pointId) {
+    return this.read(() -> this.delegate().getAncestors(pointId));
+  }
+
+  // ========== Helper Methods ==========
+
+  private <T> T read(final Supplier<T> call) {
+    return this.limit(this.readLimit, "Read", true, call);
+  }
+
+  /** 콜백으로 포인트를 전달하는 조회. 지연 시간을 측정하지 않는다. */
+  private <T> T stream(final Supplier<T> call) {
+    return this.limit(this.readLimit, "Read", false, call);
+  }
+
+  private <T> T write(final Supplier<T> call) {
+    return this.limit(this.writeLimit, "Write", true, call);
+  }
+
+  private <T> T limit(final AdaptiveConcurrencyLimit limit, final String kind, final boolean sampled,
+      final Supplier<T> call) {
+    if (!limit.tryAcquire()) {
+      throw new BranchdownRejectedException(kind + " concurrency limit reached: " + limit.limit());
+    }
+    final long startedAt = System.nanoTime();
+    boolean measured = sampled;
+    boolean dropped = false;
+    try {
+      return call.get();
+    } catch (BranchdownRejectedException e) {
+      measured = false;
+      throw e;
+    } catch (BranchdownClientException e) {
+      dropped = true;
+      throw e;
+    } finally {
+      if (measured) {
+        limit.release(System.nanoTime() - startedAt, dropped);
+      } else {
+        limit.release(dropped);
+      }
+    }
+  }
+}
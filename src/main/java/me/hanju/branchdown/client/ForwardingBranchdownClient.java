@@ -0,0 +1,102 @@
+package me.hanju.branchdown.client;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.api.dto.StreamDto;
+
+/**
+ * 모든 호출을 다른 {@link BranchdownClient}에 위임하는 데코레이터 기반 클래스.
+ * 하위 클래스는 가로챌 메서드만 재정의한다.
+ *
+ * <p>일괄 추가와 스트리밍 메서드도 위임 대상의 구현을 그대로 사용하므로,
+ * {@link #addPoint(long, String)}를 가로채는 하위 클래스는 {@link #addPoints}/{@link #addChildren}도 함께 재정의해야 한다.
+ * 일괄 조회/삭제({@link #getStreams}, {@link #getStreamPointsBulk}, {@link #deleteStreams})는 위임하지 않고
+ * 이 클래스의 단건 메서드로 실행되므로 하위 클래스가 가로챈 동작이 항목마다 적용된다.
+ */
+public abstract class ForwardingBranchdownClient implements BranchdownClient {
+
+  private final BranchdownClient delegate;
+
+  protected ForwardingBranchdownClient(final BranchdownClient delegate) {
+    if (delegate == null) {
+      throw new IllegalArgumentException("delegate must not be null");
+    }
+    this.delegate = delegate;
+  }
+
+  protected BranchdownClient delegate() {
+    return this.delegate;
+  }
+
+  // ========== Stream API ==========
+
+  @Override
+  public Long createStream() {
+    return this.delegate.createStream();
+  }
+
+  @Override
+  public StreamDto.Response getStream(final long streamId) {
+    return this.delegate.getStream(streamId);
+  }
+
+  @Override
+  public void deleteStream(final long streamId) {
+    this.delegate.deleteStream(streamId);
+  }
+
+  @Override
+  public List<PointDto.Response> getStreamPoints(final long streamId) {
+    return this.delegate.getStreamPoints(streamId);
+  }
+
+  @Override
+  public List<PointDto.Response> getBranchPoints(final long streamId, final int branchNum, final int depth) {
+    return this.delegate.getBranchPoints(streamId, branchNum, depth);
+  }
+
+  @Override
+  public void forEachStreamPoint(final long streamId, final Consumer<? super PointDto.Response> action) {
+    this.delegate.forEachStreamPoint(streamId, action);
+  }
+
+  @Override
+  public void forEachBranchPoint(final long streamId, final int branchNum, final int depth,
+      final Consumer<? super PointDto.Response> action) {
+    this.delegate.forEachBranchPoint(streamId, branchNum, depth, action);
+  }
+
+  @Override
+  public PointTable getStreamPointTable(final long streamId) {
+    return this.delegate.getStreamPointTable(streamId);
+  }
+
+  @Override
+  public PointTable getBranchPointTable(final long streamId, final int branchNum, final int depth) {
+    return this.delegate.getBranchPointTable(streamId, branchNum, depth);
+  }
+
+  // ========== Point API ==========
+
+  @Override
+  public PointDto.Response addPoint(final long parentPointId, final String itemId) {
+    return this.delegate.addPoint(parentPointId, itemId);
+  }
+
+  @Override
+  public List<PointDto.Response> addPoints(final long parentPointId, final List<String> itemIds) {
+    return this.delegate.addPoints(parentPointId, itemIds);
+  }
+
+  @Override
+  public List<PointDto.Response> addChildren(final long parentPointId, final List<String> itemIds) {
+    return this.delegate.addChildren(parentPointId, itemIds);
+  }
+
+  @Override
+  public List<PointDto.Response> getAncestors(final long pointId) {
+    return this.delegate.getAncestors(pointId);
+  }
+}
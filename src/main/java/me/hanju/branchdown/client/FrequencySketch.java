@@ -0,0 +1,73 @@
+package me.hanju.branchdown.client;
+
+/**
+ * 키별 최근 접근 빈도를 근사하는 4비트 count-min sketch. {@link TinyLfuCache}의 입장 판단에 사용한다.
+ *
+ * <p>{@code long} 하나에 카운터 16개를 담고 키마다 서로 다른 해시로 카운터 4개를 고른다. 빈도는 그중 최솟값이며 15에서 포화된다.
+ * 증가 횟수가 표본 크기에 도달하면 모든 카운터를 절반으로 줄여 오래된 인기도가 서서히 사라지게 한다. 스레드 안전하지 않다.
+ */
+final class FrequencySketch {
+
+  private static final long[] SEEDS = {
+      0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+  private static final long RESET_MASK = 0x7777777777777777L;
+
+  private final long[] table;
+  private final int counterMask;
+  private final int sampleSize;
+  private int additions;
+
+  /**
+   * @param expectedKeys 동시에 추적할 것으로 예상하는 키 수
+   */
+  FrequencySketch(final int expectedKeys) {
+    final int counters = Integer.highestOneBit(Math.max(64, Math.min(expectedKeys, 1 << 24)) - 1) << 1;
+    this.table = new long[counters >>> 4];
+    this.counterMask = counters - 1;
+    this.sampleSize = 10 * Math.max(16, Math.min(expectedKeys, 1 << 24));
+  }
+
+  int frequency(final Object key) {
+    final int hash = spread(key.hashCode());
+    int frequency = 15;
+    for (int i = 0; i < SEEDS.length; i++) {
+      final int counter = this.counter(hash, i);
+      frequency = Math.min(frequency, (int) ((this.table[counter >>> 4] >>> ((counter & 15) << 2)) & 15));
+    }
+    return frequency;
+  }
+
+  void increment(final Object key) {
+    final int hash = spread(key.hashCode());
+    boolean added = false;
+    for (int i = 0; i < SEEDS.length; i++) {
+      final int counter = this.counter(hash, i);
+      final int shift = (counter & 15) << 2;
+      if (((this.table[counter >>> 4] >>> shift) & 15) != 15) {
+        this.table[counter >>> 4] += 1L << shift;
+        added = true;
+      }
+    }
+    if (added && ++this.additions >= this.sampleSize) {
+      this.reset();
+    }
+  }
+
+  private void reset() {
+    for (int i = 0; i < this.table.length; i++) {
+      this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+    }
+    this.additions >>>= 1;
+  }
+
+  private int counter(final int hash, final int row) {
+    long x = (hash + SEEDS[row]) * SEEDS[row];
+    x += x >>> 32;
+    return (int) x & this.counterMask;
+  }
+
+  private static int spread(final int hash) {
+    int x = hash * 0x9e3779b9;
+    return x ^ (x >>> 16);
+  }
+}
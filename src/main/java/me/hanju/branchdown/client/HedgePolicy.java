@@ -0,0 +1,129 @@
+package me.hanju.branchdown.client;
+
+import java.time.Duration;
+
+/**
+ * 조회 요청 헤징 정책.
+ *
+ * <p>첫 요청이 지연 시간 안에 끝나지 않으면 같은 요청을 한 번 더 보내고 먼저 성공한 응답을 사용한다.
+ * 지연 시간은 고정값이거나, 엔드포인트별로 관측한 지연 시간의 백분위(예: p95)를 따라가는 적응형이다.
+ *
+ * <p>추가 요청은 예산 안에서만 보낸다. 요청마다 {@code ratio}만큼 적립하고 헤지 한 번에 1을 쓰며,
+ * 적립액은 {@code burst}를 넘지 않는다. 예를 들어 기본값 {@code ratio = 0.1}이면 장애 상황에서도 추가 부하가 약 10%로 제한된다.
+ */
+public final class HedgePolicy {
+
+  private static final double DEFAULT_BUDGET_RATIO = 0.1;
+  private static final int DEFAULT_BUDGET_BURST = 10;
+  private static final int DEFAULT_WINDOW = 1_000;
+
+  private final Duration delay;
+  private final double percentile;
+  private final Duration minDelay;
+  private final int window;
+  private final double budgetRatio;
+  private final int budgetBurst;
+
+  private HedgePolicy(final Duration delay, final double percentile, final Duration minDelay, final int window,
+      final double budgetRatio, final int budgetBurst) {
+    this.delay = delay;
+    this.percentile = percentile;
+    this.minDelay = minDelay;
+    this.window = window;
+    this.budgetRatio = budgetRatio;
+    this.budgetBurst = budgetBurst;
+  }
+
+  /**
+   * 고정 지연 시간 후 헤지하는 정책.
+   *
+   * @param delay 헤지 요청을 보내기까지의 지연 시간
+   * @return 정책
+   */
+  public static HedgePolicy fixed(final Duration delay) {
+    requirePositive(delay, "delay");
+    return new HedgePolicy(delay, Double.NaN, delay, DEFAULT_WINDOW, DEFAULT_BUDGET_RATIO, DEFAULT_BUDGET_BURST);
+  }
+
+  /**
+   * 엔드포인트별로 최근 관측 구간(기본 1,000건)의 지연 시간 백분위를 지연 시간으로 사용하는 정책.
+   * 첫 구간이 채워지기 전에는 {@code initialDelay}를 사용한다.
+   *
+   * @param percentile 백분위 (0 초과 100 미만, 예: 95)
+   * @param initialDelay 관측값이 모이기 전 사용할 지연 시간
+   * @param minDelay 지연 시간 하한
+   * @return 정책
+   */
+  public static HedgePolicy adaptive(final double percentile, final Duration initialDelay, final Duration minDelay) {
+    if (!(percentile > 0 && percentile < 100)) {
+      throw new IllegalArgumentException("percentile must be between 0 and 100");
+    }
+    requirePositive(initialDelay, "initialDelay");
+    requirePositive(minDelay, "minDelay");
+    return new HedgePolicy(initialDelay, percentile, minDelay, DEFAULT_WINDOW, DEFAULT_BUDGET_RATIO,
+        DEFAULT_BUDGET_BURST);
+  }
+
+  /**
+   * @param ratio 요청 하나당 적립되는 헤지 예산 (0 이상 1 이하)
+   * @param burst 적립 상한 (1 이상)
+   * @return 예산을 바꾼 정책
+   */
+  public HedgePolicy withBudget(final double ratio, final int burst) {
+    if (!(ratio >= 0 && ratio <= 1)) {
+      throw new IllegalArgumentException("ratio must be between 0 and 1");
+    }
+    if (burst < 1) {
+      throw new IllegalArgumentException("burst must be positive");
+    }
+    return new HedgePolicy(this.delay, this.percentile, this.minDelay, this.window, ratio, burst);
+  }
+
+  /**
+   * @param samples 적응형 지연 시간을 다시 계산하는 관측 구간 크기
+   * @return 구간 크기를 바꾼 정책
+   */
+  public HedgePolicy withWindow(final int samples) {
+    if (samples < 1) {
+      throw new IllegalArgumentException("samples must be positive");
+    }
+    return new HedgePolicy(this.delay, this.percentile, this.minDelay, samples, this.budgetRatio, this.budgetBurst);
+  }
+
+  public boolean isAdaptive() {
+    return !Double.isNaN(this.percentile);
+  }
+
+  Duration delay() {
+    return this.delay;
+  }
+
+  double percentile() {
+    return this.percentile;
+  }
+
+  Duration minDelay() {
+    return this.minDelay;
+  }
+
+  int window() {
+    return this.window;
+  }
+
+  double budgetRatio() {
+    return this.budgetRatio;
+  }
+
+  int budgetBurst() {
+    return this.budgetBurst;
+  }
+
+  private static void requirePositive(final Duration value, final String name) {
+    if (value == null) {
+      throw new IllegalArgumentException(name + " must not be null");
+    }
+    if (value.isNegative() || value.isZero()) {
+      throw new IllegalArgumentException(name + " must be positive");
+    }
+  }
+}
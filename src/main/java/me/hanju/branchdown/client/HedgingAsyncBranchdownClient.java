@@ -0,0 +1,253 @@
+package me.hanju.branchdown.client;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.api.dto.StreamDto;
+import me.hanju.branchdown.client.exception.BranchdownException;
+import me.hanju.branchdown.client.metrics.LatencyHistogram;
+
+/**
+ * 조회 요청을 헤징하는 {@link AsyncBranchdownClient} 데코레이터.
+ *
+ * <p>{@code getStream}, {@code getStreamPoints}, {@code getBranchPoints}, {@code getAncestors}는
+ * {@link HedgePolicy}의 지연 시간 안에 끝나지 않으면 같은 요청을 한 번 더 보내고, 먼저 성공한 응답을 사용하며 나머지 요청은 취소한다.
+ * 서버가 실패 응답({@link BranchdownException})을 보내면 다른 요청을 기다리지 않고 바로 실패한다.
+ * 네트워크 오류는 남은 요청이 있으면 그 결과를 기다린다.
+ *
+ * <p>쓰기 메서드({@code createStream}, {@code deleteStream}, {@code addPoint})는 헤징하지 않고 그대로 위임한다.
+ * 진 요청의 취소는 위임 대상의 future 취소 동작을 따른다(OkHttp/WebClient 구현체는 HTTP 호출을 취소한다).
+ */
+public class HedgingAsyncBranchdownClient implements AsyncBranchdownClient {
+
+  private static final long TOKEN = 1_000;
+
+  private final AsyncBranchdownClient delegate;
+  private final HedgePolicy policy;
+  private final DelayEstimator[] delays;
+  private final AtomicLong budget;
+  private final long budgetDeposit;
+  private final long budgetCap;
+  private final LongAdder hedges = new LongAdder();
+  private final LongAdder hedgeWins = new LongAdder();
+
+  public HedgingAsyncBranchdownClient(final AsyncBranchdownClient delegate, final HedgePolicy policy) {
+    if (delegate == null) {
+      throw new IllegalArgumentException("delegate must not be null");
+    }
+    if (policy == null) {
+      throw new IllegalArgumentException("policy must not be null");
+    }
+    this.delegate = delegate;
+    this.policy = policy;
+    this.delays = new DelayEstimator[BranchdownEndpoint.values().length];
+    for (final BranchdownEndpoint endpoint : BranchdownEndpoint.values()) {
+      this.delays[endpoint.ordinal()] = new DelayEstimator(policy.delay().toNanos());
+    }
+    this.budgetDeposit = Math.round(policy.budgetRatio() * TOKEN);
+    this.budgetCap = policy.budgetBurst() * TOKEN;
+    this.budget = new AtomicLong(this.budgetCap);
+  }
+
+  /**
+   * @return 지금까지 보낸 헤지 요청 수
+   */
+  public long hedges() {
+    return this.hedges.sum();
+  }
+
+  /**
+   * @return 헤지 요청이 첫 요청보다 먼저 성공한 횟수
+   */
+  public long hedgeWins() {
+    return this.hedgeWins.sum();
+  }
+
+  /**
+   * @param endpoint 조회 엔드포인트
+   * @return 현재 적용 중인 헤지 지연 시간
+   */
+  public Duration currentDelay(final BranchdownEndpoint endpoint) {
+    if (endpoint == null) {
+      throw new IllegalArgumentException("endpoint must not be null");
+    }
+    return Duration.ofNanos(this.delays[endpoint.ordinal()].delayNanos);
+  }
+
+  // ========== Stream API ==========
+
+  @Override
+  public CompletableFuture<Long> createStream() {
+    return this.delegate.createStream();
+  }
+
+  @Override
+  public CompletableFuture<StreamDto.Response> getStream(final long streamId) {
+    return this.hedge(BranchdownEndpoint.GET_STREAM, () -> this.delegate.getStream(streamId));
+  }
+
+  @Override
+  public CompletableFuture<Void> deleteStream(final long streamId) {
+    return this.delegate.deleteStream(streamId);
+  }
+
+  @Override
+  public CompletableFuture<List<PointDto.Response>> getStreamPoints(final long streamId) {
+    return this.hedge(BranchdownEndpoint.GET_STREAM_POINTS, () -> this.delegate.getStreamPoints(streamId));
+  }
+
+  @Override
+  public CompletableFuture<List<PointDto.Response>> getBranchPoints(final long streamId, final int branchNum,
+      final int depth) {
+    return this.hedge(BranchdownEndpoint.GET_BRANCH_POINTS,
+        () -> this.delegate.getBranchPoints(streamId, branchNum, depth));
+  }
+
+  // ========== Point API ==========
+
+  @Override
+  public CompletableFuture<PointDto.Response> addPoint(final long parentPointId, final String itemId) {
+    return this.delegate.addPoint(parentPointId, itemId);
+  }
+
+  @Override
+  public CompletableFuture<List<PointDto.Response>> addPoints(final long parentPointId, final List<String> itemIds) {
+    return this.delegate.addPoints(parentPointId, itemIds);
+  }
+
+  @Override
+  public CompletableFuture<List<PointDto.Response>> addChildren(final long parentPointId,
+      final List<String> itemIds) {
+    return this.delegate.addChildren(parentPointId, itemIds);
+  }
+
+  @Override
+  public CompletableFuture<List<PointDto.Response>> getAncestors(final long pointId) {
+    return this.hedge(BranchdownEndpoint.GET_ANCESTORS, () -> this.delegate.getAncestors(pointId));
+  }
+
+  // ========== Helper Methods ==========
+
+  private <T> CompletableFuture<T> hedge(final BranchdownEndpoint endpoint,
+      final Supplier<CompletableFuture<T>> call) {
+    final Hedge<T> hedge = new Hedge<>(endpoint, call);
+    this.deposit();
+    hedge.launch(false);
+    if (!hedge.result.isDone()) {
+      CompletableFuture.delayedExecutor(this.delays[endpoint.ordinal()].delayNanos, TimeUnit.NANOSECONDS)
+          .execute(() -> {
+            if (!hedge.result.isDone() && this.withdraw()) {
+              this.hedges.increment();
+              hedge.launch(true);
+            }
+          });
+    }
+    return hedge.result;
+  }
+
+  private void deposit() {
+    if (this.budgetDeposit > 0) {
+      this.budget.accumulateAndGet(this.budgetDeposit, (current, deposit) -> Math.min(current + deposit,
+          this.budgetCap));
+    }
+  }
+
+  private boolean withdraw() {
+    long current;
+    do {
+      current = this.budget.get();
+      if (current < TOKEN) {
+        return false;
+      }
+    } while (!this.budget.compareAndSet(current, current - TOKEN));
+    return true;
+  }
+
+  private static Throwable unwrap(final Throwable error) {
+    return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+  }
+
+  /** 요청 하나와 그 헤지 요청의 상태. */
+  private final class Hedge<T> {
+
+    private final BranchdownEndpoint endpoint;
+    private final Supplier<CompletableFuture<T>> call;
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+    private final List<CompletableFuture<T>> attempts = new CopyOnWriteArrayList<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private Hedge(final BranchdownEndpoint endpoint, final Supplier<CompletableFuture<T>> call) {
+      this.endpoint = endpoint;
+      this.call = call;
+      this.result.whenComplete((value, error) -> {
+        for (final CompletableFuture<T> attempt : this.attempts) {
+          attempt.cancel(true);
+        }
+      });
+    }
+
+    private void launch(final boolean backup) {
+      this.pending.incrementAndGet();
+      final long startedAt = System.nanoTime();
+      CompletableFuture<T> attempt;
+      try {
+        attempt = this.call.get();
+      } catch (RuntimeException e) {
+        attempt = CompletableFuture.failedFuture(e);
+      }
+      this.attempts.add(attempt);
+      if (this.result.isDone()) {
+        attempt.cancel(true);
+      }
+      attempt.whenComplete((value, error) -> {
+        if (!backup) {
+          // 첫 요청의 지연 시간만 기록한다. 진 경우에는 취소 시점까지의 시간(하한)이 기록된다.
+          delays[this.endpoint.ordinal()].record(System.nanoTime() - startedAt);
+        }
+        if (error == null) {
+          if (this.result.complete(value) && backup) {
+            hedgeWins.increment();
+          }
+          return;
+        }
+        final Throwable cause = unwrap(error);
+        if (cause instanceof BranchdownException || this.pending.decrementAndGet() == 0) {
+          this.result.completeExceptionally(cause);
+        }
+      });
+    }
+  }
+
+  /** 엔드포인트별 헤지 지연 시간. 적응형 정책이면 관측 구간마다 백분위로 다시 계산한다. */
+  private final class DelayEstimator {
+
+    private final AtomicLong samples = new AtomicLong();
+    private volatile LatencyHistogram window = new LatencyHistogram();
+    private volatile long delayNanos;
+
+    private DelayEstimator(final long initialDelayNanos) {
+      this.delayNanos = initialDelayNanos;
+    }
+
+    private void record(final long nanos) {
+      if (!policy.isAdaptive()) {
+        return;
+      }
+      final LatencyHistogram current = this.window;
+      current.record(nanos);
+      if (this.samples.incrementAndGet() % policy.window() == 0) {
+        this.delayNanos = Math.max(policy.minDelay().toNanos(), current.percentile(policy.percentile()));
+        this.window = new LatencyHistogram();
+      }
+    }
+  }
+}
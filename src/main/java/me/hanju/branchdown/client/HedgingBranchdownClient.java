@@ -0,0 +1,95 @@
+package me.hanju.branchdown.client;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.api.dto.StreamDto;
+
+/**
+ * 조회 요청을 헤징하는 {@link BranchdownClient} 데코레이터.
+ *
+ * <p>진 요청을 실제로 취소할 수 있도록 조회는 같은 서버를 바라보는 {@link AsyncBranchdownClient}로 보내고
+ * {@link HedgingAsyncBranchdownClient}의 규칙을 그대로 따른다. 쓰기 메서드와 {@code forEach*} 스트리밍 조회는
+ * 헤징하지 않고 동기 클라이언트로 위임한다.
+ *
+ * <pre>{@code
+ * BranchdownClient client = new HedgingBranchdownClient(
+ *     new OkHttpBranchdownClient(okHttpClient, baseUrl),
+ *     new OkHttpAsyncBranchdownClient(okHttpClient, baseUrl),
+ *     HedgePolicy.adaptive(95, Duration.ofMillis(50), Duration.ofMillis(5)));
+ * }</pre>
+ */
+public class HedgingBranchdownClient extends ForwardingBranchdownClient {
+
+  private final HedgingAsyncBranchdownClient reads;
+
+  /**
+   * @param delegate 쓰기와 스트리밍 조회에 사용할 클라이언트
+   * @param reads 헤징할 조회에 사용할 비동기 클라이언트
+   * @param policy 헤징 정책
+   */
+  public HedgingBranchdownClient(final BranchdownClient delegate, final AsyncBranchdownClient reads,
+      final HedgePolicy policy) {
+    super(delegate);
+    if (reads == null) {
+      throw new IllegalArgumentException("reads must not be null");
+    }
+    this.reads = new HedgingAsyncBranchdownClient(reads, policy);
+  }
+
+  /**
+   * @return 지금까지 보낸 헤지 요청 수
+   */
+  public long hedges() {
+    return this.reads.hedges();
+  }
+
+  /**
+   * @return 헤지 요청이 첫 요청보다 먼저 성공한 횟수
+   */
+  public long hedgeWins() {
+    return this.reads.hedgeWins();
+  }
+
+  /**
+   * @param endpoint 조회 엔드포인트
+   * @return 현재 적용 중인 헤지 지연 시간
+   */
+  public Duration currentDelay(final BranchdownEndpoint endpoint) {
+    return this.reads.currentDelay(endpoint);
+  }
+
+  @Override
+  public StreamDto.Response getStream(final long streamId) {
+    return join(this.reads.getStream(streamId));
+  }
+
+  @Override
+  public List<PointDto.Response> getStreamPoints(final long streamId) {
+    return join(this.reads.getStreamPoints(streamId));
+  }
+
+  @Override
+  public List<PointDto.Response> getBranchPoints(final long streamId, final int branchNum, final int depth) {
+    return join(this.reads.getBranchPoints(streamId, branchNum, depth));
+  }
+
+  @Override
+  public List<PointDto.Response> getAncestors(final long pointId) {
+    return join(this.reads.getAncestors(pointId));
+  }
+
+  private static <T> T join(final CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+}
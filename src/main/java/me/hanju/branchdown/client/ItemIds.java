@@ -0,0 +1,52 @@
+package me.hanju.branchdown.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import me.hanju.branchdown.api.dto.PointDto;
+
+/**
+ * 일괄 추가 API의 아이템 ID 목록 검증과, 단건 {@link BranchdownClient#addPoint}로 나눠 보내는 기본 구현.
+ * {@link ForwardingBranchdownClient} 하위 클래스가 요청마다 자신의 {@code addPoint}를 거치게 할 때도 사용한다.
+ */
+final class ItemIds {
+
+  private ItemIds() {
+  }
+
+  static void validate(final List<String> itemIds) {
+    if (itemIds == null) {
+      throw new IllegalArgumentException("itemIds must not be null");
+    }
+    for (final String itemId : itemIds) {
+      if (itemId == null) {
+        throw new IllegalArgumentException("itemIds must not contain null");
+      }
+    }
+  }
+
+  /** {@link BranchdownClient#addPoints}의 기본 구현. 직전 포인트를 부모로 순차 추가한다. */
+  static List<PointDto.Response> chain(final BranchdownClient client, final long parentPointId,
+      final List<String> itemIds) {
+    validate(itemIds);
+    final List<PointDto.Response> created = new ArrayList<>(itemIds.size());
+    long parentId = parentPointId;
+    for (final String itemId : itemIds) {
+      final PointDto.Response point = client.addPoint(parentId, itemId);
+      created.add(point);
+      parentId = point.id();
+    }
+    return created;
+  }
+
+  /** {@link BranchdownClient#addChildren}의 기본 구현. 같은 부모 아래에 순차 추가한다. */
+  static List<PointDto.Response> siblings(final BranchdownClient client, final long parentPointId,
+      final List<String> itemIds) {
+    validate(itemIds);
+    final List<PointDto.Response> created = new ArrayList<>(itemIds.size());
+    for (final String itemId : itemIds) {
+      created.add(client.addPoint(parentPointId, itemId));
+    }
+    return created;
+  }
+}
@@ -0,0 +1,162 @@
+package me.hanju.branchdown.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import me.hanju.branchdown.api.dto.CommonResponseDto;
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.api.dto.StreamDto;
+import me.hanju.branchdown.client.exception.BranchdownClientException;
+import me.hanju.branchdown.client.exception.BranchdownException;
+
+/**
+ * {@link HttpClient}(java.net.http) 기반 비동기 Branchdown API 클라이언트 구현체.
+ * {@link HttpClient#sendAsync}로 요청하므로 응답 대기 중 호출 스레드를 점유하지 않는다.
+ *
+ * <p>HTTP/2 연결에서는 동시 요청이 하나의 연결로 다중화되므로 OkHttp의 {@code maxRequestsPerHost} 같은
+ * 호스트별 제한이 없다. 응답 본문은 {@link HttpClient}의 executor에서 디코딩된다.
+ * future를 취소하면 진행 중인 HTTP 교환도 취소된다.
+ */
+public class JdkHttpAsyncBranchdownClient implements AsyncBranchdownClient {
+
+  private final HttpClient client;
+  private final String baseUrl;
+  private final BranchdownClientListener listener;
+  private final CompiledEndpoint.AsyncExchange<HttpRequest> exchange = this::exchange;
+
+  /**
+   * 기본 설정의 {@link HttpClient}를 만들어 사용한다.
+   *
+   * @param baseUrl 서버 주소
+   */
+  public JdkHttpAsyncBranchdownClient(final String baseUrl) {
+    this(HttpClient.newHttpClient(), baseUrl);
+  }
+
+  public JdkHttpAsyncBranchdownClient(final HttpClient client, final String baseUrl) {
+    this(client, baseUrl, BranchdownClientListener.NONE);
+  }
+
+  /**
+   * @param client HTTP 클라이언트
+   * @param baseUrl 서버 주소
+   * @param listener 요청 계측 리스너
+   */
+  public JdkHttpAsyncBranchdownClient(final HttpClient client, final String baseUrl,
+      final BranchdownClientListener listener) {
+    if (client == null) {
+      throw new IllegalArgumentException("client must not be null");
+    }
+    if (baseUrl == null) {
+      throw new IllegalArgumentException("baseUrl must not be null");
+    }
+    if (listener == null) {
+      throw new IllegalArgumentException("listener must not be null");
+    }
+    this.client = client;
+    this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    this.listener = listener;
+  }
+
+  // ========== Stream API ==========
+
+  @Override
+  public CompletableFuture<Long> createStream() {
+    return this.send(CompiledEndpoint.CREATE_STREAM, CompiledEndpoint.CREATE_STREAM.url(baseUrl),
+        HttpRequest.BodyPublishers.noBody())
+        .thenApply(StreamDto.Response::id);
+  }
+
+  @Override
+  public CompletableFuture<StreamDto.Response> getStream(final long streamId) {
+    return this.send(CompiledEndpoint.GET_STREAM, CompiledEndpoint.GET_STREAM.url(baseUrl, streamId), null);
+  }
+
+  @Override
+  public CompletableFuture<Void> deleteStream(final long streamId) {
+    return this.send(CompiledEndpoint.DELETE_STREAM, CompiledEndpoint.DELETE_STREAM.url(baseUrl, streamId), null);
+  }
+
+  @Override
+  public CompletableFuture<List<PointDto.Response>> getStreamPoints(final long streamId) {
+    return this.send(CompiledEndpoint.GET_STREAM_POINTS,
+        CompiledEndpoint.GET_STREAM_POINTS.url(baseUrl, streamId), null);
+  }
+
+  @Override
+  public CompletableFuture<List<PointDto.Response>> getBranchPoints(final long streamId, final int branchNum,
+      final int depth) {
+    return this.send(CompiledEndpoint.GET_BRANCH_POINTS,
+        CompiledEndpoint.GET_BRANCH_POINTS.url(baseUrl, streamId, branchNum, depth), null);
+  }
+
+  // ========== Point API ==========
+
+  @Override
+  public CompletableFuture<PointDto.Response> addPoint(final long parentPointId, final String itemId) {
+    if (itemId == null) {
+      throw new IllegalArgumentException("itemId must not be null");
+    }
+    final byte[] json;
+    try {
+      json = BranchdownJson.DOWN_REQUEST.writeValueAsBytes(new PointDto.DownRequest(itemId));
+    } catch (JsonProcessingException e) {
+      return CompletableFuture.failedFuture(new BranchdownClientException("Failed to serialize/deserialize", e));
+    }
+    return this.send(CompiledEndpoint.ADD_POINT, CompiledEndpoint.ADD_POINT.url(baseUrl, parentPointId),
+        HttpRequest.BodyPublishers.ofByteArray(json));
+  }
+
+  @Override
+  public CompletableFuture<List<PointDto.Response>> getAncestors(final long pointId) {
+    return this.send(CompiledEndpoint.GET_ANCESTORS, CompiledEndpoint.GET_ANCESTORS.url(baseUrl, pointId), null);
+  }
+
+  // ========== Helper Methods ==========
+
+  /** 본문이 있으면 JSON 요청 본문으로 보낸다. */
+  private <T> CompletableFuture<T> send(final CompiledEndpoint<T> endpoint, final String url,
+      final HttpRequest.BodyPublisher body) {
+    final HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url));
+    if (body == null) {
+      builder.method(endpoint.method(), HttpRequest.BodyPublishers.noBody());
+    } else {
+      builder.header("Content-Type", "application/json").method(endpoint.method(), body);
+    }
+    return endpoint.executeAsync(this.listener, this.exchange, builder.build());
+  }
+
+  private <T> CompletableFuture<CommonResponseDto<T>> exchange(final HttpRequest request,
+      final CompiledEndpoint<T> endpoint, final RequestObservation observation) {
+    final CompletableFuture<HttpResponse<byte[]>> sent = this.client.sendAsync(request, info -> {
+      observation.responded();
+      return HttpResponse.BodySubscribers.ofByteArray();
+    });
+    final CompletableFuture<CommonResponseDto<T>> read = sent.thenApply(response -> {
+      final byte[] body = response.body();
+      if (body == null) {
+        throw new BranchdownException("Empty response");
+      }
+      try {
+        return endpoint.reader().read(observation.count(new ByteArrayInputStream(body)));
+      } catch (IOException e) {
+        throw new CompletionException(e);
+      }
+    });
+    read.whenComplete((response, error) -> {
+      if (read.isCancelled()) {
+        sent.cancel(true);
+      }
+    });
+    return read;
+  }
+}
@@ -0,0 +1,242 @@
+package me.hanju.branchdown.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import me.hanju.branchdown.api.dto.CommonResponseDto;
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.api.dto.StreamDto;
+import me.hanju.branchdown.client.exception.BranchdownClientException;
+import me.hanju.branchdown.client.exception.BranchdownException;
+
+/**
+ * {@link HttpClient}(java.net.http) 기반 Branchdown API 클라이언트 구현체.
+ * OkHttp나 Spring 없이 Jackson만으로 동작한다.
+ *
+ * <p>{@link HttpClient}의 기본 버전은 HTTP/2이므로 서버가 지원하면 하나의 연결에서 요청을 다중화하고,
+ * 지원하지 않으면 HTTP/1.1로 내려간다. 호출 경로에 {@code synchronized} 블록이 없어 가상 스레드에서 호출해도
+ * 응답 대기 중 캐리어 스레드를 고정(pinning)하지 않는다.
+ * 응답 처리 스레드까지 가상 스레드로 돌리려면 {@link HttpClient.Builder#executor}에
+ * {@link java.util.concurrent.Executors#newVirtualThreadPerTaskExecutor()}를 전달한다.
+ *
+ * <p>{@link #forEachStreamPoint}/{@link #forEachBranchPoint}는 응답 본문을 버퍼링하지 않고 포인트를 하나씩 파싱하여 전달하고,
+ * {@link #getStreamPointTable}/{@link #getBranchPointTable}은 DTO 없이 열 단위 테이블로 바로 디코딩하며,
+ * {@link #addChildren}은 첫 포인트 이후의 요청을 {@link JdkHttpAsyncBranchdownClient}로 동시에 전송한다.
+ */
+public class JdkHttpBranchdownClient implements BranchdownClient {
+
+  private final HttpClient client;
+  private final String baseUrl;
+  private final BranchdownClientListener listener;
+  private final JdkHttpAsyncBranchdownClient asyncClient;
+  private final CompiledEndpoint.Exchange<HttpRequest> exchange = this::exchange;
+
+  /**
+   * 기본 설정의 {@link HttpClient}를 만들어 사용한다.
+   *
+   * @param baseUrl 서버 주소
+   */
+  public JdkHttpBranchdownClient(final String baseUrl) {
+    this(HttpClient.newHttpClient(), baseUrl);
+  }
+
+  public JdkHttpBranchdownClient(final HttpClient client, final String baseUrl) {
+    this(client, baseUrl, BranchdownClientListener.NONE);
+  }
+
+  /**
+   * @param client HTTP 클라이언트
+   * @param baseUrl 서버 주소
+   * @param listener 요청 계측 리스너
+   */
+  public JdkHttpBranchdownClient(final HttpClient client, final String baseUrl,
+      final BranchdownClientListener listener) {
+    if (client == null) {
+      throw new IllegalArgumentException("client must not be null");
+    }
+    if (baseUrl == null) {
+      throw new IllegalArgumentException("baseUrl must not be null");
+    }
+    if (listener == null) {
+      throw new IllegalArgumentException("listener must not be null");
+    }
+    this.client = client;
+    this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    this.listener = listener;
+    this.asyncClient = new JdkHttpAsyncBranchdownClient(client, this.baseUrl, listener);
+  }
+
+  // ========== Stream API ==========
+
+  @Override
+  public Long createStream() {
+    return this.execute(CompiledEndpoint.CREATE_STREAM, CompiledEndpoint.CREATE_STREAM.url(baseUrl),
+        HttpRequest.BodyPublishers.noBody()).id();
+  }
+
+  @Override
+  public StreamDto.Response getStream(final long streamId) {
+    return this.execute(CompiledEndpoint.GET_STREAM, CompiledEndpoint.GET_STREAM.url(baseUrl, streamId), null);
+  }
+
+  @Override
+  public void deleteStream(final long streamId) {
+    this.execute(CompiledEndpoint.DELETE_STREAM, CompiledEndpoint.DELETE_STREAM.url(baseUrl, streamId), null);
+  }
+
+  @Override
+  public List<PointDto.Response> getStreamPoints(final long streamId) {
+    return this.execute(CompiledEndpoint.GET_STREAM_POINTS, CompiledEndpoint.GET_STREAM_POINTS.url(baseUrl, streamId),
+        null);
+  }
+
+  @Override
+  public List<PointDto.Response> getBranchPoints(final long streamId, final int branchNum, final int depth) {
+    return this.execute(CompiledEndpoint.GET_BRANCH_POINTS,
+        CompiledEndpoint.GET_BRANCH_POINTS.url(baseUrl, streamId, branchNum, depth), null);
+  }
+
+  @Override
+  public void forEachStreamPoint(final long streamId, final Consumer<? super PointDto.Response> action) {
+    if (action == null) {
+      throw new IllegalArgumentException("action must not be null");
+    }
+    this.stream(CompiledEndpoint.GET_STREAM_POINTS, get(CompiledEndpoint.GET_STREAM_POINTS.url(baseUrl, streamId)),
+        action);
+  }
+
+  @Override
+  public void forEachBranchPoint(final long streamId, final int branchNum, final int depth,
+      final Consumer<? super PointDto.Response> action) {
+    if (action == null) {
+      throw new IllegalArgumentException("action must not be null");
+    }
+    this.stream(CompiledEndpoint.GET_BRANCH_POINTS,
+        get(CompiledEndpoint.GET_BRANCH_POINTS.url(baseUrl, streamId, branchNum, depth)), action);
+  }
+
+  @Override
+  public PointTable getStreamPointTable(final long streamId) {
+    return this.table(CompiledEndpoint.GET_STREAM_POINTS,
+        get(CompiledEndpoint.GET_STREAM_POINTS.url(baseUrl, streamId)));
+  }
+
+  @Override
+  public PointTable getBranchPointTable(final long streamId, final int branchNum, final int depth) {
+    return this.table(CompiledEndpoint.GET_BRANCH_POINTS,
+        get(CompiledEndpoint.GET_BRANCH_POINTS.url(baseUrl, streamId, branchNum, depth)));
+  }
+
+  // ========== Point API ==========
+
+  @Override
+  public PointDto.Response addPoint(final long parentPointId, final String itemId) {
+    if (itemId == null) {
+      throw new IllegalArgumentException("itemId must not be null");
+    }
+    final byte[] json;
+    try {
+      json = BranchdownJson.DOWN_REQUEST.writeValueAsBytes(new PointDto.DownRequest(itemId));
+    } catch (JsonProcessingException e) {
+      throw new BranchdownClientException("Failed to serialize/deserialize", e);
+    }
+    return this.execute(CompiledEndpoint.ADD_POINT, CompiledEndpoint.ADD_POINT.url(baseUrl, parentPointId),
+        HttpRequest.BodyPublishers.ofByteArray(json));
+  }
+
+  @Override
+  public List<PointDto.Response> addChildren(final long parentPointId, final List<String> itemIds) {
+    try {
+      return this.asyncClient.addChildren(parentPointId, itemIds).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  @Override
+  public List<PointDto.Response> getAncestors(final long pointId) {
+    return this.execute(CompiledEndpoint.GET_ANCESTORS, CompiledEndpoint.GET_ANCESTORS.url(baseUrl, pointId), null);
+  }
+
+  // ========== Helper Methods ==========
+
+  private static HttpRequest get(final String url) {
+    return HttpRequest.newBuilder(URI.create(url)).GET().build();
+  }
+
+  /** 본문이 있으면 JSON 요청 본문으로 보낸다. */
+  private <T> T execute(final CompiledEndpoint<T> endpoint, final String url,
+      final HttpRequest.BodyPublisher body) {
+    final HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url));
+    if (body == null) {
+      builder.method(endpoint.method(), HttpRequest.BodyPublishers.noBody());
+    } else {
+      builder.header("Content-Type", "application/json").method(endpoint.method(), body);
+    }
+    return endpoint.execute(this.listener, this.exchange, builder.build());
+  }
+
+  private <T> CommonResponseDto<T> exchange(final HttpRequest request, final CompiledEndpoint<T> endpoint,
+      final RequestObservation observation) throws IOException {
+    try (InputStream body = this.send(request, observation)) {
+      return endpoint.reader().read(observation.count(body));
+    }
+  }
+
+  private void stream(final CompiledEndpoint<?> endpoint, final HttpRequest request,
+      final Consumer<? super PointDto.Response> action) {
+    endpoint.dispatch(this.listener, (r, observation) -> {
+      try (InputStream body = this.send(r, observation);
+          JsonParser parser = BranchdownJson.MAPPER.createParser(observation.count(body))) {
+        final PointEnvelopeDecoder decoder = new PointEnvelopeDecoder(BranchdownJson.POINT);
+        PointDto.Response point;
+        while ((point = decoder.next(parser)) != null) {
+          action.accept(point);
+        }
+        decoder.finish(parser);
+      }
+      return null;
+    }, request);
+  }
+
+  /** 응답 헤더를 받은 시점을 기록하고, 본문은 수신하는 대로 읽을 수 있는 스트림으로 돌려준다. */
+  private InputStream send(final HttpRequest request, final RequestObservation observation) throws IOException {
+    final HttpResponse<InputStream> response;
+    try {
+      response = this.client.send(request, info -> {
+        observation.responded();
+        return HttpResponse.BodySubscribers.ofInputStream();
+      });
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new BranchdownClientException("Request interrupted", e);
+    }
+    final InputStream body = response.body();
+    if (body == null) {
+      throw new BranchdownException("Empty response");
+    }
+    return body;
+  }
+
+  private PointTable table(final CompiledEndpoint<?> endpoint, final HttpRequest request) {
+    return endpoint.dispatch(this.listener, (r, observation) -> {
+      try (InputStream body = this.send(r, observation);
+          JsonParser parser = BranchdownJson.MAPPER.createParser(observation.count(body))) {
+        return PointTableDecoder.read(parser);
+      }
+    }, request);
+  }
+}
@@ -0,0 +1,195 @@
+package me.hanju.branchdown.client;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import me.hanju.branchdown.api.dto.CommonResponseDto;
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.api.dto.StreamDto;
+import me.hanju.branchdown.client.exception.BranchdownClientException;
+import me.hanju.branchdown.client.exception.BranchdownException;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * OkHttp 기반 비동기 Branchdown API 클라이언트 구현체.
+ * {@link Call#enqueue(Callback)}로 요청하므로 응답 대기 중 호출 스레드를 점유하지 않는다.
+ *
+ * <p>동시 요청 수는 {@link okhttp3.Dispatcher}의 {@code maxRequests}/{@code maxRequestsPerHost}로 제한되므로
+ * 대량 동시 호출 시에는 전달하는 {@link OkHttpClient}의 Dispatcher 설정을 함께 조정해야 한다.
+ * future를 취소하면 진행 중인 HTTP 호출도 취소된다.
+ */
+public class OkHttpAsyncBranchdownClient implements AsyncBranchdownClient {
+
+  private static final MediaType JSON = MediaType.get("application/json");
+  private static final RequestBody EMPTY_JSON = RequestBody.create(new byte[0], JSON);
+  private static final RequestBody EMPTY = RequestBody.create(new byte[0], null);
+
+  private final OkHttpClient client;
+  private final OkHttpUrls urls;
+  private final BranchdownClientListener listener;
+  private final CompiledEndpoint.AsyncExchange<Request> exchange = this::exchange;
+
+  public OkHttpAsyncBranchdownClient(final OkHttpClient client, final String baseUrl) {
+    this(client, baseUrl, BranchdownClientListener.NONE);
+  }
+
+  /**
+   * 여러 서버 노드에 요청을 분산한다.
+   *
+   * @param client OkHttp 클라이언트
+   * @param balancer 노드 목록과 분산 정책
+   */
+  public OkHttpAsyncBranchdownClient(final OkHttpClient client, final OkHttpLoadBalancer balancer) {
+    this(client, balancer, BranchdownClientListener.NONE);
+  }
+
+  /**
+   * @param client OkHttp 클라이언트
+   * @param balancer 노드 목록과 분산 정책
+   * @param listener 요청 계측 리스너
+   */
+  public OkHttpAsyncBranchdownClient(final OkHttpClient client, final OkHttpLoadBalancer balancer,
+      final BranchdownClientListener listener) {
+    this(install(balancer, client), balancer.baseUrl(), listener);
+  }
+
+  /**
+   * @param client OkHttp 클라이언트
+   * @param baseUrl 서버 주소
+   * @param listener 요청 계측 리스너
+   */
+  public OkHttpAsyncBranchdownClient(final OkHttpClient client, final String baseUrl,
+      final BranchdownClientListener listener) {
+    if (client == null) {
+      throw new IllegalArgumentException("client must not be null");
+    }
+    if (baseUrl == null) {
+      throw new IllegalArgumentException("baseUrl must not be null");
+    }
+    if (listener == null) {
+      throw new IllegalArgumentException("listener must not be null");
+    }
+    this.client = client;
+    this.urls = new OkHttpUrls(
+        HttpUrl.get(baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl));
+    this.listener = listener;
+  }
+
+  // ========== Stream API ==========
+
+  @Override
+  public CompletableFuture<Long> createStream() {
+    return this.send(CompiledEndpoint.CREATE_STREAM, this.url(CompiledEndpoint.CREATE_STREAM), EMPTY_JSON)
+        .thenApply(StreamDto.Response::id);
+  }
+
+  @Override
+  public CompletableFuture<StreamDto.Response> getStream(final long streamId) {
+    return this.send(CompiledEndpoint.GET_STREAM, this.url(CompiledEndpoint.GET_STREAM, streamId), null);
+  }
+
+  @Override
+  public CompletableFuture<Void> deleteStream(final long streamId) {
+    return this.send(CompiledEndpoint.DELETE_STREAM, this.url(CompiledEndpoint.DELETE_STREAM, streamId), EMPTY);
+  }
+
+  @Override
+  public CompletableFuture<List<PointDto.Response>> getStreamPoints(final long streamId) {
+    return this.send(CompiledEndpoint.GET_STREAM_POINTS, this.url(CompiledEndpoint.GET_STREAM_POINTS, streamId),
+        null);
+  }
+
+  @Override
+  public CompletableFuture<List<PointDto.Response>> getBranchPoints(final long streamId, final int branchNum,
+      final int depth) {
+    return this.send(CompiledEndpoint.GET_BRANCH_POINTS,
+        this.url(CompiledEndpoint.GET_BRANCH_POINTS, streamId, branchNum, depth), null);
+  }
+
+  // ========== Point API ==========
+
+  @Override
+  public CompletableFuture<PointDto.Response> addPoint(final long parentPointId, final String itemId) {
+    if (itemId == null) {
+      throw new IllegalArgumentException("itemId must not be null");
+    }
+    final byte[] json;
+    try {
+      json = BranchdownJson.DOWN_REQUEST.writeValueAsBytes(new PointDto.DownRequest(itemId));
+    } catch (JsonProcessingException e) {
+      return CompletableFuture.failedFuture(new BranchdownClientException("Failed to serialize/deserialize", e));
+    }
+    return this.send(CompiledEndpoint.ADD_POINT, this.url(CompiledEndpoint.ADD_POINT, parentPointId),
+        RequestBody.create(json, JSON));
+  }
+
+  @Override
+  public CompletableFuture<List<PointDto.Response>> getAncestors(final long pointId) {
+    return this.send(CompiledEndpoint.GET_ANCESTORS, this.url(CompiledEndpoint.GET_ANCESTORS, pointId), null);
+  }
+
+  // ========== Helper Methods ==========
+
+  private static OkHttpClient install(final OkHttpLoadBalancer balancer, final OkHttpClient client) {
+    if (balancer == null) {
+      throw new IllegalArgumentException("balancer must not be null");
+    }
+    return balancer.install(client);
+  }
+
+  private HttpUrl url(final CompiledEndpoint<?> endpoint, final long... variables) {
+    return this.urls.url(endpoint, variables);
+  }
+
+  private <T> CompletableFuture<T> send(final CompiledEndpoint<T> endpoint, final HttpUrl url,
+      final RequestBody body) {
+    final Request request = new Request.Builder()
+        .url(url)
+        .method(endpoint.method(), body)
+        .build();
+    return endpoint.executeAsync(this.listener, this.exchange, request);
+  }
+
+  private <T> CompletableFuture<CommonResponseDto<T>> exchange(final Request request,
+      final CompiledEndpoint<T> endpoint, final RequestObservation observation) {
+    final CompletableFuture<CommonResponseDto<T>> future = new CompletableFuture<>();
+    final Call call = client.newCall(request);
+    future.whenComplete((result, error) -> {
+      if (future.isCancelled()) {
+        call.cancel();
+      }
+    });
+    call.enqueue(new Callback() {
+      @Override
+      public void onFailure(final Call call, final IOException e) {
+        future.completeExceptionally(e);
+      }
+
+      @Override
+      public void onResponse(final Call call, final Response response) {
+        observation.responded();
+        try (response) {
+          final ResponseBody body = response.body();
+          if (body == null) {
+            throw new BranchdownException("Empty response");
+          }
+          future.complete(endpoint.reader().read(observation.count(body.byteStream())));
+        } catch (IOException | RuntimeException e) {
+          future.completeExceptionally(e);
+        }
+      }
+    });
+    return future;
+  }
+}
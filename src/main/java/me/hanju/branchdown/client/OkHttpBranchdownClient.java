@@ -1,136 +1,205 @@
 package me.hanju.branchdown.client;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import me.hanju.branchdown.api.dto.CommonResponseDto;
 import me.hanju.branchdown.api.dto.PointDto;
 import me.hanju.branchdown.api.dto.StreamDto;
 import me.hanju.branchdown.client.exception.BranchdownClientException;
 import me.hanju.branchdown.client.exception.BranchdownException;
+import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
 
 /**
  * OkHttp 기반 Branchdown API 클라이언트 구현체.
  * Spring 비의존 환경에서 사용 가능.
+ *
+ * <p>{@link #forEachStreamPoint}/{@link #forEachBranchPoint}는 응답 본문을 문자열로 버퍼링하지 않고
+ * 바이트 스트림에서 포인트를 하나씩 파싱하여 전달한다.
+ * {@link #getStreamPointTable}/{@link #getBranchPointTable}은 포인트마다 DTO를 만들지 않고 응답을 열 단위 테이블로 바로 디코딩한다.
+ * {@link #addChildren}은 첫 포인트 이후의 요청을 {@link okhttp3.Dispatcher}를 통해 동시에 전송한다.
+ *
+ * <p>{@link BranchdownClientListener}를 전달하면 요청마다 응답 헤더 수신 시각과 본문 바이트 수를 측정하여 보고한다.
+ * 연결 수립 구간을 더 나눠 보려면 {@link OkHttpClient.Builder#eventListenerFactory}를 함께 사용한다.
+ *
+ * <p>{@link WireFormat}을 지정하면 응답을 CBOR/Smile로 요청하고, 서버가 JSON으로 응답하면 JSON으로 읽는다.
+ * {@link #addChildren}은 {@link OkHttpAsyncBranchdownClient}를 사용하므로 항상 JSON이다.
+ *
+ * <p>배포 직후 첫 호출의 연결 수립과 역직렬화기 생성 비용은 {@link #warmUp(int, int)}로 미리 치를 수 있다.
  */
 public class OkHttpBranchdownClient implements BranchdownClient {
 
   private static final MediaType JSON = MediaType.get("application/json");
-  private static final TypeReference<CommonResponseDto<StreamDto.Response>> STREAM_RESPONSE = new TypeReference<>() {
-  };
-  private static final TypeReference<CommonResponseDto<PointDto.Response>> POINT_RESPONSE = new TypeReference<>() {
-  };
-  private static final TypeReference<CommonResponseDto<List<PointDto.Response>>> POINT_LIST_RESPONSE = new TypeReference<>() {
-  };
-  private static final TypeReference<CommonResponseDto<Void>> VOID_RESPONSE = new TypeReference<>() {
-  };
+  private static final RequestBody EMPTY_JSON = RequestBody.create(new byte[0], JSON);
+  private static final RequestBody EMPTY = RequestBody.create(new byte[0], null);
+  private static final int DEFAULT_WARM_UP_CONNECTIONS = 4;
 
   private final OkHttpClient client;
-  private final ObjectMapper objectMapper;
-  private final String baseUrl;
+  private final OkHttpUrls urls;
+  private final BranchdownClientListener listener;
+  private final WireFormat format;
+  private final OkHttpAsyncBranchdownClient asyncClient;
+  private final CompiledEndpoint.Exchange<Request> exchange = this::exchange;
 
   public OkHttpBranchdownClient(final OkHttpClient client, final String baseUrl) {
+    this(client, baseUrl, BranchdownClientListener.NONE);
+  }
+
+  /**
+   * 여러 서버 노드에 요청을 분산한다.
+   *
+   * @param client OkHttp 클라이언트
+   * @param balancer 노드 목록과 분산 정책
+   */
+  public OkHttpBranchdownClient(final OkHttpClient client, final OkHttpLoadBalancer balancer) {
+    this(client, balancer, BranchdownClientListener.NONE);
+  }
+
+  /**
+   * @param client OkHttp 클라이언트
+   * @param balancer 노드 목록과 분산 정책
+   * @param listener 요청 계측 리스너
+   */
+  public OkHttpBranchdownClient(final OkHttpClient client, final OkHttpLoadBalancer balancer,
+      final BranchdownClientListener listener) {
+    this(client, balancer, listener, WireFormat.JSON);
+  }
+
+  /**
+   * @param client OkHttp 클라이언트
+   * @param balancer 노드 목록과 분산 정책
+   * @param listener 요청 계측 리스너
+   * @param format 우선 요청할 응답 형식
+   */
+  public OkHttpBranchdownClient(final OkHttpClient client, final OkHttpLoadBalancer balancer,
+      final BranchdownClientListener listener, final WireFormat format) {
+    this(install(balancer, client), balancer.baseUrl(), listener, format);
+  }
+
+  /**
+   * @param client OkHttp 클라이언트
+   * @param baseUrl 서버 주소
+   * @param listener 요청 계측 리스너
+   */
+  public OkHttpBranchdownClient(final OkHttpClient client, final String baseUrl,
+      final BranchdownClientListener listener) {
+    this(client, baseUrl, listener, WireFormat.JSON);
+  }
+
+  /**
+   * @param client OkHttp 클라이언트
+   * @param baseUrl 서버 주소
+   * @param listener 요청 계측 리스너
+   * @param format 우선 요청할 응답 형식
+   */
+  public OkHttpBranchdownClient(final OkHttpClient client, final String baseUrl,
+      final BranchdownClientListener listener, final WireFormat format) {
     if (client == null) {
       throw new IllegalArgumentException("client must not be null");
     }
     if (baseUrl == null) {
       throw new IllegalArgumentException("baseUrl must not be null");
     }
+    if (listener == null) {
+      throw new IllegalArgumentException("listener must not be null");
+    }
+    if (format == null) {
+      throw new IllegalArgumentException("format must not be null");
+    }
+    final String trimmed = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
     this.client = client;
-    this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
-    this.objectMapper = new ObjectMapper()
-        .registerModule(new JavaTimeModule())
-        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
-        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    this.urls = new OkHttpUrls(HttpUrl.get(trimmed));
+    this.listener = listener;
+    this.format = format;
+    this.asyncClient = new OkHttpAsyncBranchdownClient(client, trimmed, listener);
   }
 
   // ========== Stream API ==========
 
   @Override
   public Long createStream() {
-    try {
-      final Request request = new Request.Builder()
-          .url(baseUrl + "/api/streams")
-          .post(RequestBody.create("", JSON))
-          .build();
-      return this.execute(request, STREAM_RESPONSE).id();
-    } catch (JsonProcessingException e) {
-      throw new BranchdownClientException("Failed to serialize/deserialize", e);
-    } catch (IOException e) {
-      throw new BranchdownClientException("Request failed", e);
-    }
+    return this.execute(CompiledEndpoint.CREATE_STREAM, this.url(CompiledEndpoint.CREATE_STREAM), EMPTY_JSON).id();
   }
 
   @Override
   public StreamDto.Response getStream(final long streamId) {
-    try {
-      final Request request = new Request.Builder()
-          .url(baseUrl + "/api/streams/" + streamId)
-          .get()
-          .build();
-      return this.execute(request, STREAM_RESPONSE);
-    } catch (JsonProcessingException e) {
-      throw new BranchdownClientException("Failed to serialize/deserialize", e);
-    } catch (IOException e) {
-      throw new BranchdownClientException("Request failed", e);
-    }
+    return this.execute(CompiledEndpoint.GET_STREAM, this.url(CompiledEndpoint.GET_STREAM, streamId), null);
   }
 
   @Override
   public void deleteStream(final long streamId) {
-    try {
-      final Request request = new Request.Builder()
-          .url(baseUrl + "/api/streams/" + streamId)
-          .delete()
-          .build();
-      this.execute(request, VOID_RESPONSE);
-    } catch (JsonProcessingException e) {
-      throw new BranchdownClientException("Failed to serialize/deserialize", e);
-    } catch (IOException e) {
-      throw new BranchdownClientException("Request failed", e);
-    }
+    this.execute(CompiledEndpoint.DELETE_STREAM, this.url(CompiledEndpoint.DELETE_STREAM, streamId), EMPTY);
   }
 
   @Override
   public List<PointDto.Response> getStreamPoints(final long streamId) {
-    try {
-      final Request request = new Request.Builder()
-          .url(baseUrl + "/api/streams/" + streamId + "/points")
-          .get()
-          .build();
-      return this.execute(request, POINT_LIST_RESPONSE);
-    } catch (JsonProcessingException e) {
-      throw new BranchdownClientException("Failed to serialize/deserialize", e);
-    } catch (IOException e) {
-      throw new BranchdownClientException("Request failed", e);
-    }
+    return this.execute(CompiledEndpoint.GET_STREAM_POINTS, this.url(CompiledEndpoint.GET_STREAM_POINTS, streamId),
+        null);
   }
 
   @Override
   public List<PointDto.Response> getBranchPoints(final long streamId, final int branchNum, final int depth) {
-    try {
-      final Request request = new Request.Builder()
-          .url(baseUrl + "/api/streams/" + streamId + "/branches/" + branchNum + "/points?depth=" + depth)
-          .get()
-          .build();
-      return this.execute(request, POINT_LIST_RESPONSE);
-    } catch (JsonProcessingException e) {
-      throw new BranchdownClientException("Failed to serialize/deserialize", e);
-    } catch (IOException e) {
-      throw new BranchdownClientException("Request failed", e);
+    return this.execute(CompiledEndpoint.GET_BRANCH_POINTS,
+        this.url(CompiledEndpoint.GET_BRANCH_POINTS, streamId, branchNum, depth), null);
+  }
+
+  @Override
+  public void forEachStreamPoint(final long streamId, final Consumer<? super PointDto.Response> action) {
+    if (action == null) {
+      throw new IllegalArgumentException("action must not be null");
+    }
+    final Request request = this.newRequest()
+        .url(this.url(CompiledEndpoint.GET_STREAM_POINTS, streamId))
+        .get()
+        .build();
+    this.stream(CompiledEndpoint.GET_STREAM_POINTS, request, action);
+  }
+
+  @Override
+  public void forEachBranchPoint(final long streamId, final int branchNum, final int depth,
+      final Consumer<? super PointDto.Response> action) {
+    if (action == null) {
+      throw new IllegalArgumentException("action must not be null");
     }
+    final Request request = this.newRequest()
+        .url(this.url(CompiledEndpoint.GET_BRANCH_POINTS, streamId, branchNum, depth))
+        .get()
+        .build();
+    this.stream(CompiledEndpoint.GET_BRANCH_POINTS, request, action);
+  }
+
+  @Override
+  public PointTable getStreamPointTable(final long streamId) {
+    final Request request = this.newRequest()
+        .url(this.url(CompiledEndpoint.GET_STREAM_POINTS, streamId))
+        .get()
+        .build();
+    return this.table(CompiledEndpoint.GET_STREAM_POINTS, request);
+  }
+
+  @Override
+  public PointTable getBranchPointTable(final long streamId, final int branchNum, final int depth) {
+    final Request request = this.newRequest()
+        .url(this.url(CompiledEndpoint.GET_BRANCH_POINTS, streamId, branchNum, depth))
+        .get()
+        .build();
+    return this.table(CompiledEndpoint.GET_BRANCH_POINTS, request);
   }
 
   // ========== Point API ==========
@@ -140,52 +209,189 @@ public class OkHttpBranchdownClient implements BranchdownClient {
     if (itemId == null) {
       throw new IllegalArgumentException("itemId must not be null");
     }
+    final byte[] json;
     try {
-      final String json = objectMapper.writeValueAsString(new PointDto.DownRequest(itemId));
-      final Request request = new Request.Builder()
-          .url(baseUrl + "/api/points/" + parentPointId + "/down")
-          .post(RequestBody.create(json, JSON))
-          .build();
-      return this.execute(request, POINT_RESPONSE);
+      json = BranchdownJson.DOWN_REQUEST.writeValueAsBytes(new PointDto.DownRequest(itemId));
     } catch (JsonProcessingException e) {
       throw new BranchdownClientException("Failed to serialize/deserialize", e);
-    } catch (IOException e) {
-      throw new BranchdownClientException("Request failed", e);
     }
+    return this.execute(CompiledEndpoint.ADD_POINT, this.url(CompiledEndpoint.ADD_POINT, parentPointId),
+        RequestBody.create(json, JSON));
   }
 
   @Override
-  public List<PointDto.Response> getAncestors(final long pointId) {
+  public List<PointDto.Response> addChildren(final long parentPointId, final List<String> itemIds) {
     try {
-      final Request request = new Request.Builder()
-          .url(baseUrl + "/api/points/" + pointId + "/ancestors")
-          .get()
-          .build();
-      return this.execute(request, POINT_LIST_RESPONSE);
-    } catch (JsonProcessingException e) {
-      throw new BranchdownClientException("Failed to serialize/deserialize", e);
-    } catch (IOException e) {
-      throw new BranchdownClientException("Request failed", e);
+      return this.asyncClient.addChildren(parentPointId, itemIds).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  @Override
+  public List<PointDto.Response> getAncestors(final long pointId) {
+    return this.execute(CompiledEndpoint.GET_ANCESTORS, this.url(CompiledEndpoint.GET_ANCESTORS, pointId), null);
+  }
+
+  // ========== Warm-up ==========
+
+  /**
+   * 연결 4개를 미리 열고 응답 타입별 역직렬화기를 준비한다. 합성 응답 반복 디코딩은 하지 않는다.
+   *
+   * @return 예열 결과
+   */
+  public WarmUpReport warmUp() {
+    return this.warmUp(DEFAULT_WARM_UP_CONNECTIONS, 0);
+  }
+
+  /**
+   * 첫 호출에 몰리는 준비 비용을 미리 치른다.
+   *
+   * <ol>
+   * <li>{@code OPTIONS /api/streams} 요청 {@code connections}개를 동시에 보내고, 모두 응답 헤더를 받을 때까지 응답을 닫지 않아
+   * 요청마다 별도의 연결(DNS 조회, TCP/TLS 수립 포함)이 생기게 한다. 응답 상태는 보지 않는다.
+   * 열린 연결은 {@link okhttp3.ConnectionPool}의 유휴 연결 한도(기본 5)까지만 남고, HTTP/2 서버와는 연결 하나를 공유한다.</li>
+   * <li>응답 타입별 리더, 스트리밍/테이블 디코더를 JSON과 지정한 {@link WireFormat}의 합성 응답으로 한 번씩 실행한다.</li>
+   * <li>합성 응답 디코딩을 {@code decodeIterations}번 반복하여 디코딩 경로가 JIT 컴파일되게 한다.</li>
+   * </ol>
+   *
+   * @param connections 미리 열 연결 수 (0 이상)
+   * @param decodeIterations 합성 응답 반복 디코딩 횟수 (0 이상)
+   * @return 예열 결과
+   */
+  public WarmUpReport warmUp(final int connections, final int decodeIterations) {
+    if (connections < 0) {
+      throw new IllegalArgumentException("connections must not be negative");
+    }
+    if (decodeIterations < 0) {
+      throw new IllegalArgumentException("decodeIterations must not be negative");
+    }
+    final long startedAt = System.nanoTime();
+    final int opened = this.openConnections(connections);
+    final long connectedAt = System.nanoTime();
+    final WarmUpPayloads json = WarmUpPayloads.of(WireFormat.JSON);
+    final WarmUpPayloads binary = this.format == WireFormat.JSON ? null : WarmUpPayloads.of(this.format);
+    this.decode(json, binary);
+    final long resolvedAt = System.nanoTime();
+    for (int i = 0; i < decodeIterations; i++) {
+      this.decode(json, binary);
+    }
+    final long decodedAt = System.nanoTime();
+    return new WarmUpReport(connections, opened, Duration.ofNanos(connectedAt - startedAt),
+        Duration.ofNanos(resolvedAt - connectedAt), decodeIterations, Duration.ofNanos(decodedAt - resolvedAt));
+  }
+
+  private int openConnections(final int connections) {
+    final Request request = new Request.Builder()
+        .url(this.url(CompiledEndpoint.CREATE_STREAM))
+        .method("OPTIONS", null)
+        .build();
+    final CountDownLatch responded = new CountDownLatch(connections);
+    final AtomicInteger opened = new AtomicInteger();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < connections; i++) {
+        executor.execute(() -> {
+          try (Response response = this.client.newCall(request).execute()) {
+            opened.incrementAndGet();
+            // 모든 요청이 응답을 받을 때까지 연결을 붙잡아 두어 다른 요청이 재사용하지 못하게 한다
+            responded.countDown();
+            responded.await();
+          } catch (IOException | RuntimeException e) {
+            // 열지 못한 연결은 보고서의 연결 수로 드러난다
+            responded.countDown();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
+      }
+    }
+    return opened.get();
+  }
+
+  private void decode(final WarmUpPayloads json, final WarmUpPayloads binary) {
+    json.decode(WireFormat.JSON);
+    if (binary != null) {
+      binary.decode(this.format);
     }
   }
 
   // ========== Helper Methods ==========
 
-  private <T> T execute(final Request request, final TypeReference<CommonResponseDto<T>> typeRef) throws IOException {
-    try (Response response = client.newCall(request).execute()) {
-      final String body = response.body() != null ? response.body().string() : "";
-      final CommonResponseDto<T> commonResponse = this.objectMapper.readValue(body, typeRef);
-      return this.unwrap(commonResponse);
+  private static OkHttpClient install(final OkHttpLoadBalancer balancer, final OkHttpClient client) {
+    if (balancer == null) {
+      throw new IllegalArgumentException("balancer must not be null");
     }
+    return balancer.install(client);
   }
 
-  private <T> T unwrap(final CommonResponseDto<T> response) {
-    if (response == null) {
+  private Request.Builder newRequest() {
+    final Request.Builder builder = new Request.Builder();
+    return this.format == WireFormat.JSON ? builder : builder.header("Accept", this.format.accept());
+  }
+
+  /** 응답의 {@code Content-Type}에 맞는 매퍼로 스트리밍 파서를 만든다. */
+  private JsonParser parser(final Response response, final RequestObservation observation, final ResponseBody body)
+      throws IOException {
+    return this.format.negotiated(response.header("Content-Type")).mapper()
+        .createParser(observation.count(body.byteStream()));
+  }
+
+  private HttpUrl url(final CompiledEndpoint<?> endpoint, final long... variables) {
+    return this.urls.url(endpoint, variables);
+  }
+
+  private <T> T execute(final CompiledEndpoint<T> endpoint, final HttpUrl url, final RequestBody body) {
+    final Request request = this.newRequest()
+        .url(url)
+        .method(endpoint.method(), body)
+        .build();
+    return endpoint.execute(this.listener, this.exchange, request);
+  }
+
+  /** 요청을 보내고 응답 헤더를 받으면 반환한다. 본문이 없으면 응답을 닫고 예외를 던진다. */
+  private Response send(final Request request, final RequestObservation observation) throws IOException {
+    final Response response = client.newCall(request).execute();
+    observation.responded();
+    if (response.body() == null) {
+      response.close();
       throw new BranchdownException("Empty response");
     }
-    if (!response.success()) {
-      throw new BranchdownException(response.message());
+    return response;
+  }
+
+  private <T> CommonResponseDto<T> exchange(final Request request, final CompiledEndpoint<T> endpoint,
+      final RequestObservation observation) throws IOException {
+    try (Response response = this.send(request, observation)) {
+      return endpoint.reader().read(observation.count(response.body().byteStream()),
+          this.format.negotiated(response.header("Content-Type")));
     }
-    return response.data();
+  }
+
+  private void stream(final CompiledEndpoint<?> endpoint, final Request request,
+      final Consumer<? super PointDto.Response> action) {
+    endpoint.dispatch(this.listener, (r, observation) -> {
+      try (Response response = this.send(r, observation);
+          JsonParser parser = this.parser(response, observation, response.body())) {
+        final PointEnvelopeDecoder decoder = new PointEnvelopeDecoder(BranchdownJson.POINT);
+        PointDto.Response point;
+        while ((point = decoder.next(parser)) != null) {
+          action.accept(point);
+        }
+        decoder.finish(parser);
+      }
+      return null;
+    }, request);
+  }
+
+  private PointTable table(final CompiledEndpoint<?> endpoint, final Request request) {
+    return endpoint.dispatch(this.listener, (r, observation) -> {
+      try (Response response = this.send(r, observation);
+          JsonParser parser = this.parser(response, observation, response.body())) {
+        return PointTableDecoder.read(parser);
+      }
+    }, request);
   }
 }
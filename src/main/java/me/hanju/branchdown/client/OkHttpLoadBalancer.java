@@ -0,0 +1,307 @@
+package me.hanju.branchdown.client;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * 여러 Branchdown 서버 노드에 요청을 분산하는 OkHttp 인터셉터.
+ *
+ * <p>요청은 {@link #baseUrl()}(첫 번째 노드 주소)을 기준으로 만들고, 인터셉터가 선택한 노드 주소로 바꿔 보낸다.
+ * 노드 선택은 power-of-two-choices다. 무작위로 고른 두 노드 중 진행 중인 요청(응답 본문을 다 읽을 때까지)이 적은 쪽을 쓴다.
+ *
+ * <p>연결 실패({@link ConnectException})는 노드를 즉시 제외하고, 그 밖의 I/O 오류와 5xx 응답은 연속
+ * {@code failureThreshold}회 발생하면 제외한다. 제외된 노드는 제외 시간이 지나면 다시 선택 대상이 되며,
+ * 복귀 직후 다시 실패하면 제외 시간이 배수로 늘어난다(최대 10배). 한 번 성공하면 배수가 초기화된다.
+ * 모든 노드가 제외된 경우에는 제외를 무시하고 분산한다. 취소된 호출은 실패로 세지 않는다.
+ *
+ * <pre>{@code
+ * OkHttpLoadBalancer balancer = new OkHttpLoadBalancer(List.of("http://bd-1:8080", "http://bd-2:8080"));
+ * BranchdownClient client = new OkHttpBranchdownClient(okHttpClient, balancer);
+ * AsyncBranchdownClient async = new OkHttpAsyncBranchdownClient(balancer.install(okHttpClient), balancer.baseUrl());
+ * }</pre>
+ */
+public final class OkHttpLoadBalancer implements Interceptor {
+
+  private static final int MAX_EJECTION_MULTIPLIER = 10;
+
+  private final Node[] nodes;
+  private final String baseUrl;
+  private final HttpUrl base;
+  private final int failureThreshold;
+  private final long ejectionNanos;
+  private final LongSupplier clock;
+
+  /**
+   * 연속 실패 3회, 제외 시간 10초로 만든다.
+   *
+   * @param baseUrls 노드 주소 목록
+   */
+  public OkHttpLoadBalancer(final List<String> baseUrls) {
+    this(baseUrls, 3, Duration.ofSeconds(10));
+  }
+
+  /**
+   * @param baseUrls 노드 주소 목록
+   * @param failureThreshold 노드를 제외하는 연속 실패 횟수
+   * @param ejectionTime 첫 제외 시간
+   */
+  public OkHttpLoadBalancer(final List<String> baseUrls, final int failureThreshold, final Duration ejectionTime) {
+    this(baseUrls, failureThreshold, ejectionTime, System::nanoTime);
+  }
+
+  OkHttpLoadBalancer(final List<String> baseUrls, final int failureThreshold, final Duration ejectionTime,
+      final LongSupplier clock) {
+    if (baseUrls == null || baseUrls.isEmpty()) {
+      throw new IllegalArgumentException("baseUrls must not be empty");
+    }
+    if (failureThreshold < 1) {
+      throw new IllegalArgumentException("failureThreshold must be positive");
+    }
+    if (ejectionTime == null || ejectionTime.isNegative()) {
+      throw new IllegalArgumentException("ejectionTime must not be negative");
+    }
+    this.nodes = new Node[baseUrls.size()];
+    for (int i = 0; i < this.nodes.length; i++) {
+      final String url = baseUrls.get(i);
+      if (url == null) {
+        throw new IllegalArgumentException("baseUrls must not contain null");
+      }
+      this.nodes[i] = new Node(canonical(url));
+    }
+    this.baseUrl = this.nodes[0].baseUrl;
+    this.base = this.nodes[0].url;
+    this.failureThreshold = failureThreshold;
+    this.ejectionNanos = ejectionTime.toNanos();
+    this.clock = clock;
+  }
+
+  /**
+   * @return 구현체에 전달할 기준 주소 (첫 번째 노드)
+   */
+  public String baseUrl() {
+    return this.baseUrl;
+  }
+
+  /**
+   * 전달받은 클라이언트와 커넥션 풀, 디스패처를 공유하면서 이 인터셉터를 추가한 클라이언트를 만든다.
+   *
+   * @param client OkHttp 클라이언트
+   * @return 인터셉터를 추가한 클라이언트
+   */
+  public OkHttpClient install(final OkHttpClient client) {
+    if (client == null) {
+      throw new IllegalArgumentException("client must not be null");
+    }
+    return client.newBuilder().addInterceptor(this).build();
+  }
+
+  /**
+   * @return 현재 제외된 노드 주소 목록
+   */
+  public List<String> ejectedNodes() {
+    final long now = this.clock.getAsLong();
+    final List<String> ejected = new ArrayList<>();
+    for (final Node node : this.nodes) {
+      if (!node.available(now)) {
+        ejected.add(node.baseUrl);
+      }
+    }
+    return ejected;
+  }
+
+  @Override
+  public Response intercept(final Chain chain) throws IOException {
+    final Node node = this.select(this.clock.getAsLong());
+    final Request request = this.route(chain.request(), node);
+    node.outstanding.incrementAndGet();
+    final Response response;
+    try {
+      response = chain.proceed(request);
+    } catch (IOException e) {
+      node.outstanding.decrementAndGet();
+      if (!chain.call().isCanceled()) {
+        this.onFailure(node, e instanceof ConnectException);
+      }
+      throw e;
+    } catch (RuntimeException e) {
+      node.outstanding.decrementAndGet();
+      throw e;
+    }
+    if (response.code() >= 500) {
+      this.onFailure(node, false);
+    } else {
+      node.onSuccess(this.clock.getAsLong());
+    }
+    return this.releaseOnClose(response, node);
+  }
+
+  // ========== Helper Methods ==========
+
+  private Node select(final long now) {
+    final int n = this.nodes.length;
+    if (n == 1) {
+      return this.nodes[0];
+    }
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final int i = random.nextInt(n);
+    int j = random.nextInt(n - 1);
+    if (j >= i) {
+      j++;
+    }
+    final Node a = this.nodes[i];
+    final Node b = this.nodes[j];
+    final boolean aAvailable = a.available(now);
+    final boolean bAvailable = b.available(now);
+    if (aAvailable && bAvailable || !aAvailable && !bAvailable && this.noneAvailable(now)) {
+      return a.outstanding.get() <= b.outstanding.get() ? a : b;
+    }
+    if (aAvailable) {
+      return a;
+    }
+    if (bAvailable) {
+      return b;
+    }
+    for (int k = 0; k < n; k++) {
+      final Node candidate = this.nodes[(i + k) % n];
+      if (candidate.available(now)) {
+        return candidate;
+      }
+    }
+    return a;
+  }
+
+  private boolean noneAvailable(final long now) {
+    for (final Node node : this.nodes) {
+      if (node.available(now)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** 기준 노드로 만든 요청의 스킴, 호스트, 포트(노드 주소에 경로가 있으면 그 접두사도)를 선택한 노드의 것으로 바꾼다. */
+  private Request route(final Request request, final Node node) {
+    if (node == this.nodes[0]) {
+      return request;
+    }
+    final HttpUrl url = request.url();
+    final String path = url.encodedPath();
+    final String prefix = this.nodes[0].pathPrefix;
+    if (!url.scheme().equals(this.base.scheme()) || !url.host().equals(this.base.host())
+        || url.port() != this.base.port() || !path.startsWith(prefix)
+        || path.length() > prefix.length() && path.charAt(prefix.length()) != '/') {
+      return request;
+    }
+    final HttpUrl.Builder routed = url.newBuilder()
+        .scheme(node.url.scheme())
+        .host(node.url.host())
+        .port(node.url.port());
+    if (!node.pathPrefix.equals(prefix)) {
+      routed.encodedPath(node.pathPrefix + path.substring(prefix.length()));
+    }
+    return request.newBuilder().url(routed.build()).build();
+  }
+
+  private void onFailure(final Node node, final boolean connectFailure) {
+    final int failures = connectFailure ? this.failureThreshold : node.failures.incrementAndGet();
+    if (failures < this.failureThreshold) {
+      return;
+    }
+    final long now = this.clock.getAsLong();
+    synchronized (node) {
+      if (node.available(now)) {
+        node.ejections = Math.min(node.ejections + 1, MAX_EJECTION_MULTIPLIER);
+        node.ejectedUntil = now + this.ejectionNanos * node.ejections;
+        // 복귀 후 한 번만 더 실패해도 다시 제외되도록 한다
+        node.failures.set(this.failureThreshold - 1);
+      }
+    }
+  }
+
+  /** 응답 본문을 닫을 때 진행 중인 요청 수를 줄인다. */
+  private Response releaseOnClose(final Response response, final Node node) {
+    final ResponseBody body = response.body();
+    if (body == null) {
+      node.outstanding.decrementAndGet();
+      return response;
+    }
+    final AtomicBoolean released = new AtomicBoolean();
+    final BufferedSource source = Okio.buffer(new ForwardingSource(body.source()) {
+      @Override
+      public void close() throws IOException {
+        try {
+          super.close();
+        } finally {
+          if (released.compareAndSet(false, true)) {
+            node.outstanding.decrementAndGet();
+          }
+        }
+      }
+    });
+    return response.newBuilder()
+        .body(ResponseBody.create(source, body.contentType(), body.contentLength()))
+        .build();
+  }
+
+  private static String canonical(final String baseUrl) {
+    final String url = HttpUrl.get(baseUrl).toString();
+    return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+  }
+
+  private static final class Node {
+
+    private final String baseUrl;
+    private final HttpUrl url;
+    /** 주소의 인코딩된 경로에서 끝의 '/'를 뺀 것. 경로가 없으면 빈 문자열 */
+    private final String pathPrefix;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile long ejectedUntil = Long.MIN_VALUE;
+    /** 연속 제외 횟수 (제외 시간 배수). node 모니터로 보호한다. */
+    private int ejections;
+
+    private Node(final String baseUrl) {
+      this.baseUrl = baseUrl;
+      this.url = HttpUrl.get(baseUrl);
+      final String path = this.url.encodedPath();
+      this.pathPrefix = path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    private boolean available(final long now) {
+      return this.ejectedUntil == Long.MIN_VALUE || now - this.ejectedUntil >= 0;
+    }
+
+    /** 복귀한 노드가 성공하면 제외 이력을 지운다. 제외 중에 끝난 이전 요청의 성공으로는 복귀시키지 않는다. */
+    private void onSuccess(final long now) {
+      if (this.ejectedUntil != Long.MIN_VALUE) {
+        synchronized (this) {
+          if (!this.available(now)) {
+            return;
+          }
+          this.ejections = 0;
+          this.ejectedUntil = Long.MIN_VALUE;
+        }
+      }
+      if (this.failures.get() != 0) {
+        this.failures.set(0);
+      }
+    }
+  }
+}
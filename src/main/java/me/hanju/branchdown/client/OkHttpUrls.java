@@ -0,0 +1,91 @@
+package me.hanju.branchdown.client;
+
+import okhttp3.HttpUrl;
+
+/**
+ * 기준 {@link HttpUrl}과 {@link CompiledEndpoint}로 요청 URL을 만드는 OkHttp 구현체용 URL 표.
+ *
+ * <p>생성 시 엔드포인트마다 첫 변수 앞까지의 고정 경로를 붙인 {@link HttpUrl}과 그 뒤 고정 세그먼트, 쿼리 이름의
+ * 인코딩된 형태를 만들어 두고, 호출마다 숫자 변수만 이어 붙인다. 문자열 URL 파싱과 고정 세그먼트 인코딩을 반복하지 않는다.
+ */
+final class OkHttpUrls {
+
+  private final Template[] templates = new Template[BranchdownEndpoint.values().length];
+
+  /**
+   * @param base 기준 URL
+   */
+  OkHttpUrls(final HttpUrl base) {
+    for (final BranchdownEndpoint endpoint : BranchdownEndpoint.values()) {
+      this.templates[endpoint.ordinal()] = new Template(base, CompiledEndpoint.of(endpoint));
+    }
+  }
+
+  /**
+   * @param endpoint 엔드포인트
+   * @param variables 경로 변수, 쿼리 변수 순서의 값
+   * @return 요청 URL
+   */
+  HttpUrl url(final CompiledEndpoint<?> endpoint, final long... variables) {
+    endpoint.requireVariables(variables.length);
+    return this.templates[endpoint.endpoint().ordinal()].url(variables);
+  }
+
+  private static final class Template {
+
+    /** 기준 URL + 첫 변수 앞까지의 고정 세그먼트 */
+    private final HttpUrl prefix;
+    /** prefix 뒤의 인코딩된 세그먼트. 변수 자리는 null이다 */
+    private final String[] rest;
+    /** 인코딩된 쿼리 파라미터 이름 */
+    private final String[] queryNames;
+
+    private Template(final HttpUrl base, final CompiledEndpoint<?> endpoint) {
+      final String[] segments = endpoint.pathSegments();
+      final HttpUrl.Builder prefix = base.newBuilder();
+      int literals = 0;
+      while (literals < segments.length && segments[literals] != null) {
+        prefix.addPathSegment(segments[literals++]);
+      }
+      this.prefix = prefix.build();
+
+      // 변수 자리를 숫자로 채운 URL을 한 번 만들어 OkHttp가 인코딩한 형태를 꺼낸다
+      final HttpUrl.Builder sample = this.prefix.newBuilder();
+      for (int i = literals; i < segments.length; i++) {
+        sample.addPathSegment(segments[i] != null ? segments[i] : "0");
+      }
+      for (final String name : endpoint.queryNames()) {
+        sample.addQueryParameter(name, "0");
+      }
+      final HttpUrl encoded = sample.build();
+      final int offset = encoded.pathSize() - (segments.length - literals);
+      this.rest = new String[segments.length - literals];
+      for (int i = 0; i < this.rest.length; i++) {
+        this.rest[i] = segments[literals + i] != null ? encoded.encodedPathSegments().get(offset + i) : null;
+      }
+      this.queryNames = new String[endpoint.queryNames().length];
+      final String query = encoded.encodedQuery();
+      if (query != null) {
+        final String[] parameters = query.split("&");
+        for (int i = 0; i < this.queryNames.length; i++) {
+          this.queryNames[i] = parameters[i].substring(0, parameters[i].indexOf('='));
+        }
+      }
+    }
+
+    private HttpUrl url(final long[] variables) {
+      if (variables.length == 0) {
+        return this.prefix;
+      }
+      final HttpUrl.Builder builder = this.prefix.newBuilder();
+      int variable = 0;
+      for (final String segment : this.rest) {
+        builder.addEncodedPathSegment(segment != null ? segment : Long.toString(variables[variable++]));
+      }
+      for (final String name : this.queryNames) {
+        builder.addEncodedQueryParameter(name, Long.toString(variables[variable++]));
+      }
+      return builder.build();
+    }
+  }
+}
@@ -0,0 +1,150 @@
+package me.hanju.branchdown.client;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.client.exception.BranchdownException;
+
+/**
+ * {@code CommonResponseDto<List<PointDto.Response>>} 응답을 토큰 단위로 읽어 포인트를 하나씩 꺼내는 디코더.
+ * 한 번에 포인트 하나 분량의 토큰만 버퍼링하므로 메모리 사용량이 목록 크기와 무관하다.
+ *
+ * <p>블로킹 파서와 논블로킹 파서({@link JsonToken#NOT_AVAILABLE}을 반환하는 파서) 모두에서 동작한다.
+ * 응답 하나당 인스턴스 하나를 사용하며 스레드 안전하지 않다.
+ */
+final class PointEnvelopeDecoder {
+
+  private enum State {
+    START, FIELDS, SUCCESS, MESSAGE, DATA, ITEMS, ITEM, SKIP_VALUE, SKIP, DONE
+  }
+
+  private final ObjectReader pointReader;
+
+  private State state = State.START;
+  private State skipReturn;
+  private int nesting;
+  private boolean success;
+  private String message;
+  private TokenBuffer item;
+
+  PointEnvelopeDecoder(final ObjectReader pointReader) {
+    this.pointReader = pointReader;
+  }
+
+  /**
+   * 다음 포인트를 반환한다.
+   *
+   * @param parser 응답 본문 파서
+   * @return 다음 포인트. 입력이 더 필요하거나 envelope 끝에 도달한 경우 null
+   */
+  PointDto.Response next(final JsonParser parser) throws IOException {
+    JsonToken token;
+    while (this.state != State.DONE
+        && (token = parser.nextToken()) != null
+        && token != JsonToken.NOT_AVAILABLE) {
+      switch (this.state) {
+        case START -> {
+          if (token != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected response envelope object but was " + token);
+          }
+          this.state = State.FIELDS;
+        }
+        case FIELDS -> {
+          if (token == JsonToken.END_OBJECT) {
+            this.state = State.DONE;
+          } else {
+            this.state = switch (parser.currentName()) {
+              case "success" -> State.SUCCESS;
+              case "message" -> State.MESSAGE;
+              case "data" -> State.DATA;
+              default -> State.SKIP_VALUE;
+            };
+          }
+        }
+        case SUCCESS -> {
+          this.success = token == JsonToken.VALUE_TRUE;
+          this.state = State.FIELDS;
+        }
+        case MESSAGE -> {
+          this.message = token == JsonToken.VALUE_NULL ? null : parser.getText();
+          this.state = State.FIELDS;
+        }
+        case DATA -> {
+          if (token == JsonToken.START_ARRAY) {
+            this.state = State.ITEMS;
+          } else {
+            this.skip(token, State.FIELDS);
+          }
+        }
+        case ITEMS -> {
+          if (token == JsonToken.END_ARRAY) {
+            this.state = State.FIELDS;
+          } else if (token == JsonToken.START_OBJECT) {
+            this.item = new TokenBuffer(parser);
+            this.item.copyCurrentEvent(parser);
+            this.nesting = 1;
+            this.state = State.ITEM;
+          } else {
+            this.skip(token, State.ITEMS);
+          }
+        }
+        case ITEM -> {
+          this.item.copyCurrentEvent(parser);
+          if (token.isStructStart()) {
+            this.nesting++;
+          } else if (token.isStructEnd() && --this.nesting == 0) {
+            this.state = State.ITEMS;
+            final TokenBuffer buffered = this.item;
+            this.item = null;
+            try (JsonParser itemParser = buffered.asParser()) {
+              return this.pointReader.readValue(itemParser);
+            }
+          }
+        }
+        case SKIP_VALUE -> this.skip(token, State.FIELDS);
+        case SKIP -> {
+          if (token.isStructStart()) {
+            this.nesting++;
+          } else if (token.isStructEnd() && --this.nesting == 0) {
+            this.state = this.skipReturn;
+          }
+        }
+        default -> throw new IllegalStateException("Unexpected state: " + this.state);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * 입력이 끝난 뒤 envelope를 검증한다.
+   *
+   * @param parser 응답 본문 파서
+   * @throws JsonEOFException envelope가 완결되지 않은 경우
+   * @throws BranchdownException 서버가 에러 응답을 반환한 경우
+   */
+  void finish(final JsonParser parser) throws JsonEOFException {
+    if (this.state != State.DONE) {
+      throw new JsonEOFException(parser, null, "Unexpected end of response envelope");
+    }
+    if (!this.success) {
+      throw new BranchdownException(this.message);
+    }
+  }
+
+  private void skip(final JsonToken token, final State returnState) {
+    if (token.isStructStart()) {
+      this.nesting = 1;
+      this.skipReturn = returnState;
+      this.state = State.SKIP;
+    } else {
+      this.state = returnState;
+    }
+  }
+}
@@ -0,0 +1,237 @@
+package me.hanju.branchdown.client;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+
+import me.hanju.branchdown.api.dto.PointDto;
+
+/**
+ * 포인트 목록을 열 단위 기본형 배열로 보관하는 불변 테이블.
+ *
+ * <p>포인트 하나당 {@code long} 하나와 {@code int} 세 개만 사용하고, 아이템 ID는 사전 인코딩하여 같은 문자열을 한 번만 보관한다.
+ * 행은 ID 순으로 정렬되어 {@link #indexOf(long)}는 이진 탐색으로 찾는다.
+ * {@link #get(int)}과 {@link #asList()}는 접근할 때마다 {@link PointDto.Response}를 새로 만들므로,
+ * 자주 접근하는 경로에서는 {@link #id(int)} 같은 열 접근자를 사용한다.
+ */
+public final class PointTable {
+
+  private static final PointTable EMPTY = new PointTable(new long[0], new int[0], new int[0], new int[0],
+      new String[0], 0);
+
+  private final long[] ids;
+  private final int[] branchNums;
+  private final int[] depths;
+  private final int[] itemCodes;
+  private final String[] dictionary;
+  private final int size;
+
+  private PointTable(final long[] ids, final int[] branchNums, final int[] depths, final int[] itemCodes,
+      final String[] dictionary, final int size) {
+    this.ids = ids;
+    this.branchNums = branchNums;
+    this.depths = depths;
+    this.itemCodes = itemCodes;
+    this.dictionary = dictionary;
+    this.size = size;
+  }
+
+  public static PointTable empty() {
+    return EMPTY;
+  }
+
+  /**
+   * @param points 포인트 목록
+   * @return 포인트 목록을 옮겨 담은 테이블
+   */
+  public static PointTable of(final List<PointDto.Response> points) {
+    if (points == null) {
+      throw new IllegalArgumentException("points must not be null");
+    }
+    final Builder builder = new Builder(points.size());
+    points.forEach(builder::add);
+    return builder.build();
+  }
+
+  public static Builder builder() {
+    return new Builder(16);
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  public long id(final int index) {
+    return this.ids[this.check(index)];
+  }
+
+  public int branchNum(final int index) {
+    return this.branchNums[this.check(index)];
+  }
+
+  public int depth(final int index) {
+    return this.depths[this.check(index)];
+  }
+
+  public String itemId(final int index) {
+    final int code = this.itemCodes[this.check(index)];
+    return code < 0 ? null : this.dictionary[code];
+  }
+
+  /**
+   * @param pointId 포인트 ID
+   * @return 행 번호. 없으면 음수
+   */
+  public int indexOf(final long pointId) {
+    final int index = Arrays.binarySearch(this.ids, 0, this.size, pointId);
+    return index < 0 ? -1 : index;
+  }
+
+  /**
+   * @param pointId 포인트 ID
+   * @return 포인트
+   */
+  public Optional<PointDto.Response> find(final long pointId) {
+    final int index = this.indexOf(pointId);
+    return index < 0 ? Optional.empty() : Optional.of(this.get(index));
+  }
+
+  /**
+   * @param index 행 번호
+   * @return 새로 만든 포인트
+   */
+  public PointDto.Response get(final int index) {
+    this.check(index);
+    final int code = this.itemCodes[index];
+    return new PointDto.Response(this.ids[index], this.branchNums[index], this.depths[index],
+        code < 0 ? null : this.dictionary[code]);
+  }
+
+  /**
+   * @return 접근 시 포인트를 만드는 읽기 전용 목록 뷰 (ID 순)
+   */
+  public List<PointDto.Response> asList() {
+    return new View();
+  }
+
+  /**
+   * @return 사전에 있는 서로 다른 아이템 ID 수
+   */
+  public int distinctItemIds() {
+    return this.dictionary.length;
+  }
+
+  private int check(final int index) {
+    if (index < 0 || index >= this.size) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + this.size);
+    }
+    return index;
+  }
+
+  private final class View extends AbstractList<PointDto.Response> implements RandomAccess {
+
+    @Override
+    public PointDto.Response get(final int index) {
+      return PointTable.this.get(index);
+    }
+
+    @Override
+    public int size() {
+      return PointTable.this.size;
+    }
+  }
+
+  /**
+   * 행을 모아 {@link PointTable}을 만든다. 입력 순서와 관계없이 ID 순으로 정렬된다. 스레드 안전하지 않다.
+   */
+  public static final class Builder {
+
+    private long[] ids;
+    private int[] branchNums;
+    private int[] depths;
+    private int[] itemCodes;
+    private final Map<String, Integer> codes = new HashMap<>();
+    private int size;
+    private boolean sorted = true;
+
+    private Builder(final int capacity) {
+      final int initial = Math.max(capacity, 4);
+      this.ids = new long[initial];
+      this.branchNums = new int[initial];
+      this.depths = new int[initial];
+      this.itemCodes = new int[initial];
+    }
+
+    public Builder add(final PointDto.Response point) {
+      if (point == null) {
+        throw new IllegalArgumentException("point must not be null");
+      }
+      return this.add(point.id(), point.branchNum(), point.depth(), point.itemId());
+    }
+
+    public Builder add(final long id, final int branchNum, final int depth, final String itemId) {
+      if (this.size == this.ids.length) {
+        final int capacity = this.size + (this.size >> 1);
+        this.ids = Arrays.copyOf(this.ids, capacity);
+        this.branchNums = Arrays.copyOf(this.branchNums, capacity);
+        this.depths = Arrays.copyOf(this.depths, capacity);
+        this.itemCodes = Arrays.copyOf(this.itemCodes, capacity);
+      }
+      if (this.size > 0 && this.ids[this.size - 1] >= id) {
+        this.sorted = false;
+      }
+      this.ids[this.size] = id;
+      this.branchNums[this.size] = branchNum;
+      this.depths[this.size] = depth;
+      this.itemCodes[this.size] = itemId == null ? -1 : this.codes.computeIfAbsent(itemId, key -> this.codes.size());
+      this.size++;
+      return this;
+    }
+
+    public PointTable build() {
+      if (this.size == 0) {
+        return EMPTY;
+      }
+      final String[] dictionary = new String[this.codes.size()];
+      this.codes.forEach((itemId, code) -> dictionary[code] = itemId);
+      if (!this.sorted) {
+        this.sortById();
+      }
+      return new PointTable(Arrays.copyOf(this.ids, this.size), Arrays.copyOf(this.branchNums, this.size),
+          Arrays.copyOf(this.depths, this.size), Arrays.copyOf(this.itemCodes, this.size), dictionary, this.size);
+    }
+
+    private void sortById() {
+      final Integer[] order = new Integer[this.size];
+      for (int i = 0; i < this.size; i++) {
+        order[i] = i;
+      }
+      final long[] keys = this.ids;
+      Arrays.sort(order, (a, b) -> Long.compare(keys[a], keys[b]));
+      final long[] sortedIds = new long[this.size];
+      final int[] sortedBranchNums = new int[this.size];
+      final int[] sortedDepths = new int[this.size];
+      final int[] sortedItemCodes = new int[this.size];
+      for (int i = 0; i < this.size; i++) {
+        final int from = order[i];
+        sortedIds[i] = this.ids[from];
+        sortedBranchNums[i] = this.branchNums[from];
+        sortedDepths[i] = this.depths[from];
+        sortedItemCodes[i] = this.itemCodes[from];
+      }
+      this.ids = sortedIds;
+      this.branchNums = sortedBranchNums;
+      this.depths = sortedDepths;
+      this.itemCodes = sortedItemCodes;
+      this.sorted = true;
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package me.hanju.branchdown.client;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+
+import me.hanju.branchdown.client.exception.BranchdownException;
+
+/**
+ * {@code CommonResponseDto<List<PointDto.Response>>} 응답을 {@link PointTable}로 바로 디코딩한다.
+ * 포인트마다 DTO를 만들지 않고 필드 토큰을 열에 옮긴다. 블로킹 파서 전용이다.
+ */
+final class PointTableDecoder {
+
+  private PointTableDecoder() {
+  }
+
+  static PointTable read(final JsonParser parser) throws IOException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      throw new JsonParseException(parser, "Expected response envelope object");
+    }
+    boolean success = false;
+    String message = null;
+    PointTable table = PointTable.empty();
+    JsonToken token;
+    while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+      final String field = parser.currentName();
+      token = parser.nextToken();
+      switch (field) {
+        case "success" -> success = token == JsonToken.VALUE_TRUE;
+        case "message" -> message = token == JsonToken.VALUE_NULL ? null : parser.getText();
+        case "data" -> {
+          if (token == JsonToken.START_ARRAY) {
+            table = readPoints(parser);
+          } else {
+            parser.skipChildren();
+          }
+        }
+        default -> parser.skipChildren();
+      }
+    }
+    if (token != JsonToken.END_OBJECT) {
+      throw new JsonEOFException(parser, token, "Unexpected end of response envelope");
+    }
+    if (!success) {
+      throw new BranchdownException(message);
+    }
+    return table;
+  }
+
+  private static PointTable readPoints(final JsonParser parser) throws IOException {
+    final PointTable.Builder builder = PointTable.builder();
+    JsonToken token;
+    while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+      long id = 0;
+      int branchNum = 0;
+      int depth = 0;
+      String itemId = null;
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        final String field = parser.currentName();
+        final JsonToken value = parser.nextToken();
+        switch (field) {
+          case "id" -> id = parser.getLongValue();
+          case "branchNum" -> branchNum = parser.getIntValue();
+          case "depth" -> depth = parser.getIntValue();
+          case "itemId" -> itemId = value == JsonToken.VALUE_NULL ? null : parser.getText();
+          default -> parser.skipChildren();
+        }
+      }
+      builder.add(id, branchNum, depth, itemId);
+    }
+    if (token != JsonToken.END_ARRAY) {
+      throw new JsonParseException(parser, "Expected point object but was " + token);
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,134 @@
+package me.hanju.branchdown.client;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.api.dto.StreamDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link BranchdownClient}의 Reactor 버전.
+ * 모든 메서드는 구독 시점에 요청을 보내며, 에러는
+ * {@link me.hanju.branchdown.client.exception.BranchdownException} 또는
+ * {@link me.hanju.branchdown.client.exception.BranchdownClientException} 시그널로 전달된다.
+ *
+ * @see BranchdownClient
+ */
+public interface ReactiveBranchdownClient {
+
+  // ========== Stream API ==========
+
+  /**
+   * 새 스트림을 생성한다.
+   *
+   * @return 생성된 스트림의 ID
+   */
+  Mono<Long> createStream();
+
+  /**
+   * 스트림 정보를 조회한다.
+   *
+   * @param streamId 스트림 ID
+   * @return 스트림 정보
+   */
+  Mono<StreamDto.Response> getStream(long streamId);
+
+  /**
+   * 스트림을 삭제한다.
+   *
+   * @param streamId 스트림 ID
+   * @return 삭제 완료 시그널
+   */
+  Mono<Void> deleteStream(long streamId);
+
+  /**
+   * 스트림에 속한 모든 포인트를 조회한다.
+   *
+   * @param streamId 스트림 ID
+   * @return 포인트 목록
+   */
+  Flux<PointDto.Response> getStreamPoints(long streamId);
+
+  /**
+   * 특정 브랜치에 속한 포인트를 조회한다.
+   *
+   * @param streamId 스트림 ID
+   * @param branchNum 브랜치 번호
+   * @return 포인트 목록
+   */
+  default Flux<PointDto.Response> getBranchPoints(long streamId, int branchNum) {
+    return getBranchPoints(streamId, branchNum, 0);
+  }
+
+  /**
+   * 특정 브랜치에 속한 포인트를 조회한다.
+   *
+   * @param streamId 스트림 ID
+   * @param branchNum 브랜치 번호
+   * @param depth 조회할 시작 depth (해당 depth 이후의 포인트만 반환)
+   * @return 포인트 목록
+   */
+  Flux<PointDto.Response> getBranchPoints(long streamId, int branchNum, int depth);
+
+  // ========== Point API ==========
+
+  /**
+   * 부모 포인트 아래에 새 포인트를 추가한다.
+   *
+   * @param parentPointId 부모 포인트 ID
+   * @param itemId 아이템 ID (null 불가)
+   * @return 생성된 포인트 정보
+   * @throws IllegalArgumentException itemId가 null인 경우 (구독이 아닌 호출 시점에 발생)
+   */
+  Mono<PointDto.Response> addPoint(long parentPointId, String itemId);
+
+  /**
+   * 부모 포인트 아래에 아이템들을 순서대로 이어 붙인다. 각 포인트는 직전에 생성된 포인트의 자식이 된다.
+   * 각 요청은 직전 응답의 ID에 의존하므로 순차적으로 전송된다.
+   *
+   * @param parentPointId 첫 포인트의 부모 포인트 ID
+   * @param itemIds 아이템 ID 목록 (null 및 null 원소 불가)
+   * @return 생성된 포인트 (itemIds 순서)
+   * @throws IllegalArgumentException itemIds가 null이거나 null 원소를 포함하는 경우 (호출 시점에 발생)
+   */
+  default Flux<PointDto.Response> addPoints(long parentPointId, List<String> itemIds) {
+    ItemIds.validate(itemIds);
+    return Flux.defer(() -> {
+      final AtomicLong parentId = new AtomicLong(parentPointId);
+      return Flux.fromIterable(itemIds)
+          .concatMap(itemId -> addPoint(parentId.get(), itemId))
+          .doOnNext(point -> parentId.set(point.id()));
+    });
+  }
+
+  /**
+   * 같은 부모 포인트 아래에 아이템들을 형제로 추가한다.
+   * 첫 포인트가 생성된 뒤 나머지 요청을 동시에 전송하므로, 두 번째 이후 포인트의 브랜치 번호 순서는
+   * itemIds 순서와 다를 수 있다.
+   *
+   * @param parentPointId 부모 포인트 ID
+   * @param itemIds 아이템 ID 목록 (null 및 null 원소 불가)
+   * @return 생성된 포인트 (itemIds 순서)
+   * @throws IllegalArgumentException itemIds가 null이거나 null 원소를 포함하는 경우 (호출 시점에 발생)
+   */
+  default Flux<PointDto.Response> addChildren(long parentPointId, List<String> itemIds) {
+    ItemIds.validate(itemIds);
+    if (itemIds.isEmpty()) {
+      return Flux.empty();
+    }
+    return addPoint(parentPointId, itemIds.get(0)).flatMapMany(first -> Flux.concat(
+        Mono.just(first),
+        Flux.fromIterable(itemIds.subList(1, itemIds.size()))
+            .flatMapSequential(itemId -> addPoint(parentPointId, itemId))));
+  }
+
+  /**
+   * 포인트의 조상 포인트들을 조회한다.
+   *
+   * @param pointId 포인트 ID
+   * @return 조상 포인트 목록
+   */
+  Flux<PointDto.Response> getAncestors(long pointId);
+}
@@ -0,0 +1,88 @@
+package me.hanju.branchdown.client;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 요청 하나의 계측 상태. 구간 시각과 수신 바이트 수를 모았다가 끝날 때 리스너에 한 번 보고한다.
+ * 한 요청 안의 호출은 순서가 보장되는 스레드들에서 차례로 일어나므로 동기화하지 않는다.
+ */
+final class RequestObservation {
+
+  private final BranchdownClientListener listener;
+  private final BranchdownEndpoint endpoint;
+  private final long startedAt;
+  private long respondedAt;
+  private boolean responded;
+  private long bytes;
+  private boolean finished;
+
+  private RequestObservation(final BranchdownClientListener listener, final BranchdownEndpoint endpoint) {
+    this.listener = listener;
+    this.endpoint = endpoint;
+    listener.requestStarted(endpoint);
+    this.startedAt = System.nanoTime();
+  }
+
+  static RequestObservation start(final BranchdownClientListener listener, final BranchdownEndpoint endpoint) {
+    return new RequestObservation(listener, endpoint);
+  }
+
+  /** 응답 헤더를 받은 시점을 기록한다. */
+  void responded() {
+    if (!this.responded) {
+      this.respondedAt = System.nanoTime();
+      this.responded = true;
+    }
+  }
+
+  void received(final long count) {
+    this.bytes += count;
+  }
+
+  /** 읽은 바이트 수를 세는 스트림으로 감싼다. */
+  InputStream count(final InputStream body) {
+    return new FilterInputStream(body) {
+      @Override
+      public int read() throws IOException {
+        final int b = super.read();
+        if (b >= 0) {
+          received(1);
+        }
+        return b;
+      }
+
+      @Override
+      public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+        final int n = super.read(buffer, offset, length);
+        if (n > 0) {
+          received(n);
+        }
+        return n;
+      }
+    };
+  }
+
+  void finish() {
+    this.report(null);
+  }
+
+  /**
+   * 실패를 보고하고 예외를 그대로 돌려준다. {@code throw observation.fail(e)} 형태로 사용한다.
+   */
+  <E extends Throwable> E fail(final E error) {
+    this.report(error);
+    return error;
+  }
+
+  private void report(final Throwable error) {
+    if (this.finished) {
+      return;
+    }
+    this.finished = true;
+    final long now = System.nanoTime();
+    final long headersAt = this.responded ? this.respondedAt : now;
+    this.listener.requestFinished(this.endpoint, headersAt - this.startedAt, now - headersAt, this.bytes, error);
+  }
+}
@@ -0,0 +1,153 @@
+package me.hanju.branchdown.client;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * 가중치 합으로 크기를 제한하고 TinyLFU 방식으로 새 항목의 입장을 판단하는 캐시. 스레드 안전하지 않다.
+ *
+ * <p>항목은 LRU 순서로 보관한다. 새 항목을 넣으려면 가장 오래 사용하지 않은 항목부터 자리를 비워야 하는데,
+ * 비울 항목 중 하나라도 새 항목보다 최근 접근 빈도({@link FrequencySketch})가 높거나 같으면 새 항목을 들이지 않는다.
+ * 한 번 조회되고 마는 키가 자주 쓰이는 항목을 밀어내지 못하게 하기 위함이다.
+ * 빈도는 조회할 때마다(적중과 미스 모두) 올라가므로 미스가 반복되는 키는 곧 입장한다.
+ *
+ * @param <K> 키 타입
+ * @param <V> 값 타입
+ */
+final class TinyLfuCache<K, V> {
+
+  private record Entry<V>(V value, int weight) {
+  }
+
+  private final Map<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final FrequencySketch sketch;
+  private final long maximumWeight;
+  private final ToIntFunction<? super V> weigher;
+  private final RemovalListener<K, V> removalListener;
+  private long weight;
+
+  /** 용량 부족으로 밀려나거나 명시적으로 제거된 항목을 통지받는다. 통지 중에 캐시를 변경해서는 안 된다. */
+  @FunctionalInterface
+  interface RemovalListener<K, V> {
+    void onRemoval(K key, V value);
+  }
+
+  TinyLfuCache(final long maximumWeight, final ToIntFunction<? super V> weigher,
+      final RemovalListener<K, V> removalListener) {
+    if (maximumWeight <= 0) {
+      throw new IllegalArgumentException("maximumWeight must be positive");
+    }
+    this.maximumWeight = maximumWeight;
+    this.weigher = weigher;
+    this.removalListener = removalListener;
+    this.sketch = new FrequencySketch((int) Math.min(maximumWeight, Integer.MAX_VALUE));
+  }
+
+  /** 접근 빈도를 올리고 값을 반환한다. */
+  V get(final K key) {
+    this.sketch.increment(key);
+    final Entry<V> entry = this.entries.get(key);
+    return entry == null ? null : entry.value();
+  }
+
+  /** 접근 빈도를 올리지 않고 값을 반환한다. LRU 순서는 최근 사용으로 바뀐다. */
+  V peek(final K key) {
+    final Entry<V> entry = this.entries.get(key);
+    return entry == null ? null : entry.value();
+  }
+
+  /**
+   * 새 항목을 넣는다. 이미 있는 키면 값을 바꾼다.
+   *
+   * @return 캐시에 들어갔으면 true
+   */
+  boolean put(final K key, final V value) {
+    final int weight = this.weigher.applyAsInt(value);
+    if (weight > this.maximumWeight) {
+      this.remove(key);
+      return false;
+    }
+    final Entry<V> previous = this.entries.get(key);
+    if (previous != null) {
+      this.entries.put(key, new Entry<>(value, weight));
+      this.weight += weight - previous.weight();
+      this.evictExcept(key);
+      return true;
+    }
+    final List<K> victims = this.victims(key, weight);
+    if (victims == null) {
+      return false;
+    }
+    victims.forEach(this::remove);
+    this.entries.put(key, new Entry<>(value, weight));
+    this.weight += weight;
+    return true;
+  }
+
+  /**
+   * 있는 항목의 값만 바꾼다. 없는 키는 무시한다.
+   *
+   * @return 바꿨으면 true
+   */
+  boolean replace(final K key, final V value) {
+    return this.entries.containsKey(key) && this.put(key, value);
+  }
+
+  V remove(final K key) {
+    final Entry<V> entry = this.entries.remove(key);
+    if (entry == null) {
+      return null;
+    }
+    this.weight -= entry.weight();
+    this.removalListener.onRemoval(key, entry.value());
+    return entry.value();
+  }
+
+  /** LRU 순서의 키 목록 (복사본) */
+  List<K> keys() {
+    return new ArrayList<>(this.entries.keySet());
+  }
+
+  int size() {
+    return this.entries.size();
+  }
+
+  long weight() {
+    return this.weight;
+  }
+
+  /** 새 항목 자리를 비울 항목 목록. 새 항목이 밀려나야 하면 null */
+  private List<K> victims(final K key, final int weight) {
+    final List<K> victims = new ArrayList<>();
+    long remaining = this.weight + weight - this.maximumWeight;
+    if (remaining <= 0) {
+      return victims;
+    }
+    final int candidate = this.sketch.frequency(key);
+    for (final Iterator<Map.Entry<K, Entry<V>>> it = this.entries.entrySet().iterator(); remaining > 0; ) {
+      final Map.Entry<K, Entry<V>> eldest = it.next();
+      if (this.sketch.frequency(eldest.getKey()) >= candidate) {
+        return null;
+      }
+      victims.add(eldest.getKey());
+      remaining -= eldest.getValue().weight();
+    }
+    return victims;
+  }
+
+  private void evictExcept(final K key) {
+    final Iterator<Map.Entry<K, Entry<V>>> it = this.entries.entrySet().iterator();
+    while (this.weight > this.maximumWeight && it.hasNext()) {
+      final Map.Entry<K, Entry<V>> eldest = it.next();
+      if (!eldest.getKey().equals(key)) {
+        it.remove();
+        this.weight -= eldest.getValue().weight();
+        this.removalListener.onRemoval(eldest.getKey(), eldest.getValue().value());
+      }
+    }
+  }
+}
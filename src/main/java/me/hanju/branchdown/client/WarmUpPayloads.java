@@ -0,0 +1,91 @@
+package me.hanju.branchdown.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.client.exception.BranchdownClientException;
+
+/**
+ * 예열에 사용하는 합성 응답 본문. 응답 타입마다 {@code CommonResponseDto} 형식의 본문을 형식별 매퍼로 만들어 둔다.
+ * 포인트 목록은 배열 디코딩 반복문이 컴파일되도록 여러 개를 담는다.
+ */
+final class WarmUpPayloads {
+
+  private static final int POINTS = 32;
+
+  final byte[] stream;
+  final byte[] point;
+  final byte[] points;
+  final byte[] empty;
+
+  private WarmUpPayloads(final ObjectMapper mapper) throws IOException {
+    final List<Map<String, Object>> list = new ArrayList<>(POINTS);
+    for (int i = 1; i <= POINTS; i++) {
+      list.add(point(i));
+    }
+    this.stream = mapper.writeValueAsBytes(envelope(Map.of(
+        "id", 1L, "rootPointId", 1L, "createdAt", "2024-01-01T00:00:00")));
+    this.point = mapper.writeValueAsBytes(envelope(point(1)));
+    this.points = mapper.writeValueAsBytes(envelope(list));
+    this.empty = mapper.writeValueAsBytes(envelope(null));
+  }
+
+  /**
+   * @param format 본문 형식
+   * @return 해당 형식의 합성 응답
+   */
+  static WarmUpPayloads of(final WireFormat format) {
+    try {
+      return new WarmUpPayloads(format.mapper());
+    } catch (IOException e) {
+      throw new BranchdownClientException("Failed to serialize/deserialize", e);
+    }
+  }
+
+  /**
+   * {@link BranchdownJson}의 응답 리더, 스트리밍 디코더, 테이블 디코더와 요청 직렬화를 한 번씩 실행한다.
+   *
+   * @param format 본문 형식
+   */
+  void decode(final WireFormat format) {
+    try {
+      BranchdownJson.STREAM_RESPONSE.read(new ByteArrayInputStream(this.stream), format);
+      BranchdownJson.POINT_RESPONSE.read(new ByteArrayInputStream(this.point), format);
+      BranchdownJson.POINT_LIST_RESPONSE.read(new ByteArrayInputStream(this.points), format);
+      BranchdownJson.VOID_RESPONSE.read(new ByteArrayInputStream(this.empty), format);
+      try (JsonParser parser = format.mapper().createParser(this.points)) {
+        final PointEnvelopeDecoder decoder = new PointEnvelopeDecoder(BranchdownJson.POINT);
+        while (decoder.next(parser) != null) {
+          // 포인트를 버린다
+        }
+        decoder.finish(parser);
+      }
+      try (JsonParser parser = format.mapper().createParser(this.points)) {
+        PointTableDecoder.read(parser);
+      }
+      BranchdownJson.DOWN_REQUEST.writeValueAsBytes(new PointDto.DownRequest("warm-up"));
+    } catch (IOException e) {
+      throw new BranchdownClientException("Failed to serialize/deserialize", e);
+    }
+  }
+
+  private static Map<String, Object> point(final long id) {
+    return Map.of("id", id, "branchNum", 0, "depth", (int) id, "itemId", "warm-up-" + id);
+  }
+
+  private static Map<String, Object> envelope(final Object data) {
+    final Map<String, Object> envelope = new LinkedHashMap<>();
+    envelope.put("success", true);
+    envelope.put("message", null);
+    envelope.put("data", data);
+    return envelope;
+  }
+}
@@ -0,0 +1,31 @@
+package me.hanju.branchdown.client;
+
+import java.time.Duration;
+
+/**
+ * 클라이언트 예열 결과. 준비 상태 검사(readiness probe)에서 {@link #complete()}로 트래픽 수신 여부를 정할 수 있다.
+ *
+ * @param requestedConnections 미리 열도록 요청한 연결 수
+ * @param openedConnections 응답을 받아 연결 수립이 확인된 요청 수
+ * @param connect 연결을 여는 데 걸린 시간
+ * @param deserializers 응답 타입별 역직렬화기를 준비하는 데 걸린 시간
+ * @param decodeIterations 합성 응답을 디코딩한 횟수
+ * @param decode 합성 응답 디코딩에 걸린 시간
+ */
+public record WarmUpReport(int requestedConnections, int openedConnections, Duration connect, Duration deserializers,
+    int decodeIterations, Duration decode) {
+
+  /**
+   * @return 요청한 연결을 모두 열었으면 true
+   */
+  public boolean complete() {
+    return this.openedConnections >= this.requestedConnections;
+  }
+
+  /**
+   * @return 전체 예열 시간
+   */
+  public Duration total() {
+    return this.connect.plus(this.deserializers).plus(this.decode);
+  }
+}
@@ -0,0 +1,73 @@
+package me.hanju.branchdown.client;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.web.reactive.function.client.WebClient;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.api.dto.StreamDto;
+
+/**
+ * WebClient 기반 비동기 Branchdown API 클라이언트 구현체.
+ * {@link WebClientReactiveBranchdownClient}의 결과를 {@link CompletableFuture}로 변환한다.
+ * future를 취소하면 구독도 취소된다.
+ */
+public class WebClientAsyncBranchdownClient implements AsyncBranchdownClient {
+
+  private final ReactiveBranchdownClient delegate;
+
+  public WebClientAsyncBranchdownClient(final WebClient.Builder webClientBuilder, final String baseUrl) {
+    this.delegate = new WebClientReactiveBranchdownClient(webClientBuilder, baseUrl);
+  }
+
+  /**
+   * @param webClientBuilder WebClient 빌더
+   * @param baseUrl 서버 주소
+   * @param listener 요청 계측 리스너
+   */
+  public WebClientAsyncBranchdownClient(final WebClient.Builder webClientBuilder, final String baseUrl,
+      final BranchdownClientListener listener) {
+    this.delegate = new WebClientReactiveBranchdownClient(webClientBuilder, baseUrl, listener);
+  }
+
+  // ========== Stream API ==========
+
+  @Override
+  public CompletableFuture<Long> createStream() {
+    return this.delegate.createStream().toFuture();
+  }
+
+  @Override
+  public CompletableFuture<StreamDto.Response> getStream(final long streamId) {
+    return this.delegate.getStream(streamId).toFuture();
+  }
+
+  @Override
+  public CompletableFuture<Void> deleteStream(final long streamId) {
+    return this.delegate.deleteStream(streamId).toFuture();
+  }
+
+  @Override
+  public CompletableFuture<List<PointDto.Response>> getStreamPoints(final long streamId) {
+    return this.delegate.getStreamPoints(streamId).collectList().toFuture();
+  }
+
+  @Override
+  public CompletableFuture<List<PointDto.Response>> getBranchPoints(final long streamId, final int branchNum,
+      final int depth) {
+    return this.delegate.getBranchPoints(streamId, branchNum, depth).collectList().toFuture();
+  }
+
+  // ========== Point API ==========
+
+  @Override
+  public CompletableFuture<PointDto.Response> addPoint(final long parentPointId, final String itemId) {
+    return this.delegate.addPoint(parentPointId, itemId).toFuture();
+  }
+
+  @Override
+  public CompletableFuture<List<PointDto.Response>> getAncestors(final long pointId) {
+    return this.delegate.getAncestors(pointId).collectList().toFuture();
+  }
+}
@@ -1,10 +1,29 @@
 package me.hanju.branchdown.client;
 
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.codec.CodecException;
+import org.springframework.core.codec.Decoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.client.reactive.ClientHttpResponse;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.smile.Jackson2SmileDecoder;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientException;
 
@@ -12,126 +31,141 @@ import me.hanju.branchdown.api.dto.CommonResponseDto;
 import me.hanju.branchdown.api.dto.PointDto;
 import me.hanju.branchdown.api.dto.StreamDto;
 import me.hanju.branchdown.client.exception.BranchdownClientException;
-import me.hanju.branchdown.client.exception.BranchdownException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
 
 /**
  * WebClient 기반 Branchdown API 클라이언트 구현체.
  * Spring WebFlux 환경 및 @LoadBalanced 지원.
+ *
+ * <p>{@link #forEachStreamPoint}/{@link #forEachBranchPoint}는 응답을 청크 단위로 파싱하여
+ * 포인트를 하나씩 전달한다. {@link #addChildren}은 첫 포인트 이후의 요청을 동시에 전송한다.
+ *
+ * <p>{@link BranchdownClientListener}를 전달하면 요청마다 응답 헤더 수신 시각과 본문 바이트 수를 측정하여 보고한다.
+ *
+ * <p>{@link WireFormat}을 지정하면 단건 응답을 CBOR/Smile로 요청하고, 응답의 {@code Content-Type}에 따라 해당 디코더나
+ * 기본 JSON 디코더로 읽는다. 청크 단위로 파싱하는 스트리밍 메서드와 {@link #addChildren}은 JSON으로 요청한다.
+ *
+ * <p>배포 직후 첫 호출의 연결 수립과 디코더 준비 비용은 {@link #warmUp(int, int)}로 미리 치를 수 있다.
  */
 public class WebClientBranchdownClient implements BranchdownClient {
 
-  private static final ParameterizedTypeReference<CommonResponseDto<StreamDto.Response>> STREAM_RESPONSE = new ParameterizedTypeReference<>() {
-  };
-  private static final ParameterizedTypeReference<CommonResponseDto<PointDto.Response>> POINT_RESPONSE = new ParameterizedTypeReference<>() {
-  };
-  private static final ParameterizedTypeReference<CommonResponseDto<List<PointDto.Response>>> POINT_LIST_RESPONSE = new ParameterizedTypeReference<>() {
-  };
-  private static final ParameterizedTypeReference<CommonResponseDto<Void>> VOID_RESPONSE = new ParameterizedTypeReference<>() {
-  };
+  private static final ParameterizedTypeReference<?>[] RESPONSE_TYPES = new ParameterizedTypeReference<?>[
+      BranchdownEndpoint.values().length];
+  private static final HttpMethod[] METHODS = new HttpMethod[BranchdownEndpoint.values().length];
+
+  static {
+    for (final BranchdownEndpoint endpoint : BranchdownEndpoint.values()) {
+      final CompiledEndpoint<?> compiled = CompiledEndpoint.of(endpoint);
+      RESPONSE_TYPES[endpoint.ordinal()] = ParameterizedTypeReference.forType(compiled.responseType());
+      METHODS[endpoint.ordinal()] = HttpMethod.valueOf(compiled.method());
+    }
+  }
+  private static final int DEFAULT_WARM_UP_CONNECTIONS = 4;
 
   private final WebClient webClient;
+  private final String baseUrl;
+  private final WebClient.Builder warmUpBuilder;
+  private final WireFormat format;
+  private final BranchdownClientListener listener;
+  private final Consumer<HttpHeaders> accept;
+  private final WebClientReactiveBranchdownClient reactiveClient;
+  private final CompiledEndpoint.Exchange<WebClient.RequestHeadersSpec<?>> exchange = this::exchange;
 
   public WebClientBranchdownClient(final WebClient.Builder webClientBuilder, final String baseUrl) {
+    this(webClientBuilder, baseUrl, BranchdownClientListener.NONE);
+  }
+
+  /**
+   * @param webClientBuilder WebClient 빌더
+   * @param baseUrl 서버 주소
+   * @param listener 요청 계측 리스너
+   */
+  public WebClientBranchdownClient(final WebClient.Builder webClientBuilder, final String baseUrl,
+      final BranchdownClientListener listener) {
+    this(webClientBuilder, baseUrl, listener, WireFormat.JSON);
+  }
+
+  /**
+   * 이진 형식을 지정하면 전달받은 빌더를 복제하여 해당 디코더를 등록한다.
+   *
+   * @param webClientBuilder WebClient 빌더
+   * @param baseUrl 서버 주소
+   * @param listener 요청 계측 리스너
+   * @param format 우선 요청할 응답 형식
+   */
+  public WebClientBranchdownClient(final WebClient.Builder webClientBuilder, final String baseUrl,
+      final BranchdownClientListener listener, final WireFormat format) {
     if (webClientBuilder == null) {
       throw new IllegalArgumentException("webClientBuilder must not be null");
     }
     if (baseUrl == null) {
       throw new IllegalArgumentException("baseUrl must not be null");
     }
-    this.webClient = webClientBuilder.baseUrl(baseUrl).build();
+    if (listener == null) {
+      throw new IllegalArgumentException("listener must not be null");
+    }
+    if (format == null) {
+      throw new IllegalArgumentException("format must not be null");
+    }
+    final WebClient.Builder decoding = withDecoder(webClientBuilder, format);
+    // 합성 응답은 같은 코덱으로 디코딩하되 사용자 필터(로드밸런서 등)는 거치지 않는다
+    this.warmUpBuilder = decoding.clone().filters(List::clear);
+    this.webClient = WebClientReactiveBranchdownClient.build(decoding, baseUrl, listener);
+    this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    this.format = format;
+    this.listener = listener;
+    final String accept = format.accept();
+    this.accept = format == WireFormat.JSON ? headers -> {
+    } : headers -> headers.set(HttpHeaders.ACCEPT, accept);
+    this.reactiveClient = new WebClientReactiveBranchdownClient(this.webClient, this.baseUrl, listener);
   }
 
   // ========== Stream API ==========
 
   @Override
   public Long createStream() {
-    try {
-      final CommonResponseDto<StreamDto.Response> response = this.webClient.post()
-          .uri("/api/streams")
-          .contentType(MediaType.APPLICATION_JSON)
-          .retrieve()
-          .bodyToMono(STREAM_RESPONSE)
-          .block();
-      return this.unwrap(response).id();
-    } catch (BranchdownException e) {
-      throw e;
-    } catch (CodecException e) {
-      throw new BranchdownClientException("Failed to serialize/deserialize", e);
-    } catch (WebClientException e) {
-      throw new BranchdownClientException("Request failed", e);
-    }
+    return this.execute(CompiledEndpoint.CREATE_STREAM, CompiledEndpoint.CREATE_STREAM.url(baseUrl), null).id();
   }
 
   @Override
   public StreamDto.Response getStream(final long streamId) {
-    try {
-      final CommonResponseDto<StreamDto.Response> response = this.webClient.get()
-          .uri("/api/streams/{id}", streamId)
-          .retrieve()
-          .bodyToMono(STREAM_RESPONSE)
-          .block();
-      return this.unwrap(response);
-    } catch (BranchdownException e) {
-      throw e;
-    } catch (CodecException e) {
-      throw new BranchdownClientException("Failed to serialize/deserialize", e);
-    } catch (WebClientException e) {
-      throw new BranchdownClientException("Request failed", e);
-    }
+    return this.execute(CompiledEndpoint.GET_STREAM, CompiledEndpoint.GET_STREAM.url(baseUrl, streamId), null);
   }
 
   @Override
   public void deleteStream(final long streamId) {
-    try {
-      final CommonResponseDto<Void> response = this.webClient.delete()
-          .uri("/api/streams/{id}", streamId)
-          .retrieve()
-          .bodyToMono(VOID_RESPONSE)
-          .block();
-      this.unwrap(response);
-    } catch (BranchdownException e) {
-      throw e;
-    } catch (CodecException e) {
-      throw new BranchdownClientException("Failed to serialize/deserialize", e);
-    } catch (WebClientException e) {
-      throw new BranchdownClientException("Request failed", e);
-    }
+    this.execute(CompiledEndpoint.DELETE_STREAM, CompiledEndpoint.DELETE_STREAM.url(baseUrl, streamId), null);
   }
 
   @Override
   public List<PointDto.Response> getStreamPoints(final long streamId) {
-    try {
-      final CommonResponseDto<List<PointDto.Response>> response = this.webClient.get()
-          .uri("/api/streams/{id}/points", streamId)
-          .retrieve()
-          .bodyToMono(POINT_LIST_RESPONSE)
-          .block();
-      return this.unwrap(response);
-    } catch (BranchdownException e) {
-      throw e;
-    } catch (CodecException e) {
-      throw new BranchdownClientException("Failed to serialize/deserialize", e);
-    } catch (WebClientException e) {
-      throw new BranchdownClientException("Request failed", e);
-    }
+    return this.execute(CompiledEndpoint.GET_STREAM_POINTS, CompiledEndpoint.GET_STREAM_POINTS.url(baseUrl, streamId),
+        null);
   }
 
   @Override
   public List<PointDto.Response> getBranchPoints(final long streamId, final int branchNum, final int depth) {
-    try {
-      final CommonResponseDto<List<PointDto.Response>> response = this.webClient.get()
-          .uri("/api/streams/{id}/branches/{branchNum}/points?depth={depth}", streamId, branchNum, depth)
-          .retrieve()
-          .bodyToMono(POINT_LIST_RESPONSE)
-          .block();
-      return this.unwrap(response);
-    } catch (BranchdownException e) {
-      throw e;
-    } catch (CodecException e) {
-      throw new BranchdownClientException("Failed to serialize/deserialize", e);
-    } catch (WebClientException e) {
-      throw new BranchdownClientException("Request failed", e);
+    return this.execute(CompiledEndpoint.GET_BRANCH_POINTS,
+        CompiledEndpoint.GET_BRANCH_POINTS.url(baseUrl, streamId, branchNum, depth), null);
+  }
+
+  @Override
+  public void forEachStreamPoint(final long streamId, final Consumer<? super PointDto.Response> action) {
+    if (action == null) {
+      throw new IllegalArgumentException("action must not be null");
     }
+    this.reactiveClient.getStreamPoints(streamId).toIterable().forEach(action);
+  }
+
+  @Override
+  public void forEachBranchPoint(final long streamId, final int branchNum, final int depth,
+      final Consumer<? super PointDto.Response> action) {
+    if (action == null) {
+      throw new IllegalArgumentException("action must not be null");
+    }
+    this.reactiveClient.getBranchPoints(streamId, branchNum, depth).toIterable().forEach(action);
   }
 
   // ========== Point API ==========
@@ -141,35 +175,148 @@ public class WebClientBranchdownClient implements BranchdownClient {
     if (itemId == null) {
       throw new IllegalArgumentException("itemId must not be null");
     }
+    return this.execute(CompiledEndpoint.ADD_POINT, CompiledEndpoint.ADD_POINT.url(baseUrl, parentPointId),
+        new PointDto.DownRequest(itemId));
+  }
+
+  @Override
+  public List<PointDto.Response> addChildren(final long parentPointId, final List<String> itemIds) {
+    return this.reactiveClient.addChildren(parentPointId, itemIds).collectList().block();
+  }
+
+  @Override
+  public List<PointDto.Response> getAncestors(final long pointId) {
+    return this.execute(CompiledEndpoint.GET_ANCESTORS, CompiledEndpoint.GET_ANCESTORS.url(baseUrl, pointId), null);
+  }
+
+  // ========== Warm-up ==========
+
+  /**
+   * 연결 4개를 미리 열고 응답 타입별 디코더를 준비한다. 합성 응답 반복 디코딩은 하지 않는다.
+   *
+   * @return 예열 결과
+   */
+  public WarmUpReport warmUp() {
+    return this.warmUp(DEFAULT_WARM_UP_CONNECTIONS, 0);
+  }
+
+  /**
+   * 첫 호출에 몰리는 준비 비용을 미리 치른다.
+   *
+   * <ol>
+   * <li>{@code OPTIONS /api/streams} 요청 {@code connections}개를 동시에 보내 커넥터의 연결 풀에 연결을 만든다.
+   * 응답 상태는 보지 않는다. 서버가 빨리 응답하면 먼저 끝난 연결이 재사용되어 요청 수보다 적게 열릴 수 있다.</li>
+   * <li>응답 타입별로 JSON과 지정한 {@link WireFormat}의 합성 응답을 빌더에 등록된 코덱으로 한 번씩 디코딩하고,
+   * 스트리밍 메서드가 쓰는 포인트 디코더도 한 번 실행한다. 합성 응답은 네트워크를 거치지 않는다.</li>
+   * <li>합성 응답 디코딩을 {@code decodeIterations}번 반복하여 디코딩 경로가 JIT 컴파일되게 한다.</li>
+   * </ol>
+   *
+   * @param connections 미리 열 연결 수 (0 이상)
+   * @param decodeIterations 합성 응답 반복 디코딩 횟수 (0 이상)
+   * @return 예열 결과
+   */
+  public WarmUpReport warmUp(final int connections, final int decodeIterations) {
+    if (connections < 0) {
+      throw new IllegalArgumentException("connections must not be negative");
+    }
+    if (decodeIterations < 0) {
+      throw new IllegalArgumentException("decodeIterations must not be negative");
+    }
+    final long startedAt = System.nanoTime();
+    final int opened = this.openConnections(connections);
+    final long connectedAt = System.nanoTime();
+    final WarmUpPayloads json = WarmUpPayloads.of(WireFormat.JSON);
+    final WebClient jsonClient = this.syntheticClient(WireFormat.JSON, json);
+    final WebClient binaryClient = this.format == WireFormat.JSON ? null
+        : this.syntheticClient(this.format, WarmUpPayloads.of(this.format));
+    this.decode(json, jsonClient, binaryClient);
+    final long resolvedAt = System.nanoTime();
+    for (int i = 0; i < decodeIterations; i++) {
+      this.decode(json, jsonClient, binaryClient);
+    }
+    final long decodedAt = System.nanoTime();
+    return new WarmUpReport(connections, opened, Duration.ofNanos(connectedAt - startedAt),
+        Duration.ofNanos(resolvedAt - connectedAt), decodeIterations, Duration.ofNanos(decodedAt - resolvedAt));
+  }
+
+  private int openConnections(final int connections) {
+    if (connections == 0) {
+      return 0;
+    }
+    final Long opened = Flux.range(0, connections)
+        .flatMap(i -> this.webClient.options()
+            .uri("/api/streams")
+            .exchangeToMono(response -> response.releaseBody().thenReturn(i))
+            // 열지 못한 연결은 보고서의 연결 수로 드러난다
+            .onErrorResume(e -> Mono.empty()), connections)
+        .count()
+        .block();
+    return opened == null ? 0 : opened.intValue();
+  }
+
+  private WebClient syntheticClient(final WireFormat format, final WarmUpPayloads payloads) {
+    return this.warmUpBuilder.clone()
+        .baseUrl("http://warm-up.invalid")
+        .clientConnector(new SyntheticConnector(format, payloads))
+        .build();
+  }
+
+  private void decode(final WarmUpPayloads json, final WebClient jsonClient, final WebClient binaryClient) {
+    decodeResponses(jsonClient);
+    if (binaryClient != null) {
+      decodeResponses(binaryClient);
+    }
+    // forEach*가 쓰는 포인트 디코더
+    json.decode(WireFormat.JSON);
+  }
+
+  private static void decodeResponses(final WebClient client) {
     try {
-      final CommonResponseDto<PointDto.Response> response = this.webClient.post()
-          .uri("/api/points/{id}/down", parentPointId)
-          .contentType(MediaType.APPLICATION_JSON)
-          .bodyValue(new PointDto.DownRequest(itemId))
-          .retrieve()
-          .bodyToMono(POINT_RESPONSE)
-          .block();
-      return this.unwrap(response);
-    } catch (BranchdownException e) {
-      throw e;
+      client.get().uri("/stream").retrieve().bodyToMono(responseType(CompiledEndpoint.GET_STREAM)).block();
+      client.get().uri("/point").retrieve().bodyToMono(responseType(CompiledEndpoint.ADD_POINT)).block();
+      client.get().uri("/points").retrieve().bodyToMono(responseType(CompiledEndpoint.GET_ANCESTORS)).block();
+      client.get().uri("/empty").retrieve().bodyToMono(responseType(CompiledEndpoint.DELETE_STREAM)).block();
     } catch (CodecException e) {
       throw new BranchdownClientException("Failed to serialize/deserialize", e);
-    } catch (WebClientException e) {
-      throw new BranchdownClientException("Request failed", e);
     }
   }
 
-  @Override
-  public List<PointDto.Response> getAncestors(final long pointId) {
+  // ========== Helper Methods ==========
+
+  private static WebClient.Builder withDecoder(final WebClient.Builder builder, final WireFormat format) {
+    final Decoder<?> decoder = switch (format) {
+      case JSON -> null;
+      case CBOR -> new Jackson2CborDecoder(format.mapper());
+      case SMILE -> new Jackson2SmileDecoder(format.mapper());
+    };
+    if (decoder == null) {
+      return builder;
+    }
+    return builder.clone().codecs(configurer -> configurer.customCodecs().register(decoder));
+  }
+
+  /** 요청 본문이 있는 메서드(POST)는 본문이 없어도 JSON 요청으로 보낸다. */
+  private <T> T execute(final CompiledEndpoint<T> endpoint, final String url, final Object body) {
+    final WebClient.RequestBodySpec spec = this.webClient.method(METHODS[endpoint.endpoint().ordinal()])
+        .uri(URI.create(url));
+    final WebClient.RequestHeadersSpec<?> request;
+    if (endpoint.hasBody()) {
+      spec.contentType(MediaType.APPLICATION_JSON);
+      request = body == null ? spec : spec.bodyValue(body);
+    } else {
+      request = spec;
+    }
+    return endpoint.execute(this.listener, this.exchange, request);
+  }
+
+  private <T> CommonResponseDto<T> exchange(final WebClient.RequestHeadersSpec<?> request,
+      final CompiledEndpoint<T> endpoint, final RequestObservation observation) {
     try {
-      final CommonResponseDto<List<PointDto.Response>> response = this.webClient.get()
-          .uri("/api/points/{id}/ancestors", pointId)
+      return request.headers(this.accept)
           .retrieve()
-          .bodyToMono(POINT_LIST_RESPONSE)
+          .bodyToMono(responseType(endpoint))
+          .contextWrite(Context.of(RequestObservation.class, observation))
           .block();
-      return this.unwrap(response);
-    } catch (BranchdownException e) {
-      throw e;
     } catch (CodecException e) {
       throw new BranchdownClientException("Failed to serialize/deserialize", e);
     } catch (WebClientException e) {
@@ -177,15 +324,56 @@ public class WebClientBranchdownClient implements BranchdownClient {
     }
   }
 
-  // ========== Helper Methods ==========
+  /** {@link WebClientReactiveBranchdownClient}도 같은 타입 참조를 사용한다. */
+  @SuppressWarnings("unchecked")
+  static <T> ParameterizedTypeReference<CommonResponseDto<T>> responseType(final CompiledEndpoint<T> endpoint) {
+    return (ParameterizedTypeReference<CommonResponseDto<T>>) RESPONSE_TYPES[endpoint.endpoint().ordinal()];
+  }
 
-  private <T> T unwrap(final CommonResponseDto<T> response) {
-    if (response == null) {
-      throw new BranchdownException("Empty response");
+  /** 경로에 따라 합성 응답 본문을 돌려주는 커넥터. 요청 본문은 쓰지 않는다. */
+  private static final class SyntheticConnector implements ClientHttpConnector {
+
+    private final WireFormat format;
+    private final WarmUpPayloads payloads;
+
+    private SyntheticConnector(final WireFormat format, final WarmUpPayloads payloads) {
+      this.format = format;
+      this.payloads = payloads;
     }
-    if (!response.success()) {
-      throw new BranchdownException(response.message());
+
+    @Override
+    public Mono<ClientHttpResponse> connect(final HttpMethod method, final URI uri,
+        final Function<? super ClientHttpRequest, Mono<Void>> requestCallback) {
+      final byte[] body = switch (uri.getPath()) {
+        case "/stream" -> this.payloads.stream;
+        case "/point" -> this.payloads.point;
+        case "/points" -> this.payloads.points;
+        default -> this.payloads.empty;
+      };
+      final HttpHeaders headers = new HttpHeaders();
+      headers.set(HttpHeaders.CONTENT_TYPE, this.format.mediaType());
+      headers.setContentLength(body.length);
+      return Mono.just(new ClientHttpResponse() {
+        @Override
+        public HttpStatusCode getStatusCode() {
+          return HttpStatus.OK;
+        }
+
+        @Override
+        public MultiValueMap<String, ResponseCookie> getCookies() {
+          return new LinkedMultiValueMap<>();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+          return headers;
+        }
+
+        @Override
+        public Flux<DataBuffer> getBody() {
+          return Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)));
+        }
+      });
     }
-    return response.data();
   }
 }
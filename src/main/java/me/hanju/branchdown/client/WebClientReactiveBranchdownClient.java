@@ -0,0 +1,279 @@
+package me.hanju.branchdown.client;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import org.springframework.core.codec.CodecException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.api.dto.StreamDto;
+import me.hanju.branchdown.client.exception.BranchdownClientException;
+import me.hanju.branchdown.client.exception.BranchdownException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * WebClient 기반 Reactor Branchdown API 클라이언트 구현체.
+ * {@code block()} 없이 {@code bodyToMono}로 응답을 전달하므로 이벤트 루프 스레드만으로 동작한다.
+ * Spring WebFlux 환경 및 @LoadBalanced 지원.
+ *
+ * <p>포인트 목록을 반환하는 메서드는 응답 본문을 논블로킹 JSON 파서로 청크 단위 파싱하여
+ * 포인트가 완성되는 즉시 방출하므로, 메모리 사용량이 목록 크기와 무관하다.
+ *
+ * <p>{@link BranchdownClientListener}를 전달하면 구독마다 요청 하나로 계측하며, 구독 취소는
+ * {@link CancellationException}으로 보고한다.
+ *
+ * <p>응답을 Reactor 파이프라인으로 전달해야 하므로 {@code CompletableFuture} 기반의 공통 실행 경로는 쓰지 않지만,
+ * 요청 URL은 {@link CompiledEndpoint}가 미리 나눠 둔 고정 조각에 숫자 변수만 이어 붙여 만들고 {@link URI}로 넘기므로
+ * {@code UriBuilderFactory}가 호출마다 템플릿을 전개하지 않는다. 응답 타입과 {@code CommonResponseDto} 해제 규칙도 공유한다.
+ */
+public class WebClientReactiveBranchdownClient implements ReactiveBranchdownClient {
+
+  private final WebClient webClient;
+  private final String baseUrl;
+  private final BranchdownClientListener listener;
+
+  public WebClientReactiveBranchdownClient(final WebClient.Builder webClientBuilder, final String baseUrl) {
+    this(webClientBuilder, baseUrl, BranchdownClientListener.NONE);
+  }
+
+  /**
+   * @param webClientBuilder WebClient 빌더
+   * @param baseUrl 서버 주소
+   * @param listener 요청 계측 리스너
+   */
+  public WebClientReactiveBranchdownClient(final WebClient.Builder webClientBuilder, final String baseUrl,
+      final BranchdownClientListener listener) {
+    if (webClientBuilder == null) {
+      throw new IllegalArgumentException("webClientBuilder must not be null");
+    }
+    if (baseUrl == null) {
+      throw new IllegalArgumentException("baseUrl must not be null");
+    }
+    if (listener == null) {
+      throw new IllegalArgumentException("listener must not be null");
+    }
+    this.webClient = build(webClientBuilder, baseUrl, listener);
+    this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    this.listener = listener;
+  }
+
+  /**
+   * @param webClient {@link #build}로 만든 WebClient
+   * @param baseUrl 끝의 '/'를 뺀 서버 주소
+   * @param listener 요청 계측 리스너
+   */
+  WebClientReactiveBranchdownClient(final WebClient webClient, final String baseUrl,
+      final BranchdownClientListener listener) {
+    this.webClient = webClient;
+    this.baseUrl = baseUrl;
+    this.listener = listener;
+  }
+
+  /**
+   * 리스너가 있으면 응답 헤더 수신 시각과 본문 바이트 수를 기록하는 필터를 등록한다.
+   * 전달받은 빌더를 재사용할 때 필터가 누적되지 않도록 복제한 빌더에 등록한다.
+   */
+  static WebClient build(final WebClient.Builder webClientBuilder, final String baseUrl,
+      final BranchdownClientListener listener) {
+    if (listener == BranchdownClientListener.NONE) {
+      return webClientBuilder.baseUrl(baseUrl).build();
+    }
+    return webClientBuilder.clone()
+        .baseUrl(baseUrl)
+        .filter(WebClientReactiveBranchdownClient::observeExchange)
+        .build();
+  }
+
+  // ========== Stream API ==========
+
+  @Override
+  public Mono<Long> createStream() {
+    final CompiledEndpoint<StreamDto.Response> endpoint = CompiledEndpoint.CREATE_STREAM;
+    return this.observe(endpoint, this.unwrap(endpoint, this.webClient.post()
+        .uri(URI.create(endpoint.url(this.baseUrl)))
+        .contentType(MediaType.APPLICATION_JSON)))
+        .map(StreamDto.Response::id);
+  }
+
+  @Override
+  public Mono<StreamDto.Response> getStream(final long streamId) {
+    final CompiledEndpoint<StreamDto.Response> endpoint = CompiledEndpoint.GET_STREAM;
+    return this.observe(endpoint, this.unwrap(endpoint, this.webClient.get()
+        .uri(URI.create(endpoint.url(this.baseUrl, streamId)))));
+  }
+
+  @Override
+  public Mono<Void> deleteStream(final long streamId) {
+    final CompiledEndpoint<Void> endpoint = CompiledEndpoint.DELETE_STREAM;
+    return this.observe(endpoint, this.unwrap(endpoint, this.webClient.delete()
+        .uri(URI.create(endpoint.url(this.baseUrl, streamId)))));
+  }
+
+  @Override
+  public Flux<PointDto.Response> getStreamPoints(final long streamId) {
+    return this.observe(CompiledEndpoint.GET_STREAM_POINTS, this.decodePoints(this.webClient.get()
+        .uri(URI.create(CompiledEndpoint.GET_STREAM_POINTS.url(this.baseUrl, streamId)))
+        .retrieve()
+        .bodyToFlux(DataBuffer.class)));
+  }
+
+  @Override
+  public Flux<PointDto.Response> getBranchPoints(final long streamId, final int branchNum, final int depth) {
+    return this.observe(CompiledEndpoint.GET_BRANCH_POINTS, this.decodePoints(this.webClient.get()
+        .uri(URI.create(CompiledEndpoint.GET_BRANCH_POINTS.url(this.baseUrl, streamId, branchNum, depth)))
+        .retrieve()
+        .bodyToFlux(DataBuffer.class)));
+  }
+
+  // ========== Point API ==========
+
+  @Override
+  public Mono<PointDto.Response> addPoint(final long parentPointId, final String itemId) {
+    if (itemId == null) {
+      throw new IllegalArgumentException("itemId must not be null");
+    }
+    final CompiledEndpoint<PointDto.Response> endpoint = CompiledEndpoint.ADD_POINT;
+    return this.observe(endpoint, this.unwrap(endpoint, this.webClient.post()
+        .uri(URI.create(endpoint.url(this.baseUrl, parentPointId)))
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(new PointDto.DownRequest(itemId))));
+  }
+
+  @Override
+  public Flux<PointDto.Response> getAncestors(final long pointId) {
+    return this.observe(CompiledEndpoint.GET_ANCESTORS, this.decodePoints(this.webClient.get()
+        .uri(URI.create(CompiledEndpoint.GET_ANCESTORS.url(this.baseUrl, pointId)))
+        .retrieve()
+        .bodyToFlux(DataBuffer.class)));
+  }
+
+  // ========== Helper Methods ==========
+
+  private <T> Mono<T> observe(final CompiledEndpoint<?> endpoint, final Mono<T> call) {
+    if (this.listener == BranchdownClientListener.NONE) {
+      return call;
+    }
+    return Mono.defer(() -> {
+      final RequestObservation observation = RequestObservation.start(this.listener, endpoint.endpoint());
+      return call
+          .doOnSuccess(value -> observation.finish())
+          .doOnError(observation::fail)
+          .doOnCancel(() -> observation.fail(new CancellationException()))
+          .contextWrite(Context.of(RequestObservation.class, observation));
+    });
+  }
+
+  private <T> Flux<T> observe(final CompiledEndpoint<?> endpoint, final Flux<T> call) {
+    if (this.listener == BranchdownClientListener.NONE) {
+      return call;
+    }
+    return Flux.defer(() -> {
+      final RequestObservation observation = RequestObservation.start(this.listener, endpoint.endpoint());
+      return call
+          .doOnComplete(observation::finish)
+          .doOnError(observation::fail)
+          .doOnCancel(() -> observation.fail(new CancellationException()))
+          .contextWrite(Context.of(RequestObservation.class, observation));
+    });
+  }
+
+  /** 구독 컨텍스트에 계측 상태가 있으면 응답 헤더 수신 시각과 본문 바이트 수를 기록한다. */
+  private static Mono<ClientResponse> observeExchange(final ClientRequest request, final ExchangeFunction next) {
+    return Mono.deferContextual(context -> {
+      final RequestObservation observation = context.getOrDefault(RequestObservation.class, null);
+      if (observation == null) {
+        return next.exchange(request);
+      }
+      return next.exchange(request).map(response -> {
+        observation.responded();
+        return response.mutate()
+            .body(body -> body.doOnNext(buffer -> observation.received(buffer.readableByteCount())))
+            .build();
+      });
+    });
+  }
+
+  private Flux<PointDto.Response> decodePoints(final Flux<DataBuffer> body) {
+    return Flux.defer(() -> {
+      final JsonParser parser;
+      try {
+        parser = BranchdownJson.MAPPER.getFactory().createNonBlockingByteArrayParser();
+      } catch (IOException e) {
+        return Flux.error(new BranchdownClientException("Failed to serialize/deserialize", e));
+      }
+      final ByteArrayFeeder feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+      final PointEnvelopeDecoder decoder = new PointEnvelopeDecoder(BranchdownJson.POINT);
+      return body
+          .concatMapIterable(buffer -> {
+            try {
+              final byte[] bytes = new byte[buffer.readableByteCount()];
+              buffer.read(bytes);
+              feeder.feedInput(bytes, 0, bytes.length);
+            } catch (IOException e) {
+              throw new BranchdownClientException("Failed to serialize/deserialize", e);
+            } finally {
+              DataBufferUtils.release(buffer);
+            }
+            return drain(decoder, parser);
+          })
+          .concatWith(Flux.defer(() -> {
+            feeder.endOfInput();
+            final List<PointDto.Response> rest = drain(decoder, parser);
+            try {
+              decoder.finish(parser);
+            } catch (IOException e) {
+              throw new BranchdownClientException("Failed to serialize/deserialize", e);
+            }
+            return Flux.fromIterable(rest);
+          }))
+          .doFinally(signal -> {
+            try {
+              parser.close();
+            } catch (IOException ignored) {
+              // 파서는 외부 리소스를 소유하지 않는다
+            }
+          });
+    })
+        .onErrorMap(CodecException.class, e -> new BranchdownClientException("Failed to serialize/deserialize", e))
+        .onErrorMap(WebClientException.class, e -> new BranchdownClientException("Request failed", e));
+  }
+
+  private static List<PointDto.Response> drain(final PointEnvelopeDecoder decoder, final JsonParser parser) {
+    final List<PointDto.Response> points = new ArrayList<>();
+    try {
+      PointDto.Response point;
+      while ((point = decoder.next(parser)) != null) {
+        points.add(point);
+      }
+    } catch (IOException e) {
+      throw new BranchdownClientException("Failed to serialize/deserialize", e);
+    }
+    return points;
+  }
+
+  /** 응답을 {@link CompiledEndpoint#unwrap} 규칙으로 해제한다. {@code data}가 null이면 빈 {@link Mono}다. */
+  private <T> Mono<T> unwrap(final CompiledEndpoint<T> endpoint, final WebClient.RequestHeadersSpec<?> request) {
+    return request.retrieve()
+        .bodyToMono(WebClientBranchdownClient.responseType(endpoint))
+        .switchIfEmpty(Mono.error(() -> new BranchdownException("Empty response")))
+        .mapNotNull(CompiledEndpoint::unwrap)
+        .onErrorMap(CodecException.class, e -> new BranchdownClientException("Failed to serialize/deserialize", e))
+        .onErrorMap(WebClientException.class, e -> new BranchdownClientException("Request failed", e));
+  }
+}
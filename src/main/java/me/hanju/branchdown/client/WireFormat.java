@@ -0,0 +1,65 @@
+package me.hanju.branchdown.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * 응답 본문 인코딩 형식.
+ *
+ * <p>{@link #JSON}이 아닌 형식을 선택하면 요청의 {@code Accept} 헤더에 그 형식을 JSON보다 우선하여 보내고,
+ * 응답의 {@code Content-Type}이 그 형식일 때만 이진 형식으로 디코딩한다. 서버가 JSON으로 응답하면 그대로 JSON으로 읽는다.
+ * 요청 본문은 항상 JSON이다.
+ *
+ * <p>{@link #CBOR}는 {@code jackson-dataformat-cbor}, {@link #SMILE}은 {@code jackson-dataformat-smile}이
+ * 클래스패스에 있어야 한다.
+ */
+public enum WireFormat {
+
+  JSON("application/json"),
+  CBOR("application/cbor"),
+  SMILE("application/x-jackson-smile");
+
+  private final String mediaType;
+
+  WireFormat(final String mediaType) {
+    this.mediaType = mediaType;
+  }
+
+  public String mediaType() {
+    return this.mediaType;
+  }
+
+  /** 이 형식을 우선하고 JSON도 받는 {@code Accept} 헤더 값 */
+  String accept() {
+    return this == JSON ? this.mediaType : this.mediaType + ", application/json;q=0.9";
+  }
+
+  /**
+   * @param contentType 응답의 {@code Content-Type} 헤더 값
+   * @return 응답 본문의 형식. 이 형식이 아니면 {@link #JSON}
+   */
+  WireFormat negotiated(final String contentType) {
+    return contentType != null && contentType.regionMatches(true, 0, this.mediaType, 0, this.mediaType.length())
+        ? this
+        : JSON;
+  }
+
+  /** 이 형식으로 읽고 쓰는 {@link ObjectMapper}. 필요한 모듈이 없으면 처음 호출할 때 실패한다. */
+  ObjectMapper mapper() {
+    return switch (this) {
+      case JSON -> BranchdownJson.MAPPER;
+      case CBOR -> CborMapper.INSTANCE;
+      case SMILE -> SmileMapper.INSTANCE;
+    };
+  }
+
+  /** 선택 모듈의 클래스는 해당 형식을 처음 사용할 때 로드한다. */
+  private static final class CborMapper {
+    private static final ObjectMapper INSTANCE = BranchdownJson.configure(new ObjectMapper(new CBORFactory()));
+  }
+
+  private static final class SmileMapper {
+    private static final ObjectMapper INSTANCE = BranchdownJson.configure(new ObjectMapper(new SmileFactory()));
+  }
+}
@@ -0,0 +1,217 @@
+package me.hanju.branchdown.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.client.exception.BranchdownClientException;
+import me.hanju.branchdown.client.exception.BranchdownRejectedException;
+
+/**
+ * {@link BranchdownClient#addPoint(long, String)}를 호출 스레드와 분리하여 백그라운드에서 실행하는 write-behind 버퍼.
+ *
+ * <p>추가 요청은 부모 포인트 ID 기준으로 {@code concurrency}개의 레인 중 하나에 배정되고, 레인마다 워커 스레드 하나가
+ * 순서대로 실행한다. 따라서 같은 부모에 대한 추가는 요청 순서대로 서버에 도달하며(브랜치 번호 순서 보장),
+ * 서로 다른 부모에 대한 추가는 최대 {@code concurrency}개까지 동시에 실행된다.
+ *
+ * <p>대기 중인 요청 수가 {@code capacity}에 도달하면 {@link OverflowPolicy}에 따라 대기, 예외, 거절 중 하나로 처리한다.
+ * {@link #close()}는 새 요청을 막고 대기 중인 요청을 모두 실행한 뒤 반환한다.
+ */
+public class WriteBehindPointWriter implements AutoCloseable {
+
+  /** 큐가 가득 찼을 때의 처리 방식 */
+  public enum OverflowPolicy {
+    /** 자리가 날 때까지 호출 스레드를 대기시킨다. */
+    BLOCK,
+    /** {@link BranchdownRejectedException}을 즉시 던진다. */
+    FAIL,
+    /** 요청을 버리고 {@link BranchdownRejectedException}으로 예외 완료된 future를 반환한다. */
+    DROP
+  }
+
+  private static final int MAX_DRAIN = 64;
+  private static final Task POISON = new Task(0, null, null);
+
+  private final BranchdownClient client;
+  private final OverflowPolicy overflowPolicy;
+  private final int capacity;
+  private final Semaphore permits;
+  private final List<BlockingQueue<Task>> lanes;
+  private final List<Thread> workers;
+  private volatile boolean closed;
+
+  private record Task(long parentPointId, String itemId, CompletableFuture<PointDto.Response> future) {
+  }
+
+  public WriteBehindPointWriter(final BranchdownClient client, final int capacity, final int concurrency) {
+    this(client, capacity, concurrency, OverflowPolicy.BLOCK);
+  }
+
+  public WriteBehindPointWriter(final BranchdownClient client, final int capacity, final int concurrency,
+      final OverflowPolicy overflowPolicy) {
+    if (client == null) {
+      throw new IllegalArgumentException("client must not be null");
+    }
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    if (concurrency <= 0) {
+      throw new IllegalArgumentException("concurrency must be positive");
+    }
+    if (overflowPolicy == null) {
+      throw new IllegalArgumentException("overflowPolicy must not be null");
+    }
+    this.client = client;
+    this.overflowPolicy = overflowPolicy;
+    this.capacity = capacity;
+    this.permits = new Semaphore(capacity);
+    this.lanes = new ArrayList<>(concurrency);
+    this.workers = new ArrayList<>(concurrency);
+    for (int i = 0; i < concurrency; i++) {
+      final BlockingQueue<Task> lane = new LinkedBlockingQueue<>();
+      final Thread worker = new Thread(() -> this.drain(lane), "branchdown-write-behind-" + i);
+      worker.setDaemon(true);
+      this.lanes.add(lane);
+      this.workers.add(worker);
+      worker.start();
+    }
+  }
+
+  /**
+   * 포인트 추가를 예약한다.
+   *
+   * @param parentPointId 부모 포인트 ID
+   * @param itemId 아이템 ID (null 불가)
+   * @return 생성된 포인트로 완료되는 future
+   * @throws IllegalArgumentException itemId가 null인 경우
+   * @throws IllegalStateException 이미 닫힌 경우
+   * @throws BranchdownRejectedException {@link OverflowPolicy#FAIL}이고 큐가 가득 찬 경우
+   */
+  public CompletableFuture<PointDto.Response> addPoint(final long parentPointId, final String itemId) {
+    if (itemId == null) {
+      throw new IllegalArgumentException("itemId must not be null");
+    }
+    if (this.closed) {
+      throw new IllegalStateException("WriteBehindPointWriter is closed");
+    }
+    if (!this.acquire()) {
+      final BranchdownRejectedException rejected = new BranchdownRejectedException("Write-behind queue is full");
+      if (this.overflowPolicy == OverflowPolicy.FAIL) {
+        throw rejected;
+      }
+      return CompletableFuture.failedFuture(rejected);
+    }
+    if (this.closed) {
+      // BLOCK 정책으로 대기하는 동안 닫힌 경우
+      this.permits.release();
+      throw new IllegalStateException("WriteBehindPointWriter is closed");
+    }
+    final Task task = new Task(parentPointId, itemId, new CompletableFuture<>());
+    final BlockingQueue<Task> lane = this.lanes.get(Math.floorMod(Long.hashCode(parentPointId), this.lanes.size()));
+    lane.add(task);
+    // close()의 마지막 정리 이후에 들어갔을 수 있으므로 다시 확인한다.
+    // 꺼내지 못했다면 워커나 close()가 이미 가져가 완료시킨다.
+    if (this.closed && lane.remove(task)) {
+      task.future().completeExceptionally(new BranchdownRejectedException("WriteBehindPointWriter is closed"));
+      this.permits.release();
+    }
+    return task.future();
+  }
+
+  /**
+   * @return 아직 완료되지 않은 요청 수
+   */
+  public int pending() {
+    return this.capacity - this.permits.availablePermits();
+  }
+
+  /**
+   * 새 요청을 막고, 대기 중인 요청을 모두 실행한 뒤 반환한다.
+   */
+  @Override
+  public void close() {
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+    this.lanes.forEach(lane -> lane.add(POISON));
+    boolean interrupted = false;
+    for (final Thread worker : this.workers) {
+      try {
+        worker.join();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    // close 직전에 들어와 POISON 뒤에 놓인 요청
+    for (final BlockingQueue<Task> lane : this.lanes) {
+      Task task;
+      while ((task = lane.poll()) != null) {
+        if (task != POISON) {
+          task.future().completeExceptionally(new BranchdownRejectedException("WriteBehindPointWriter is closed"));
+          this.permits.release();
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  // ========== Helper Methods ==========
+
+  private boolean acquire() {
+    if (this.overflowPolicy != OverflowPolicy.BLOCK) {
+      return this.permits.tryAcquire();
+    }
+    try {
+      this.permits.acquire();
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new BranchdownClientException("Interrupted while waiting for write-behind queue", e);
+    }
+  }
+
+  private void drain(final BlockingQueue<Task> lane) {
+    final List<Task> batch = new ArrayList<>(MAX_DRAIN);
+    while (true) {
+      try {
+        batch.add(lane.take());
+      } catch (InterruptedException e) {
+        // close()는 POISON으로 종료시키므로 인터럽트는 무시한다
+        continue;
+      }
+      lane.drainTo(batch, MAX_DRAIN - 1);
+      boolean stop = false;
+      for (final Task task : batch) {
+        if (task == POISON) {
+          stop = true;
+        } else {
+          this.execute(task);
+        }
+      }
+      if (stop) {
+        return;
+      }
+      batch.clear();
+    }
+  }
+
+  private void execute(final Task task) {
+    try {
+      if (!task.future().isDone()) {
+        task.future().complete(this.client.addPoint(task.parentPointId(), task.itemId()));
+      }
+    } catch (Throwable e) {
+      // Error도 future로 전달하고 레인 작업자는 계속 비운다. 작업자가 죽으면 이 레인의 이후 요청이 close()까지 멈춘다
+      task.future().completeExceptionally(e);
+    } finally {
+      this.permits.release();
+    }
+  }
+}
@@ -0,0 +1,9 @@
+package me.hanju.branchdown.client.exception;
+
+/** 요청을 서버로 보내지 않고 클라이언트에서 즉시 거절한 경우 (큐 포화, 동시성 제한 등) */
+public class BranchdownRejectedException extends BranchdownClientException {
+
+  public BranchdownRejectedException(String message) {
+    super(message, null);
+  }
+}
@@ -0,0 +1,123 @@
+package me.hanju.branchdown.client.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import me.hanju.branchdown.client.BranchdownClientListener;
+import me.hanju.branchdown.client.BranchdownEndpoint;
+
+/**
+ * 엔드포인트별 요청 수, 결과 분류별 횟수, 수신 바이트, 진행 중 요청 수, 서버/디코딩 시간 히스토그램을 집계하는 리스너.
+ * 외부 의존성이 없으며 모든 갱신은 락 없이 이루어진다.
+ *
+ * <pre>{@code
+ * BranchdownMetrics metrics = new BranchdownMetrics();
+ * BranchdownClient client = new OkHttpBranchdownClient(okHttpClient, baseUrl, metrics);
+ * long p99 = metrics.endpoint(BranchdownEndpoint.GET_ANCESTORS).serverTime().percentile(99);
+ * }</pre>
+ */
+public final class BranchdownMetrics implements BranchdownClientListener {
+
+  private final EndpointMetrics[] endpoints;
+
+  public BranchdownMetrics() {
+    final BranchdownEndpoint[] values = BranchdownEndpoint.values();
+    this.endpoints = new EndpointMetrics[values.length];
+    for (final BranchdownEndpoint endpoint : values) {
+      this.endpoints[endpoint.ordinal()] = new EndpointMetrics(endpoint);
+    }
+  }
+
+  /**
+   * @param endpoint 엔드포인트
+   * @return 엔드포인트 집계
+   */
+  public EndpointMetrics endpoint(final BranchdownEndpoint endpoint) {
+    if (endpoint == null) {
+      throw new IllegalArgumentException("endpoint must not be null");
+    }
+    return this.endpoints[endpoint.ordinal()];
+  }
+
+  @Override
+  public void requestStarted(final BranchdownEndpoint endpoint) {
+    this.endpoints[endpoint.ordinal()].inFlight.incrementAndGet();
+  }
+
+  @Override
+  public void requestFinished(final BranchdownEndpoint endpoint, final long serverNanos, final long decodeNanos,
+      final long bytesReceived, final Throwable error) {
+    final EndpointMetrics metrics = this.endpoints[endpoint.ordinal()];
+    metrics.inFlight.decrementAndGet();
+    metrics.outcomes[RequestOutcome.of(error).ordinal()].increment();
+    metrics.bytesReceived.add(bytesReceived);
+    metrics.serverTime.record(serverNanos);
+    metrics.decodeTime.record(decodeNanos);
+  }
+
+  /** 엔드포인트 하나의 집계. */
+  public static final class EndpointMetrics {
+
+    private final BranchdownEndpoint endpoint;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder[] outcomes = new LongAdder[RequestOutcome.values().length];
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LatencyHistogram serverTime = new LatencyHistogram();
+    private final LatencyHistogram decodeTime = new LatencyHistogram();
+
+    private EndpointMetrics(final BranchdownEndpoint endpoint) {
+      this.endpoint = endpoint;
+      for (int i = 0; i < this.outcomes.length; i++) {
+        this.outcomes[i] = new LongAdder();
+      }
+    }
+
+    public BranchdownEndpoint endpoint() {
+      return this.endpoint;
+    }
+
+    /**
+     * @return 완료된 요청 수 (실패, 취소 포함)
+     */
+    public long requests() {
+      long total = 0;
+      for (final LongAdder outcome : this.outcomes) {
+        total += outcome.sum();
+      }
+      return total;
+    }
+
+    /**
+     * @param outcome 결과 분류
+     * @return 해당 결과로 끝난 요청 수
+     */
+    public long count(final RequestOutcome outcome) {
+      return this.outcomes[outcome.ordinal()].sum();
+    }
+
+    /**
+     * @return 현재 진행 중인 요청 수
+     */
+    public int inFlight() {
+      return this.inFlight.get();
+    }
+
+    public long bytesReceived() {
+      return this.bytesReceived.sum();
+    }
+
+    /**
+     * @return 요청 전송부터 응답 헤더 수신까지의 시간 분포
+     */
+    public LatencyHistogram serverTime() {
+      return this.serverTime;
+    }
+
+    /**
+     * @return 응답 헤더 수신부터 본문 디코딩 완료까지의 시간 분포
+     */
+    public LatencyHistogram decodeTime() {
+      return this.decodeTime;
+    }
+  }
+}
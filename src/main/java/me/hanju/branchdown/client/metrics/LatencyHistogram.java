@@ -0,0 +1,116 @@
+package me.hanju.branchdown.client.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 락 없는 로그-선형 지연 시간 히스토그램.
+ *
+ * <p>2의 거듭제곱 구간마다 8개의 버킷을 두어 상대 오차 12.5% 이내로 값을 기록한다. 기록은 배열 원소 하나의 원자적 증가와
+ * {@link LongAdder} 갱신뿐이므로 할당이 없다. 조회 값은 기록과 동시에 읽으므로 근사치이다.
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKET_COUNT = index(Long.MAX_VALUE) + 1;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * @param nanos 기록할 값 (나노초). 음수는 0으로 기록한다.
+   */
+  public void record(final long nanos) {
+    final long value = Math.max(0, nanos);
+    this.buckets.incrementAndGet(index(value));
+    this.count.increment();
+    this.sum.add(value);
+    if (value > this.max.get()) {
+      this.max.accumulateAndGet(value, Math::max);
+    }
+  }
+
+  public long count() {
+    return this.count.sum();
+  }
+
+  /**
+   * @return 기록된 최댓값 (나노초)
+   */
+  public long max() {
+    return this.max.get();
+  }
+
+  /**
+   * @return 평균 (나노초). 기록이 없으면 0
+   */
+  public double mean() {
+    final long n = this.count.sum();
+    return n == 0 ? 0 : (double) this.sum.sum() / n;
+  }
+
+  /**
+   * @param percentile 0 이상 100 이하의 백분위
+   * @return 해당 백분위 값의 상한 (나노초). 기록이 없으면 0
+   */
+  public long percentile(final double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("percentile must be between 0 and 100");
+    }
+    final long[] snapshot = new long[BUCKET_COUNT];
+    long total = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      snapshot[i] = this.buckets.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+    final long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return Math.min(upperBound(i), this.max.get());
+      }
+    }
+    return this.max.get();
+  }
+
+  /**
+   * @param percentile 0 이상 100 이하의 백분위
+   * @param unit 반환 단위
+   * @return 해당 백분위 값의 상한
+   */
+  public long percentile(final double percentile, final TimeUnit unit) {
+    return unit.convert(this.percentile(percentile), TimeUnit.NANOSECONDS);
+  }
+
+  // ========== Helper Methods ==========
+
+  static int index(final long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    final int exponent = 63 - Long.numberOfLeadingZeros(value);
+    final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+    return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+  }
+
+  static long lowerBound(final int index) {
+    if (index < 2 * SUB_BUCKET_COUNT) {
+      return index;
+    }
+    final int shift = (index >>> SUB_BUCKET_BITS) - 1;
+    return (long) (SUB_BUCKET_COUNT + (index & (SUB_BUCKET_COUNT - 1))) << shift;
+  }
+
+  static long upperBound(final int index) {
+    return index + 1 >= BUCKET_COUNT ? Long.MAX_VALUE : lowerBound(index + 1) - 1;
+  }
+}
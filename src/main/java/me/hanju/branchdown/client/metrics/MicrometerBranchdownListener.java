@@ -0,0 +1,90 @@
+package me.hanju.branchdown.client.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import me.hanju.branchdown.client.BranchdownClientListener;
+import me.hanju.branchdown.client.BranchdownEndpoint;
+
+/**
+ * Micrometer {@link MeterRegistry}에 요청 계측을 기록하는 리스너.
+ * {@code micrometer-core}가 클래스패스에 있어야 한다.
+ *
+ * <p>모든 미터는 생성 시점에 엔드포인트별로 등록해 두므로 요청마다 레지스트리를 조회하지 않는다.
+ * <ul>
+ * <li>{@code branchdown.client.requests} (counter, 태그 {@code endpoint}, {@code outcome})</li>
+ * <li>{@code branchdown.client.server} (timer, 요청 전송부터 응답 헤더 수신까지)</li>
+ * <li>{@code branchdown.client.decode} (timer, 응답 헤더 수신부터 본문 디코딩 완료까지)</li>
+ * <li>{@code branchdown.client.response.size} (summary, 응답 본문 바이트)</li>
+ * <li>{@code branchdown.client.in.flight} (gauge, 진행 중인 요청 수)</li>
+ * </ul>
+ */
+public final class MicrometerBranchdownListener implements BranchdownClientListener {
+
+  private final Meters[] meters;
+
+  public MicrometerBranchdownListener(final MeterRegistry registry) {
+    if (registry == null) {
+      throw new IllegalArgumentException("registry must not be null");
+    }
+    final BranchdownEndpoint[] values = BranchdownEndpoint.values();
+    this.meters = new Meters[values.length];
+    for (final BranchdownEndpoint endpoint : values) {
+      this.meters[endpoint.ordinal()] = new Meters(registry, endpoint);
+    }
+  }
+
+  @Override
+  public void requestStarted(final BranchdownEndpoint endpoint) {
+    this.meters[endpoint.ordinal()].inFlight.incrementAndGet();
+  }
+
+  @Override
+  public void requestFinished(final BranchdownEndpoint endpoint, final long serverNanos, final long decodeNanos,
+      final long bytesReceived, final Throwable error) {
+    final Meters endpointMeters = this.meters[endpoint.ordinal()];
+    endpointMeters.inFlight.decrementAndGet();
+    endpointMeters.requests[RequestOutcome.of(error).ordinal()].increment();
+    endpointMeters.serverTime.record(serverNanos, TimeUnit.NANOSECONDS);
+    endpointMeters.decodeTime.record(decodeNanos, TimeUnit.NANOSECONDS);
+    endpointMeters.responseSize.record(bytesReceived);
+  }
+
+  private static final class Meters {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter[] requests = new Counter[RequestOutcome.values().length];
+    private final Timer serverTime;
+    private final Timer decodeTime;
+    private final DistributionSummary responseSize;
+
+    private Meters(final MeterRegistry registry, final BranchdownEndpoint endpoint) {
+      final String name = endpoint.operation();
+      for (final RequestOutcome outcome : RequestOutcome.values()) {
+        this.requests[outcome.ordinal()] = Counter.builder("branchdown.client.requests")
+            .tag("endpoint", name)
+            .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+            .register(registry);
+      }
+      this.serverTime = Timer.builder("branchdown.client.server")
+          .tag("endpoint", name)
+          .register(registry);
+      this.decodeTime = Timer.builder("branchdown.client.decode")
+          .tag("endpoint", name)
+          .register(registry);
+      this.responseSize = DistributionSummary.builder("branchdown.client.response.size")
+          .baseUnit("bytes")
+          .tag("endpoint", name)
+          .register(registry);
+      Gauge.builder("branchdown.client.in.flight", this.inFlight, AtomicInteger::get)
+          .tag("endpoint", name)
+          .register(registry);
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package me.hanju.branchdown.client.metrics;
+
+import java.util.concurrent.CancellationException;
+
+import me.hanju.branchdown.client.exception.BranchdownClientException;
+import me.hanju.branchdown.client.exception.BranchdownException;
+
+/**
+ * 요청 결과 분류.
+ */
+public enum RequestOutcome {
+
+  /** 성공 */
+  SUCCESS,
+  /** 서버가 실패 응답을 반환 ({@link BranchdownException}) */
+  SERVER_ERROR,
+  /** 네트워크 또는 직렬화 오류 ({@link BranchdownClientException}) */
+  CLIENT_ERROR,
+  /** 호출자가 취소 */
+  CANCELLED,
+  /** 그 밖의 예외 */
+  OTHER_ERROR;
+
+  /**
+   * @param error {@link me.hanju.branchdown.client.BranchdownClientListener#requestFinished}에 전달된 예외
+   * @return 결과 분류
+   */
+  public static RequestOutcome of(final Throwable error) {
+    if (error == null) {
+      return SUCCESS;
+    }
+    if (error instanceof BranchdownException) {
+      return SERVER_ERROR;
+    }
+    if (error instanceof BranchdownClientException) {
+      return CLIENT_ERROR;
+    }
+    if (error instanceof CancellationException) {
+      return CANCELLED;
+    }
+    return OTHER_ERROR;
+  }
+}
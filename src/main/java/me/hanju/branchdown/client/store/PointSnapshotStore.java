@@ -0,0 +1,335 @@
+package me.hanju.branchdown.client.store;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.client.BranchdownClient;
+
+/**
+ * 스트림별 포인트를 로컬 디스크에 보관하여 재시작 시 서버 조회 없이 작업 집합을 복원한다.
+ *
+ * <p>포인트는 생성 후 변경되지 않으므로 스트림마다 추가 전용 세그먼트 파일 하나({@code stream-<id>.seg})에 이어 쓴다.
+ * 세그먼트는 헤더(매직, 버전) 뒤에 {@code [길이][id][branchNum][depth][itemId 길이][itemId UTF-8]} 레코드가 이어지는
+ * 바이너리 형식이며, 읽을 때는 파일을 메모리 매핑하여 JSON 파싱 없이 디코딩한다.
+ * 쓰는 도중 프로세스가 죽어 마지막 레코드가 잘린 경우 다음 읽기에서 잘린 부분을 버린다. 잘린 부분이 없으면 파일을
+ * 읽기 전용으로만 열므로 읽기 전용 디렉터리의 세그먼트도 {@link #load}할 수 있다.
+ * 버려진 포인트는 {@link #sync}가 서버에서 다시 가져온다.
+ *
+ * <p>{@link #sync}는 저장된 포인트를 읽은 뒤 브랜치마다 저장된 가장 깊은 depth 이후만
+ * {@link BranchdownClient#getBranchPoints(long, int, int)}로 가져와 보충한다. 브랜치 번호는 스트림 안에서 0부터 순서대로
+ * 부여되므로 저장되지 않은 번호는 처음부터 가져오고, 저장된 마지막 브랜치 다음 번호부터는 빈 응답이 올 때까지 확인한다.
+ * 저장된 브랜치가 {@code maxDeltaBranches}보다 많으면 브랜치별 요청 대신 {@code getStreamPoints} 한 번으로 보충한다.
+ *
+ * <p>스레드 안전하다. 같은 스트림에 대한 작업은 직렬화된다.
+ */
+public final class PointSnapshotStore {
+
+  private static final int MAGIC = 0x42445053; // "BDPS"
+  private static final int VERSION = 1;
+  private static final int HEADER_BYTES = 8;
+  private static final int FIXED_RECORD_BYTES = Long.BYTES + Integer.BYTES * 3;
+  /** 스트림별 잠금 대신 고정 개수의 잠금을 나눠 써서 스트림 수와 무관하게 메모리를 유지한다. */
+  private static final int LOCK_STRIPES = 64;
+
+  private final Path directory;
+  private final int maxDeltaBranches;
+  private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+  private PointSnapshotStore(final Path directory, final int maxDeltaBranches) {
+    this.directory = directory;
+    this.maxDeltaBranches = maxDeltaBranches;
+    for (int i = 0; i < LOCK_STRIPES; i++) {
+      this.locks[i] = new ReentrantLock();
+    }
+  }
+
+  /**
+   * 브랜치별 보충 한도 16으로 연다.
+   *
+   * @param directory 세그먼트 파일 디렉터리 (없으면 만든다)
+   * @return 저장소
+   */
+  public static PointSnapshotStore open(final Path directory) {
+    return open(directory, 16);
+  }
+
+  /**
+   * @param directory 세그먼트 파일 디렉터리 (없으면 만든다)
+   * @param maxDeltaBranches 브랜치별로 보충할 최대 브랜치 수. 넘으면 스트림 전체를 한 번에 조회한다.
+   * @return 저장소
+   * @throws UncheckedIOException 디렉터리를 만들 수 없는 경우
+   */
+  public static PointSnapshotStore open(final Path directory, final int maxDeltaBranches) {
+    if (directory == null) {
+      throw new IllegalArgumentException("directory must not be null");
+    }
+    if (maxDeltaBranches < 0) {
+      throw new IllegalArgumentException("maxDeltaBranches must not be negative");
+    }
+    try {
+      Files.createDirectories(directory);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return new PointSnapshotStore(directory, maxDeltaBranches);
+  }
+
+  /**
+   * 저장된 포인트를 읽는다.
+   *
+   * @param streamId 스트림 ID
+   * @return 저장된 포인트 목록 (ID 순). 저장된 것이 없으면 빈 목록
+   * @throws UncheckedIOException 파일을 읽을 수 없거나 세그먼트 형식이 아닌 경우
+   */
+  public List<PointDto.Response> load(final long streamId) {
+    final ReentrantLock lock = this.lock(streamId);
+    lock.lock();
+    try {
+      return this.read(streamId);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 포인트를 세그먼트 끝에 추가한다. 이미 저장된 포인트인지는 확인하지 않는다.
+   *
+   * @param streamId 스트림 ID
+   * @param points 추가할 포인트
+   * @throws UncheckedIOException 파일에 쓸 수 없는 경우
+   */
+  public void append(final long streamId, final Collection<PointDto.Response> points) {
+    if (points == null) {
+      throw new IllegalArgumentException("points must not be null");
+    }
+    final ReentrantLock lock = this.lock(streamId);
+    lock.lock();
+    try {
+      this.write(streamId, points);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 저장된 포인트를 읽고 서버에서 그 이후에 추가된 포인트를 가져와 저장한다.
+   * 저장된 것이 없으면 스트림 전체를 조회하여 저장한다.
+   *
+   * @param client 보충에 사용할 클라이언트
+   * @param streamId 스트림 ID
+   * @return 스트림의 전체 포인트 목록 (ID 순)
+   * @throws me.hanju.branchdown.client.exception.BranchdownException 서버 조회가 실패한 경우 (예: 삭제된 스트림)
+   * @throws UncheckedIOException 파일을 읽거나 쓸 수 없는 경우
+   */
+  public List<PointDto.Response> sync(final BranchdownClient client, final long streamId) {
+    if (client == null) {
+      throw new IllegalArgumentException("client must not be null");
+    }
+    final ReentrantLock lock = this.lock(streamId);
+    lock.lock();
+    try {
+      final List<PointDto.Response> stored = this.read(streamId);
+      final List<PointDto.Response> fetched = stored.isEmpty()
+          ? client.getStreamPoints(streamId)
+          : this.fetchDelta(client, streamId, stored);
+      if (fetched.isEmpty()) {
+        return stored;
+      }
+      this.write(streamId, fetched);
+      final List<PointDto.Response> all = new ArrayList<>(stored.size() + fetched.size());
+      all.addAll(stored);
+      all.addAll(fetched);
+      all.sort(Comparator.comparingLong(PointDto.Response::id));
+      return all;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 스트림의 세그먼트를 삭제한다.
+   *
+   * @param streamId 스트림 ID
+   * @throws UncheckedIOException 파일을 삭제할 수 없는 경우
+   */
+  public void delete(final long streamId) {
+    final ReentrantLock lock = this.lock(streamId);
+    lock.lock();
+    try {
+      Files.deleteIfExists(this.segment(streamId));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // ========== Helper Methods ==========
+
+  private List<PointDto.Response> fetchDelta(final BranchdownClient client, final long streamId,
+      final List<PointDto.Response> stored) {
+    final Map<Integer, Integer> deepest = new HashMap<>();
+    for (final PointDto.Response point : stored) {
+      deepest.merge(point.branchNum(), point.depth(), Math::max);
+    }
+    if (deepest.size() > this.maxDeltaBranches) {
+      final Set<Long> known = new HashSet<>(stored.size() * 2);
+      stored.forEach(point -> known.add(point.id()));
+      return client.getStreamPoints(streamId).stream()
+          .filter(point -> !known.contains(point.id()))
+          .toList();
+    }
+    final List<PointDto.Response> fetched = new ArrayList<>();
+    final int lastBranch = deepest.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1);
+    for (int branchNum = 0;; branchNum++) {
+      final Integer depth = deepest.get(branchNum);
+      final List<PointDto.Response> points = client.getBranchPoints(streamId, branchNum, depth == null ? 0 : depth);
+      // 저장된 마지막 브랜치 이후로는 빈 브랜치가 나오면 더 없다
+      if (points.isEmpty() && branchNum > lastBranch) {
+        break;
+      }
+      fetched.addAll(points);
+    }
+    return fetched;
+  }
+
+  private List<PointDto.Response> read(final long streamId) {
+    final Path segment = this.segment(streamId);
+    if (!Files.exists(segment)) {
+      return new ArrayList<>();
+    }
+    try {
+      final List<PointDto.Response> points = new ArrayList<>();
+      final long size;
+      final long validEnd;
+      try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+        size = channel.size();
+        validEnd = size < HEADER_BYTES ? 0 : decode(segment, channel, size, points);
+      }
+      if (validEnd < size) {
+        // 쓰다가 끊긴 마지막 레코드를 버려 다음 추가가 이어지도록 한다.
+        // 매핑은 decode 안에서만 참조되므로 여기서는 쓰기 채널만 연다.
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+          channel.truncate(validEnd);
+        }
+      }
+      points.sort(Comparator.comparingLong(PointDto.Response::id));
+      return points;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * 세그먼트를 읽기 전용으로 매핑하여 온전한 레코드를 {@code points}에 담는다.
+   *
+   * @return 마지막 온전한 레코드의 끝 위치
+   */
+  private static long decode(final Path segment, final FileChannel channel, final long size,
+      final List<PointDto.Response> points) throws IOException {
+    if (size > Integer.MAX_VALUE) {
+      throw new IOException("Segment too large: " + segment);
+    }
+    final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+      throw new IOException("Not a point segment: " + segment);
+    }
+    long validEnd = HEADER_BYTES;
+    byte[] chars = new byte[64];
+    while (buffer.remaining() >= Integer.BYTES) {
+      final int length = buffer.getInt();
+      final int end = buffer.position() + length;
+      if (length < FIXED_RECORD_BYTES || length > buffer.remaining()) {
+        break;
+      }
+      final long id = buffer.getLong();
+      final int branchNum = buffer.getInt();
+      final int depth = buffer.getInt();
+      final int itemLength = buffer.getInt();
+      if (itemLength > length - FIXED_RECORD_BYTES) {
+        break;
+      }
+      String itemId = null;
+      if (itemLength >= 0) {
+        if (chars.length < itemLength) {
+          chars = new byte[Math.max(itemLength, chars.length * 2)];
+        }
+        buffer.get(chars, 0, itemLength);
+        itemId = new String(chars, 0, itemLength, StandardCharsets.UTF_8);
+      }
+      points.add(new PointDto.Response(id, branchNum, depth, itemId));
+      buffer.position(end);
+      validEnd = end;
+    }
+    return validEnd;
+  }
+
+  private void write(final long streamId, final Collection<PointDto.Response> points) {
+    if (points.isEmpty()) {
+      return;
+    }
+    final List<byte[]> items = new ArrayList<>(points.size());
+    int bytes = 0;
+    for (final PointDto.Response point : points) {
+      final byte[] item = point.itemId() == null ? null : point.itemId().getBytes(StandardCharsets.UTF_8);
+      items.add(item);
+      bytes += Integer.BYTES + FIXED_RECORD_BYTES + (item == null ? 0 : item.length);
+    }
+    final Path segment = this.segment(streamId);
+    try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      final long size = channel.size();
+      final boolean fresh = size < HEADER_BYTES;
+      final ByteBuffer buffer = ByteBuffer.allocate(bytes + (fresh ? HEADER_BYTES : 0));
+      if (fresh) {
+        buffer.putInt(MAGIC).putInt(VERSION);
+      }
+      int i = 0;
+      for (final PointDto.Response point : points) {
+        final byte[] item = items.get(i++);
+        buffer.putInt(FIXED_RECORD_BYTES + (item == null ? 0 : item.length))
+            .putLong(point.id())
+            .putInt(point.branchNum())
+            .putInt(point.depth())
+            .putInt(item == null ? -1 : item.length);
+        if (item != null) {
+          buffer.put(item);
+        }
+      }
+      buffer.flip();
+      long position = fresh ? 0 : size;
+      if (fresh) {
+        channel.truncate(0);
+      }
+      while (buffer.hasRemaining()) {
+        position += channel.write(buffer, position);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private Path segment(final long streamId) {
+    return this.directory.resolve("stream-" + streamId + ".seg");
+  }
+
+  private ReentrantLock lock(final long streamId) {
+    return this.locks[Math.floorMod(Long.hashCode(streamId), LOCK_STRIPES)];
+  }
+}
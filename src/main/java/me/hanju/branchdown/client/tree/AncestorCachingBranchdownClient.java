@@ -0,0 +1,78 @@
+package me.hanju.branchdown.client.tree;
+
+import java.util.List;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.client.BranchdownClient;
+import me.hanju.branchdown.client.ForwardingBranchdownClient;
+
+/**
+ * {@link #getAncestors(long)} 결과를 캐시하는 {@link BranchdownClient} 데코레이터.
+ *
+ * <p>경로는 {@link AncestorPath}로 저장하며, 새 경로를 만들 때 이미 캐시된 가장 깊은 조상 노드를 재사용한다.
+ * {@link #addPoint(long, String)}가 캐시된 포인트의 자식을 반환하면 부모 경로에 노드 하나만 이어 붙인다.
+ * 캐시 항목 수는 {@code maximumSize}로 제한되며 가장 오래 사용하지 않은 항목부터 제거한다.
+ *
+ * <p>포인트는 생성 후 변경되지 않으므로 만료하지 않는다. 단, 삭제된 스트림의 포인트 경로는 제거 전까지 남아 있다.
+ */
+public class AncestorCachingBranchdownClient extends ForwardingBranchdownClient {
+
+  private final AncestorPathCache paths;
+
+  public AncestorCachingBranchdownClient(final BranchdownClient delegate, final int maximumSize) {
+    super(delegate);
+    this.paths = new AncestorPathCache(maximumSize);
+  }
+
+  /**
+   * 캐시된 경로를 반환하고, 없으면 서버에서 조회하여 캐시한다.
+   *
+   * @param pointId 포인트 ID
+   * @return 경로. 루트 포인트처럼 조상이 없으면 null
+   */
+  public AncestorPath getAncestorPath(final long pointId) {
+    final AncestorPath cached = this.paths.get(pointId);
+    if (cached != null) {
+      return cached;
+    }
+    return this.paths.store(this.delegate().getAncestors(pointId));
+  }
+
+  /** 캐시된 항목 수 */
+  public int cachedSize() {
+    return this.paths.size();
+  }
+
+  // ========== Point API ==========
+
+  @Override
+  public PointDto.Response addPoint(final long parentPointId, final String itemId) {
+    final PointDto.Response point = this.delegate().addPoint(parentPointId, itemId);
+    this.paths.record(parentPointId, point);
+    return point;
+  }
+
+  @Override
+  public List<PointDto.Response> addPoints(final long parentPointId, final List<String> itemIds) {
+    final List<PointDto.Response> points = this.delegate().addPoints(parentPointId, itemIds);
+    long parentId = parentPointId;
+    for (final PointDto.Response point : points) {
+      this.paths.record(parentId, point);
+      parentId = point.id();
+    }
+    return points;
+  }
+
+  @Override
+  public List<PointDto.Response> addChildren(final long parentPointId, final List<String> itemIds) {
+    final List<PointDto.Response> points = this.delegate().addChildren(parentPointId, itemIds);
+    points.forEach(point -> this.paths.record(parentPointId, point));
+    return points;
+  }
+
+  @Override
+  public List<PointDto.Response> getAncestors(final long pointId) {
+    final AncestorPath path = this.getAncestorPath(pointId);
+    return path == null ? List.of() : path.toList();
+  }
+}
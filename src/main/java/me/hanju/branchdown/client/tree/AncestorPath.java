@@ -0,0 +1,147 @@
+package me.hanju.branchdown.client.tree;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import me.hanju.branchdown.api.dto.PointDto;
+
+/**
+ * 루트를 제외한 루트-포인트 경로를 부모 링크로 표현하는 불변 구조.
+ * 자식 경로는 부모 경로를 그대로 참조하므로, 같은 브랜치의 포인트 N개의 경로는 O(N) 노드만 사용한다.
+ *
+ * <p>{@link #point()}가 경로의 마지막(가장 깊은) 포인트이며, {@link #parent()}가 null이면 depth 1 포인트의 경로다.
+ *
+ * <p>노드마다 부모 링크 외에 점프 링크 하나를 두어(skew-binary jump pointer) {@link #ancestor(int)}와
+ * {@link #common(AncestorPath, AncestorPath)}를 경로 길이에 대해 O(log N)에 처리한다.
+ * 점프 대상은 노드의 길이만으로 정해지므로 길이가 같은 두 노드의 점프 대상도 길이가 같다.
+ */
+public final class AncestorPath {
+
+  private final PointDto.Response point;
+  private final AncestorPath parent;
+  private final AncestorPath jump;
+  private final int size;
+
+  private AncestorPath(final PointDto.Response point, final AncestorPath parent) {
+    this.point = point;
+    this.parent = parent;
+    if (parent == null) {
+      this.size = 1;
+      this.jump = this;
+    } else {
+      this.size = parent.size + 1;
+      final AncestorPath up = parent.jump;
+      this.jump = parent.size - up.size == up.size - up.jump.size ? up.jump : parent;
+    }
+  }
+
+  /**
+   * 루트 바로 아래 포인트의 경로를 만든다.
+   *
+   * @param point depth 1 포인트
+   * @return 길이 1인 경로
+   */
+  public static AncestorPath root(final PointDto.Response point) {
+    if (point == null) {
+      throw new IllegalArgumentException("point must not be null");
+    }
+    return new AncestorPath(point, null);
+  }
+
+  /**
+   * 이 경로 끝에 자식 포인트를 이어 붙인 경로를 만든다. 이 경로는 공유된다.
+   *
+   * @param child 자식 포인트
+   * @return 자식 포인트의 경로
+   */
+  public AncestorPath append(final PointDto.Response child) {
+    if (child == null) {
+      throw new IllegalArgumentException("child must not be null");
+    }
+    return new AncestorPath(child, this);
+  }
+
+  public PointDto.Response point() {
+    return this.point;
+  }
+
+  public AncestorPath parent() {
+    return this.parent;
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * 이 경로 위에서 길이가 {@code size}인 조상 경로를 찾는다.
+   *
+   * @param size 조상 경로 길이 (1 이상 {@link #size()} 이하)
+   * @return 조상 경로
+   */
+  public AncestorPath ancestor(final int size) {
+    if (size < 1 || size > this.size) {
+      throw new IllegalArgumentException("size must be between 1 and " + this.size);
+    }
+    AncestorPath current = this;
+    while (current.size > size) {
+      current = current.jump.size >= size ? current.jump : current.parent;
+    }
+    return current;
+  }
+
+  /**
+   * 두 경로가 공유하는 가장 긴 조상 경로를 찾는다. 포인트는 ID로 비교하므로 서로 다른 캐시에서 만든 경로도 비교할 수 있다.
+   *
+   * @param a 경로
+   * @param b 경로
+   * @return 공통 조상 경로. 루트만 공유하면 null
+   */
+  public static AncestorPath common(final AncestorPath a, final AncestorPath b) {
+    if (a == null || b == null) {
+      throw new IllegalArgumentException("paths must not be null");
+    }
+    AncestorPath left = a.size > b.size ? a.ancestor(b.size) : a;
+    AncestorPath right = b.size > a.size ? b.ancestor(a.size) : b;
+    while (!samePoint(left, right)) {
+      if (left.parent == null) {
+        return null;
+      }
+      if (left.jump != left && !samePoint(left.jump, right.jump)) {
+        left = left.jump;
+        right = right.jump;
+      } else {
+        left = left.parent;
+        right = right.parent;
+      }
+    }
+    return left;
+  }
+
+  /**
+   * @return depth 오름차순 포인트 목록 (호출마다 새로 만든 불변 목록)
+   */
+  public List<PointDto.Response> toList() {
+    final PointDto.Response[] points = new PointDto.Response[this.size];
+    AncestorPath current = this;
+    for (int i = this.size - 1; i >= 0; i--) {
+      points[i] = current.point;
+      current = current.parent;
+    }
+    return Collections.unmodifiableList(Arrays.asList(points));
+  }
+
+  /**
+   * @param size 시작 길이
+   * @return 길이가 {@code size}보다 긴 부분의 포인트 목록 (depth 오름차순)
+   */
+  public List<PointDto.Response> toList(final int size) {
+    final List<PointDto.Response> all = this.toList();
+    return size >= this.size ? List.of() : all.subList(Math.max(0, size), this.size);
+  }
+
+  private static boolean samePoint(final AncestorPath a, final AncestorPath b) {
+    return a == b || a.point.id().equals(b.point.id());
+  }
+}
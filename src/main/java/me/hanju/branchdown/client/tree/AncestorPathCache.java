@@ -0,0 +1,82 @@
+package me.hanju.branchdown.client.tree;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import me.hanju.branchdown.api.dto.PointDto;
+
+/**
+ * 포인트 ID별 {@link AncestorPath}를 보관하는 LRU 캐시. 새 경로는 이미 캐시된 가장 깊은 조상 노드를 재사용한다.
+ */
+final class AncestorPathCache {
+
+  private final Map<Long, AncestorPath> paths;
+
+  AncestorPathCache(final int maximumSize) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("maximumSize must be positive");
+    }
+    this.paths = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<Long, AncestorPath> eldest) {
+        return size() > maximumSize;
+      }
+    };
+  }
+
+  AncestorPath get(final long pointId) {
+    synchronized (this.paths) {
+      return this.paths.get(pointId);
+    }
+  }
+
+  int size() {
+    synchronized (this.paths) {
+      return this.paths.size();
+    }
+  }
+
+  /** 부모 경로가 캐시되어 있으면 새 자식 포인트의 경로를 노드 하나로 이어 붙인다. */
+  void record(final long parentPointId, final PointDto.Response point) {
+    if (point == null || point.depth() == null) {
+      return;
+    }
+    synchronized (this.paths) {
+      if (point.depth() == 1) {
+        this.paths.put(point.id(), AncestorPath.root(point));
+      } else {
+        final AncestorPath parent = this.paths.get(parentPointId);
+        if (parent != null) {
+          this.paths.put(point.id(), parent.append(point));
+        }
+      }
+    }
+  }
+
+  /** depth 순으로 정렬된 경로를 캐시된 조상 노드에 이어 붙여 저장한다. 경로 위 모든 포인트가 캐시 항목이 된다. */
+  AncestorPath store(final List<PointDto.Response> points) {
+    if (points == null || points.isEmpty()) {
+      return null;
+    }
+    final List<PointDto.Response> sorted = points.stream()
+        .sorted((a, b) -> Integer.compare(a.depth(), b.depth()))
+        .toList();
+    synchronized (this.paths) {
+      int start = sorted.size();
+      AncestorPath path = null;
+      while (start > 0 && path == null) {
+        path = this.paths.get(sorted.get(--start).id());
+      }
+      if (path == null) {
+        path = AncestorPath.root(sorted.get(0));
+        this.paths.put(path.point().id(), path);
+      }
+      for (int i = start + 1; i < sorted.size(); i++) {
+        path = path.append(sorted.get(i));
+        this.paths.put(path.point().id(), path);
+      }
+      return path;
+    }
+  }
+}
@@ -0,0 +1,143 @@
+package me.hanju.branchdown.client.tree;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.client.AsyncBranchdownClient;
+
+/**
+ * 두 포인트의 공통 조상과 갈라진 구간을 계산한다.
+ *
+ * <p>두 포인트의 조상 경로를 {@link AsyncBranchdownClient#getAncestors(long)}로 동시에 조회하고,
+ * 조회한 경로는 {@link AncestorPath}로 캐시하여 이후 질의에서 재사용한다. 새 경로는 이미 캐시된 가장 깊은 조상 노드에
+ * 이어 붙으므로, 같은 스트림에 대한 질의가 많을수록 공유 구간이 늘고 서버 조회가 줄어든다.
+ * 같은 포인트에 대한 조회가 진행 중이면 새로 요청하지 않고 그 결과를 기다린다.
+ *
+ * <p>공통 조상은 {@link AncestorPath#common(AncestorPath, AncestorPath)}의 점프 링크로 경로 길이에 대해 O(log N)에 찾는다.
+ */
+public class BranchDivergence {
+
+  private final AsyncBranchdownClient client;
+  private final AncestorPathCache paths;
+  private final Map<Long, CompletableFuture<AncestorPath>> pending = new ConcurrentHashMap<>();
+
+  public BranchDivergence(final AsyncBranchdownClient client, final int maximumSize) {
+    if (client == null) {
+      throw new IllegalArgumentException("client must not be null");
+    }
+    this.client = client;
+    this.paths = new AncestorPathCache(maximumSize);
+  }
+
+  /**
+   * 두 포인트의 가장 깊은 공통 조상을 찾는다. 한 포인트가 다른 포인트의 조상이면 그 포인트가 결과다.
+   *
+   * @param pointA 포인트 ID
+   * @param pointB 포인트 ID
+   * @return 공통 조상 포인트. 루트만 공유하면 null로 완료
+   */
+  public CompletableFuture<PointDto.Response> commonAncestor(final long pointA, final long pointB) {
+    return this.diverge(pointA, pointB).thenApply(Divergence::fork);
+  }
+
+  /**
+   * 두 포인트의 공통 조상과 그 이후 각자에게만 있는 구간을 계산한다.
+   *
+   * @param pointA 포인트 ID
+   * @param pointB 포인트 ID
+   * @return 갈라짐 정보
+   */
+  public CompletableFuture<Divergence> diverge(final long pointA, final long pointB) {
+    final CompletableFuture<AncestorPath> pathA = this.path(pointA);
+    final CompletableFuture<AncestorPath> pathB = pointA == pointB ? pathA : this.path(pointB);
+    return pathA.thenCombine(pathB, BranchDivergence::diverge);
+  }
+
+  /**
+   * 캐시된 경로를 반환하고, 없으면 서버에서 조회하여 캐시한다.
+   *
+   * @param pointId 포인트 ID
+   * @return 경로. 루트 포인트처럼 조상이 없으면 null로 완료
+   */
+  public CompletableFuture<AncestorPath> getAncestorPath(final long pointId) {
+    return this.path(pointId);
+  }
+
+  /** 캐시된 항목 수 */
+  public int cachedSize() {
+    return this.paths.size();
+  }
+
+  /**
+   * 새로 추가한 포인트를 알린다. 부모 경로가 캐시되어 있으면 서버 조회 없이 경로를 이어 붙인다.
+   *
+   * @param parentPointId 부모 포인트 ID
+   * @param point 추가된 포인트
+   */
+  public void record(final long parentPointId, final PointDto.Response point) {
+    this.paths.record(parentPointId, point);
+  }
+
+  // ========== Helper Methods ==========
+
+  private CompletableFuture<AncestorPath> path(final long pointId) {
+    final AncestorPath cached = this.paths.get(pointId);
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached);
+    }
+    final CompletableFuture<AncestorPath> created = new CompletableFuture<>();
+    final CompletableFuture<AncestorPath> existing = this.pending.putIfAbsent(pointId, created);
+    if (existing != null) {
+      return existing;
+    }
+    final CompletableFuture<List<PointDto.Response>> ancestors;
+    try {
+      ancestors = this.client.getAncestors(pointId);
+    } catch (RuntimeException e) {
+      // 동기 예외로 끝나도 같은 포인트를 기다리는 호출이 멈추지 않도록 대기 항목을 정리한다
+      this.pending.remove(pointId, created);
+      created.completeExceptionally(e);
+      return created;
+    }
+    ancestors.whenComplete((points, e) -> {
+      if (e != null) {
+        this.pending.remove(pointId, created);
+        created.completeExceptionally(e);
+        return;
+      }
+      final AncestorPath path;
+      try {
+        path = this.paths.store(points);
+      } catch (RuntimeException failure) {
+        this.pending.remove(pointId, created);
+        created.completeExceptionally(failure);
+        return;
+      }
+      this.pending.remove(pointId, created);
+      created.complete(path);
+    });
+    return created;
+  }
+
+  private static Divergence diverge(final AncestorPath a, final AncestorPath b) {
+    final AncestorPath fork = a == null || b == null ? null : AncestorPath.common(a, b);
+    final int shared = fork == null ? 0 : fork.size();
+    return new Divergence(
+        fork == null ? null : fork.point(),
+        a == null ? List.of() : a.toList(shared),
+        b == null ? List.of() : b.toList(shared));
+  }
+
+  /**
+   * 두 포인트의 갈라짐 정보.
+   *
+   * @param fork 가장 깊은 공통 조상 포인트. 루트만 공유하면 null
+   * @param onlyA 공통 조상 이후 A 경로에만 있는 포인트 (depth 오름차순, A 포함)
+   * @param onlyB 공통 조상 이후 B 경로에만 있는 포인트 (depth 오름차순, B 포함)
+   */
+  public record Divergence(PointDto.Response fork, List<PointDto.Response> onlyA, List<PointDto.Response> onlyB) {
+  }
+}
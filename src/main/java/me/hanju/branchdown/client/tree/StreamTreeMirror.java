@@ -0,0 +1,313 @@
+package me.hanju.branchdown.client.tree;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.client.BranchdownClient;
+
+/**
+ * 스트림 하나의 포인트 트리를 클라이언트 메모리에 복제하여 조상/브랜치 조회를 네트워크 왕복 없이 처리한다.
+ *
+ * <p>포인트는 생성 후 변경되지 않는다. 자식이 없는 부모 아래에 추가된 포인트는 부모의 브랜치를 잇고,
+ * 이미 자식이 있는 부모 아래에 추가된 포인트는 새 브랜치를 시작한다. 따라서 각 브랜치는 depth가 연속된
+ * 하나의 체인이고, 브랜치 안에서의 부모는 바로 앞 depth의 포인트다. 미러는 브랜치별 체인과
+ * 브랜치 시작 포인트의 부모(분기점)만 저장한다.
+ *
+ * <p>스냅샷만으로 분기점을 확정할 수 없는 브랜치는 처음 지나갈 때 {@code getAncestors} 한 번으로 확인한 뒤 계속 재사용한다.
+ * 미러에 없는 포인트의 조상 조회와 미러에 없는 브랜치 조회는 서버로 위임한다.
+ * 다른 클라이언트가 추가한 포인트는 {@link #refresh()} 전까지 반영되지 않는다.
+ *
+ * <p>스레드 안전하다.
+ */
+public final class StreamTreeMirror {
+
+  private final BranchdownClient client;
+  private final long streamId;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<Long, PointDto.Response> points = new HashMap<>();
+  private final Map<Integer, Branch> branches = new HashMap<>();
+  private PointDto.Response root;
+
+  private StreamTreeMirror(final BranchdownClient client, final long streamId) {
+    this.client = client;
+    this.streamId = streamId;
+  }
+
+  /**
+   * 스트림의 포인트 스냅샷을 한 번 조회하여 미러를 만든다.
+   *
+   * @param client 포인트 조회/추가에 사용할 클라이언트
+   * @param streamId 스트림 ID
+   * @return 미러
+   */
+  public static StreamTreeMirror load(final BranchdownClient client, final long streamId) {
+    if (client == null) {
+      throw new IllegalArgumentException("client must not be null");
+    }
+    final StreamTreeMirror mirror = new StreamTreeMirror(client, streamId);
+    mirror.refresh();
+    return mirror;
+  }
+
+  public long streamId() {
+    return this.streamId;
+  }
+
+  /**
+   * @return 미러에 있는 포인트 수 (루트 포함)
+   */
+  public int size() {
+    this.lock.readLock().lock();
+    try {
+      return this.points.size();
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @param pointId 포인트 ID
+   * @return 미러에 있는 포인트
+   */
+  public Optional<PointDto.Response> getPoint(final long pointId) {
+    this.lock.readLock().lock();
+    try {
+      return Optional.ofNullable(this.points.get(pointId));
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * 스트림 포인트를 다시 조회하여 미러에 없는 포인트를 반영한다.
+   * 포인트는 변경되지 않으므로 이미 있는 포인트는 그대로 둔다.
+   */
+  public void refresh() {
+    final List<PointDto.Response> snapshot = new ArrayList<>();
+    this.client.forEachStreamPoint(this.streamId, snapshot::add);
+    snapshot.sort(Comparator.comparingInt(PointDto.Response::depth));
+
+    this.lock.writeLock().lock();
+    try {
+      for (final PointDto.Response point : snapshot) {
+        this.index(point);
+      }
+      this.resolveForksFromSnapshot();
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  // ========== Point API ==========
+
+  /**
+   * 포인트를 추가하고 결과를 미러에 반영한다.
+   *
+   * @param parentPointId 부모 포인트 ID
+   * @param itemId 아이템 ID (null 불가)
+   * @return 생성된 포인트 정보
+   * @see BranchdownClient#addPoint(long, String)
+   */
+  public PointDto.Response addPoint(final long parentPointId, final String itemId) {
+    final PointDto.Response point = this.client.addPoint(parentPointId, itemId);
+    this.record(parentPointId, point);
+    return point;
+  }
+
+  /**
+   * 다른 경로(비동기 클라이언트 등)로 추가한 포인트를 미러에 반영한다.
+   * 부모가 미러에 없으면 무시한다.
+   *
+   * @param parentPointId 부모 포인트 ID
+   * @param point 생성된 포인트
+   */
+  public void record(final long parentPointId, final PointDto.Response point) {
+    if (point == null) {
+      throw new IllegalArgumentException("point must not be null");
+    }
+    this.lock.writeLock().lock();
+    try {
+      final PointDto.Response parent = this.points.get(parentPointId);
+      if (parent != null) {
+        this.link(parent, point);
+      }
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * 포인트의 조상 포인트들을 조회한다. 서버와 같이 루트는 제외하고 자신은 포함하며, depth 오름차순이다.
+   * 미러에 없는 포인트이거나 분기점을 모르는 브랜치를 지나는 경우에만 서버에 조회하고 결과를 미러에 반영한다.
+   *
+   * @param pointId 포인트 ID
+   * @return 조상 포인트 목록
+   */
+  public List<PointDto.Response> getAncestors(final long pointId) {
+    this.lock.readLock().lock();
+    try {
+      final List<PointDto.Response> path = this.walk(pointId);
+      if (path != null) {
+        return path;
+      }
+    } finally {
+      this.lock.readLock().unlock();
+    }
+
+    final List<PointDto.Response> fetched = new ArrayList<>(this.client.getAncestors(pointId));
+    fetched.sort(Comparator.comparingInt(PointDto.Response::depth));
+    this.lock.writeLock().lock();
+    try {
+      this.ingestPath(fetched);
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+    return fetched;
+  }
+
+  /**
+   * 특정 브랜치에 속한 포인트를 depth 오름차순으로 조회한다. 미러에 없는 브랜치는 서버로 위임한다.
+   *
+   * @param branchNum 브랜치 번호
+   * @param depth 조회할 시작 depth (해당 depth 이후의 포인트만 반환)
+   * @return 포인트 목록
+   */
+  public List<PointDto.Response> getBranchPoints(final int branchNum, final int depth) {
+    this.lock.readLock().lock();
+    try {
+      final Branch branch = this.branches.get(branchNum);
+      if (branch != null) {
+        final int from = Math.max(0, depth + 1 - branch.headDepth);
+        return from >= branch.chain.size()
+            ? new ArrayList<>()
+            : new ArrayList<>(branch.chain.subList(from, branch.chain.size()));
+      }
+    } finally {
+      this.lock.readLock().unlock();
+    }
+    return this.client.getBranchPoints(this.streamId, branchNum, depth);
+  }
+
+  // ========== Helper Methods ==========
+
+  /** 루트 방향으로 거슬러 올라가며 경로를 만든다. 분기점을 모르는 브랜치를 만나면 null. */
+  private List<PointDto.Response> walk(final long pointId) {
+    PointDto.Response current = this.points.get(pointId);
+    if (current == null) {
+      return null;
+    }
+    final List<PointDto.Response> path = new ArrayList<>(current.depth());
+    while (current.depth() > 0) {
+      path.add(current);
+      final Branch branch = this.branches.get(current.branchNum());
+      current = current.depth() > branch.headDepth ? branch.at(current.depth() - 1) : branch.forkParent;
+      if (current == null) {
+        return null;
+      }
+    }
+    Collections.reverse(path);
+    return path;
+  }
+
+  /** 루트에서 시작하는 depth 오름차순 경로를 반영한다. 경로 위의 모든 분기점이 확정된다. */
+  private void ingestPath(final List<PointDto.Response> path) {
+    PointDto.Response parent = this.root;
+    for (final PointDto.Response point : path) {
+      if (parent != null) {
+        this.link(parent, point);
+      } else {
+        this.index(point);
+      }
+      parent = point;
+    }
+  }
+
+  /** 부모가 확인된 포인트를 반영한다. 새 브랜치의 시작이면 분기점을 기록한다. */
+  private void link(final PointDto.Response parent, final PointDto.Response point) {
+    this.index(point);
+    final Branch branch = this.branches.get(point.branchNum());
+    if (branch != null
+        && branch.forkParent == null
+        && branch.headDepth > 0
+        && branch.head().id().equals(point.id())
+        && parent.depth() == point.depth() - 1) {
+      branch.forkParent = parent;
+    }
+  }
+
+  /**
+   * 포인트를 브랜치 체인 끝에 붙인다.
+   * 체인 중간이 비어 위치를 확정할 수 없는 포인트는 색인하지 않고 서버 조회에 맡긴다.
+   */
+  private void index(final PointDto.Response point) {
+    if (this.points.containsKey(point.id())) {
+      return;
+    }
+    final Branch branch = this.branches.get(point.branchNum());
+    if (branch == null) {
+      final Branch created = new Branch(point.depth());
+      created.chain.add(point);
+      this.branches.put(point.branchNum(), created);
+    } else if (point.depth() == branch.tipDepth() + 1) {
+      branch.chain.add(point);
+    } else {
+      return;
+    }
+    this.points.put(point.id(), point);
+    if (point.depth() == 0) {
+      this.root = point;
+    }
+  }
+
+  /**
+   * 전체 스냅샷을 반영한 직후 분기점을 추론한다.
+   * 분기점은 시작 포인트보다 depth가 1 작은 포인트 중 하나이므로, 그 depth의 포인트가 하나뿐이면 그것이 분기점이다.
+   */
+  private void resolveForksFromSnapshot() {
+    final Map<Integer, PointDto.Response> soleAtDepth = new HashMap<>();
+    final Map<Integer, Integer> countAtDepth = new HashMap<>();
+    for (final PointDto.Response point : this.points.values()) {
+      soleAtDepth.put(point.depth(), point);
+      countAtDepth.merge(point.depth(), 1, Integer::sum);
+    }
+    for (final Branch branch : this.branches.values()) {
+      if (branch.forkParent == null && branch.headDepth > 0
+          && countAtDepth.getOrDefault(branch.headDepth - 1, 0) == 1) {
+        branch.forkParent = soleAtDepth.get(branch.headDepth - 1);
+      }
+    }
+  }
+
+  private static final class Branch {
+
+    private final int headDepth;
+    private final List<PointDto.Response> chain = new ArrayList<>();
+    /** 브랜치 시작 포인트의 부모. 루트 브랜치이거나 아직 확인하지 못한 경우 null. */
+    private PointDto.Response forkParent;
+
+    private Branch(final int headDepth) {
+      this.headDepth = headDepth;
+    }
+
+    private PointDto.Response head() {
+      return this.chain.get(0);
+    }
+
+    private PointDto.Response at(final int depth) {
+      final int index = depth - this.headDepth;
+      return index >= 0 && index < this.chain.size() ? this.chain.get(index) : null;
+    }
+
+    private int tipDepth() {
+      return this.headDepth + this.chain.size() - 1;
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package me.hanju.branchdown.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.client.exception.BranchdownClientException;
+import me.hanju.branchdown.client.exception.BranchdownException;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * 비동기/Reactor 클라이언트 테스트.
+ * MockWebServer를 스텁 서버로 사용.
+ */
+class AsyncBranchdownClientTest {
+
+  private static final String ANCESTORS_BODY = """
+      {"success":true,"message":null,"data":[
+        {"id":2,"branchNum":0,"depth":1,"itemId":"item-001"},
+        {"id":3,"branchNum":0,"depth":2,"itemId":"item-002"}]}
+      """;
+
+  private MockWebServer server;
+  private String baseUrl;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = new MockWebServer();
+    server.start();
+    baseUrl = server.url("/").toString();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  @Test
+  void okHttp_getAncestors_shouldCompleteWithPoints() throws Exception {
+    // given
+    server.enqueue(json(ANCESTORS_BODY));
+    AsyncBranchdownClient client = new OkHttpAsyncBranchdownClient(new OkHttpClient(), baseUrl);
+
+    // when
+    List<PointDto.Response> ancestors = client.getAncestors(3L).get(5, TimeUnit.SECONDS);
+
+    // then
+    assertEquals(2, ancestors.size());
+    assertEquals("item-002", ancestors.get(1).itemId());
+    RecordedRequest request = server.takeRequest();
+    assertEquals("/api/points/3/ancestors", request.getPath());
+  }
+
+  @Test
+  void okHttp_errorResponse_shouldCompleteExceptionally() {
+    // given
+    server.enqueue(json("{\"success\":false,\"message\":\"not found\",\"data\":null}"));
+    AsyncBranchdownClient client = new OkHttpAsyncBranchdownClient(new OkHttpClient(), baseUrl);
+
+    // when
+    CompletableFuture<?> future = client.getStream(999L);
+
+    // then
+    ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+    assertInstanceOf(BranchdownException.class, e.getCause());
+    assertEquals("not found", e.getCause().getMessage());
+  }
+
+  @Test
+  void okHttp_malformedBody_shouldCompleteWithClientException() {
+    // given
+    server.enqueue(json("not-json"));
+    AsyncBranchdownClient client = new OkHttpAsyncBranchdownClient(new OkHttpClient(), baseUrl);
+
+    // when
+    CompletableFuture<?> future = client.getStreamPoints(1L);
+
+    // then
+    ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+    assertInstanceOf(BranchdownClientException.class, e.getCause());
+  }
+
+  @Test
+  void okHttp_addPoint_withNullItemId_shouldThrowImmediately() {
+    AsyncBranchdownClient client = new OkHttpAsyncBranchdownClient(new OkHttpClient(), baseUrl);
+
+    assertThrows(IllegalArgumentException.class, () -> client.addPoint(1L, null));
+  }
+
+  @Test
+  void webClient_getAncestors_shouldEmitPoints() throws Exception {
+    // given
+    server.enqueue(json(ANCESTORS_BODY));
+    ReactiveBranchdownClient client = new WebClientReactiveBranchdownClient(WebClient.builder(), baseUrl);
+
+    // when
+    List<PointDto.Response> ancestors = client.getAncestors(3L).collectList().toFuture().get(5, TimeUnit.SECONDS);
+
+    // then
+    assertEquals(2, ancestors.size());
+    assertEquals(2L, ancestors.get(0).id());
+  }
+
+  @Test
+  void webClient_async_errorResponse_shouldCompleteExceptionally() {
+    // given
+    server.enqueue(json("{\"success\":false,\"message\":\"not found\",\"data\":null}"));
+    AsyncBranchdownClient client = new WebClientAsyncBranchdownClient(WebClient.builder(), baseUrl);
+
+    // when
+    CompletableFuture<?> future = client.getStream(999L);
+
+    // then
+    ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+    assertInstanceOf(BranchdownException.class, e.getCause());
+  }
+
+  private static MockResponse json(final String body) {
+    return new MockResponse().setHeader("Content-Type", "application/json").setBody(body);
+  }
+}
@@ -0,0 +1,117 @@
+package me.hanju.branchdown.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * 포인트 일괄 추가 테스트.
+ */
+class BatchAddPointTest {
+
+  private MockWebServer server;
+  private String baseUrl;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    // 요청마다 새 ID를 부여하고 부모 ID를 depth 자리에 돌려주는 스텁
+    final AtomicLong nextId = new AtomicLong(100);
+    server = new MockWebServer();
+    server.setDispatcher(new Dispatcher() {
+      @Override
+      public MockResponse dispatch(final RecordedRequest request) {
+        final String parentId = request.getPath().split("/")[3];
+        return new MockResponse().setHeader("Content-Type", "application/json")
+            .setBody("{\"success\":true,\"data\":{\"id\":" + nextId.incrementAndGet()
+                + ",\"branchNum\":0,\"depth\":" + parentId + ",\"itemId\":\"x\"}}");
+      }
+    });
+    server.start();
+    baseUrl = server.url("/").toString();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  @Test
+  void addPoints_shouldChainEachPointUnderThePreviousOne() {
+    // given
+    FakeBranchdownClient fake = new FakeBranchdownClient();
+    long streamId = fake.createStream();
+    long rootId = fake.getStream(streamId).rootPointId();
+
+    // when
+    List<PointDto.Response> created = fake.addPoints(rootId, List.of("a", "b", "c"));
+
+    // then
+    assertEquals(List.of(1, 2, 3), created.stream().map(PointDto.Response::depth).toList());
+    assertEquals(created, fake.getAncestors(created.get(2).id()));
+  }
+
+  @Test
+  void addChildren_shouldCreateSiblingsInItemOrder() {
+    // given
+    FakeBranchdownClient fake = new FakeBranchdownClient();
+    long streamId = fake.createStream();
+    long rootId = fake.getStream(streamId).rootPointId();
+
+    // when
+    List<PointDto.Response> created = fake.addChildren(rootId, List.of("a", "b", "c"));
+
+    // then
+    assertEquals(List.of("a", "b", "c"), created.stream().map(PointDto.Response::itemId).toList());
+    assertTrue(created.stream().allMatch(point -> point.depth() == 1));
+  }
+
+  @Test
+  void okHttp_addChildren_shouldSendEveryRequestToTheSameParent() throws InterruptedException {
+    // given
+    BranchdownClient client = new OkHttpBranchdownClient(new OkHttpClient(), baseUrl);
+
+    // when
+    List<PointDto.Response> created = client.addChildren(7L, List.of("a", "b", "c", "d"));
+
+    // then
+    assertEquals(4, created.size());
+    for (int i = 0; i < 4; i++) {
+      assertEquals("/api/points/7/down", server.takeRequest(1, TimeUnit.SECONDS).getPath());
+    }
+  }
+
+  @Test
+  void okHttp_async_addPoints_shouldUsePreviousIdAsParent() throws Exception {
+    // given
+    AsyncBranchdownClient client = new OkHttpAsyncBranchdownClient(new OkHttpClient(), baseUrl);
+
+    // when
+    List<PointDto.Response> created = client.addPoints(7L, List.of("a", "b")).get(5, TimeUnit.SECONDS);
+
+    // then
+    assertEquals("/api/points/7/down", server.takeRequest().getPath());
+    assertEquals("/api/points/" + created.get(0).id() + "/down", server.takeRequest().getPath());
+  }
+
+  @Test
+  void addChildren_withNullItem_shouldThrow() {
+    BranchdownClient client = new OkHttpBranchdownClient(new OkHttpClient(), baseUrl);
+
+    assertThrows(IllegalArgumentException.class, () -> client.addChildren(1L, Arrays.asList("a", null)));
+  }
+}
@@ -0,0 +1,137 @@
+package me.hanju.branchdown.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import me.hanju.branchdown.api.dto.PointDto;
+
+/**
+ * 브랜치 증분 폴링 테스트.
+ */
+class BranchFollowerTest {
+
+  private FakeBranchdownClient server;
+  private BranchFollower follower;
+  private long streamId;
+  private long rootId;
+
+  @BeforeEach
+  void setUp() {
+    server = new FakeBranchdownClient();
+    streamId = server.createStream();
+    rootId = server.getStream(streamId).rootPointId();
+    follower = new BranchFollower(new FakeAsyncBranchdownClient(server), Duration.ofMillis(5), Duration.ofMillis(40), 4);
+  }
+
+  @AfterEach
+  void tearDown() {
+    follower.close();
+  }
+
+  @Test
+  void newPoints_shouldBeDeliveredOnceInDepthOrder() throws Exception {
+    // given
+    PointDto.Response first = server.addPoint(rootId, "a");
+    List<String> received = new CopyOnWriteArrayList<>();
+    BranchFollower.Subscription subscription = follower.follow(streamId, 0, 0,
+        (stream, branch, points) -> points.forEach(point -> received.add(point.itemId())));
+    await(() -> received.size() == 1);
+
+    // when
+    PointDto.Response second = server.addPoint(first.id(), "b");
+    server.addPoint(second.id(), "c");
+    await(() -> received.size() == 3);
+    Thread.sleep(50);
+
+    // then
+    assertEquals(List.of("a", "b", "c"), received);
+    assertEquals(3, subscription.depth());
+  }
+
+  @Test
+  void startDepth_shouldSkipKnownPoints() {
+    // given
+    PointDto.Response first = server.addPoint(rootId, "a");
+    server.addPoint(first.id(), "b");
+    List<String> received = new CopyOnWriteArrayList<>();
+
+    // when
+    follower.follow(streamId, 0, 1, (stream, branch, points) -> points.forEach(point -> received.add(point.itemId())));
+    await(() -> !received.isEmpty());
+
+    // then
+    assertEquals(List.of("b"), received);
+  }
+
+  @Test
+  void idleBranch_shouldBackOff() throws Exception {
+    // given
+    follower.follow(streamId, 0, 0, (stream, branch, points) -> {
+    });
+
+    // when
+    Thread.sleep(300);
+
+    // then: 5ms 고정이면 60회, 40ms까지 물러나면 10회 남짓
+    int polls = server.calls("getBranchPoints");
+    assertTrue(polls > 1 && polls < 20, "polls=" + polls);
+  }
+
+  @Test
+  void closedSubscription_shouldStopPolling() throws Exception {
+    // given
+    BranchFollower.Subscription subscription = follower.follow(streamId, 0, 0, (stream, branch, points) -> {
+    });
+    await(() -> server.calls("getBranchPoints") > 0);
+
+    // when
+    subscription.close();
+    Thread.sleep(60);
+    int polls = server.calls("getBranchPoints");
+    Thread.sleep(100);
+
+    // then
+    assertEquals(0, follower.followed());
+    assertEquals(polls, server.calls("getBranchPoints"));
+  }
+
+  @Test
+  void failures_shouldBeReportedAndPollingContinues() {
+    // given
+    List<Throwable> errors = new CopyOnWriteArrayList<>();
+
+    // when
+    follower.follow(999L, 0, 0, new BranchFollower.Listener() {
+      @Override
+      public void onPoints(final long stream, final int branch, final List<PointDto.Response> points) {
+      }
+
+      @Override
+      public void onError(final long stream, final int branch, final Throwable error) {
+        errors.add(error);
+      }
+    });
+    await(() -> errors.size() >= 2);
+
+    // then
+    assertEquals("Stream not found: 999", errors.get(0).getMessage());
+  }
+
+  private static void await(final BooleanSupplier condition) {
+    final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (!condition.getAsBoolean()) {
+      if (System.nanoTime() > deadline) {
+        fail("condition not met in time");
+      }
+      Thread.onSpinWait();
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package me.hanju.branchdown.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.api.dto.StreamDto;
+import me.hanju.branchdown.client.exception.BranchdownClientException;
+import me.hanju.branchdown.client.exception.BranchdownException;
+
+/**
+ * 일괄 조회/삭제 테스트.
+ */
+class BulkOperationsTest {
+
+  private FakeBranchdownClient server;
+  private List<Long> streamIds;
+
+  @BeforeEach
+  void setUp() {
+    server = new FakeBranchdownClient();
+    streamIds = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      streamIds.add(server.createStream());
+    }
+  }
+
+  @Test
+  void getStreams_shouldReturnPerItemResultsInInputOrder() {
+    // given
+    List<Long> ids = new ArrayList<>(streamIds);
+    ids.add(1, 999L);
+
+    // when
+    BulkResult<StreamDto.Response> result = server.getStreams(ids, 4);
+
+    // then: 없는 스트림은 실패로 담기고 나머지는 계속 조회됨
+    assertEquals(11, result.size());
+    assertEquals(streamIds, List.copyOf(result.values().keySet()));
+    assertEquals(streamIds.get(3), result.get(streamIds.get(3)).id());
+    assertInstanceOf(BranchdownException.class, result.failures().get(999L));
+    assertThrows(BranchdownException.class, () -> result.get(999L));
+  }
+
+  @Test
+  void getStreamPointsBulk_shouldSkipDuplicates() {
+    // given
+    long rootId = server.getStream(streamIds.get(0)).rootPointId();
+    PointDto.Response a = server.addPoint(rootId, "a");
+    server.resetCalls();
+
+    // when
+    BulkResult<List<PointDto.Response>> result = server.getStreamPointsBulk(
+        List.of(streamIds.get(0), streamIds.get(0), streamIds.get(1)));
+
+    // then
+    assertEquals(2, result.size());
+    assertEquals(2, server.calls("getStreamPoints"));
+    assertTrue(result.get(streamIds.get(0)).contains(a));
+    assertFalse(result.hasFailures());
+  }
+
+  @Test
+  void deleteStreams_shouldDeleteAllAndBoundParallelism() {
+    // given: 동시 실행 수를 기록하는 클라이언트
+    AtomicInteger active = new AtomicInteger();
+    AtomicInteger peak = new AtomicInteger();
+    BranchdownClient client = new ForwardingBranchdownClient(server) {
+      @Override
+      public void deleteStream(final long streamId) {
+        peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+        try {
+          Thread.sleep(20);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        active.decrementAndGet();
+        super.deleteStream(streamId);
+      }
+    };
+
+    // when
+    BulkResult<Void> result = client.deleteStreams(streamIds, 3);
+
+    // then
+    assertFalse(result.hasFailures());
+    assertEquals(10, server.calls("deleteStream"));
+    assertTrue(peak.get() > 1 && peak.get() <= 3, "peak=" + peak.get());
+    assertTrue(server.getStreams(streamIds).values().isEmpty());
+  }
+
+  @Test
+  void interruptedCaller_shouldCancelWholeBatch() throws Exception {
+    // given: 모든 조회가 풀려날 때까지 대기
+    CountDownLatch entered = new CountDownLatch(2);
+    AtomicInteger cancelled = new AtomicInteger();
+    BranchdownClient client = new ForwardingBranchdownClient(server) {
+      @Override
+      public StreamDto.Response getStream(final long streamId) {
+        entered.countDown();
+        try {
+          Thread.sleep(60_000);
+        } catch (InterruptedException e) {
+          cancelled.incrementAndGet();
+          throw new BranchdownClientException("Request interrupted", e);
+        }
+        return super.getStream(streamId);
+      }
+    };
+    AtomicReference<Throwable> thrown = new AtomicReference<>();
+    Thread caller = Thread.ofPlatform().start(() -> {
+      try {
+        client.getStreams(streamIds, 2);
+      } catch (RuntimeException e) {
+        thrown.set(e);
+      }
+    });
+    assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+    // when
+    caller.interrupt();
+    caller.join(5_000);
+
+    // then: 호출이 끝난 시점에 진행 중이던 요청은 모두 취소됨
+    assertFalse(caller.isAlive());
+    assertInstanceOf(BranchdownClientException.class, thrown.get());
+    assertEquals(2, cancelled.get());
+    assertEquals(0, server.calls("getStream"));
+  }
+
+  @Test
+  void invalidArguments_shouldBeRejected() {
+    assertThrows(IllegalArgumentException.class, () -> server.getStreams(null));
+    assertThrows(IllegalArgumentException.class, () -> server.getStreams(streamIds, 0));
+    assertTrue(server.getStreams(List.of()).values().isEmpty());
+  }
+}
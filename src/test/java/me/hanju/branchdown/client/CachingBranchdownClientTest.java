@@ -0,0 +1,171 @@
+package me.hanju.branchdown.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.client.exception.BranchdownException;
+
+/**
+ * 조회 캐시 테스트.
+ */
+class CachingBranchdownClientTest {
+
+  private FakeBranchdownClient server;
+  private CachingBranchdownClient client;
+  private long streamId;
+  private long rootId;
+
+  @BeforeEach
+  void setUp() {
+    server = new FakeBranchdownClient();
+    client = new CachingBranchdownClient(server, 1_000);
+    streamId = server.createStream();
+    rootId = server.getStream(streamId).rootPointId();
+    server.resetCalls();
+  }
+
+  @Test
+  void repeatedReads_shouldHitCache() {
+    // when
+    client.getStream(streamId);
+    client.getStream(streamId);
+    client.getStreamPoints(streamId);
+    client.getStreamPoints(streamId);
+    client.getBranchPoints(streamId, 0, 0);
+    client.getBranchPoints(streamId, 0, 0);
+
+    // then
+    assertEquals(1, server.calls("getStream"));
+    assertEquals(1, server.calls("getStreamPoints"));
+    assertEquals(1, server.calls("getBranchPoints"));
+    assertEquals(3, client.cachedSize());
+  }
+
+  @Test
+  void addPoint_shouldAppendToCachedListsWithoutRefetch() {
+    // given: 스트림 목록, 브랜치 0 목록, 아직 없는 브랜치 1 목록을 캐시
+    PointDto.Response a = client.addPoint(rootId, "a");
+    client.getStreamPoints(streamId);
+    client.getBranchPoints(streamId, 0, 0);
+    client.getBranchPoints(streamId, 1, 0);
+    server.resetCalls();
+
+    // when: 브랜치 0을 잇는 b, 새 브랜치 1을 만드는 c
+    client.addPoint(a.id(), "b");
+    client.addPoint(rootId, "c");
+
+    // then
+    assertEquals(server.getStreamPoints(streamId), client.getStreamPoints(streamId));
+    assertEquals(server.getBranchPoints(streamId, 0, 0), client.getBranchPoints(streamId, 0, 0));
+    assertEquals(server.getBranchPoints(streamId, 1, 0), client.getBranchPoints(streamId, 1, 0));
+    assertEquals(1, server.calls("getStreamPoints"));
+    assertEquals(2, server.calls("getBranchPoints"));
+  }
+
+  @Test
+  void addChildren_withOutOfOrderIds_shouldKeepStreamListSortedById() {
+    // given: 형제를 동시에 보내 itemIds 순서와 ID 순서가 다른 구현체
+    BranchdownClient concurrent = new ForwardingBranchdownClient(server) {
+      @Override
+      public List<PointDto.Response> addChildren(final long parentPointId, final List<String> itemIds) {
+        return server.addChildren(parentPointId, itemIds.reversed()).reversed();
+      }
+    };
+    CachingBranchdownClient caching = new CachingBranchdownClient(concurrent, 1_000);
+    caching.getStreamPoints(streamId);
+
+    // when
+    List<PointDto.Response> children = caching.addChildren(rootId, List.of("a", "b", "c"));
+
+    // then
+    assertTrue(children.get(0).id() > children.get(2).id());
+    assertEquals(server.getStreamPoints(streamId), caching.getStreamPoints(streamId));
+  }
+
+  @Test
+  void addPoints_shouldKeepDepthFilterOfCachedBranchList() {
+    // given
+    PointDto.Response a = client.addPoint(rootId, "a");
+    client.getStreamPoints(streamId);
+    client.getBranchPoints(streamId, 0, 3);
+
+    // when: depth 2, 3, 4
+    client.addPoints(a.id(), List.of("b", "c", "d"));
+
+    // then
+    List<PointDto.Response> branch = client.getBranchPoints(streamId, 0, 3);
+    assertEquals(List.of("d"), branch.stream().map(PointDto.Response::itemId).toList());
+    assertEquals(server.getBranchPoints(streamId, 0, 3), branch);
+  }
+
+  @Test
+  void addPoint_underUnknownParent_shouldInvalidateMatchingBranchLists() {
+    // given: 부모 스트림을 모르는 상태에서 브랜치 목록만 캐시
+    PointDto.Response a = server.addPoint(rootId, "a");
+    client.getBranchPoints(streamId, 0, 1);
+    server.resetCalls();
+
+    // when
+    client.addPoint(a.id(), "b");
+
+    // then
+    assertEquals(server.getBranchPoints(streamId, 0, 1), client.getBranchPoints(streamId, 0, 1));
+    assertEquals(2, server.calls("getBranchPoints"));
+  }
+
+  @Test
+  void deleteStream_shouldInvalidateAllEntriesOfStream() {
+    // given
+    client.getStream(streamId);
+    client.getStreamPoints(streamId);
+    client.getBranchPoints(streamId, 0, 0);
+
+    // when
+    client.deleteStream(streamId);
+
+    // then
+    assertEquals(0, client.cachedSize());
+    assertThrows(BranchdownException.class, () -> client.getStream(streamId));
+  }
+
+  @Test
+  void oneOffScan_shouldNotEvictFrequentlyReadStream() {
+    // given: 가중치 한도 20, 자주 읽는 스트림 (포인트 4개 -> 가중치 5)
+    CachingBranchdownClient small = new CachingBranchdownClient(server, 20);
+    small.addPoints(rootId, List.of("a", "b", "c"));
+    for (int i = 0; i < 5; i++) {
+      small.getStreamPoints(streamId);
+    }
+
+    // when: 한 번씩만 읽는 스트림 30개 (각 가중치 2)
+    for (int i = 0; i < 30; i++) {
+      small.getStreamPoints(server.createStream());
+    }
+    server.resetCalls();
+    small.getStreamPoints(streamId);
+
+    // then
+    assertEquals(0, server.calls("getStreamPoints"));
+    assertTrue(small.cachedWeight() <= 20);
+  }
+
+  @Test
+  void listLargerThanMaximumWeight_shouldNotBeCached() {
+    // given
+    CachingBranchdownClient tiny = new CachingBranchdownClient(server, 2);
+    tiny.addPoints(rootId, List.of("a", "b"));
+
+    // when
+    tiny.getStreamPoints(streamId);
+    tiny.getStreamPoints(streamId);
+
+    // then
+    assertEquals(2, server.calls("getStreamPoints"));
+    assertEquals(0, tiny.cachedSize());
+  }
+}
@@ -0,0 +1,300 @@
+package me.hanju.branchdown.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.api.dto.StreamDto;
+import me.hanju.branchdown.client.CircuitBreakingBranchdownClient.State;
+import me.hanju.branchdown.client.exception.BranchdownClientException;
+import me.hanju.branchdown.client.exception.BranchdownException;
+import me.hanju.branchdown.client.exception.BranchdownRejectedException;
+
+/**
+ * 회로 차단과 대체 응답 테스트.
+ */
+class CircuitBreakingBranchdownClientTest {
+
+  private static final CircuitBreakerPolicy POLICY = CircuitBreakerPolicy.defaults()
+      .withWindow(4, 4)
+      .withFailureRate(0.5)
+      .withSlowCalls(Duration.ofMillis(100), 0.5)
+      .withOpenDuration(Duration.ofSeconds(10), 2);
+
+  private FakeBranchdownClient server;
+  private long streamId;
+  private long rootId;
+  private final AtomicBoolean down = new AtomicBoolean();
+  private final AtomicLong now = new AtomicLong();
+  private final AtomicLong callNanos = new AtomicLong();
+  private BranchdownClient flaky;
+
+  @BeforeEach
+  void setUp() {
+    server = new FakeBranchdownClient();
+    streamId = server.createStream();
+    rootId = server.getStream(streamId).rootPointId();
+    // 호출마다 가짜 시계를 callNanos만큼 진행하고, down이면 네트워크 오류를 던진다
+    flaky = new ForwardingBranchdownClient(server) {
+      @Override
+      public StreamDto.Response getStream(final long id) {
+        return this.call(() -> super.getStream(id));
+      }
+
+      @Override
+      public List<PointDto.Response> getAncestors(final long pointId) {
+        return this.call(() -> super.getAncestors(pointId));
+      }
+
+      @Override
+      public PointDto.Response addPoint(final long parentPointId, final String itemId) {
+        return this.call(() -> super.addPoint(parentPointId, itemId));
+      }
+
+      private <T> T call(final java.util.function.Supplier<T> call) {
+        now.addAndGet(callNanos.get());
+        if (down.get()) {
+          throw new BranchdownClientException("Request failed", null);
+        }
+        return call.get();
+      }
+    };
+  }
+
+  private CircuitBreakingBranchdownClient client(final int staleEntries) {
+    return new CircuitBreakingBranchdownClient(flaky, POLICY, staleEntries, now::get);
+  }
+
+  @Test
+  void failures_shouldOpenCircuitAndFailFast() {
+    // given
+    CircuitBreakingBranchdownClient client = client(0);
+    client.getStream(streamId);
+    client.getStream(streamId);
+    down.set(true);
+
+    // when: 4건 중 2건 실패
+    assertThrows(BranchdownClientException.class, () -> client.getStream(streamId));
+    assertThrows(BranchdownClientException.class, () -> client.getStream(streamId));
+
+    // then: 서버로 보내지 않고 즉시 거절
+    server.resetCalls();
+    assertEquals(State.OPEN, client.state());
+    assertThrows(BranchdownRejectedException.class, () -> client.addPoint(rootId, "a"));
+    assertEquals(0, server.calls("addPoint"));
+    assertEquals(1, client.rejected());
+  }
+
+  @Test
+  void serverErrors_shouldNotOpenCircuit() {
+    // given
+    CircuitBreakingBranchdownClient client = client(0);
+
+    // when
+    for (int i = 0; i < 8; i++) {
+      assertThrows(BranchdownException.class, () -> client.getStream(999L));
+    }
+
+    // then
+    assertEquals(State.CLOSED, client.state());
+  }
+
+  @Test
+  void slowCalls_shouldOpenCircuit() {
+    // given
+    CircuitBreakingBranchdownClient client = client(0);
+    callNanos.set(Duration.ofMillis(150).toNanos());
+
+    // when
+    for (int i = 0; i < 4; i++) {
+      client.getAncestors(rootId);
+    }
+
+    // then
+    assertEquals(State.OPEN, client.state());
+  }
+
+  @Test
+  void slowStreamingConsumer_shouldNotOpenCircuit() {
+    // given: 포인트마다 콜백이 150ms 걸림
+    CircuitBreakingBranchdownClient client = client(0);
+    server.addPoint(rootId, "a");
+
+    // when
+    for (int i = 0; i < 4; i++) {
+      client.forEachStreamPoint(streamId, point -> now.addAndGet(Duration.ofMillis(150).toNanos()));
+    }
+
+    // then
+    assertEquals(State.CLOSED, client.state());
+  }
+
+  @Test
+  void addPoints_shouldRecordEachRequest() {
+    // given: 요청마다 150ms
+    CircuitBreakingBranchdownClient client = client(0);
+    callNanos.set(Duration.ofMillis(150).toNanos());
+
+    // when: 한 번의 일괄 호출이 요청 4건으로 기록됨
+    List<PointDto.Response> points = client.addPoints(rootId, List.of("a", "b", "c", "d"));
+
+    // then
+    assertEquals(4, points.size());
+    assertEquals(State.OPEN, client.state());
+  }
+
+  @Test
+  void halfOpen_shouldCloseAfterSuccessfulProbes() {
+    // given: 열린 회로
+    CircuitBreakingBranchdownClient client = client(0);
+    down.set(true);
+    for (int i = 0; i < 4; i++) {
+      assertThrows(BranchdownClientException.class, () -> client.getStream(streamId));
+    }
+    assertEquals(State.OPEN, client.state());
+    down.set(false);
+
+    // when: 열림 시간 경과
+    now.addAndGet(Duration.ofSeconds(10).toNanos());
+    assertEquals(State.HALF_OPEN, client.state());
+    client.getStream(streamId);
+    client.getStream(streamId);
+
+    // then
+    assertEquals(State.CLOSED, client.state());
+  }
+
+  @Test
+  void halfOpen_withFailedProbes_shouldReopen() {
+    // given
+    CircuitBreakingBranchdownClient client = client(0);
+    down.set(true);
+    for (int i = 0; i < 4; i++) {
+      assertThrows(BranchdownClientException.class, () -> client.getStream(streamId));
+    }
+    now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+    // when: 시험 요청 실패
+    assertThrows(BranchdownClientException.class, () -> client.getStream(streamId));
+
+    // then
+    assertEquals(State.OPEN, client.state());
+    assertThrows(BranchdownRejectedException.class, () -> client.getStream(streamId));
+  }
+
+  @Test
+  void halfOpen_shouldLimitConcurrentProbes() {
+    // given: 시험 요청이 끝나지 않은 반열림 상태를 흉내 내기 위해 상태 기계를 직접 사용
+    CircuitBreaker breaker = new CircuitBreaker(POLICY, now::get);
+    for (int i = 0; i < 4; i++) {
+      breaker.onFailure(breaker.tryAcquire(), 0);
+    }
+    now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+    // when & then
+    long probe = breaker.tryAcquire();
+    assertNotEquals(CircuitBreaker.REJECTED, probe);
+    assertNotEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+    assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+    breaker.onIgnored(probe);
+    assertNotEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+  }
+
+  @Test
+  void callAdmittedWhileClosed_shouldNotCountAsProbe() {
+    // given: 닫힘 상태에서 시작해 아직 끝나지 않은 호출
+    CircuitBreaker breaker = new CircuitBreaker(POLICY, now::get);
+    long lateCall = breaker.tryAcquire();
+    for (int i = 0; i < 4; i++) {
+      breaker.onFailure(breaker.tryAcquire(), 0);
+    }
+    now.addAndGet(Duration.ofSeconds(10).toNanos());
+    long probe = breaker.tryAcquire();
+
+    // when: 반열림 상태에서 늦게 끝난 호출은 시험 요청 결과로 세지 않음
+    breaker.onSuccess(lateCall, 0);
+    breaker.onIgnored(lateCall);
+
+    // then: 남은 시험 요청 자리는 하나뿐이고, 시험 요청 두 건이 성공해야 닫힘
+    long secondProbe = breaker.tryAcquire();
+    assertEquals(CircuitBreaker.REJECTED, breaker.tryAcquire());
+    breaker.onSuccess(probe, 0);
+    assertEquals(State.HALF_OPEN, breaker.state());
+    breaker.onSuccess(secondProbe, 0);
+    assertEquals(State.CLOSED, breaker.state());
+  }
+
+  @Test
+  void errorDuringProbe_shouldReleaseProbeSlot() {
+    // given: 반열림 상태
+    CircuitBreakingBranchdownClient client = new CircuitBreakingBranchdownClient(
+        new ForwardingBranchdownClient(flaky) {
+          @Override
+          public List<PointDto.Response> getStreamPoints(final long id) {
+            throw new AssertionError("boom");
+          }
+        }, POLICY, 0, now::get);
+    down.set(true);
+    for (int i = 0; i < 4; i++) {
+      assertThrows(BranchdownClientException.class, () -> client.getStream(streamId));
+    }
+    down.set(false);
+    now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+    // when: 시험 요청 자리 수보다 많은 Error
+    for (int i = 0; i < 3; i++) {
+      assertThrows(AssertionError.class, () -> client.getStreamPoints(streamId));
+    }
+
+    // then: 자리가 반환되어 이후 시험 요청으로 닫힘
+    client.getStream(streamId);
+    client.getStream(streamId);
+    assertEquals(State.CLOSED, client.state());
+  }
+
+  @Test
+  void staleFallback_shouldServeLastGoodValueFlaggedAsStale() {
+    // given
+    CircuitBreakingBranchdownClient client = client(100);
+    PointDto.Response a = server.addPoint(rootId, "a");
+    CircuitBreakingBranchdownClient.Read<List<PointDto.Response>> fresh = client.readAncestors(a.id());
+    assertFalse(fresh.stale());
+    down.set(true);
+
+    // when: 실패 중, 그리고 회로가 열린 뒤
+    CircuitBreakingBranchdownClient.Read<List<PointDto.Response>> failed = client.readAncestors(a.id());
+    for (int i = 0; i < 4; i++) {
+      client.getAncestors(a.id());
+    }
+    CircuitBreakingBranchdownClient.Read<List<PointDto.Response>> open = client.readAncestors(a.id());
+
+    // then
+    assertTrue(failed.stale());
+    assertEquals(fresh.value(), failed.value());
+    assertEquals(fresh.fetchedAt(), open.fetchedAt());
+    assertTrue(open.stale());
+    assertEquals(State.OPEN, client.state());
+    assertEquals(6, client.staleReads());
+    assertThrows(BranchdownRejectedException.class, () -> client.getStreamPoints(streamId));
+  }
+
+  @Test
+  void deleteStream_shouldDropStaleValues() {
+    // given
+    CircuitBreakingBranchdownClient client = client(100);
+    client.getStream(streamId);
+    client.deleteStream(streamId);
+    down.set(true);
+
+    // when & then
+    assertThrows(BranchdownClientException.class, () -> client.getStream(streamId));
+    assertEquals(0, client.staleReads());
+  }
+}
@@ -0,0 +1,90 @@
+package me.hanju.branchdown.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.client.exception.BranchdownException;
+
+class CoalescingBranchdownClientTest {
+
+  @Test
+  void concurrentIdenticalReads_shouldShareOneRequest() throws Exception {
+    // given: 첫 요청을 잡아두어 나머지 호출이 합쳐지도록 함
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    FakeBranchdownClient server = new FakeBranchdownClient() {
+      @Override
+      public List<PointDto.Response> getAncestors(final long pointId) {
+        entered.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return super.getAncestors(pointId);
+      }
+    };
+    long streamId = server.createStream();
+    PointDto.Response point = server.addPoint(server.getStream(streamId).rootPointId(), "a");
+    CoalescingBranchdownClient client = new CoalescingBranchdownClient(server);
+    List<List<PointDto.Response>> results = Collections.synchronizedList(new ArrayList<>());
+
+    // when
+    Thread leader = new Thread(() -> results.add(client.getAncestors(point.id())));
+    leader.start();
+    assertTrue(entered.await(1, TimeUnit.SECONDS));
+    List<Thread> followers = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      Thread follower = new Thread(() -> results.add(client.getAncestors(point.id())));
+      followers.add(follower);
+      follower.start();
+    }
+    // 모든 후속 호출이 진행 중인 요청을 기다리는 상태가 될 때까지 대기
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (followers.stream().anyMatch(t -> t.getState() != Thread.State.WAITING) && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    release.countDown();
+    leader.join(1000);
+    for (Thread follower : followers) {
+      follower.join(1000);
+    }
+
+    // then
+    assertEquals(8, results.size());
+    results.forEach(result -> assertEquals(List.of(point), result));
+    assertEquals(1, server.calls("getAncestors"));
+    assertEquals(0, client.inFlight());
+  }
+
+  @Test
+  void failedRead_shouldPropagateAndNotBeRemembered() {
+    // given
+    FakeBranchdownClient server = new FakeBranchdownClient();
+    CoalescingBranchdownClient client = new CoalescingBranchdownClient(server);
+
+    // when & then
+    assertThrows(BranchdownException.class, () -> client.getStream(999L));
+    assertThrows(BranchdownException.class, () -> client.getStream(999L));
+    assertEquals(2, server.calls("getStream"));
+  }
+
+  @Test
+  void sharedResult_shouldBeUnmodifiable() {
+    FakeBranchdownClient server = new FakeBranchdownClient();
+    long streamId = server.createStream();
+    CoalescingBranchdownClient client = new CoalescingBranchdownClient(server);
+
+    List<PointDto.Response> points = client.getStreamPoints(streamId);
+
+    assertThrows(UnsupportedOperationException.class, () -> points.clear());
+  }
+}
@@ -0,0 +1,194 @@
+package me.hanju.branchdown.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.Test;
+
+import me.hanju.branchdown.api.dto.CommonResponseDto;
+import me.hanju.branchdown.client.exception.BranchdownClientException;
+import me.hanju.branchdown.client.exception.BranchdownException;
+import okhttp3.HttpUrl;
+
+/**
+ * 엔드포인트 표 테스트.
+ */
+class CompiledEndpointTest {
+
+  private static final String BASE_URL = "http://localhost:8080";
+
+  @Test
+  void of_shouldCoverEveryEndpoint() {
+    for (BranchdownEndpoint endpoint : BranchdownEndpoint.values()) {
+      assertSame(endpoint, CompiledEndpoint.of(endpoint).endpoint());
+    }
+  }
+
+  @Test
+  void url_shouldFillVariablesBetweenSegments() {
+    assertEquals(BASE_URL + "/api/streams", CompiledEndpoint.CREATE_STREAM.url(BASE_URL));
+    assertEquals(BASE_URL + "/api/streams/42", CompiledEndpoint.GET_STREAM.url(BASE_URL, 42));
+    assertEquals(BASE_URL + "/api/points/7/ancestors", CompiledEndpoint.GET_ANCESTORS.url(BASE_URL, 7));
+    assertEquals(BASE_URL + "/api/streams/42/branches/3/points?depth=-1",
+        CompiledEndpoint.GET_BRANCH_POINTS.url(BASE_URL, 42, 3, -1));
+  }
+
+  @Test
+  void url_withWrongVariableCount_shouldThrow() {
+    assertThrows(IllegalStateException.class, () -> CompiledEndpoint.GET_STREAM.url(BASE_URL));
+    assertThrows(IllegalStateException.class, () -> CompiledEndpoint.CREATE_STREAM.url(BASE_URL, 1));
+  }
+
+  @Test
+  void parse_shouldSplitOnVariables() {
+    assertArrayEquals(new String[] {"/a/", "/b?c=", ""}, CompiledEndpoint.parse("/a/{x}/b?c={y}"));
+    assertArrayEquals(new String[] {"/a"}, CompiledEndpoint.parse("/a"));
+    assertThrows(IllegalArgumentException.class, () -> CompiledEndpoint.parse("/a/{x"));
+  }
+
+  @Test
+  void pathSegments_shouldSeparatePathVariablesFromQuery() {
+    assertArrayEquals(new String[] {"api", "streams", null, "branches", null, "points"},
+        CompiledEndpoint.GET_BRANCH_POINTS.pathSegments());
+    assertArrayEquals(new String[] {"depth"}, CompiledEndpoint.GET_BRANCH_POINTS.queryNames());
+    assertArrayEquals(new String[] {"api", "streams"}, CompiledEndpoint.CREATE_STREAM.pathSegments());
+    assertArrayEquals(new String[0], CompiledEndpoint.CREATE_STREAM.queryNames());
+  }
+
+  @Test
+  void okHttpUrl_shouldMatchStringUrl() {
+    // given
+    OkHttpUrls urls = new OkHttpUrls(HttpUrl.get(BASE_URL));
+
+    // when & then
+    assertEquals(CompiledEndpoint.CREATE_STREAM.url(BASE_URL), urls.url(CompiledEndpoint.CREATE_STREAM).toString());
+    assertEquals(CompiledEndpoint.ADD_POINT.url(BASE_URL, 7), urls.url(CompiledEndpoint.ADD_POINT, 7).toString());
+    assertEquals(CompiledEndpoint.GET_STREAM_POINTS.url(BASE_URL, 42),
+        urls.url(CompiledEndpoint.GET_STREAM_POINTS, 42).toString());
+    assertEquals(CompiledEndpoint.GET_BRANCH_POINTS.url(BASE_URL, 42, 3, -1),
+        urls.url(CompiledEndpoint.GET_BRANCH_POINTS, 42, 3, -1).toString());
+    assertEquals("http://localhost:8080/prefix/api/streams/42",
+        new OkHttpUrls(HttpUrl.get(BASE_URL + "/prefix")).url(CompiledEndpoint.GET_STREAM, 42).toString());
+    assertThrows(IllegalStateException.class, () -> urls.url(CompiledEndpoint.GET_STREAM));
+  }
+
+  @Test
+  void hasBody_shouldOnlyIncludePost() {
+    assertTrue(CompiledEndpoint.CREATE_STREAM.hasBody());
+    assertTrue(CompiledEndpoint.ADD_POINT.hasBody());
+    assertFalse(CompiledEndpoint.GET_STREAM.hasBody());
+    assertFalse(CompiledEndpoint.DELETE_STREAM.hasBody());
+  }
+
+  @Test
+  void idempotent_shouldExcludePost() {
+    assertTrue(CompiledEndpoint.GET_STREAM.idempotent());
+    assertTrue(CompiledEndpoint.DELETE_STREAM.idempotent());
+    assertFalse(CompiledEndpoint.CREATE_STREAM.idempotent());
+    assertFalse(CompiledEndpoint.ADD_POINT.idempotent());
+  }
+
+  @Test
+  void execute_shouldUnwrapAndTranslateErrors() {
+    // 성공 응답
+    assertNull(CompiledEndpoint.DELETE_STREAM.execute(BranchdownClientListener.NONE,
+        respond("{\"success\":true,\"message\":null,\"data\":null}"), "request"));
+
+    // 실패 응답
+    BranchdownException failure = assertThrows(BranchdownException.class,
+        () -> CompiledEndpoint.DELETE_STREAM.execute(BranchdownClientListener.NONE,
+            respond("{\"success\":false,\"message\":\"Stream not found\",\"data\":null}"), "request"));
+    assertEquals("Stream not found", failure.getMessage());
+
+    // I/O 오류
+    assertThrows(BranchdownClientException.class,
+        () -> CompiledEndpoint.GET_STREAM.execute(BranchdownClientListener.NONE, respond(null), "request"));
+  }
+
+  @Test
+  void dispatch_shouldTranslateIoErrorsOnly() {
+    // I/O 오류는 클라이언트 예외로 감싼다
+    BranchdownClientException io = assertThrows(BranchdownClientException.class,
+        () -> CompiledEndpoint.GET_STREAM_POINTS.dispatch(BranchdownClientListener.NONE, (request, observation) -> {
+          throw new IOException("reset");
+        }, "request"));
+    assertInstanceOf(IOException.class, io.getCause());
+
+    // 런타임 예외는 그대로 던진다
+    IllegalStateException state = new IllegalStateException("consumer failed");
+    assertSame(state, assertThrows(IllegalStateException.class,
+        () -> CompiledEndpoint.GET_STREAM_POINTS.dispatch(BranchdownClientListener.NONE, (request, observation) -> {
+          throw state;
+        }, "request")));
+
+    // 성공하면 읽은 값을 돌려준다
+    assertEquals("request!", CompiledEndpoint.GET_STREAM_POINTS.dispatch(BranchdownClientListener.NONE,
+        (request, observation) -> request + "!", "request"));
+  }
+
+  @Test
+  void executeAsync_shouldTranslateErrorsAndPropagateCancel() {
+    // 실패 응답
+    ExecutionException failure = assertThrows(ExecutionException.class,
+        () -> CompiledEndpoint.DELETE_STREAM.executeAsync(BranchdownClientListener.NONE,
+            respondAsync(CompletableFuture.completedFuture(
+                "{\"success\":false,\"message\":\"Stream not found\",\"data\":null}")), "request").get());
+    assertInstanceOf(BranchdownException.class, failure.getCause());
+
+    // I/O 오류
+    ExecutionException io = assertThrows(ExecutionException.class,
+        () -> CompiledEndpoint.GET_STREAM.executeAsync(BranchdownClientListener.NONE,
+            respondAsync(CompletableFuture.failedFuture(new CompletionException(new IOException("reset")))),
+            "request").get());
+    assertInstanceOf(BranchdownClientException.class, io.getCause());
+
+    // 취소
+    CompletableFuture<String> pending = new CompletableFuture<>();
+    CompiledEndpoint.GET_STREAM.executeAsync(BranchdownClientListener.NONE, respondAsync(pending), "request")
+        .cancel(true);
+    assertTrue(pending.isCancelled());
+  }
+
+  /** 본문을 응답으로 읽는 전송. 본문이 null이면 I/O 오류를 던진다. */
+  private static CompiledEndpoint.Exchange<String> respond(final String json) {
+    return new CompiledEndpoint.Exchange<>() {
+      @Override
+      public <T> CommonResponseDto<T> exchange(final String request, final CompiledEndpoint<T> endpoint,
+          final RequestObservation observation) throws IOException {
+        if (json == null) {
+          throw new IOException("connection reset");
+        }
+        return endpoint.reader().read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+      }
+    };
+  }
+
+  /** 본문 future가 완료되면 응답으로 읽는 비동기 전송. 취소는 본문 future로 전달한다. */
+  private static CompiledEndpoint.AsyncExchange<String> respondAsync(final CompletableFuture<String> json) {
+    return new CompiledEndpoint.AsyncExchange<>() {
+      @Override
+      public <T> CompletableFuture<CommonResponseDto<T>> exchange(final String request,
+          final CompiledEndpoint<T> endpoint, final RequestObservation observation) {
+        final CompletableFuture<CommonResponseDto<T>> read = json.thenApply(body -> {
+          try {
+            return endpoint.reader().read(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+          } catch (IOException e) {
+            throw new CompletionException(e);
+          }
+        });
+        read.whenComplete((response, error) -> {
+          if (read.isCancelled()) {
+            json.cancel(true);
+          }
+        });
+        return read;
+      }
+    };
+  }
+}
@@ -0,0 +1,218 @@
+package me.hanju.branchdown.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.api.dto.StreamDto;
+import me.hanju.branchdown.client.exception.BranchdownClientException;
+import me.hanju.branchdown.client.exception.BranchdownException;
+import me.hanju.branchdown.client.exception.BranchdownRejectedException;
+
+/**
+ * 적응형 동시성 제한 테스트.
+ */
+class ConcurrencyLimitingBranchdownClientTest {
+
+  private FakeBranchdownClient server;
+  private long streamId;
+  private long rootId;
+
+  @BeforeEach
+  void setUp() {
+    server = new FakeBranchdownClient();
+    streamId = server.createStream();
+    rootId = server.getStream(streamId).rootPointId();
+  }
+
+  @Test
+  void readLimitReached_shouldRejectReadsButNotWrites() throws Exception {
+    // given: 조회 한도 1, 조회 하나가 진행 중
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    BranchdownClient blocking = new ForwardingBranchdownClient(server) {
+      @Override
+      public StreamDto.Response getStream(final long id) {
+        entered.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return super.getStream(id);
+      }
+    };
+    ConcurrencyLimitingBranchdownClient client = new ConcurrencyLimitingBranchdownClient(blocking,
+        new AdaptiveConcurrencyLimit(1, 1, 1), new AdaptiveConcurrencyLimit(1, 1, 1));
+    Thread reader = Thread.ofPlatform().start(() -> client.getStream(streamId));
+    assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+    // when & then
+    BranchdownRejectedException e = assertThrows(BranchdownRejectedException.class,
+        () -> client.getAncestors(rootId));
+    assertInstanceOf(BranchdownClientException.class, e);
+    assertNotNull(client.addPoint(rootId, "a"));
+    release.countDown();
+    reader.join();
+    assertEquals(0, client.readLimit().inFlight());
+    assertNotNull(client.getStream(streamId));
+  }
+
+  @Test
+  void serverError_shouldReleasePermit() {
+    // given
+    ConcurrencyLimitingBranchdownClient client = new ConcurrencyLimitingBranchdownClient(server,
+        new AdaptiveConcurrencyLimit(1, 1, 1), new AdaptiveConcurrencyLimit(1, 1, 1));
+
+    // when
+    assertThrows(BranchdownException.class, () -> client.getStream(999L));
+
+    // then
+    assertEquals(0, client.readLimit().inFlight());
+    assertNotNull(client.getStream(streamId));
+  }
+
+  @Test
+  void nestedRejection_shouldNotShrinkLimit() {
+    // given: 안쪽 데코레이터가 로컬에서 거절
+    BranchdownClient rejecting = new ForwardingBranchdownClient(server) {
+      @Override
+      public PointDto.Response addPoint(final long parentPointId, final String itemId) {
+        throw new BranchdownRejectedException("Circuit breaker is open");
+      }
+    };
+    ConcurrencyLimitingBranchdownClient client = new ConcurrencyLimitingBranchdownClient(rejecting,
+        new AdaptiveConcurrencyLimit(), new AdaptiveConcurrencyLimit(100, 10, 200));
+
+    // when
+    for (int i = 0; i < 5; i++) {
+      assertThrows(BranchdownRejectedException.class, () -> client.addPoint(rootId, "a"));
+    }
+
+    // then
+    assertEquals(100, client.writeLimit().limit());
+    assertEquals(0, client.writeLimit().inFlight());
+  }
+
+  @Test
+  void addPoints_shouldLimitEachRequest() {
+    // given: 요청마다 진행 중인 쓰기 수를 기록
+    List<Integer> inFlight = new ArrayList<>();
+    ConcurrencyLimitingBranchdownClient[] holder = new ConcurrencyLimitingBranchdownClient[1];
+    BranchdownClient recording = new ForwardingBranchdownClient(server) {
+      @Override
+      public PointDto.Response addPoint(final long parentPointId, final String itemId) {
+        inFlight.add(holder[0].writeLimit().inFlight());
+        return super.addPoint(parentPointId, itemId);
+      }
+    };
+    holder[0] = new ConcurrencyLimitingBranchdownClient(recording,
+        new AdaptiveConcurrencyLimit(1, 1, 1), new AdaptiveConcurrencyLimit(1, 1, 1));
+
+    // when
+    List<PointDto.Response> chained = holder[0].addPoints(rootId, List.of("a", "b", "c"));
+    List<PointDto.Response> siblings = holder[0].addChildren(rootId, List.of("d", "e"));
+
+    // then
+    assertEquals(3, chained.size());
+    assertEquals(3, server.getAncestors(chained.get(2).id()).size());
+    assertEquals(2, siblings.size());
+    assertEquals(List.of(1, 1, 1, 1, 1), inFlight);
+    assertEquals(0, holder[0].writeLimit().inFlight());
+  }
+
+  @Test
+  void releaseWithoutSample_shouldOnlyBackOffOnDrop() {
+    // given
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 10, 200);
+
+    // when: 지연 시간 없이 반납
+    assertTrue(limit.tryAcquire());
+    limit.release(false);
+    int afterSuccess = limit.limit();
+    assertTrue(limit.tryAcquire());
+    limit.release(true);
+
+    // then
+    assertEquals(100, afterSuccess);
+    assertEquals(90, limit.limit());
+    assertEquals(0, limit.inFlight());
+  }
+
+  @Test
+  void risingLatency_shouldShrinkLimit() {
+    // given: 기준 지연 시간 1ms로 한도를 가득 사용
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 1, 200);
+    saturate(limit, 1_000_000, 200);
+    int before = limit.limit();
+
+    // when: 지연 시간이 10배로 증가
+    saturate(limit, 10_000_000, 3);
+
+    // then
+    assertTrue(limit.limit() < before, before + " -> " + limit.limit());
+  }
+
+  @Test
+  void stableLatencyUnderLoad_shouldGrowLimit() {
+    // given
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 200);
+
+    // when
+    saturate(limit, 1_000_000, 50);
+
+    // then
+    assertTrue(limit.limit() > 10, "limit=" + limit.limit());
+    assertTrue(limit.limit() <= 200);
+  }
+
+  @Test
+  void drops_shouldBackOff() {
+    // given
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 10, 200);
+
+    // when
+    for (int i = 0; i < 5; i++) {
+      assertTrue(limit.tryAcquire());
+      limit.release(1_000_000, true);
+    }
+
+    // then
+    assertEquals(59, limit.limit());
+  }
+
+  @Test
+  void idleCaller_shouldNotInflateLimit() {
+    // given
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 200);
+
+    // when: 한 번에 요청 하나씩만 보냄
+    for (int i = 0; i < 100; i++) {
+      assertTrue(limit.tryAcquire());
+      limit.release(1_000_000, false);
+    }
+
+    // then
+    assertEquals(10, limit.limit());
+  }
+
+  /** 한도만큼 자리를 채운 뒤 주어진 지연 시간으로 모두 반납하기를 반복한다. */
+  private static void saturate(final AdaptiveConcurrencyLimit limit, final long rttNanos, final int rounds) {
+    for (int round = 0; round < rounds; round++) {
+      int acquired = 0;
+      while (limit.tryAcquire()) {
+        acquired++;
+      }
+      for (int i = 0; i < acquired; i++) {
+        limit.release(rttNanos, false);
+      }
+    }
+  }
+}
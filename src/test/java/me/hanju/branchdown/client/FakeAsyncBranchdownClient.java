@@ -0,0 +1,63 @@
+package me.hanju.branchdown.client;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.api.dto.StreamDto;
+
+/**
+ * 동기 클라이언트 호출을 공용 풀에서 실행하는 비동기 어댑터. 테스트에서 {@link FakeBranchdownClient}와 함께 사용한다.
+ */
+public class FakeAsyncBranchdownClient implements AsyncBranchdownClient {
+
+  private final BranchdownClient delegate;
+
+  public FakeAsyncBranchdownClient(final BranchdownClient delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public CompletableFuture<Long> createStream() {
+    return call(() -> delegate.createStream());
+  }
+
+  @Override
+  public CompletableFuture<StreamDto.Response> getStream(final long streamId) {
+    return call(() -> delegate.getStream(streamId));
+  }
+
+  @Override
+  public CompletableFuture<Void> deleteStream(final long streamId) {
+    return call(() -> {
+      delegate.deleteStream(streamId);
+      return null;
+    });
+  }
+
+  @Override
+  public CompletableFuture<List<PointDto.Response>> getStreamPoints(final long streamId) {
+    return call(() -> delegate.getStreamPoints(streamId));
+  }
+
+  @Override
+  public CompletableFuture<List<PointDto.Response>> getBranchPoints(final long streamId, final int branchNum,
+      final int depth) {
+    return call(() -> delegate.getBranchPoints(streamId, branchNum, depth));
+  }
+
+  @Override
+  public CompletableFuture<PointDto.Response> addPoint(final long parentPointId, final String itemId) {
+    return call(() -> delegate.addPoint(parentPointId, itemId));
+  }
+
+  @Override
+  public CompletableFuture<List<PointDto.Response>> getAncestors(final long pointId) {
+    return call(() -> delegate.getAncestors(pointId));
+  }
+
+  private static <T> CompletableFuture<T> call(final Supplier<T> supplier) {
+    return CompletableFuture.supplyAsync(supplier);
+  }
+}
@@ -0,0 +1,170 @@
+package me.hanju.branchdown.client;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.api.dto.StreamDto;
+import me.hanju.branchdown.client.exception.BranchdownException;
+
+/**
+ * 테스트용 메모리 기반 {@link BranchdownClient}.
+ * 통합 테스트에서 확인한 서버 규칙(브랜치 번호 부여, 조상 조회 시 루트 제외)을 따르며 메서드별 호출 횟수를 기록한다.
+ */
+public class FakeBranchdownClient implements BranchdownClient {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper()
+      .registerModule(new JavaTimeModule())
+      .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+  private final Map<Long, StreamDto.Response> streams = new HashMap<>();
+  private final Map<Long, Node> nodes = new HashMap<>();
+  private final Map<Long, List<Node>> streamNodes = new HashMap<>();
+  private final Map<Long, Integer> nextBranchNum = new HashMap<>();
+  private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+  private long nextId = 1;
+
+  private record Node(PointDto.Response point, long streamId, Node parent, List<Node> children) {
+  }
+
+  /** DTO 생성자에 의존하지 않도록 JSON 속성으로 포인트를 만든다. */
+  public static PointDto.Response point(final long id, final int branchNum, final int depth, final String itemId) {
+    final Map<String, Object> fields = new LinkedHashMap<>();
+    fields.put("id", id);
+    fields.put("branchNum", branchNum);
+    fields.put("depth", depth);
+    fields.put("itemId", itemId);
+    return MAPPER.convertValue(fields, PointDto.Response.class);
+  }
+
+  public int calls(final String method) {
+    final AtomicInteger count = this.calls.get(method);
+    return count == null ? 0 : count.get();
+  }
+
+  public void resetCalls() {
+    this.calls.clear();
+  }
+
+  @Override
+  public Long createStream() {
+    return this.createStreamResponse().id();
+  }
+
+  /** {@link #createStream()}와 같지만 생성된 스트림 전체를 반환한다. 호출 횟수는 {@code createStream}으로 센다. */
+  public synchronized StreamDto.Response createStreamResponse() {
+    this.count("createStream");
+    final long streamId = this.nextId++;
+    final long rootId = this.nextId++;
+    final Node root = new Node(point(rootId, 0, 0, null), streamId, null, new ArrayList<>());
+    this.nodes.put(rootId, root);
+    this.streamNodes.put(streamId, new ArrayList<>(List.of(root)));
+    this.nextBranchNum.put(streamId, 1);
+    final Map<String, Object> fields = new LinkedHashMap<>();
+    fields.put("id", streamId);
+    fields.put("rootPointId", rootId);
+    fields.put("createdAt", LocalDateTime.now().toString());
+    final StreamDto.Response stream = MAPPER.convertValue(fields, StreamDto.Response.class);
+    this.streams.put(streamId, stream);
+    return stream;
+  }
+
+  @Override
+  public synchronized StreamDto.Response getStream(final long streamId) {
+    this.count("getStream");
+    final StreamDto.Response stream = this.streams.get(streamId);
+    if (stream == null) {
+      throw new BranchdownException("Stream not found: " + streamId);
+    }
+    return stream;
+  }
+
+  @Override
+  public synchronized void deleteStream(final long streamId) {
+    this.count("deleteStream");
+    if (this.streams.remove(streamId) == null) {
+      throw new BranchdownException("Stream not found: " + streamId);
+    }
+    this.streamNodes.remove(streamId).forEach(node -> this.nodes.remove(node.point().id()));
+  }
+
+  @Override
+  public synchronized List<PointDto.Response> getStreamPoints(final long streamId) {
+    this.count("getStreamPoints");
+    return this.getStreamInternal(streamId).stream()
+        .map(Node::point)
+        .sorted(Comparator.comparingLong(PointDto.Response::id))
+        .toList();
+  }
+
+  @Override
+  public synchronized List<PointDto.Response> getBranchPoints(final long streamId, final int branchNum,
+      final int depth) {
+    this.count("getBranchPoints");
+    return this.getStreamInternal(streamId).stream()
+        .map(Node::point)
+        .filter(point -> point.branchNum() == branchNum && point.depth() > depth)
+        .sorted(Comparator.comparingInt(PointDto.Response::depth))
+        .toList();
+  }
+
+  @Override
+  public synchronized PointDto.Response addPoint(final long parentPointId, final String itemId) {
+    if (itemId == null) {
+      throw new IllegalArgumentException("itemId must not be null");
+    }
+    this.count("addPoint");
+    final Node parent = this.nodes.get(parentPointId);
+    if (parent == null) {
+      throw new BranchdownException("Point not found: " + parentPointId);
+    }
+    final int branchNum = parent.children().isEmpty()
+        ? parent.point().branchNum()
+        : this.nextBranchNum.merge(parent.streamId(), 1, Integer::sum) - 1;
+    final long id = this.nextId++;
+    final Node node = new Node(point(id, branchNum, parent.point().depth() + 1, itemId), parent.streamId(), parent,
+        new ArrayList<>());
+    parent.children().add(node);
+    this.nodes.put(id, node);
+    this.streamNodes.get(parent.streamId()).add(node);
+    return node.point();
+  }
+
+  @Override
+  public synchronized List<PointDto.Response> getAncestors(final long pointId) {
+    this.count("getAncestors");
+    Node node = this.nodes.get(pointId);
+    if (node == null) {
+      throw new BranchdownException("Point not found: " + pointId);
+    }
+    final List<PointDto.Response> path = new ArrayList<>();
+    while (node.parent() != null) {
+      path.add(0, node.point());
+      node = node.parent();
+    }
+    return path;
+  }
+
+  private List<Node> getStreamInternal(final long streamId) {
+    final List<Node> nodes = this.streamNodes.get(streamId);
+    if (nodes == null) {
+      throw new BranchdownException("Stream not found: " + streamId);
+    }
+    return nodes;
+  }
+
+  private void count(final String method) {
+    this.calls.computeIfAbsent(method, key -> new AtomicInteger()).incrementAndGet();
+  }
+}
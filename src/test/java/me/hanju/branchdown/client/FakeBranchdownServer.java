@@ -0,0 +1,213 @@
+package me.hanju.branchdown.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import me.hanju.branchdown.client.exception.BranchdownException;
+
+/**
+ * 프로세스 내 가짜 Branchdown HTTP 서버. Docker 없이 실제 클라이언트 구현체를 HTTP로 구동할 때 사용한다.
+ *
+ * <p>서버와 같은 REST 경로와 {@code CommonResponseDto} 응답 형식을 제공하며, 상태는 {@link FakeBranchdownClient}에 보관하므로
+ * 브랜치 번호 부여와 조상 조회 규칙도 같다. 서버 측 실패는 기존 스텁 테스트와 같이 200 응답의 {@code success=false}로 보낸다.
+ * 요청은 가상 스레드에서 처리하며, 응답 지연을 지정하면 요청마다 그만큼 기다린 뒤 응답한다.
+ * 지연 측정에 쓸 때는 Nagle 지연을 없애도록 JVM 옵션 {@code -Dsun.net.httpserver.nodelay=true}로 실행한다
+ * ({@code loadTest} 태스크는 이미 지정한다).
+ *
+ * <ul>
+ * <li>{@code POST /api/streams}, {@code GET|DELETE /api/streams/{id}}</li>
+ * <li>{@code GET /api/streams/{id}/points}, {@code GET /api/streams/{id}/branches/{b}/points?depth={d}}</li>
+ * <li>{@code POST /api/points/{id}/down}, {@code GET /api/points/{id}/ancestors}</li>
+ * </ul>
+ */
+public final class FakeBranchdownServer implements AutoCloseable {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper()
+      .registerModule(new JavaTimeModule())
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final FakeBranchdownClient model;
+  private final long latencyNanos;
+
+  private FakeBranchdownServer(final HttpServer server, final ExecutorService executor,
+      final FakeBranchdownClient model, final Duration latency) {
+    this.server = server;
+    this.executor = executor;
+    this.model = model;
+    this.latencyNanos = latency.toNanos();
+  }
+
+  public static FakeBranchdownServer start() throws IOException {
+    return start(new FakeBranchdownClient(), Duration.ZERO);
+  }
+
+  /**
+   * @param model 서버 상태
+   * @param latency 요청마다 추가할 응답 지연
+   * @return 시작된 서버
+   */
+  public static FakeBranchdownServer start(final FakeBranchdownClient model, final Duration latency)
+      throws IOException {
+    if (model == null) {
+      throw new IllegalArgumentException("model must not be null");
+    }
+    if (latency == null || latency.isNegative()) {
+      throw new IllegalArgumentException("latency must not be negative");
+    }
+    final HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+    final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    final FakeBranchdownServer fake = new FakeBranchdownServer(server, executor, model, latency);
+    server.createContext("/api/", fake::handle);
+    server.setExecutor(executor);
+    server.start();
+    return fake;
+  }
+
+  public String baseUrl() {
+    return "http://127.0.0.1:" + this.server.getAddress().getPort();
+  }
+
+  /** 서버 상태. 테스트에서 직접 조회하거나 호출 횟수를 확인할 때 사용한다. */
+  public FakeBranchdownClient model() {
+    return this.model;
+  }
+
+  @Override
+  public void close() {
+    this.server.stop(0);
+    this.executor.shutdownNow();
+  }
+
+  private void handle(final HttpExchange exchange) throws IOException {
+    final byte[] request;
+    try (InputStream in = exchange.getRequestBody()) {
+      request = in.readAllBytes();
+    }
+    if (this.latencyNanos > 0) {
+      try {
+        Thread.sleep(Duration.ofNanos(this.latencyNanos));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        exchange.close();
+        return;
+      }
+    }
+    int status = 200;
+    Map<String, Object> envelope;
+    try {
+      envelope = success(this.route(exchange.getRequestMethod(), exchange.getRequestURI().getPath(),
+          exchange.getRequestURI().getQuery(), request));
+    } catch (BranchdownException | IllegalArgumentException e) {
+      envelope = failure(e.getMessage());
+    } catch (RouteNotFound e) {
+      status = 404;
+      envelope = failure(e.getMessage());
+    }
+    final byte[] body = MAPPER.writeValueAsBytes(envelope);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  private Object route(final String method, final String path, final String query, final byte[] request)
+      throws IOException {
+    // ["", "api", resource, id, ...]
+    final String[] segments = path.split("/");
+    if (segments.length < 3) {
+      throw new RouteNotFound(method, path);
+    }
+    final String resource = segments[2];
+    if ("streams".equals(resource)) {
+      if (segments.length == 3 && "POST".equals(method)) {
+        return this.model.createStreamResponse();
+      }
+      if (segments.length < 4) {
+        throw new RouteNotFound(method, path);
+      }
+      final long streamId = id(segments[3]);
+      if (segments.length == 4 && "GET".equals(method)) {
+        return this.model.getStream(streamId);
+      }
+      if (segments.length == 4 && "DELETE".equals(method)) {
+        this.model.deleteStream(streamId);
+        return null;
+      }
+      if (segments.length == 5 && "points".equals(segments[4]) && "GET".equals(method)) {
+        return this.model.getStreamPoints(streamId);
+      }
+      if (segments.length == 7 && "branches".equals(segments[4]) && "points".equals(segments[6])
+          && "GET".equals(method)) {
+        return this.model.getBranchPoints(streamId, (int) id(segments[5]), depth(query));
+      }
+    } else if ("points".equals(resource) && segments.length == 5) {
+      final long pointId = id(segments[3]);
+      if ("down".equals(segments[4]) && "POST".equals(method)) {
+        final JsonNode itemId = MAPPER.readTree(request).get("itemId");
+        return this.model.addPoint(pointId, itemId == null || itemId.isNull() ? null : itemId.asText());
+      }
+      if ("ancestors".equals(segments[4]) && "GET".equals(method)) {
+        return this.model.getAncestors(pointId);
+      }
+    }
+    throw new RouteNotFound(method, path);
+  }
+
+  private static long id(final String segment) {
+    try {
+      return Long.parseLong(segment);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid id: " + segment);
+    }
+  }
+
+  private static int depth(final String query) {
+    if (query != null) {
+      for (final String parameter : query.split("&")) {
+        if (parameter.startsWith("depth=")) {
+          return (int) id(parameter.substring("depth=".length()));
+        }
+      }
+    }
+    return 0;
+  }
+
+  private static Map<String, Object> success(final Object data) {
+    final Map<String, Object> envelope = new LinkedHashMap<>();
+    envelope.put("success", true);
+    envelope.put("message", null);
+    envelope.put("data", data);
+    return envelope;
+  }
+
+  private static Map<String, Object> failure(final String message) {
+    final Map<String, Object> envelope = new LinkedHashMap<>();
+    envelope.put("success", false);
+    envelope.put("message", message);
+    envelope.put("data", null);
+    return envelope;
+  }
+
+  private static final class RouteNotFound extends RuntimeException {
+    private RouteNotFound(final String method, final String path) {
+      super("No route: " + method + " " + path);
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package me.hanju.branchdown.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.api.dto.StreamDto;
+import me.hanju.branchdown.client.exception.BranchdownException;
+import okhttp3.OkHttpClient;
+
+/**
+ * 통합 테스트와 같은 시나리오를 가짜 서버에 대해 세 구현체로 실행한다.
+ */
+class FakeBranchdownServerTest {
+
+  private FakeBranchdownServer server;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = FakeBranchdownServer.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.close();
+  }
+
+  static Stream<Arguments> clients() {
+    return Stream.of(
+        Arguments.of("okhttp", (Function<String, BranchdownClient>) baseUrl -> new OkHttpBranchdownClient(
+            new OkHttpClient(), baseUrl)),
+        Arguments.of("webclient", (Function<String, BranchdownClient>) baseUrl -> new WebClientBranchdownClient(
+            WebClient.builder(), baseUrl)),
+        Arguments.of("jdk", (Function<String, BranchdownClient>) baseUrl -> new JdkHttpBranchdownClient(
+            HttpClient.newHttpClient(), baseUrl)));
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("clients")
+  void scenario_shouldMatchServerSemantics(final String name, final Function<String, BranchdownClient> factory) {
+    BranchdownClient client = factory.apply(server.baseUrl());
+
+    // createStream / getStream: 루트 포인트 하나
+    Long streamId = client.createStream();
+    assertEquals(streamId, client.getStream(streamId).id());
+    List<PointDto.Response> points = client.getStreamPoints(streamId);
+    assertEquals(1, points.size());
+    Long rootPointId = points.get(0).id();
+
+    // addPoint / getAncestors: 자신 포함, 루트 제외
+    PointDto.Response child = client.addPoint(rootPointId, "item-001");
+    assertEquals("item-001", child.itemId());
+    assertEquals(0, child.branchNum());
+    List<PointDto.Response> ancestors = client.getAncestors(child.id());
+    assertEquals(1, ancestors.size());
+    assertEquals(child.id(), ancestors.get(0).id());
+
+    // getBranchPoints: depth보다 깊은 포인트만
+    assertEquals(2, client.getBranchPoints(streamId, 0, -1).size());
+    List<PointDto.Response> afterDepth0 = client.getBranchPoints(streamId, 0, 0);
+    assertEquals(1, afterDepth0.size());
+    assertEquals(child.id(), afterDepth0.get(0).id());
+
+    // 같은 부모에 두 번째 자식은 새 브랜치
+    PointDto.Response sibling = client.addPoint(rootPointId, "item-002");
+    assertEquals(1, sibling.branchNum());
+    assertTrue(client.getBranchPoints(streamId, 1).stream().anyMatch(p -> "item-002".equals(p.itemId())));
+
+    // deleteStream 이후 조회는 서버 에러
+    client.deleteStream(streamId);
+    assertThrows(BranchdownException.class, () -> client.getStream(streamId));
+  }
+
+  @Test
+  void createStream_shouldReturnFullStream() throws IOException, InterruptedException {
+    // given
+    HttpClient http = HttpClient.newHttpClient();
+
+    // when
+    HttpResponse<String> response = http.send(
+        HttpRequest.newBuilder(URI.create(server.baseUrl() + "/api/streams"))
+            .POST(HttpRequest.BodyPublishers.noBody())
+            .build(),
+        HttpResponse.BodyHandlers.ofString());
+
+    // then
+    StreamDto.Response stream = BranchdownJson.MAPPER.convertValue(
+        BranchdownJson.MAPPER.readTree(response.body()).get("data"), StreamDto.Response.class);
+    assertEquals(server.model().getStream(stream.id()).rootPointId(), stream.rootPointId());
+    assertNotNull(stream.createdAt());
+  }
+
+  @Test
+  void unknownRoute_shouldReturnNotFound() throws IOException, InterruptedException {
+    // given
+    HttpClient http = HttpClient.newHttpClient();
+
+    // when
+    HttpResponse<String> response = http.send(
+        HttpRequest.newBuilder(URI.create(server.baseUrl() + "/api/streams")).GET().build(),
+        HttpResponse.BodyHandlers.ofString());
+
+    // then
+    assertEquals(404, response.statusCode());
+    assertTrue(response.body().contains("\"success\":false"));
+  }
+}
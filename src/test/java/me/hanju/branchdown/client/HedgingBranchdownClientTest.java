@@ -0,0 +1,240 @@
+package me.hanju.branchdown.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.api.dto.StreamDto;
+import me.hanju.branchdown.client.exception.BranchdownException;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+/**
+ * 조회 헤징 테스트.
+ */
+class HedgingBranchdownClientTest {
+
+  private static final String ANCESTORS_BODY = """
+      {"success":true,"message":null,"data":[{"id":2,"branchNum":0,"depth":1,"itemId":"item-001"}]}""";
+
+  private MockWebServer server;
+  private ScriptedAsyncClient scripted;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = new MockWebServer();
+    server.start();
+    scripted = new ScriptedAsyncClient();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  @Test
+  void slowPrimary_shouldBeHedgedAndCancelled() throws Exception {
+    // given
+    HedgingAsyncBranchdownClient client = new HedgingAsyncBranchdownClient(scripted,
+        HedgePolicy.fixed(Duration.ofMillis(20)));
+    List<PointDto.Response> hedged = List.of(FakeBranchdownClient.point(2, 0, 1, "a"));
+
+    // when
+    CompletableFuture<List<PointDto.Response>> result = client.getAncestors(2L);
+    CompletableFuture<List<PointDto.Response>> backup = scripted.awaitCall(1);
+    backup.complete(hedged);
+
+    // then
+    assertSame(hedged, result.get(5, TimeUnit.SECONDS));
+    assertTrue(scripted.calls.get(0).isCancelled());
+    assertEquals(1, client.hedges());
+    assertEquals(1, client.hedgeWins());
+  }
+
+  @Test
+  void fastPrimary_shouldNotBeHedged() throws Exception {
+    // given
+    HedgingAsyncBranchdownClient client = new HedgingAsyncBranchdownClient(scripted,
+        HedgePolicy.fixed(Duration.ofMillis(20)));
+
+    // when
+    CompletableFuture<List<PointDto.Response>> result = client.getBranchPoints(1L, 0, 0);
+    scripted.<List<PointDto.Response>>awaitCall(0).complete(List.of());
+    result.get(5, TimeUnit.SECONDS);
+    Thread.sleep(60);
+
+    // then
+    assertEquals(1, scripted.calls.size());
+    assertEquals(0, client.hedges());
+  }
+
+  @Test
+  void writes_shouldNeverBeHedged() throws Exception {
+    // given
+    HedgingAsyncBranchdownClient client = new HedgingAsyncBranchdownClient(scripted,
+        HedgePolicy.fixed(Duration.ofMillis(1)));
+
+    // when
+    client.addPoint(1L, "a");
+    client.createStream();
+    client.deleteStream(1L);
+    Thread.sleep(30);
+
+    // then
+    assertEquals(3, scripted.calls.size());
+    assertEquals(0, client.hedges());
+  }
+
+  @Test
+  void exhaustedBudget_shouldSuppressHedges() throws Exception {
+    // given: 적립 없이 최초 1회분만 사용 가능
+    HedgingAsyncBranchdownClient client = new HedgingAsyncBranchdownClient(scripted,
+        HedgePolicy.fixed(Duration.ofMillis(5)).withBudget(0, 1));
+
+    // when
+    client.getStream(1L);
+    scripted.awaitCall(1);
+    client.getStream(2L);
+    Thread.sleep(50);
+
+    // then
+    assertEquals(3, scripted.calls.size());
+    assertEquals(1, client.hedges());
+  }
+
+  @Test
+  void serverError_shouldFailWithoutWaitingForOtherAttempt() throws Exception {
+    // given
+    HedgingAsyncBranchdownClient client = new HedgingAsyncBranchdownClient(scripted,
+        HedgePolicy.fixed(Duration.ofMillis(5)));
+
+    // when
+    CompletableFuture<StreamDto.Response> result = client.getStream(1L);
+    scripted.awaitCall(1);
+    scripted.calls.get(0).completeExceptionally(new BranchdownException("not found"));
+
+    // then
+    Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+    assertInstanceOf(BranchdownException.class, e.getCause());
+    assertTrue(scripted.calls.get(1).isCancelled());
+  }
+
+  @Test
+  void adaptivePolicy_shouldTrackObservedLatency() {
+    // given
+    HedgingAsyncBranchdownClient client = new HedgingAsyncBranchdownClient(scripted,
+        HedgePolicy.adaptive(95, Duration.ofSeconds(1), Duration.ofMillis(2)).withWindow(10));
+    scripted.autoComplete = true;
+
+    // when
+    for (int i = 0; i < 10; i++) {
+      client.getAncestors(i).join();
+    }
+
+    // then: 즉시 끝나는 요청만 관측했으므로 하한으로 내려감
+    assertEquals(Duration.ofMillis(2), client.currentDelay(BranchdownEndpoint.GET_ANCESTORS));
+    assertEquals(Duration.ofSeconds(1), client.currentDelay(BranchdownEndpoint.GET_STREAM));
+  }
+
+  @Test
+  void okHttp_hedgedRead_shouldBeatSlowResponse() {
+    // given: 첫 요청의 응답만 늦게 도착
+    server.enqueue(json(ANCESTORS_BODY).setHeadersDelay(3, TimeUnit.SECONDS));
+    server.enqueue(json(ANCESTORS_BODY));
+    String baseUrl = server.url("/").toString();
+    OkHttpClient okHttpClient = new OkHttpClient();
+    BranchdownClient client = new HedgingBranchdownClient(
+        new OkHttpBranchdownClient(okHttpClient, baseUrl),
+        new OkHttpAsyncBranchdownClient(okHttpClient, baseUrl),
+        HedgePolicy.fixed(Duration.ofMillis(50)));
+
+    // when
+    long startedAt = System.nanoTime();
+    List<PointDto.Response> ancestors = client.getAncestors(2L);
+
+    // then
+    assertEquals(1, ancestors.size());
+    assertTrue(System.nanoTime() - startedAt < TimeUnit.SECONDS.toNanos(2));
+    assertEquals(2, server.getRequestCount());
+  }
+
+  private static MockResponse json(final String body) {
+    return new MockResponse().setHeader("Content-Type", "application/json").setBody(body);
+  }
+
+  /** 호출마다 테스트가 직접 완료시키는 future를 반환한다. */
+  private static final class ScriptedAsyncClient implements AsyncBranchdownClient {
+
+    private final List<CompletableFuture<Object>> calls = new CopyOnWriteArrayList<>();
+    private volatile boolean autoComplete;
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> awaitCall(final int index) throws InterruptedException {
+      final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (calls.size() <= index) {
+        if (System.nanoTime() > deadline) {
+          fail("call " + index + " was not made");
+        }
+        Thread.sleep(1);
+      }
+      return (CompletableFuture<T>) (CompletableFuture<?>) calls.get(index);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> next() {
+      final CompletableFuture<Object> future = new CompletableFuture<>();
+      calls.add(future);
+      if (autoComplete) {
+        future.complete(List.of());
+      }
+      return (CompletableFuture<T>) (CompletableFuture<?>) future;
+    }
+
+    @Override
+    public CompletableFuture<Long> createStream() {
+      return next();
+    }
+
+    @Override
+    public CompletableFuture<StreamDto.Response> getStream(final long streamId) {
+      return next();
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteStream(final long streamId) {
+      return next();
+    }
+
+    @Override
+    public CompletableFuture<List<PointDto.Response>> getStreamPoints(final long streamId) {
+      return next();
+    }
+
+    @Override
+    public CompletableFuture<List<PointDto.Response>> getBranchPoints(final long streamId, final int branchNum,
+        final int depth) {
+      return next();
+    }
+
+    @Override
+    public CompletableFuture<PointDto.Response> addPoint(final long parentPointId, final String itemId) {
+      return next();
+    }
+
+    @Override
+    public CompletableFuture<List<PointDto.Response>> getAncestors(final long pointId) {
+      return next();
+    }
+  }
+}
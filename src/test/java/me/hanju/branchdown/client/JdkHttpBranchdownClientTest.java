@@ -0,0 +1,179 @@
+package me.hanju.branchdown.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.client.exception.BranchdownClientException;
+import me.hanju.branchdown.client.exception.BranchdownException;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * java.net.http 기반 클라이언트 테스트.
+ * MockWebServer를 스텁 서버로 사용.
+ */
+class JdkHttpBranchdownClientTest {
+
+  private static final String ANCESTORS_BODY = """
+      {"success":true,"message":null,"data":[
+        {"id":2,"branchNum":0,"depth":1,"itemId":"item-001"},
+        {"id":3,"branchNum":0,"depth":2,"itemId":"item-002"}]}
+      """;
+
+  private MockWebServer server;
+  private String baseUrl;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = new MockWebServer();
+    server.start();
+    baseUrl = server.url("/").toString();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  @Test
+  void getBranchPoints_shouldSendDepthCursor() throws Exception {
+    // given
+    server.enqueue(json(ANCESTORS_BODY));
+    BranchdownClient client = new JdkHttpBranchdownClient(baseUrl);
+
+    // when
+    List<PointDto.Response> points = client.getBranchPoints(1L, 0, 1);
+
+    // then
+    assertEquals(2, points.size());
+    assertEquals("item-002", points.get(1).itemId());
+    RecordedRequest request = server.takeRequest();
+    assertEquals("GET", request.getMethod());
+    assertEquals("/api/streams/1/branches/0/points?depth=1", request.getPath());
+  }
+
+  @Test
+  void addPoint_shouldPostJsonBody() throws Exception {
+    // given
+    server.enqueue(json("""
+        {"success":true,"message":null,"data":{"id":4,"branchNum":1,"depth":2,"itemId":"item-x"}}"""));
+    BranchdownClient client = new JdkHttpBranchdownClient(baseUrl);
+
+    // when
+    PointDto.Response point = client.addPoint(2L, "item-x");
+
+    // then
+    assertEquals(4L, point.id());
+    RecordedRequest request = server.takeRequest();
+    assertEquals("/api/points/2/down", request.getPath());
+    assertEquals("application/json", request.getHeader("Content-Type"));
+    assertTrue(request.getBody().readUtf8().contains("\"itemId\":\"item-x\""));
+  }
+
+  @Test
+  void errorResponse_shouldThrowBranchdownException() {
+    // given
+    server.enqueue(json("{\"success\":false,\"message\":\"not found\",\"data\":null}"));
+    BranchdownClient client = new JdkHttpBranchdownClient(baseUrl);
+
+    // when & then
+    BranchdownException e = assertThrows(BranchdownException.class, () -> client.getStream(999L));
+    assertEquals("not found", e.getMessage());
+  }
+
+  @Test
+  void forEachStreamPoint_shouldDeliverPointsInOrder() {
+    // given
+    server.enqueue(json(ANCESTORS_BODY));
+    BranchdownClient client = new JdkHttpBranchdownClient(baseUrl);
+    List<Long> ids = new ArrayList<>();
+
+    // when
+    client.forEachStreamPoint(1L, point -> ids.add(point.id()));
+
+    // then
+    assertEquals(List.of(2L, 3L), ids);
+  }
+
+  @Test
+  void calls_onVirtualThreads_shouldComplete() throws Exception {
+    // given
+    for (int i = 0; i < 50; i++) {
+      server.enqueue(json(ANCESTORS_BODY));
+    }
+    BranchdownClient client = new JdkHttpBranchdownClient(HttpClient.newHttpClient(), baseUrl);
+    List<Thread> threads = new ArrayList<>();
+    List<Throwable> failures = new CopyOnWriteArrayList<>();
+
+    // when
+    for (int i = 0; i < 50; i++) {
+      threads.add(Thread.ofVirtual().start(() -> {
+        try {
+          assertEquals(2, client.getAncestors(3L).size());
+        } catch (Throwable t) {
+          failures.add(t);
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    // then
+    assertEquals(List.of(), failures);
+    assertEquals(50, server.getRequestCount());
+  }
+
+  @Test
+  void async_getAncestors_shouldCompleteWithPoints() throws Exception {
+    // given
+    server.enqueue(json(ANCESTORS_BODY));
+    AsyncBranchdownClient client = new JdkHttpAsyncBranchdownClient(baseUrl);
+
+    // when
+    List<PointDto.Response> ancestors = client.getAncestors(3L).get(5, TimeUnit.SECONDS);
+
+    // then
+    assertEquals(2, ancestors.size());
+    assertEquals("/api/points/3/ancestors", server.takeRequest().getPath());
+  }
+
+  @Test
+  void async_malformedBody_shouldCompleteWithClientException() {
+    // given
+    server.enqueue(json("not-json"));
+    AsyncBranchdownClient client = new JdkHttpAsyncBranchdownClient(baseUrl);
+
+    // when
+    CompletableFuture<?> future = client.getStreamPoints(1L);
+
+    // then
+    ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+    assertInstanceOf(BranchdownClientException.class, e.getCause());
+  }
+
+  @Test
+  void async_addPoint_withNullItemId_shouldThrowImmediately() {
+    AsyncBranchdownClient client = new JdkHttpAsyncBranchdownClient(baseUrl);
+
+    assertThrows(IllegalArgumentException.class, () -> client.addPoint(1L, null));
+  }
+
+  private static MockResponse json(final String body) {
+    return new MockResponse().setBody(body).addHeader("Content-Type", "application/json");
+  }
+}
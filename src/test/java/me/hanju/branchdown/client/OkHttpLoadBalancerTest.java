@@ -0,0 +1,199 @@
+package me.hanju.branchdown.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import me.hanju.branchdown.client.exception.BranchdownClientException;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+/**
+ * 다중 노드 분산 테스트.
+ */
+class OkHttpLoadBalancerTest {
+
+  private static final String STREAM_BODY = """
+      {"success":true,"message":null,"data":{"id":1,"rootPointId":1}}""";
+
+  private MockWebServer first;
+  private MockWebServer second;
+  private final AtomicLong clock = new AtomicLong();
+
+  @BeforeEach
+  void setUp() throws IOException {
+    first = new MockWebServer();
+    second = new MockWebServer();
+    first.start();
+    second.start();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    first.shutdown();
+    second.shutdown();
+  }
+
+  @Test
+  void requests_shouldBeSpreadAcrossNodes() {
+    // given
+    for (int i = 0; i < 20; i++) {
+      first.enqueue(ok());
+      second.enqueue(ok());
+    }
+    BranchdownClient client = new OkHttpBranchdownClient(new OkHttpClient(), balancer(3, Duration.ofSeconds(10)));
+
+    // when
+    for (int i = 0; i < 20; i++) {
+      assertEquals(1L, client.getStream(1L).id());
+    }
+
+    // then
+    assertEquals(20, first.getRequestCount() + second.getRequestCount());
+    assertTrue(first.getRequestCount() > 0);
+    assertTrue(second.getRequestCount() > 0);
+  }
+
+  @Test
+  void serverErrors_shouldEjectNodeUntilEjectionTimeElapses() {
+    // given: 두 번째 노드만 5xx
+    OkHttpLoadBalancer balancer = balancer(2, Duration.ofSeconds(10));
+    for (int i = 0; i < 40; i++) {
+      first.enqueue(ok());
+      second.enqueue(new MockResponse().setResponseCode(503));
+    }
+    BranchdownClient client = new OkHttpBranchdownClient(new OkHttpClient(), balancer);
+
+    // when
+    for (int i = 0; i < 20; i++) {
+      try {
+        client.getStream(1L);
+      } catch (BranchdownClientException ignored) {
+        // 503 본문은 JSON이 아니다
+      }
+    }
+
+    // then
+    assertEquals(List.of(nodeUrl(second)), balancer.ejectedNodes());
+    assertEquals(2, second.getRequestCount());
+    clock.addAndGet(Duration.ofSeconds(10).toNanos());
+    assertEquals(List.of(), balancer.ejectedNodes());
+  }
+
+  @Test
+  void connectFailure_shouldEjectImmediately() throws IOException {
+    // given
+    OkHttpLoadBalancer balancer = balancer(3, Duration.ofSeconds(10));
+    for (int i = 0; i < 10; i++) {
+      first.enqueue(ok());
+    }
+    String downUrl = nodeUrl(second);
+    second.shutdown();
+    BranchdownClient client = new OkHttpBranchdownClient(new OkHttpClient(), balancer);
+
+    // when
+    int failures = 0;
+    for (int i = 0; i < 10; i++) {
+      try {
+        client.getStream(1L);
+      } catch (BranchdownClientException e) {
+        failures++;
+      }
+    }
+
+    // then
+    assertTrue(failures <= 1);
+    assertEquals(List.of(downUrl), balancer.ejectedNodes());
+  }
+
+  @Test
+  void allNodesEjected_shouldStillSendRequests() {
+    // given
+    OkHttpLoadBalancer balancer = balancer(1, Duration.ofSeconds(10));
+    first.enqueue(new MockResponse().setResponseCode(500));
+    second.enqueue(new MockResponse().setResponseCode(500));
+    first.enqueue(ok());
+    second.enqueue(ok());
+    BranchdownClient client = new OkHttpBranchdownClient(new OkHttpClient(), balancer);
+    while (balancer.ejectedNodes().size() < 2) {
+      assertThrows(BranchdownClientException.class, () -> client.getStream(1L));
+    }
+
+    // when & then
+    assertEquals(1L, client.getStream(1L).id());
+  }
+
+  @Test
+  void listener_shouldObserveBalancedRequests() throws Exception {
+    // given
+    for (int i = 0; i < 4; i++) {
+      first.enqueue(ok());
+      second.enqueue(ok());
+    }
+    AtomicInteger started = new AtomicInteger();
+    BranchdownClientListener listener = new BranchdownClientListener() {
+      @Override
+      public void requestStarted(final BranchdownEndpoint endpoint) {
+        started.incrementAndGet();
+      }
+    };
+    OkHttpLoadBalancer balancer = balancer(3, Duration.ofSeconds(10));
+    BranchdownClient client = new OkHttpBranchdownClient(new OkHttpClient(), balancer, listener);
+    AsyncBranchdownClient asyncClient = new OkHttpAsyncBranchdownClient(new OkHttpClient(), balancer, listener);
+
+    // when
+    client.getStream(1L);
+    asyncClient.getStream(1L).get();
+
+    // then
+    assertEquals(2, started.get());
+    assertEquals(2, first.getRequestCount() + second.getRequestCount());
+  }
+
+  @Test
+  void routing_shouldReplaceNodePathPrefixAndKeepQuery() throws InterruptedException {
+    // given: 노드마다 다른 경로 접두사
+    String body = "{\"success\":true,\"message\":null,\"data\":[]}";
+    for (int i = 0; i < 20; i++) {
+      first.enqueue(new MockResponse().setBody(body).addHeader("Content-Type", "application/json"));
+      second.enqueue(new MockResponse().setBody(body).addHeader("Content-Type", "application/json"));
+    }
+    OkHttpLoadBalancer balancer = new OkHttpLoadBalancer(
+        List.of(first.url("/a").toString(), second.url("/b/").toString()), 3, Duration.ofSeconds(10), clock::get);
+    BranchdownClient client = new OkHttpBranchdownClient(new OkHttpClient(), balancer);
+
+    // when
+    for (int i = 0; i < 20; i++) {
+      client.getBranchPoints(1L, 2, 3);
+    }
+
+    // then
+    assertTrue(first.getRequestCount() > 0);
+    assertTrue(second.getRequestCount() > 0);
+    assertEquals("/a/api/streams/1/branches/2/points?depth=3", first.takeRequest().getPath());
+    assertEquals("/b/api/streams/1/branches/2/points?depth=3", second.takeRequest().getPath());
+  }
+
+  private OkHttpLoadBalancer balancer(final int failureThreshold, final Duration ejectionTime) {
+    return new OkHttpLoadBalancer(List.of(first.url("/").toString(), second.url("/").toString()),
+        failureThreshold, ejectionTime, clock::get);
+  }
+
+  private static String nodeUrl(final MockWebServer server) {
+    final String url = server.url("/").toString();
+    return url.substring(0, url.length() - 1);
+  }
+
+  private static MockResponse ok() {
+    return new MockResponse().setBody(STREAM_BODY).addHeader("Content-Type", "application/json");
+  }
+}
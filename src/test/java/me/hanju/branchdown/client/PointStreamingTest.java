@@ -0,0 +1,179 @@
+package me.hanju.branchdown.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.client.exception.BranchdownClientException;
+import me.hanju.branchdown.client.exception.BranchdownException;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+/**
+ * 포인트 목록 스트리밍 디코딩 테스트.
+ */
+class PointStreamingTest {
+
+  private MockWebServer server;
+  private String baseUrl;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = new MockWebServer();
+    server.start();
+    baseUrl = server.url("/").toString();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  @Test
+  void okHttp_forEachStreamPoint_shouldDeliverEveryPointInOrder() {
+    // given
+    server.enqueue(chunked(pointsBody(1_000), 64));
+    BranchdownClient client = new OkHttpBranchdownClient(new OkHttpClient(), baseUrl);
+    List<Long> ids = new ArrayList<>();
+
+    // when
+    client.forEachStreamPoint(1L, point -> ids.add(point.id()));
+
+    // then
+    assertEquals(1_000, ids.size());
+    assertEquals(1L, ids.get(0));
+    assertEquals(1_000L, ids.get(999));
+  }
+
+  @Test
+  void okHttp_forEachBranchPoint_shouldIgnoreUnknownEnvelopeFields() throws InterruptedException {
+    // given: 알 수 없는 필드와 중첩 값이 섞여 있어도 포인트만 전달
+    server.enqueue(chunked("""
+        {"timestamp":{"a":[1,2,{"b":3}]},"success":true,"message":null,
+         "data":[{"id":7,"branchNum":1,"depth":3,"itemId":"x","extra":{"k":[1]}}],"trace":[1]}
+        """, 5));
+    BranchdownClient client = new OkHttpBranchdownClient(new OkHttpClient(), baseUrl);
+    List<PointDto.Response> points = new ArrayList<>();
+
+    // when
+    client.forEachBranchPoint(1L, 1, 2, points::add);
+
+    // then
+    assertEquals(1, points.size());
+    assertEquals("x", points.get(0).itemId());
+    assertEquals("/api/streams/1/branches/1/points?depth=2", server.takeRequest().getPath());
+  }
+
+  @Test
+  void okHttp_errorEnvelope_shouldThrowBranchdownException() {
+    // given
+    server.enqueue(chunked("{\"success\":false,\"message\":\"not found\",\"data\":null}", 8));
+    BranchdownClient client = new OkHttpBranchdownClient(new OkHttpClient(), baseUrl);
+
+    // when & then
+    BranchdownException e = assertThrows(BranchdownException.class,
+        () -> client.forEachStreamPoint(1L, point -> fail()));
+    assertEquals("not found", e.getMessage());
+  }
+
+  @Test
+  void okHttp_truncatedBody_shouldThrowClientException() {
+    // given
+    server.enqueue(new MockResponse().setBody("{\"success\":true,\"data\":[{\"id\":1}"));
+    BranchdownClient client = new OkHttpBranchdownClient(new OkHttpClient(), baseUrl);
+
+    // when & then
+    assertThrows(BranchdownClientException.class, () -> client.forEachStreamPoint(1L, point -> {
+    }));
+  }
+
+  @Test
+  void okHttp_getStreamPointTable_shouldDecodeIntoColumns() {
+    // given
+    server.enqueue(chunked(pointsBody(1_000), 64));
+    BranchdownClient client = new OkHttpBranchdownClient(new OkHttpClient(), baseUrl);
+
+    // when
+    PointTable table = client.getStreamPointTable(1L);
+
+    // then
+    assertEquals(1_000, table.size());
+    assertEquals(499, table.indexOf(500L));
+    assertEquals(499, table.depth(499));
+    assertEquals("item-500", table.itemId(499));
+  }
+
+  @Test
+  void okHttp_getBranchPointTable_shouldSkipUnknownFieldsAndReportErrors() {
+    // given
+    server.enqueue(chunked("""
+        {"timestamp":{"a":[1,2,{"b":3}]},"success":true,"message":null,
+         "data":[{"id":7,"branchNum":1,"depth":3,"itemId":"x","extra":{"k":[1]}}],"trace":[1]}
+        """, 5));
+    server.enqueue(chunked("{\"success\":false,\"message\":\"not found\",\"data\":null}", 8));
+    BranchdownClient client = new OkHttpBranchdownClient(new OkHttpClient(), baseUrl);
+
+    // when
+    PointTable table = client.getBranchPointTable(1L, 1, 2);
+
+    // then
+    assertEquals(1, table.size());
+    assertEquals(7L, table.id(0));
+    assertEquals(1, table.branchNum(0));
+    assertEquals("x", table.itemId(0));
+    BranchdownException e = assertThrows(BranchdownException.class, () -> client.getBranchPointTable(1L, 1, 2));
+    assertEquals("not found", e.getMessage());
+  }
+
+  @Test
+  void webClient_getStreamPoints_shouldDecodeAcrossChunkBoundaries() {
+    // given: 토큰 중간에서 잘리도록 작은 청크로 전송
+    server.enqueue(chunked(pointsBody(500), 7).setHeader("Content-Type", "application/json"));
+    ReactiveBranchdownClient client = new WebClientReactiveBranchdownClient(WebClient.builder(), baseUrl);
+
+    // when
+    List<PointDto.Response> points = client.getStreamPoints(1L).collectList().block();
+
+    // then
+    assertNotNull(points);
+    assertEquals(500, points.size());
+    assertEquals("item-250", points.get(249).itemId());
+  }
+
+  @Test
+  void webClient_truncatedBody_shouldSignalClientException() {
+    // given
+    server.enqueue(new MockResponse().setHeader("Content-Type", "application/json")
+        .setBody("{\"success\":true,\"data\":[{\"id\":1}"));
+    ReactiveBranchdownClient client = new WebClientReactiveBranchdownClient(WebClient.builder(), baseUrl);
+
+    // when & then
+    assertThrows(BranchdownClientException.class, () -> client.getAncestors(1L).blockLast());
+  }
+
+  private static String pointsBody(final int count) {
+    StringBuilder body = new StringBuilder("{\"success\":true,\"message\":null,\"data\":[");
+    for (int i = 1; i <= count; i++) {
+      if (i > 1) {
+        body.append(',');
+      }
+      body.append("{\"id\":").append(i)
+          .append(",\"branchNum\":0,\"depth\":").append(i - 1)
+          .append(",\"itemId\":\"item-").append(i).append("\"}");
+    }
+    return body.append("]}").toString();
+  }
+
+  private static MockResponse chunked(final String body, final int chunkSize) {
+    return new MockResponse().setChunkedBody(body, chunkSize);
+  }
+}
@@ -0,0 +1,65 @@
+package me.hanju.branchdown.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import me.hanju.branchdown.api.dto.PointDto;
+
+class PointTableTest {
+
+  @Test
+  void builder_shouldSortByIdAndShareItemIds() {
+    // given
+    PointTable table = PointTable.builder()
+        .add(5, 1, 2, "shared")
+        .add(2, 0, 0, null)
+        .add(3, 0, 1, "shared")
+        .build();
+
+    // when & then
+    assertEquals(3, table.size());
+    assertEquals(2L, table.id(0));
+    assertEquals(5L, table.id(2));
+    assertNull(table.itemId(0));
+    assertSame(table.itemId(1), table.itemId(2));
+    assertEquals(1, table.distinctItemIds());
+  }
+
+  @Test
+  void indexOf_shouldBinarySearchIds() {
+    // given
+    PointTable table = PointTable.builder().add(10, 0, 1, "a").add(20, 0, 2, "b").add(30, 1, 2, "c").build();
+
+    // when & then
+    assertEquals(1, table.indexOf(20L));
+    assertEquals(-1, table.indexOf(25L));
+    assertEquals("c", table.find(30L).map(PointDto.Response::itemId).orElseThrow());
+    assertTrue(table.find(99L).isEmpty());
+  }
+
+  @Test
+  void asList_shouldMaterializeEquivalentPoints() {
+    // given
+    List<PointDto.Response> points = List.of(
+        FakeBranchdownClient.point(1, 0, 0, null),
+        FakeBranchdownClient.point(2, 0, 1, "a"),
+        FakeBranchdownClient.point(3, 1, 1, "b"));
+
+    // when
+    PointTable table = PointTable.of(points);
+
+    // then
+    assertEquals(points, table.asList());
+    assertThrows(UnsupportedOperationException.class, () -> table.asList().add(points.get(0)));
+    assertThrows(IndexOutOfBoundsException.class, () -> table.id(3));
+  }
+
+  @Test
+  void emptyBuilder_shouldReturnEmptyTable() {
+    assertSame(PointTable.empty(), PointTable.builder().build());
+    assertEquals(List.of(), PointTable.empty().asList());
+  }
+}
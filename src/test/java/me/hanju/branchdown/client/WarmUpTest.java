@@ -0,0 +1,113 @@
+package me.hanju.branchdown.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * 클라이언트 예열 테스트.
+ * MockWebServer를 스텁 서버로 사용.
+ */
+class WarmUpTest {
+
+  private MockWebServer server;
+  private String baseUrl;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = new MockWebServer();
+    // 예열 요청의 응답 상태는 보지 않는다
+    server.setDispatcher(new Dispatcher() {
+      @Override
+      public MockResponse dispatch(final RecordedRequest request) {
+        return new MockResponse().setResponseCode(404);
+      }
+    });
+    server.start();
+    baseUrl = server.url("/").toString();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  @Test
+  void okHttp_shouldOpenSeparatePooledConnections() throws InterruptedException {
+    // given
+    OkHttpClient okHttpClient = new OkHttpClient();
+    OkHttpBranchdownClient client = new OkHttpBranchdownClient(okHttpClient, baseUrl);
+
+    // when
+    WarmUpReport report = client.warmUp(3, 10);
+
+    // then
+    assertTrue(report.complete());
+    assertEquals(3, report.openedConnections());
+    assertEquals(3, okHttpClient.connectionPool().connectionCount());
+    assertEquals("OPTIONS", server.takeRequest().getMethod());
+    assertEquals(10, report.decodeIterations());
+    assertEquals(report.connect().plus(report.deserializers()).plus(report.decode()), report.total());
+  }
+
+  @Test
+  void okHttp_binaryFormat_shouldWarmBinaryReaders() {
+    // given
+    OkHttpBranchdownClient client = new OkHttpBranchdownClient(new OkHttpClient(), baseUrl,
+        BranchdownClientListener.NONE, WireFormat.CBOR);
+
+    // when
+    WarmUpReport report = client.warmUp(0, 1);
+
+    // then
+    assertTrue(report.complete());
+    assertEquals(0, server.getRequestCount());
+  }
+
+  @Test
+  void okHttp_serverDown_shouldReportIncomplete() throws IOException {
+    // given
+    OkHttpBranchdownClient client = new OkHttpBranchdownClient(new OkHttpClient(), baseUrl);
+    server.shutdown();
+
+    // when
+    WarmUpReport report = client.warmUp(2, 0);
+
+    // then
+    assertFalse(report.complete());
+    assertEquals(0, report.openedConnections());
+  }
+
+  @Test
+  void webClient_shouldOpenConnectionsAndDecodeSyntheticResponses() throws InterruptedException {
+    // given
+    WebClientBranchdownClient client = new WebClientBranchdownClient(WebClient.builder(), baseUrl,
+        BranchdownClientListener.NONE, WireFormat.SMILE);
+
+    // when
+    WarmUpReport report = client.warmUp(2, 5);
+
+    // then: 합성 응답은 서버로 가지 않는다
+    assertTrue(report.complete());
+    assertEquals(2, server.getRequestCount());
+    assertEquals("OPTIONS", server.takeRequest().getMethod());
+  }
+
+  @Test
+  void negativeArguments_shouldThrow() {
+    OkHttpBranchdownClient client = new OkHttpBranchdownClient(new OkHttpClient(), baseUrl);
+    assertThrows(IllegalArgumentException.class, () -> client.warmUp(-1, 0));
+    assertThrows(IllegalArgumentException.class, () -> client.warmUp(0, -1));
+  }
+}
@@ -0,0 +1,198 @@
+package me.hanju.branchdown.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+
+/**
+ * 이진 응답 형식 협상 테스트.
+ * MockWebServer를 스텁 서버로 사용.
+ */
+class WireFormatNegotiationTest {
+
+  private static final ObjectMapper CBOR = new ObjectMapper(new CBORFactory());
+  private static final ObjectMapper SMILE = new ObjectMapper(new SmileFactory());
+  private static final String POINTS_JSON = """
+      {"success":true,"message":null,"data":[
+        {"id":2,"branchNum":0,"depth":1,"itemId":"item-001"},
+        {"id":3,"branchNum":0,"depth":2,"itemId":"item-002"}]}
+      """;
+
+  private MockWebServer server;
+  private String baseUrl;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = new MockWebServer();
+    server.start();
+    baseUrl = server.url("/").toString();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  @Test
+  void okHttp_cborResponse_shouldBeDecoded() throws Exception {
+    // given
+    server.enqueue(binary(CBOR, WireFormat.CBOR, pointsEnvelope()));
+    BranchdownClient client = new OkHttpBranchdownClient(new OkHttpClient(), baseUrl, BranchdownClientListener.NONE,
+        WireFormat.CBOR);
+
+    // when
+    List<PointDto.Response> points = client.getAncestors(3L);
+
+    // then
+    assertEquals(List.of("item-001", "item-002"), points.stream().map(PointDto.Response::itemId).toList());
+    assertEquals("application/cbor, application/json;q=0.9", server.takeRequest().getHeader("Accept"));
+  }
+
+  @Test
+  void okHttp_jsonResponse_shouldFallBackToJson() {
+    // given: 서버가 Accept를 무시하고 JSON으로 응답
+    server.enqueue(json(POINTS_JSON));
+    BranchdownClient client = new OkHttpBranchdownClient(new OkHttpClient(), baseUrl, BranchdownClientListener.NONE,
+        WireFormat.CBOR);
+
+    // when
+    List<PointDto.Response> points = client.getStreamPoints(1L);
+
+    // then
+    assertEquals(2, points.size());
+    assertEquals(3L, points.get(1).id());
+  }
+
+  @Test
+  void okHttp_streamingAndTable_shouldDecodeSmile() throws Exception {
+    // given
+    server.enqueue(binary(SMILE, WireFormat.SMILE, pointsEnvelope()));
+    server.enqueue(binary(SMILE, WireFormat.SMILE, pointsEnvelope()));
+    BranchdownClient client = new OkHttpBranchdownClient(new OkHttpClient(), baseUrl, BranchdownClientListener.NONE,
+        WireFormat.SMILE);
+    List<Long> ids = new ArrayList<>();
+
+    // when
+    client.forEachStreamPoint(1L, point -> ids.add(point.id()));
+    PointTable table = client.getStreamPointTable(1L);
+
+    // then
+    assertEquals(List.of(2L, 3L), ids);
+    assertEquals(2, table.size());
+    assertEquals("item-002", table.itemId(table.indexOf(3L)));
+  }
+
+  @Test
+  void okHttp_addPoint_shouldKeepJsonRequestBody() throws Exception {
+    // given
+    Map<String, Object> envelope = envelope(point(4, 1, 2, "item-x"));
+    server.enqueue(binary(CBOR, WireFormat.CBOR, envelope));
+    BranchdownClient client = new OkHttpBranchdownClient(new OkHttpClient(), baseUrl, BranchdownClientListener.NONE,
+        WireFormat.CBOR);
+
+    // when
+    PointDto.Response point = client.addPoint(2L, "item-x");
+
+    // then
+    assertEquals(4L, point.id());
+    RecordedRequest request = server.takeRequest();
+    assertTrue(request.getHeader("Content-Type").startsWith("application/json"));
+    assertTrue(request.getBody().readUtf8().contains("\"itemId\":\"item-x\""));
+  }
+
+  @Test
+  void okHttp_defaultFormat_shouldNotSendAccept() throws Exception {
+    // given
+    server.enqueue(json(POINTS_JSON));
+    BranchdownClient client = new OkHttpBranchdownClient(new OkHttpClient(), baseUrl);
+
+    // when
+    client.getAncestors(3L);
+
+    // then
+    assertNull(server.takeRequest().getHeader("Accept"));
+  }
+
+  @Test
+  void webClient_cborResponse_shouldBeDecoded() throws Exception {
+    // given
+    server.enqueue(binary(CBOR, WireFormat.CBOR, pointsEnvelope()));
+    BranchdownClient client = new WebClientBranchdownClient(WebClient.builder(), baseUrl,
+        BranchdownClientListener.NONE, WireFormat.CBOR);
+
+    // when
+    List<PointDto.Response> points = client.getBranchPoints(1L, 0, 0);
+
+    // then
+    assertEquals(List.of(2L, 3L), points.stream().map(PointDto.Response::id).toList());
+    assertEquals("application/cbor, application/json;q=0.9", server.takeRequest().getHeader("Accept"));
+  }
+
+  @Test
+  void webClient_jsonResponse_shouldFallBackToJson() {
+    // given
+    server.enqueue(json(POINTS_JSON));
+    BranchdownClient client = new WebClientBranchdownClient(WebClient.builder(), baseUrl,
+        BranchdownClientListener.NONE, WireFormat.SMILE);
+
+    // when
+    List<PointDto.Response> points = client.getAncestors(3L);
+
+    // then
+    assertEquals("item-002", points.get(1).itemId());
+  }
+
+  private static Map<String, Object> pointsEnvelope() {
+    return envelope(List.of(point(2, 0, 1, "item-001"), point(3, 0, 2, "item-002")));
+  }
+
+  private static Map<String, Object> envelope(final Object data) {
+    Map<String, Object> envelope = new LinkedHashMap<>();
+    envelope.put("success", true);
+    envelope.put("message", null);
+    envelope.put("data", data);
+    return envelope;
+  }
+
+  private static Map<String, Object> point(final long id, final int branchNum, final int depth, final String itemId) {
+    Map<String, Object> point = new LinkedHashMap<>();
+    point.put("id", id);
+    point.put("branchNum", branchNum);
+    point.put("depth", depth);
+    point.put("itemId", itemId);
+    return point;
+  }
+
+  private static MockResponse binary(final ObjectMapper mapper, final WireFormat format, final Object body)
+      throws IOException {
+    return new MockResponse()
+        .setHeader("Content-Type", format.mediaType())
+        .setBody(new Buffer().write(mapper.writeValueAsBytes(body)));
+  }
+
+  private static MockResponse json(final String body) {
+    return new MockResponse()
+        .setHeader("Content-Type", "application/json")
+        .setBody(body);
+  }
+}
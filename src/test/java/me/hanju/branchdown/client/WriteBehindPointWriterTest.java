@@ -0,0 +1,163 @@
+package me.hanju.branchdown.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.client.exception.BranchdownRejectedException;
+
+class WriteBehindPointWriterTest {
+
+  @Test
+  void addPoint_sameParent_shouldPreserveSubmissionOrder() throws Exception {
+    // given
+    FakeBranchdownClient server = new FakeBranchdownClient();
+    long streamId = server.createStream();
+    long rootId = server.getStream(streamId).rootPointId();
+    List<CompletableFuture<PointDto.Response>> futures = new ArrayList<>();
+
+    // when
+    try (WriteBehindPointWriter writer = new WriteBehindPointWriter(server, 100, 4)) {
+      for (int i = 0; i < 20; i++) {
+        futures.add(writer.addPoint(rootId, "item-" + i));
+      }
+    }
+
+    // then: 첫 자식은 브랜치 0을 잇고 이후 형제는 요청 순서대로 새 브랜치를 받음
+    for (int i = 0; i < 20; i++) {
+      PointDto.Response point = futures.get(i).get(1, TimeUnit.SECONDS);
+      assertEquals("item-" + i, point.itemId());
+      assertEquals(i, point.branchNum());
+    }
+  }
+
+  @Test
+  void addPoint_whenFull_shouldApplyOverflowPolicy() throws Exception {
+    // given: 첫 요청이 끝나지 않도록 막아둔 클라이언트
+    CountDownLatch release = new CountDownLatch(1);
+    FakeBranchdownClient server = new FakeBranchdownClient() {
+      @Override
+      public PointDto.Response addPoint(final long parentPointId, final String itemId) {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return super.addPoint(parentPointId, itemId);
+      }
+    };
+    long streamId = server.createStream();
+    long rootId = server.getStream(streamId).rootPointId();
+
+    try (WriteBehindPointWriter failing = new WriteBehindPointWriter(server, 1, 1,
+        WriteBehindPointWriter.OverflowPolicy.FAIL);
+        WriteBehindPointWriter dropping = new WriteBehindPointWriter(server, 1, 1,
+            WriteBehindPointWriter.OverflowPolicy.DROP)) {
+      failing.addPoint(rootId, "a");
+      dropping.addPoint(rootId, "b");
+
+      // when & then
+      assertThrows(BranchdownRejectedException.class, () -> failing.addPoint(rootId, "c"));
+      ExecutionException e = assertThrows(ExecutionException.class,
+          () -> dropping.addPoint(rootId, "d").get(1, TimeUnit.SECONDS));
+      assertInstanceOf(BranchdownRejectedException.class, e.getCause());
+      release.countDown();
+    }
+  }
+
+  @Test
+  void addPoint_afterClose_shouldThrow() {
+    WriteBehindPointWriter writer = new WriteBehindPointWriter(new FakeBranchdownClient(), 10, 1);
+    writer.close();
+
+    assertThrows(IllegalStateException.class, () -> writer.addPoint(1L, "a"));
+  }
+
+  @Test
+  void close_concurrentWithBlockedProducers_shouldCompleteEveryFuture() throws Exception {
+    // given: 용량 1에서 BLOCK 정책으로 대기하는 생산자들
+    FakeBranchdownClient server = new FakeBranchdownClient() {
+      @Override
+      public PointDto.Response addPoint(final long parentPointId, final String itemId) {
+        try {
+          Thread.sleep(1);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return super.addPoint(parentPointId, itemId);
+      }
+    };
+    long streamId = server.createStream();
+    long rootId = server.getStream(streamId).rootPointId();
+    WriteBehindPointWriter writer = new WriteBehindPointWriter(server, 1, 2);
+    List<Future<CompletableFuture<PointDto.Response>>> submissions = new ArrayList<>();
+
+    // when
+    try (ExecutorService producers = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < 32; i++) {
+        String itemId = "item-" + i;
+        submissions.add(producers.submit(() -> writer.addPoint(rootId, itemId)));
+      }
+      Thread.sleep(5);
+      writer.close();
+    }
+
+    // then: 닫힘으로 거절되거나 실행되어, 어떤 future도 멈춰 있지 않음
+    for (Future<CompletableFuture<PointDto.Response>> submission : submissions) {
+      CompletableFuture<PointDto.Response> future;
+      try {
+        future = submission.get(1, TimeUnit.SECONDS);
+      } catch (ExecutionException e) {
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        continue;
+      }
+      try {
+        assertNotNull(future.get(1, TimeUnit.SECONDS));
+      } catch (ExecutionException e) {
+        assertInstanceOf(BranchdownRejectedException.class, e.getCause());
+      }
+    }
+    assertEquals(0, writer.pending());
+  }
+
+  @Test
+  void addPoint_whenDelegateThrowsError_shouldFailFutureAndKeepDraining() throws Exception {
+    // given: 첫 요청에서 Error를 던지는 위임 대상
+    FakeBranchdownClient server = new FakeBranchdownClient() {
+      private boolean failed;
+
+      @Override
+      public synchronized PointDto.Response addPoint(final long parentPointId, final String itemId) {
+        if (!failed) {
+          failed = true;
+          throw new StackOverflowError();
+        }
+        return super.addPoint(parentPointId, itemId);
+      }
+    };
+    long streamId = server.createStream();
+    long rootId = server.getStream(streamId).rootPointId();
+
+    try (WriteBehindPointWriter writer = new WriteBehindPointWriter(server, 10, 1)) {
+      // when
+      CompletableFuture<PointDto.Response> first = writer.addPoint(rootId, "a");
+      CompletableFuture<PointDto.Response> second = writer.addPoint(rootId, "b");
+
+      // then: 같은 레인의 다음 요청도 처리됨
+      ExecutionException e = assertThrows(ExecutionException.class, () -> first.get(1, TimeUnit.SECONDS));
+      assertInstanceOf(StackOverflowError.class, e.getCause());
+      assertEquals("b", second.get(1, TimeUnit.SECONDS).itemId());
+    }
+  }
+}
@@ -0,0 +1,349 @@
+package me.hanju.branchdown.client.load;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.web.reactive.function.client.WebClient;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.client.BranchdownClient;
+import me.hanju.branchdown.client.FakeBranchdownClient;
+import me.hanju.branchdown.client.FakeBranchdownServer;
+import me.hanju.branchdown.client.JdkHttpBranchdownClient;
+import me.hanju.branchdown.client.OkHttpBranchdownClient;
+import me.hanju.branchdown.client.WebClientBranchdownClient;
+import me.hanju.branchdown.client.metrics.LatencyHistogram;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+
+/**
+ * 고정 도착률(open-loop)로 {@link BranchdownClient}를 구동하고 지연 시간 분위수와 처리량을 보고하는 부하 생성기.
+ *
+ * <p>요청 i의 예정 시작 시각은 {@code 시작 + i / rate}로 미리 정해지고, 이전 요청의 완료를 기다리지 않고 그 시각에 발행한다.
+ * 지연 시간은 실제 발행 시각이 아닌 예정 시각부터 잰다. 클라이언트의 스레드나 커넥션 풀이 부족해 발행이 밀리면
+ * 밀린 시간도 지연 시간에 포함되므로, 느린 응답 동안 측정이 멈춰 분위수가 좋게 나오는 coordinated omission이 생기지 않는다.
+ *
+ * <p>동시에 진행 중인 요청이 {@code maxOutstanding}을 넘으면 해당 요청은 보내지 않고 버린 요청으로 집계한다.
+ * 버린 요청이 있으면 그 도착률은 클라이언트 설정으로 감당할 수 없다는 뜻이다.
+ * {@code maxConnections}는 실제로 동시에 전송하는 요청 수의 상한으로, 자리를 기다린 시간도 지연 시간에 포함된다.
+ * 구현체마다 커넥션 풀 설정 방식이 다르므로 전송 직전에 세마포어로 제한한다.
+ *
+ * <p>포인트를 추가하고 조회할 스트림은 시작 전에 {@code seedStreams}개 만들어 둔다. {@link Operation#CREATE_STREAM}으로
+ * 만든 스트림에는 포인트를 추가하지 않는다.
+ */
+public final class LoadGenerator {
+
+  /** 부하 구성 요청 종류 */
+  public enum Operation {
+    CREATE_STREAM, ADD_POINT, GET_ANCESTORS, GET_BRANCH_POINTS
+  }
+
+  private final BranchdownClient client;
+  private final Operation[] weightedOperations;
+  private final double ratePerSecond;
+  private final Duration duration;
+  private final int maxOutstanding;
+  private final int seedStreams;
+  private final int maxConnections;
+  private final KnownPoints known = new KnownPoints(4096);
+
+  /**
+   * 동시 전송 수를 제한하지 않는다.
+   *
+   * @param client 대상 클라이언트
+   * @param mix 요청 종류별 비중
+   * @param ratePerSecond 초당 요청 수
+   * @param duration 부하 시간
+   * @param maxOutstanding 최대 동시 진행 요청 수
+   * @param seedStreams 미리 만들 스트림 수
+   */
+  public LoadGenerator(final BranchdownClient client, final Map<Operation, Integer> mix, final double ratePerSecond,
+      final Duration duration, final int maxOutstanding, final int seedStreams) {
+    this(client, mix, ratePerSecond, duration, maxOutstanding, seedStreams, maxOutstanding);
+  }
+
+  /**
+   * @param client 대상 클라이언트
+   * @param mix 요청 종류별 비중
+   * @param ratePerSecond 초당 요청 수
+   * @param duration 부하 시간
+   * @param maxOutstanding 최대 동시 진행 요청 수 (대기 포함)
+   * @param seedStreams 미리 만들 스트림 수
+   * @param maxConnections 최대 동시 전송 요청 수
+   */
+  public LoadGenerator(final BranchdownClient client, final Map<Operation, Integer> mix, final double ratePerSecond,
+      final Duration duration, final int maxOutstanding, final int seedStreams, final int maxConnections) {
+    if (client == null) {
+      throw new IllegalArgumentException("client must not be null");
+    }
+    if (mix == null || mix.values().stream().mapToInt(Integer::intValue).sum() <= 0
+        || mix.values().stream().anyMatch(weight -> weight < 0)) {
+      throw new IllegalArgumentException("mix must have non-negative weights with a positive sum");
+    }
+    if (ratePerSecond <= 0) {
+      throw new IllegalArgumentException("ratePerSecond must be positive");
+    }
+    if (duration == null || duration.isNegative() || duration.isZero()) {
+      throw new IllegalArgumentException("duration must be positive");
+    }
+    if (maxOutstanding <= 0) {
+      throw new IllegalArgumentException("maxOutstanding must be positive");
+    }
+    if (seedStreams <= 0) {
+      throw new IllegalArgumentException("seedStreams must be positive");
+    }
+    if (maxConnections <= 0) {
+      throw new IllegalArgumentException("maxConnections must be positive");
+    }
+    this.client = client;
+    final List<Operation> weighted = new ArrayList<>();
+    mix.forEach((operation, weight) -> {
+      for (int i = 0; i < weight; i++) {
+        weighted.add(operation);
+      }
+    });
+    this.weightedOperations = weighted.toArray(Operation[]::new);
+    this.ratePerSecond = ratePerSecond;
+    this.duration = duration;
+    this.maxOutstanding = maxOutstanding;
+    this.seedStreams = seedStreams;
+    this.maxConnections = maxConnections;
+  }
+
+  /**
+   * 부하를 발행하고 진행 중인 요청이 모두 끝날 때까지 기다린다.
+   *
+   * @return 결과 보고
+   */
+  public Report run() throws InterruptedException {
+    for (int i = 0; i < this.seedStreams; i++) {
+      final long streamId = this.client.createStream();
+      final long rootId = this.client.getStream(streamId).rootPointId();
+      this.known.add(new KnownPoint(streamId, rootId, 0, 0));
+    }
+    final Map<Operation, LatencyHistogram> latencies = new EnumMap<>(Operation.class);
+    for (final Operation operation : Operation.values()) {
+      latencies.put(operation, new LatencyHistogram());
+    }
+    final LatencyHistogram failures = new LatencyHistogram();
+    final LongAdder dropped = new LongAdder();
+    final Semaphore outstanding = new Semaphore(this.maxOutstanding);
+    final Semaphore connections = new Semaphore(this.maxConnections);
+    final SplittableRandom random = new SplittableRandom(42);
+    final double intervalNanos = TimeUnit.SECONDS.toNanos(1) / this.ratePerSecond;
+    final long scheduled = (long) (this.duration.toNanos() / intervalNanos);
+    final long start = System.nanoTime();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (long i = 0; i < scheduled; i++) {
+        final long intended = start + (long) (i * intervalNanos);
+        long wait;
+        while ((wait = intended - System.nanoTime()) > 0) {
+          LockSupport.parkNanos(wait);
+        }
+        final Operation operation = this.weightedOperations[random.nextInt(this.weightedOperations.length)];
+        if (!outstanding.tryAcquire()) {
+          dropped.increment();
+          continue;
+        }
+        executor.execute(() -> {
+          connections.acquireUninterruptibly();
+          try {
+            this.execute(operation);
+            latencies.get(operation).record(System.nanoTime() - intended);
+          } catch (RuntimeException e) {
+            failures.record(System.nanoTime() - intended);
+          } finally {
+            connections.release();
+            outstanding.release();
+          }
+        });
+      }
+    }
+    return new Report(scheduled, dropped.sum(), failures, latencies, Duration.ofNanos(System.nanoTime() - start));
+  }
+
+  private void execute(final Operation operation) {
+    final KnownPoint target = this.known.random();
+    switch (operation) {
+      case CREATE_STREAM -> this.client.createStream();
+      case ADD_POINT -> {
+        final PointDto.Response point = this.client.addPoint(target.pointId(),
+            "item-" + ThreadLocalRandom.current().nextInt(1_000_000));
+        this.known.add(new KnownPoint(target.streamId(), point.id(), point.branchNum(), point.depth()));
+      }
+      case GET_ANCESTORS -> this.client.getAncestors(target.pointId());
+      case GET_BRANCH_POINTS -> this.client.getBranchPoints(target.streamId(), target.branchNum(),
+          Math.max(0, target.depth() - 1));
+    }
+  }
+
+  private record KnownPoint(long streamId, long pointId, int branchNum, int depth) {
+  }
+
+  /** 최근에 알게 된 포인트를 고정 크기 링으로 보관한다. */
+  private static final class KnownPoints {
+
+    private final AtomicReferenceArray<KnownPoint> points;
+    private final AtomicLong cursor = new AtomicLong();
+
+    private KnownPoints(final int capacity) {
+      this.points = new AtomicReferenceArray<>(capacity);
+    }
+
+    void add(final KnownPoint point) {
+      this.points.set((int) (this.cursor.getAndIncrement() % this.points.length()), point);
+    }
+
+    KnownPoint random() {
+      final int filled = (int) Math.min(this.cursor.get(), this.points.length());
+      KnownPoint point;
+      do {
+        point = this.points.get(ThreadLocalRandom.current().nextInt(filled));
+      } while (point == null);
+      return point;
+    }
+  }
+
+  /**
+   * 부하 결과.
+   *
+   * @param scheduled 예정된 요청 수
+   * @param dropped 동시 진행 한도로 보내지 않은 요청 수
+   * @param failures 실패한 요청의 지연 시간
+   * @param latencies 성공한 요청의 종류별 지연 시간 (예정 시각 기준)
+   * @param elapsed 시작부터 마지막 요청 완료까지 걸린 시간
+   */
+  public record Report(long scheduled, long dropped, LatencyHistogram failures,
+      Map<Operation, LatencyHistogram> latencies, Duration elapsed) {
+
+    public long completed() {
+      return this.latencies.values().stream().mapToLong(LatencyHistogram::count).sum();
+    }
+
+    /** 초당 성공 요청 수 */
+    public double throughput() {
+      return this.completed() / (this.elapsed.toNanos() / 1e9);
+    }
+
+    public String format() {
+      final StringBuilder out = new StringBuilder();
+      out.append(String.format(Locale.ROOT, "scheduled=%d completed=%d failed=%d dropped=%d elapsed=%.1fs "
+          + "throughput=%.1f/s%n", this.scheduled, this.completed(), this.failures.count(), this.dropped,
+          this.elapsed.toNanos() / 1e9, this.throughput()));
+      out.append(String.format(Locale.ROOT, "%-18s %8s %9s %9s %9s %9s %9s%n",
+          "operation", "count", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)"));
+      this.latencies.forEach((operation, histogram) -> {
+        if (histogram.count() > 0) {
+          out.append(String.format(Locale.ROOT, "%-18s %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n", operation,
+              histogram.count(), millis(histogram.percentile(0.5)), millis(histogram.percentile(0.9)),
+              millis(histogram.percentile(0.99)), millis(histogram.percentile(0.999)), millis(histogram.max())));
+        }
+      });
+      return out.toString();
+    }
+
+    private static double millis(final long nanos) {
+      return nanos / 1e6;
+    }
+  }
+
+  // ========== Command Line ==========
+
+  /**
+   * {@code ./gradlew loadTest -Pargs="--impl=okhttp --rate=2000 --duration=30s"}
+   *
+   * <ul>
+   * <li>{@code --impl}: okhttp | webclient | jdk (기본 okhttp)</li>
+   * <li>{@code --baseUrl}: 대상 서버. 없으면 프로세스 내 가짜 서버를 띄운다</li>
+   * <li>{@code --serverLatency}: 가짜 서버의 응답 지연 (기본 0ms)</li>
+   * <li>{@code --rate}, {@code --duration}, {@code --maxOutstanding}, {@code --seedStreams}</li>
+   * <li>{@code --connections}: 동시에 전송하는 요청 수 상한. 모든 구현체에 적용되며 OkHttp는 유휴 커넥션 수도 맞춘다 (기본 64)</li>
+   * <li>{@code --mix}: 예) createStream=1,addPoint=10,getAncestors=5,getBranchPoints=5</li>
+   * </ul>
+   */
+  public static void main(final String[] args) throws IOException, InterruptedException {
+    final Map<String, String> options = new LinkedHashMap<>();
+    for (final String arg : args) {
+      final int equals = arg.indexOf('=');
+      if (!arg.startsWith("--") || equals < 0) {
+        throw new IllegalArgumentException("Expected --name=value but was " + arg);
+      }
+      options.put(arg.substring(2, equals), arg.substring(equals + 1));
+    }
+    final FakeBranchdownServer server = options.containsKey("baseUrl") ? null
+        : FakeBranchdownServer.start(new FakeBranchdownClient(),
+            duration(options.getOrDefault("serverLatency", "0ms")));
+    try {
+      final String baseUrl = server == null ? options.get("baseUrl") : server.baseUrl();
+      final int connections = Integer.parseInt(options.getOrDefault("connections", "64"));
+      final BranchdownClient client = client(options.getOrDefault("impl", "okhttp"), baseUrl, connections);
+      final LoadGenerator generator = new LoadGenerator(client,
+          mix(options.getOrDefault("mix", "createStream=1,addPoint=10,getAncestors=5,getBranchPoints=5")),
+          Double.parseDouble(options.getOrDefault("rate", "1000")),
+          duration(options.getOrDefault("duration", "10s")),
+          Integer.parseInt(options.getOrDefault("maxOutstanding", "10000")),
+          Integer.parseInt(options.getOrDefault("seedStreams", "16")),
+          connections);
+      System.out.print(generator.run().format());
+    } finally {
+      if (server != null) {
+        server.close();
+      }
+    }
+  }
+
+  private static BranchdownClient client(final String impl, final String baseUrl, final int connections) {
+    return switch (impl) {
+      // 동기 호출은 Dispatcher 한도를 거치지 않으므로 풀의 유휴 커넥션 수만 맞춘다
+      case "okhttp" -> new OkHttpBranchdownClient(new OkHttpClient.Builder()
+          .connectionPool(new ConnectionPool(connections, 5, TimeUnit.MINUTES))
+          .build(), baseUrl);
+      case "webclient" -> new WebClientBranchdownClient(WebClient.builder(), baseUrl);
+      case "jdk" -> new JdkHttpBranchdownClient(HttpClient.newHttpClient(), baseUrl);
+      default -> throw new IllegalArgumentException("Unknown impl: " + impl);
+    };
+  }
+
+  static Map<Operation, Integer> mix(final String spec) {
+    final Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+    for (final String entry : spec.split(",")) {
+      final String[] pair = entry.trim().split("=");
+      final Operation operation = switch (pair[0]) {
+        case "createStream" -> Operation.CREATE_STREAM;
+        case "addPoint" -> Operation.ADD_POINT;
+        case "getAncestors" -> Operation.GET_ANCESTORS;
+        case "getBranchPoints" -> Operation.GET_BRANCH_POINTS;
+        default -> throw new IllegalArgumentException("Unknown operation: " + pair[0]);
+      };
+      mix.put(operation, Integer.parseInt(pair[1]));
+    }
+    return mix;
+  }
+
+  static Duration duration(final String spec) {
+    if (spec.endsWith("ms")) {
+      return Duration.ofMillis(Long.parseLong(spec.substring(0, spec.length() - 2)));
+    }
+    if (spec.endsWith("s")) {
+      return Duration.ofSeconds(Long.parseLong(spec.substring(0, spec.length() - 1)));
+    }
+    return Duration.parse(spec);
+  }
+}
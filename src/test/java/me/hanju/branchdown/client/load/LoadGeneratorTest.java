@@ -0,0 +1,80 @@
+package me.hanju.branchdown.client.load;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import me.hanju.branchdown.client.FakeBranchdownClient;
+import me.hanju.branchdown.client.FakeBranchdownServer;
+import me.hanju.branchdown.client.JdkHttpBranchdownClient;
+import me.hanju.branchdown.client.load.LoadGenerator.Operation;
+
+class LoadGeneratorTest {
+
+  @Test
+  void run_shouldIssueScheduledMixAndReportPercentiles() throws IOException, InterruptedException {
+    // given
+    FakeBranchdownClient model = new FakeBranchdownClient();
+    try (FakeBranchdownServer server = FakeBranchdownServer.start(model, Duration.ZERO)) {
+      LoadGenerator generator = new LoadGenerator(new JdkHttpBranchdownClient(server.baseUrl()),
+          LoadGenerator.mix("createStream=1,addPoint=2,getAncestors=1,getBranchPoints=1"),
+          200, Duration.ofMillis(500), 1000, 4);
+
+      // when
+      LoadGenerator.Report report = generator.run();
+
+      // then
+      assertEquals(100, report.scheduled());
+      assertEquals(0, report.failures().count());
+      assertEquals(report.scheduled(), report.completed() + report.dropped());
+      assertEquals(4 + report.latencies().get(Operation.CREATE_STREAM).count(), model.calls("createStream"));
+      assertTrue(report.latencies().get(Operation.ADD_POINT).count() > 0);
+      assertTrue(report.throughput() > 0);
+      assertTrue(report.format().contains("ADD_POINT"));
+    }
+  }
+
+  @Test
+  void run_withSlowServer_shouldMeasureFromIntendedStart() throws IOException, InterruptedException {
+    // given: 응답 20ms, 동시 진행 1개 -> 대부분 버려지고 성공한 요청도 20ms 이상
+    try (FakeBranchdownServer server = FakeBranchdownServer.start(new FakeBranchdownClient(),
+        Duration.ofMillis(20))) {
+      LoadGenerator generator = new LoadGenerator(new JdkHttpBranchdownClient(server.baseUrl()),
+          Map.of(Operation.GET_ANCESTORS, 1), 500, Duration.ofMillis(200), 1, 1);
+
+      // when
+      LoadGenerator.Report report = generator.run();
+
+      // then
+      assertTrue(report.dropped() > 0);
+      assertTrue(report.latencies().get(Operation.GET_ANCESTORS).percentile(0.5) >= Duration.ofMillis(20).toNanos());
+    }
+  }
+
+  @Test
+  void run_withConnectionLimit_shouldQueueInsteadOfSendingConcurrently() throws IOException, InterruptedException {
+    // given: 응답 20ms, 동시 전송 1개 -> 요청 20개가 차례로 전송되어 400ms 이상
+    try (FakeBranchdownServer server = FakeBranchdownServer.start(new FakeBranchdownClient(),
+        Duration.ofMillis(20))) {
+      LoadGenerator generator = new LoadGenerator(new JdkHttpBranchdownClient(server.baseUrl()),
+          Map.of(Operation.GET_ANCESTORS, 1), 100, Duration.ofMillis(200), 1000, 1, 1);
+
+      // when
+      LoadGenerator.Report report = generator.run();
+
+      // then
+      assertEquals(0, report.dropped());
+      assertEquals(20, report.completed());
+      assertTrue(report.elapsed().compareTo(Duration.ofMillis(400)) >= 0);
+    }
+  }
+
+  @Test
+  void mix_withUnknownOperation_shouldThrow() {
+    assertThrows(IllegalArgumentException.class, () -> LoadGenerator.mix("deleteStream=1"));
+  }
+}
@@ -0,0 +1,150 @@
+package me.hanju.branchdown.client.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.hanju.branchdown.client.BranchdownClient;
+import me.hanju.branchdown.client.BranchdownEndpoint;
+import me.hanju.branchdown.client.OkHttpBranchdownClient;
+import me.hanju.branchdown.client.WebClientBranchdownClient;
+import me.hanju.branchdown.client.WebClientReactiveBranchdownClient;
+import me.hanju.branchdown.client.exception.BranchdownClientException;
+import me.hanju.branchdown.client.exception.BranchdownException;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+
+/**
+ * 요청 계측 테스트.
+ */
+class BranchdownMetricsTest {
+
+  private static final String STREAM_BODY = """
+      {"success":true,"message":null,"data":{"id":1,"rootPointId":2,"createdAt":"2024-01-01T00:00:00"}}""";
+  private static final String POINTS_BODY = """
+      {"success":true,"message":null,"data":[{"id":3,"branchNum":0,"depth":1,"itemId":"a"}]}""";
+
+  private MockWebServer server;
+  private String baseUrl;
+  private BranchdownMetrics metrics;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = new MockWebServer();
+    server.start();
+    baseUrl = server.url("/").toString();
+    metrics = new BranchdownMetrics();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  @Test
+  void okHttp_shouldReportSuccessWithBytesAndPhases() {
+    // given
+    server.enqueue(json(STREAM_BODY).setBodyDelay(20, TimeUnit.MILLISECONDS));
+    BranchdownClient client = new OkHttpBranchdownClient(new OkHttpClient(), baseUrl, metrics);
+
+    // when
+    client.getStream(1L);
+
+    // then
+    BranchdownMetrics.EndpointMetrics stream = metrics.endpoint(BranchdownEndpoint.GET_STREAM);
+    assertEquals(1, stream.count(RequestOutcome.SUCCESS));
+    assertEquals(0, stream.inFlight());
+    assertEquals(STREAM_BODY.length(), stream.bytesReceived());
+    assertTrue(stream.decodeTime().max() >= TimeUnit.MILLISECONDS.toNanos(20));
+    assertEquals(0, metrics.endpoint(BranchdownEndpoint.GET_ANCESTORS).requests());
+  }
+
+  @Test
+  void okHttp_shouldClassifyServerAndClientErrors() {
+    // given
+    server.enqueue(json("{\"success\":false,\"message\":\"not found\",\"data\":null}"));
+    server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+    BranchdownClient client = new OkHttpBranchdownClient(
+        new OkHttpClient.Builder().retryOnConnectionFailure(false).build(), baseUrl, metrics);
+
+    // when
+    assertThrows(BranchdownException.class, () -> client.getAncestors(1L));
+    assertThrows(BranchdownClientException.class, () -> client.getAncestors(1L));
+
+    // then
+    BranchdownMetrics.EndpointMetrics ancestors = metrics.endpoint(BranchdownEndpoint.GET_ANCESTORS);
+    assertEquals(1, ancestors.count(RequestOutcome.SERVER_ERROR));
+    assertEquals(1, ancestors.count(RequestOutcome.CLIENT_ERROR));
+    assertEquals(2, ancestors.requests());
+    assertEquals(0, ancestors.inFlight());
+  }
+
+  @Test
+  void webClient_shouldReportBlockingAndStreamingCalls() {
+    // given
+    server.enqueue(json(STREAM_BODY));
+    server.enqueue(json(POINTS_BODY));
+    BranchdownClient client = new WebClientBranchdownClient(WebClient.builder(), baseUrl, metrics);
+
+    // when
+    client.getStream(1L);
+    client.forEachStreamPoint(1L, point -> {
+    });
+
+    // then
+    assertEquals(STREAM_BODY.length(), metrics.endpoint(BranchdownEndpoint.GET_STREAM).bytesReceived());
+    BranchdownMetrics.EndpointMetrics points = metrics.endpoint(BranchdownEndpoint.GET_STREAM_POINTS);
+    assertEquals(1, points.count(RequestOutcome.SUCCESS));
+    assertEquals(POINTS_BODY.length(), points.bytesReceived());
+    assertEquals(0, points.inFlight());
+  }
+
+  @Test
+  void reactive_cancelledSubscription_shouldBeReportedAsCancelled() {
+    // given
+    server.enqueue(json(STREAM_BODY).setHeadersDelay(5, TimeUnit.SECONDS));
+    WebClientReactiveBranchdownClient client = new WebClientReactiveBranchdownClient(WebClient.builder(), baseUrl,
+        metrics);
+
+    // when
+    client.getStream(1L).subscribe().dispose();
+
+    // then
+    BranchdownMetrics.EndpointMetrics stream = metrics.endpoint(BranchdownEndpoint.GET_STREAM);
+    assertEquals(1, stream.count(RequestOutcome.CANCELLED));
+    assertEquals(0, stream.inFlight());
+  }
+
+  @Test
+  void micrometer_shouldRegisterTaggedMeters() {
+    // given
+    server.enqueue(json(STREAM_BODY));
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    BranchdownClient client = new OkHttpBranchdownClient(new OkHttpClient(), baseUrl,
+        new MicrometerBranchdownListener(registry));
+
+    // when
+    client.getStream(1L);
+
+    // then
+    assertEquals(1.0, registry.get("branchdown.client.requests")
+        .tags("endpoint", "getStream", "outcome", "success").counter().count());
+    assertEquals(1, registry.get("branchdown.client.server").tag("endpoint", "getStream").timer().count());
+    assertEquals(STREAM_BODY.length(), registry.get("branchdown.client.response.size")
+        .tag("endpoint", "getStream").summary().totalAmount());
+    assertEquals(0.0, registry.get("branchdown.client.in.flight").tag("endpoint", "getStream").gauge().value());
+  }
+
+  private static MockResponse json(final String body) {
+    return new MockResponse().setHeader("Content-Type", "application/json").setBody(body);
+  }
+}
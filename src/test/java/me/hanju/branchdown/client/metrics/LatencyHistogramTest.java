@@ -0,0 +1,70 @@
+package me.hanju.branchdown.client.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+  @Test
+  void bucketBounds_shouldBeContiguous() {
+    for (int i = 1; i <= LatencyHistogram.index(Long.MAX_VALUE); i++) {
+      assertEquals(LatencyHistogram.upperBound(i - 1) + 1, LatencyHistogram.lowerBound(i));
+      assertEquals(i, LatencyHistogram.index(LatencyHistogram.lowerBound(i)));
+    }
+  }
+
+  @Test
+  void percentile_shouldStayWithinRelativeError() {
+    // given
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long nanos = 1_000; nanos <= 1_000_000; nanos += 1_000) {
+      histogram.record(nanos);
+    }
+
+    // when
+    long p50 = histogram.percentile(50);
+    long p99 = histogram.percentile(99);
+
+    // then
+    assertEquals(1_000, histogram.count());
+    assertEquals(1_000_000, histogram.max());
+    assertEquals(500_500, histogram.mean(), 0.001);
+    assertTrue(p50 >= 500_000 && p50 <= 500_000 * 1.125, "p50=" + p50);
+    assertTrue(p99 >= 990_000 && p99 <= 1_000_000, "p99=" + p99);
+    assertEquals(1_000_000, histogram.percentile(100));
+  }
+
+  @Test
+  void record_fromManyThreads_shouldNotLoseCounts() throws InterruptedException {
+    // given
+    LatencyHistogram histogram = new LatencyHistogram();
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      threads.add(Thread.ofPlatform().start(() -> {
+        for (int i = 0; i < 10_000; i++) {
+          histogram.record(i);
+        }
+      }));
+    }
+
+    // when
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    // then
+    assertEquals(80_000, histogram.count());
+    assertEquals(9_999, histogram.max());
+  }
+
+  @Test
+  void emptyHistogram_shouldReportZero() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(0, histogram.percentile(99));
+    assertEquals(0, histogram.mean());
+  }
+}
@@ -0,0 +1,121 @@
+package me.hanju.branchdown.client.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.client.FakeBranchdownClient;
+
+/**
+ * 로컬 세그먼트 저장과 서버 증분 보충 테스트.
+ */
+class PointSnapshotStoreTest {
+
+  @TempDir
+  Path directory;
+
+  private FakeBranchdownClient server;
+  private long streamId;
+  private long rootId;
+
+  @BeforeEach
+  void setUp() {
+    server = new FakeBranchdownClient();
+    streamId = server.createStream();
+    rootId = server.getStream(streamId).rootPointId();
+  }
+
+  @Test
+  void sync_withoutSnapshot_shouldFetchWholeStreamAndPersist() {
+    // given
+    PointDto.Response a = server.addPoint(rootId, "a");
+    server.addPoint(a.id(), "b");
+    PointSnapshotStore store = PointSnapshotStore.open(directory);
+
+    // when
+    List<PointDto.Response> points = store.sync(server, streamId);
+
+    // then
+    assertEquals(server.getStreamPoints(streamId), points);
+    assertEquals(points, PointSnapshotStore.open(directory).load(streamId));
+  }
+
+  @Test
+  void sync_withSnapshot_shouldFetchOnlyDeltas() {
+    // given: 스냅샷 이후 기존 브랜치에 b, 새 브랜치에 c -> d 추가
+    PointDto.Response a = server.addPoint(rootId, "a");
+    PointSnapshotStore.open(directory).sync(server, streamId);
+    server.addPoint(a.id(), "b");
+    PointDto.Response c = server.addPoint(rootId, "c");
+    server.addPoint(c.id(), "d");
+    server.resetCalls();
+
+    // when: 재시작
+    List<PointDto.Response> points = PointSnapshotStore.open(directory).sync(server, streamId);
+
+    // then
+    assertEquals(server.getStreamPoints(streamId), points);
+    assertEquals(1, server.calls("getStreamPoints"));
+    assertEquals(3, server.calls("getBranchPoints"));
+    assertEquals(points, PointSnapshotStore.open(directory).load(streamId));
+  }
+
+  @Test
+  void sync_withManyBranches_shouldFallBackToStreamPoints() {
+    // given
+    PointDto.Response a = server.addPoint(rootId, "a");
+    server.addPoint(rootId, "b");
+    PointSnapshotStore store = PointSnapshotStore.open(directory, 1);
+    store.sync(server, streamId);
+    server.addPoint(a.id(), "c");
+    server.resetCalls();
+
+    // when
+    List<PointDto.Response> points = store.sync(server, streamId);
+
+    // then
+    assertEquals(server.getStreamPoints(streamId), points);
+    assertEquals(0, server.calls("getBranchPoints"));
+    assertEquals(4, store.load(streamId).size());
+  }
+
+  @Test
+  void tornTail_shouldBeDiscardedAndRefetched() throws IOException {
+    // given
+    server.addPoint(rootId, "a");
+    PointSnapshotStore store = PointSnapshotStore.open(directory);
+    List<PointDto.Response> expected = store.sync(server, streamId);
+    Path segment = directory.resolve("stream-" + streamId + ".seg");
+    long intact = Files.size(segment);
+    Files.write(segment, new byte[] {0, 0, 0, 40, 1, 2}, StandardOpenOption.APPEND);
+
+    // when
+    List<PointDto.Response> points = store.load(streamId);
+
+    // then
+    assertEquals(expected, points);
+    assertEquals(intact, Files.size(segment));
+  }
+
+  @Test
+  void delete_shouldRemoveSnapshot() {
+    // given
+    PointSnapshotStore store = PointSnapshotStore.open(directory);
+    store.sync(server, streamId);
+
+    // when
+    store.delete(streamId);
+
+    // then
+    assertEquals(List.of(), store.load(streamId));
+  }
+}
@@ -0,0 +1,92 @@
+package me.hanju.branchdown.client.tree;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.client.FakeBranchdownClient;
+
+class AncestorCachingBranchdownClientTest {
+
+  private FakeBranchdownClient server;
+  private long rootId;
+
+  @BeforeEach
+  void setUp() {
+    server = new FakeBranchdownClient();
+    long streamId = server.createStream();
+    rootId = server.getStream(streamId).rootPointId();
+  }
+
+  @Test
+  void getAncestors_shouldShareCachedPrefixBetweenSiblings() {
+    // given
+    PointDto.Response a = server.addPoint(rootId, "a");
+    PointDto.Response b = server.addPoint(a.id(), "b");
+    PointDto.Response c1 = server.addPoint(b.id(), "c1");
+    PointDto.Response c2 = server.addPoint(b.id(), "c2");
+    AncestorCachingBranchdownClient client = new AncestorCachingBranchdownClient(server, 100);
+
+    // when
+    AncestorPath path1 = client.getAncestorPath(c1.id());
+    AncestorPath path2 = client.getAncestorPath(c2.id());
+
+    // then: 공통 조상 노드는 같은 인스턴스
+    assertSame(path1.parent(), path2.parent());
+    assertEquals(server.getAncestors(c2.id()), client.getAncestors(c2.id()));
+  }
+
+  @Test
+  void getAncestors_onCachedPoint_shouldNotCallServer() {
+    // given
+    PointDto.Response a = server.addPoint(rootId, "a");
+    PointDto.Response b = server.addPoint(a.id(), "b");
+    AncestorCachingBranchdownClient client = new AncestorCachingBranchdownClient(server, 100);
+    client.getAncestors(b.id());
+    server.resetCalls();
+
+    // when: 경로 위의 조상도 캐시 항목이 됨
+    List<PointDto.Response> ancestors = client.getAncestors(a.id());
+
+    // then
+    assertEquals(List.of(a), ancestors);
+    assertEquals(0, server.calls("getAncestors"));
+  }
+
+  @Test
+  void addPoint_childOfCachedPoint_shouldExtendPath() {
+    // given
+    AncestorCachingBranchdownClient client = new AncestorCachingBranchdownClient(server, 100);
+    PointDto.Response a = client.addPoint(rootId, "a");
+    PointDto.Response b = client.addPoint(a.id(), "b");
+    PointDto.Response c = client.addPoint(b.id(), "c");
+    server.resetCalls();
+
+    // when
+    List<PointDto.Response> ancestors = client.getAncestors(c.id());
+
+    // then
+    assertEquals(List.of(a, b, c), ancestors);
+    assertEquals(0, server.calls("getAncestors"));
+  }
+
+  @Test
+  void cache_shouldBeBoundedByMaximumSize() {
+    // given
+    AncestorCachingBranchdownClient client = new AncestorCachingBranchdownClient(server, 3);
+    long parent = rootId;
+
+    // when
+    for (int i = 0; i < 10; i++) {
+      parent = client.addPoint(parent, "item-" + i).id();
+    }
+
+    // then
+    assertEquals(3, client.cachedSize());
+    assertEquals(10, client.getAncestors(parent).size());
+  }
+}
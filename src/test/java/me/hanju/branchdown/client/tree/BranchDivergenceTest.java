@@ -0,0 +1,187 @@
+package me.hanju.branchdown.client.tree;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.client.FakeAsyncBranchdownClient;
+import me.hanju.branchdown.client.FakeBranchdownClient;
+
+class BranchDivergenceTest {
+
+  private FakeBranchdownClient server;
+  private BranchDivergence divergence;
+  private long rootId;
+
+  @BeforeEach
+  void setUp() {
+    server = new FakeBranchdownClient();
+    long streamId = server.createStream();
+    rootId = server.getStream(streamId).rootPointId();
+    divergence = new BranchDivergence(new FakeAsyncBranchdownClient(server), 100);
+  }
+
+  @Test
+  void diverge_shouldReturnForkAndBothSuffixes() {
+    // given: a -> b -> (c1 -> d1), (c2)
+    PointDto.Response a = server.addPoint(rootId, "a");
+    PointDto.Response b = server.addPoint(a.id(), "b");
+    PointDto.Response c1 = server.addPoint(b.id(), "c1");
+    PointDto.Response d1 = server.addPoint(c1.id(), "d1");
+    PointDto.Response c2 = server.addPoint(b.id(), "c2");
+
+    // when
+    BranchDivergence.Divergence result = divergence.diverge(d1.id(), c2.id()).join();
+
+    // then
+    assertEquals(b, result.fork());
+    assertEquals(List.of(c1, d1), result.onlyA());
+    assertEquals(List.of(c2), result.onlyB());
+  }
+
+  @Test
+  void commonAncestor_ofAncestorAndDescendant_shouldReturnAncestor() {
+    // given
+    PointDto.Response a = server.addPoint(rootId, "a");
+    PointDto.Response b = server.addPoint(a.id(), "b");
+    PointDto.Response c = server.addPoint(b.id(), "c");
+
+    // when & then
+    assertEquals(a, divergence.commonAncestor(c.id(), a.id()).join());
+    assertEquals(c, divergence.commonAncestor(c.id(), c.id()).join());
+  }
+
+  @Test
+  void commonAncestor_ofSeparateRootChildren_shouldBeNull() {
+    // given
+    PointDto.Response a = server.addPoint(rootId, "a");
+    PointDto.Response b = server.addPoint(rootId, "b");
+
+    // when
+    BranchDivergence.Divergence result = divergence.diverge(a.id(), b.id()).join();
+
+    // then
+    assertNull(result.fork());
+    assertEquals(List.of(a), result.onlyA());
+    assertEquals(List.of(b), result.onlyB());
+  }
+
+  @Test
+  void repeatedQueries_shouldReuseCachedPaths() {
+    // given
+    PointDto.Response a = server.addPoint(rootId, "a");
+    PointDto.Response b1 = server.addPoint(a.id(), "b1");
+    PointDto.Response b2 = server.addPoint(a.id(), "b2");
+    divergence.diverge(b1.id(), b2.id()).join();
+    server.resetCalls();
+
+    // when
+    divergence.commonAncestor(b2.id(), a.id()).join();
+    divergence.commonAncestor(b1.id(), b2.id()).join();
+
+    // then
+    assertEquals(0, server.calls("getAncestors"));
+    assertSame(divergence.getAncestorPath(b1.id()).join().parent(),
+        divergence.getAncestorPath(b2.id()).join().parent());
+  }
+
+  @Test
+  void getAncestorPath_whenClientThrowsSynchronously_shouldFailAndAllowRetry() throws Exception {
+    // given: 첫 조회만 호출 스레드에서 바로 예외
+    PointDto.Response a = server.addPoint(rootId, "a");
+    AtomicBoolean thrown = new AtomicBoolean();
+    BranchDivergence failing = new BranchDivergence(new FakeAsyncBranchdownClient(server) {
+      @Override
+      public CompletableFuture<List<PointDto.Response>> getAncestors(final long pointId) {
+        if (thrown.compareAndSet(false, true)) {
+          throw new IllegalStateException("rejected");
+        }
+        return super.getAncestors(pointId);
+      }
+    }, 100);
+
+    // when & then
+    CompletionException e = assertThrows(CompletionException.class, () -> failing.getAncestorPath(a.id()).join());
+    assertInstanceOf(IllegalStateException.class, e.getCause());
+    assertEquals(a.id(), failing.getAncestorPath(a.id()).get(1, TimeUnit.SECONDS).point().id());
+  }
+
+  @Test
+  void record_childOfCachedPoint_shouldAvoidFetch() {
+    // given
+    PointDto.Response a = server.addPoint(rootId, "a");
+    divergence.getAncestorPath(a.id()).join();
+    PointDto.Response b = server.addPoint(a.id(), "b");
+    divergence.record(a.id(), b);
+    server.resetCalls();
+
+    // when
+    PointDto.Response fork = divergence.commonAncestor(a.id(), b.id()).join();
+
+    // then
+    assertEquals(a, fork);
+    assertEquals(0, server.calls("getAncestors"));
+  }
+
+  @Test
+  void pathCommon_shouldMatchNaiveWalkOnRandomTree() {
+    // given: 무작위 트리
+    Random random = new Random(42);
+    List<AncestorPath> nodes = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      AncestorPath parent = nodes.isEmpty() || random.nextInt(20) == 0 ? null : nodes.get(nextParent(random, nodes));
+      PointDto.Response point = FakeBranchdownClient.point(i + 1L, 0, parent == null ? 1 : parent.size() + 1, "p" + i);
+      nodes.add(parent == null ? AncestorPath.root(point) : parent.append(point));
+    }
+
+    // when & then
+    for (int i = 0; i < 2000; i++) {
+      AncestorPath a = nodes.get(random.nextInt(nodes.size()));
+      AncestorPath b = nodes.get(random.nextInt(nodes.size()));
+      assertSame(naiveCommon(a, b), AncestorPath.common(a, b));
+    }
+  }
+
+  @Test
+  void ancestor_shouldReturnPathOfGivenSize() {
+    // given
+    AncestorPath path = AncestorPath.root(FakeBranchdownClient.point(1L, 0, 1, "p1"));
+    for (int i = 2; i <= 100; i++) {
+      path = path.append(FakeBranchdownClient.point(i, 0, i, "p" + i));
+    }
+
+    // when & then
+    for (int size = 1; size <= 100; size++) {
+      assertEquals((long) size, path.ancestor(size).point().id().longValue());
+    }
+    assertThrows(IllegalArgumentException.class, () -> AncestorPath.root(FakeBranchdownClient.point(1L, 0, 1, "x"))
+        .ancestor(2));
+  }
+
+  /** 깊은 체인이 생기도록 최근 노드를 부모로 고르는 경향을 준다. */
+  private static int nextParent(Random random, List<AncestorPath> nodes) {
+    int recent = Math.max(0, nodes.size() - 1 - random.nextInt(5));
+    return random.nextBoolean() ? recent : random.nextInt(nodes.size());
+  }
+
+  private static AncestorPath naiveCommon(AncestorPath a, AncestorPath b) {
+    for (AncestorPath x = a; x != null; x = x.parent()) {
+      for (AncestorPath y = b; y != null; y = y.parent()) {
+        if (x == y) {
+          return x;
+        }
+      }
+    }
+    return null;
+  }
+}
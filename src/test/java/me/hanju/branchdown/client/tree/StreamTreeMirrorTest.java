@@ -0,0 +1,123 @@
+package me.hanju.branchdown.client.tree;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import me.hanju.branchdown.api.dto.PointDto;
+import me.hanju.branchdown.client.FakeBranchdownClient;
+
+class StreamTreeMirrorTest {
+
+  private FakeBranchdownClient server;
+  private long streamId;
+  private long rootId;
+
+  @BeforeEach
+  void setUp() {
+    server = new FakeBranchdownClient();
+    streamId = server.createStream();
+    rootId = server.getStream(streamId).rootPointId();
+  }
+
+  @Test
+  void getAncestors_shouldMatchServerWithoutRoundTrips() {
+    // given: root -> a -> b -> c, 그리고 a 아래 분기 d -> e
+    PointDto.Response a = server.addPoint(rootId, "a");
+    PointDto.Response b = server.addPoint(a.id(), "b");
+    PointDto.Response c = server.addPoint(b.id(), "c");
+    PointDto.Response d = server.addPoint(a.id(), "d");
+    PointDto.Response e = server.addPoint(d.id(), "e");
+    StreamTreeMirror mirror = StreamTreeMirror.load(server, streamId);
+    server.resetCalls();
+
+    // when & then: depth 1에 포인트가 하나뿐이므로 분기점이 스냅샷만으로 확정됨
+    assertEquals(server.getAncestors(c.id()), mirror.getAncestors(c.id()));
+    assertEquals(server.getAncestors(e.id()), mirror.getAncestors(e.id()));
+    assertEquals(2, server.calls("getAncestors"));
+  }
+
+  @Test
+  void getAncestors_withAmbiguousFork_shouldResolveOnceThenServeFromMemory() {
+    // given: depth 1에 형제가 둘이라 depth 2 분기의 부모를 스냅샷만으로 알 수 없음
+    PointDto.Response a = server.addPoint(rootId, "a");
+    server.addPoint(rootId, "a2");
+    server.addPoint(a.id(), "b");
+    PointDto.Response fork = server.addPoint(a.id(), "b2");
+    PointDto.Response tip = server.addPoint(fork.id(), "c2");
+    StreamTreeMirror mirror = StreamTreeMirror.load(server, streamId);
+    server.resetCalls();
+
+    // when
+    List<PointDto.Response> first = mirror.getAncestors(tip.id());
+    List<PointDto.Response> second = mirror.getAncestors(fork.id());
+
+    // then
+    assertEquals(List.of("a", "b2", "c2"), first.stream().map(PointDto.Response::itemId).toList());
+    assertEquals(List.of("a", "b2"), second.stream().map(PointDto.Response::itemId).toList());
+    assertEquals(1, server.calls("getAncestors"));
+  }
+
+  @Test
+  void addPoint_shouldKeepMirrorCurrent() {
+    // given
+    StreamTreeMirror mirror = StreamTreeMirror.load(server, streamId);
+    PointDto.Response a = mirror.addPoint(rootId, "a");
+    PointDto.Response b = mirror.addPoint(a.id(), "b");
+    PointDto.Response sibling = mirror.addPoint(a.id(), "b'");
+    server.resetCalls();
+
+    // when & then
+    assertEquals(List.of(a, b), mirror.getAncestors(b.id()));
+    assertEquals(List.of(a, sibling), mirror.getAncestors(sibling.id()));
+    assertEquals(List.of(a, b), mirror.getBranchPoints(0, 0));
+    assertEquals(List.of(sibling), mirror.getBranchPoints(sibling.branchNum(), 0));
+    assertEquals(0, server.calls("getAncestors") + server.calls("getBranchPoints"));
+  }
+
+  @Test
+  void getBranchPoints_shouldHonorDepthCursor() {
+    // given
+    PointDto.Response a = server.addPoint(rootId, "a");
+    PointDto.Response b = server.addPoint(a.id(), "b");
+    StreamTreeMirror mirror = StreamTreeMirror.load(server, streamId);
+
+    // when & then: 서버와 같이 depth보다 깊은 포인트만 반환
+    assertEquals(server.getBranchPoints(streamId, 0, -1), mirror.getBranchPoints(0, -1));
+    assertEquals(List.of(b), mirror.getBranchPoints(0, 1));
+    assertTrue(mirror.getBranchPoints(0, 5).isEmpty());
+  }
+
+  @Test
+  void unknownPoint_shouldFallBackToServerAndBeLearned() {
+    // given: 미러 생성 후 다른 클라이언트가 포인트 추가
+    StreamTreeMirror mirror = StreamTreeMirror.load(server, streamId);
+    PointDto.Response a = server.addPoint(rootId, "a");
+    PointDto.Response b = server.addPoint(a.id(), "b");
+    server.resetCalls();
+
+    // when
+    mirror.getAncestors(b.id());
+    mirror.getAncestors(a.id());
+
+    // then
+    assertEquals(1, server.calls("getAncestors"));
+    assertTrue(mirror.getPoint(b.id()).isPresent());
+  }
+
+  @Test
+  void refresh_shouldPickUpPointsAddedElsewhere() {
+    // given
+    StreamTreeMirror mirror = StreamTreeMirror.load(server, streamId);
+    server.addPoint(rootId, "a");
+
+    // when
+    mirror.refresh();
+
+    // then
+    assertEquals(2, mirror.size());
+  }
+}